@@ -15,6 +15,13 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        javaCompileOptions {
+            annotationProcessorOptions {
+                // The generated document codecs read and convert fields through this class
+                arguments["documentCodec.fieldsClass"] = "com.example.coachesapp_android.database.DocumentFields"
+            }
+        }
     }
 
     buildTypes {
@@ -26,11 +33,23 @@ android {
             )
         }
     }
+    buildFeatures {
+        // Logger reads BuildConfig.DEBUG to drop verbose and debug output from release builds
+        buildConfig = true
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
         isCoreLibraryDesugaringEnabled = true
     }
+    testOptions {
+        unitTests {
+            all {
+                // The JMH suite under src/test/.../benchmark only runs with -Pbenchmarks
+                it.systemProperty("benchmarks", project.hasProperty("benchmarks").toString())
+            }
+        }
+    }
 }
 
 dependencies {
@@ -41,6 +60,10 @@ dependencies {
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+
+    // Generates the Firestore document codecs for classes marked @FirestoreDocument
+    compileOnly(project(":codegen"))
+    annotationProcessor(project(":codegen"))
     
     // RecyclerView for PlayerListActivity
     implementation("androidx.recyclerview:recyclerview:1.3.2")
@@ -53,6 +76,8 @@ dependencies {
     implementation("com.google.firebase:firebase-analytics")     // Analytics (optional)
     
     testImplementation(libs.junit)
+    testImplementation(libs.jmh.core)
+    testAnnotationProcessor(libs.jmh.generator.annprocess)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.RepositoryFactory;
 import com.google.android.material.textfield.TextInputEditText;
 
@@ -102,7 +103,7 @@ public class AddPlayerActivity extends AppCompatActivity {
     }
     
     private void loadClubs() {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             clubs = clubRepository.findAll();
             
             runOnUiThread(() -> {
@@ -121,13 +122,13 @@ public class AddPlayerActivity extends AppCompatActivity {
                 adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
                 clubSpinner.setAdapter(adapter);
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void loadPlayer(int playerId) {
         showLoading(true);
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             editingPlayer = playerRepository.findById(playerId);
             
             runOnUiThread(() -> {
@@ -161,7 +162,7 @@ public class AddPlayerActivity extends AppCompatActivity {
                     saveButton.setText("Update Player");
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this, this::finish));
     }
     
     private void setupListeners() {
@@ -229,7 +230,7 @@ public class AddPlayerActivity extends AppCompatActivity {
         }
         
         // Save in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             Player savedPlayer = playerRepository.save(player);
             
             runOnUiThread(() -> {
@@ -245,7 +246,7 @@ public class AddPlayerActivity extends AppCompatActivity {
                     showError("Failed to save player. Please try again.");
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this, () -> showLoading(false)));
     }
     
     private void showLoading(boolean show) {
@@ -20,10 +20,12 @@ import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ClubDetailsActivity extends AppCompatActivity {
     private static final String TAG = "ClubDetails";
@@ -52,7 +54,7 @@ public class ClubDetailsActivity extends AppCompatActivity {
         }
         
         clubRepository = RepositoryFactory.getClubRepository();
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        userRepository = RepositoryFactory.getUserRepository();
         playerRepository = RepositoryFactory.getPlayerRepository();
         
         int clubId = getIntent().getIntExtra("CLUB_ID", -1);
@@ -79,27 +81,26 @@ public class ClubDetailsActivity extends AppCompatActivity {
     }
     
     private void loadClubDetails(int clubId) {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             club = clubRepository.findById(clubId);
             
             if (club != null) {
                 // Load managers
-                List<User> allUsers = userRepository.findAll();
-                managers = new ArrayList<>();
-                for (User user : allUsers) {
-                    if ((user.getRole() == Role.CLUB_MANAGER || user.getRole() == Role.CLUB_OWNER) 
-                        && user.getClubId() != null && user.getClubId().equals(clubId)) {
-                        managers.add(user);
-                    }
-                }
+                managers = new ArrayList<>(userRepository.findByRoleAndClub(Role.CLUB_OWNER, clubId));
+                managers.addAll(userRepository.findByRoleAndClub(Role.CLUB_MANAGER, clubId));
                 
                 // Load players
                 players = playerRepository.findByClubId(clubId);
                 
                 // Filter approved players only
+                List<Integer> playerIds = new ArrayList<>();
+                for (Player player : players) {
+                    playerIds.add(player.getId());
+                }
+                Map<Integer, User> usersByPlayerId = userRepository.findByPlayerIds(playerIds);
                 List<Player> approvedPlayers = new ArrayList<>();
                 for (Player player : players) {
-                    User user = userRepository.findByPlayerId(player.getId());
+                    User user = usersByPlayerId.get(player.getId());
                     if (user != null && user.isApproved()) {
                         approvedPlayers.add(player);
                     }
@@ -115,7 +116,7 @@ public class ClubDetailsActivity extends AppCompatActivity {
                     finish();
                 });
             }
-        }).start();
+        }, AppExecutors.busyToast(this, this::finish));
     }
     
     private void displayClubDetails() {
@@ -18,6 +18,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
@@ -54,14 +55,16 @@ public class ClubListActivity extends AppCompatActivity {
     }
     
     private void loadClubs() {
-        new Thread(() -> {
-            clubs = clubRepository.findAll();
-            
-            runOnUiThread(() -> {
-                adapter = new ClubAdapter(clubs);
-                recyclerView.setAdapter(adapter);
-            });
-        }).start();
+        // May be answered from the local cache; a newer server copy replaces it when it arrives
+        clubRepository.findAllAsync(refreshed -> runOnUiThread(() -> showClubs(refreshed)))
+            .exceptionally(e -> new ArrayList<>())
+            .thenAccept(loaded -> runOnUiThread(() -> showClubs(loaded)));
+    }
+    
+    private void showClubs(List<Club> loaded) {
+        clubs = loaded;
+        adapter = new ClubAdapter(clubs);
+        recyclerView.setAdapter(adapter);
     }
     
     private void setupListeners() {
@@ -94,7 +97,7 @@ public class ClubListActivity extends AppCompatActivity {
         Club club = new Club();
         club.setClubName(clubName);
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             Club savedClub = clubRepository.save(club);
             
             runOnUiThread(() -> {
@@ -106,7 +109,7 @@ public class ClubListActivity extends AppCompatActivity {
                     Toast.makeText(this, "Failed to add club", Toast.LENGTH_SHORT).show();
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private class ClubAdapter extends RecyclerView.Adapter<ClubAdapter.ClubViewHolder> {
@@ -161,7 +164,7 @@ public class ClubListActivity extends AppCompatActivity {
                         .setTitle("Delete Club")
                         .setMessage("Are you sure you want to delete " + club.getClubName() + "?")
                         .setPositiveButton("Delete", (dialog, which) -> {
-                            new Thread(() -> {
+                            AppExecutors.getInstance().io().execute(() -> {
                                 boolean success = clubRepository.delete(club.getId());
                                 runOnUiThread(() -> {
                                     if (success) {
@@ -175,7 +178,7 @@ public class ClubListActivity extends AppCompatActivity {
                                         Toast.makeText(ClubListActivity.this, "Failed to delete club", Toast.LENGTH_SHORT).show();
                                     }
                                 });
-                            }).start();
+                            }, AppExecutors.busyToast(ClubListActivity.this));
                         })
                         .setNegativeButton("Cancel", null)
                         .show();
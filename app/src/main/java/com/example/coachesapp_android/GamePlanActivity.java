@@ -15,6 +15,7 @@ import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.model.GamePlan;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
@@ -112,7 +113,7 @@ public class GamePlanActivity extends AppCompatActivity {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             List<Player> allPlayers = playerRepository.findByClubId(currentClubId);
             
             // Deduplicate players by ID (keep only the latest version)
@@ -137,7 +138,7 @@ public class GamePlanActivity extends AppCompatActivity {
                     loadGamePlan();
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void loadGamePlan() {
@@ -148,25 +149,37 @@ public class GamePlanActivity extends AppCompatActivity {
         
         Log.d(TAG, "Loading game plan for club " + currentClubId);
         
-        new Thread(() -> {
-            GamePlan savedGamePlan = gamePlanRepository.findByClubId(currentClubId);
-            
-            Log.d(TAG, "Game plan query completed. Result: " + (savedGamePlan != null ? "found" : "not found"));
-            
-            if (savedGamePlan != null) {
-                Log.d(TAG, "Found saved game plan - GK: " + savedGamePlan.getGoalkeeperName() + 
-                          ", DEF1: " + savedGamePlan.getDefender1Name() + 
-                          ", DEF2: " + savedGamePlan.getDefender2Name());
+        // May be answered from the local cache; a newer server copy replaces it when it arrives
+        gamePlanRepository.findByClubIdAsync(currentClubId, refreshed -> {
+                Log.d(TAG, "Game plan changed on the server, refreshing");
+                if (refreshed != null) {
+                    runOnUiThread(() -> {
+                        currentGamePlan = refreshed;
+                        populateUIFromGamePlan();
+                    });
+                }
+            })
+            .exceptionally(e -> {
+                Log.e(TAG, "Error loading game plan", e);
+                return null;
+            })
+            .thenAccept(savedGamePlan -> {
+                Log.d(TAG, "Game plan query completed. Result: " + (savedGamePlan != null ? "found" : "not found"));
                 
-                runOnUiThread(() -> {
-                    currentGamePlan = savedGamePlan;
-                    populateUIFromGamePlan();
-                    Toast.makeText(this, "Game plan loaded", Toast.LENGTH_SHORT).show();
-                });
-            } else {
-                Log.d(TAG, "No saved game plan found for club " + currentClubId);
-            }
-        }).start();
+                if (savedGamePlan != null) {
+                    Log.d(TAG, "Found saved game plan - GK: " + savedGamePlan.getGoalkeeperName() + 
+                              ", DEF1: " + savedGamePlan.getDefender1Name() + 
+                              ", DEF2: " + savedGamePlan.getDefender2Name());
+                    
+                    runOnUiThread(() -> {
+                        currentGamePlan = savedGamePlan;
+                        populateUIFromGamePlan();
+                        Toast.makeText(this, "Game plan loaded", Toast.LENGTH_SHORT).show();
+                    });
+                } else {
+                    Log.d(TAG, "No saved game plan found for club " + currentClubId);
+                }
+            });
     }
     
     private void populateUIFromGamePlan() {
@@ -420,7 +433,7 @@ public class GamePlanActivity extends AppCompatActivity {
         currentGamePlan.setClubId(currentClubId);
         
         // Save to Firebase in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             GamePlan saved = gamePlanRepository.save(currentGamePlan);
             
             runOnUiThread(() -> {
@@ -437,6 +450,6 @@ public class GamePlanActivity extends AppCompatActivity {
                     Log.e(TAG, "Failed to save game plan for club " + currentClubId);
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
 }
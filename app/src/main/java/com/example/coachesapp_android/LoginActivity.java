@@ -15,9 +15,10 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.coachesapp_android.database.FirebaseUserRepository;
+import com.example.coachesapp_android.database.IUserRepository;
 import com.example.coachesapp_android.model.User;
 import com.example.coachesapp_android.model.Role;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
 import com.example.coachesapp_android.util.RepositoryFactory;
 import com.example.coachesapp_android.util.SessionManager;
@@ -43,7 +44,7 @@ public class LoginActivity extends AppCompatActivity {
     
     private SessionManager sessionManager;
     private FirebaseAuth firebaseAuth;
-    private FirebaseUserRepository userRepository;
+    private IUserRepository userRepository;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -52,7 +53,7 @@ public class LoginActivity extends AppCompatActivity {
         
         sessionManager = new SessionManager(this);
         firebaseAuth = FirebaseAuth.getInstance();
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        userRepository = RepositoryFactory.getUserRepository();
         
         // Check if already logged in
         if (sessionManager.isLoggedIn() && firebaseAuth.getCurrentUser() != null) {
@@ -141,7 +142,7 @@ public class LoginActivity extends AppCompatActivity {
                 FirebaseUser firebaseUser = authResult.getUser();
                 if (firebaseUser != null) {
                     // Check if user has admin role in Firestore
-                    new Thread(() -> {
+                    AppExecutors.getInstance().io().execute(() -> {
                         User adminUser = userRepository.findByEmail(email);
                         
                         if (adminUser == null) {
@@ -189,7 +190,10 @@ public class LoginActivity extends AppCompatActivity {
                                 });
                             }
                         }
-                    }).start();
+                    }, AppExecutors.busyToast(this, () -> {
+                        showLoading(false);
+                        firebaseAuth.signOut();
+                    }));
                 }
             })
             .addOnFailureListener(e -> {
@@ -231,7 +235,7 @@ public class LoginActivity extends AppCompatActivity {
                     FirebaseUser firebaseUser = authResult.getUser();
                     if (firebaseUser != null) {
                         // Get user data from Firestore
-                        new Thread(() -> {
+                        AppExecutors.getInstance().io().execute(() -> {
                             User user = userRepository.findByEmail(email);
                             
                             // Fix missing email/age from Firebase Auth if needed
@@ -278,7 +282,10 @@ public class LoginActivity extends AppCompatActivity {
                                     firebaseAuth.signOut();
                                 }
                             });
-                        }).start();
+                        }, AppExecutors.busyToast(this, () -> {
+                            showLoading(false);
+                            firebaseAuth.signOut();
+                        }));
                     }
                 })
                 .addOnFailureListener(e -> {
@@ -290,7 +297,7 @@ public class LoginActivity extends AppCompatActivity {
     
     private void loginWithUsername(String username, String password) {
         // Run in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             User user = userRepository.findByUsername(username);
             
             runOnUiThread(() -> {
@@ -302,7 +309,7 @@ public class LoginActivity extends AppCompatActivity {
                     showError("Username not found. Please use email to login.");
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this, () -> showLoading(false)));
     }
     
     private void showLoading(boolean show) {
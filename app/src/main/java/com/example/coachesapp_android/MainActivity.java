@@ -1,6 +1,8 @@
 package com.example.coachesapp_android;
 
 import android.content.Intent;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -9,13 +11,28 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.coachesapp_android.database.DocumentKeyMigration;
 import com.example.coachesapp_android.model.Role;
+import com.example.coachesapp_android.model.TransferRequest;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.repository.ITransferRequestRepository;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
+import com.example.coachesapp_android.util.Logger;
+import com.example.coachesapp_android.util.RepositoryFactory;
 import com.example.coachesapp_android.util.SessionManager;
 import com.google.android.material.button.MaterialButton;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public class MainActivity extends AppCompatActivity {
+    private static final String TAG = "MainActivity";
+    private static final Logger LOG = Logger.forTag(TAG);
+    private static final String MIGRATION_PREFS = "CoachAppMigrations";
+    private static final String KEY_DOCUMENT_KEYS_MIGRATED = "documentKeysMigrated";
 
     private TextView welcomeText;
     private TextView roleText;
@@ -24,6 +41,8 @@ public class MainActivity extends AppCompatActivity {
     
     private SessionManager sessionManager;
     private User currentUser;
+    // Refresh the counts shown on the menu entries
+    private final List<Runnable> badgeUpdates = new ArrayList<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,6 +63,40 @@ public class MainActivity extends AppCompatActivity {
         initializeViews();
         setupUI();
         setupListeners();
+        
+        if (currentUser.getRole() == Role.SYSTEM_ADMIN) {
+            migrateDocumentKeysOnce();
+        }
+    }
+    
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Counts change while other screens are open, e.g. after approving a registration
+        for (Runnable update : badgeUpdates) {
+            update.run();
+        }
+    }
+    
+    /**
+     * Moves documents created before entity-keyed storage to their keys. Runs once per device
+     * for admins, since only they can write every collection.
+     */
+    private void migrateDocumentKeysOnce() {
+        SharedPreferences prefs = getSharedPreferences(MIGRATION_PREFS, MODE_PRIVATE);
+        if (prefs.getBoolean(KEY_DOCUMENT_KEYS_MIGRATED, false)) {
+            return;
+        }
+        
+        new DocumentKeyMigration().migrateAllAsync()
+            .thenAccept(count -> {
+                LOG.d("Document key migration processed {} documents", count);
+                prefs.edit().putBoolean(KEY_DOCUMENT_KEYS_MIGRATED, true).apply();
+            })
+            .exceptionally(e -> {
+                LOG.e("Document key migration failed, will retry next launch", e);
+                return null;
+            });
     }
     
     private void initializeViews() {
@@ -63,35 +116,70 @@ public class MainActivity extends AppCompatActivity {
     
     private void setupMenuForRole(Role role) {
         menuContainer.removeAllViews();
+        badgeUpdates.clear();
+        ITransferRequestRepository transfers = RepositoryFactory.getTransferRequestRepository();
         
         switch (role) {
             case SYSTEM_ADMIN:
             case CLUB_OWNER:
                 addMenuItem("Manage Clubs", ClubListActivity.class);
-                addMenuItem("Manage Players", PlayerListActivity.class);
+                addMenuItem("Manage Players", PlayerListActivity.class,
+                        () -> RepositoryFactory.getPlayerRepository().countAsync());
                 addMenuItem("Manage Managers", ManagerListActivity.class);
-                addMenuItem("Pending Approvals", PendingApprovalsActivity.class);
-                addMenuItem("Transfer Requests", TransferRequestActivity.class);
-                addMenuItem("Transfer Market", TransferMarketActivity.class);
+                addMenuItem("Pending Approvals", PendingApprovalsActivity.class,
+                        () -> RepositoryFactory.getUserRepository().countPendingApprovalAsync());
+                addMenuItem("Transfer Requests", TransferRequestActivity.class,
+                        () -> transfers.countByStatusAsync(TransferRequest.TransferStatus.PENDING_APPROVAL));
+                addMenuItem("Transfer Market", TransferMarketActivity.class,
+                        () -> transfers.countByStatusAsync(TransferRequest.TransferStatus.IN_MARKET)
+                                .thenCombine(transfers.sumReleaseFeeByStatusAsync(TransferRequest.TransferStatus.IN_MARKET),
+                                        (listed, fees) -> listed + ", $" + String.format("%.2f", fees)));
+                if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+                    addMenuItem("Repository Stats", RepositoryStatsActivity.class);
+                }
                 break;
                 
             case CLUB_MANAGER:
-                addMenuItem("Manage Players", PlayerListActivity.class);
+                if (currentUser.getClubId() != null) {
+                    int clubId = currentUser.getClubId();
+                    addMenuItem("Manage Players", PlayerListActivity.class,
+                            () -> RepositoryFactory.getPlayerRepository().countByClubIdAsync(clubId));
+                } else {
+                    addMenuItem("Manage Players", PlayerListActivity.class);
+                }
                 addMenuItem("Game Plan", GamePlanActivity.class);
                 addMenuItem("Transfer Requests", TransferRequestActivity.class);
-                addMenuItem("Transfer Market", TransferMarketActivity.class);
+                addMenuItem("Transfer Market", TransferMarketActivity.class,
+                        () -> transfers.countByStatusAsync(TransferRequest.TransferStatus.IN_MARKET));
                 addMenuItem("My Profile", ManagerProfileActivity.class);
                 break;
                 
             case PLAYER:
                 addMenuItem("Submit Transfer Request", TransferRequestActivity.class);
-                addMenuItem("Transfer Market", TransferMarketActivity.class);
+                addMenuItem("Transfer Market", TransferMarketActivity.class,
+                        () -> transfers.countByStatusAsync(TransferRequest.TransferStatus.IN_MARKET));
                 addMenuItem("My Profile", PlayerProfileActivity.class);
                 break;
         }
     }
     
-    private void addMenuItem(String title, Class<?> activityClass) {
+    /**
+     * Adds a menu entry showing the value of {@code badge} after its title, e.g. a count
+     * aggregated on the server. The value is loaded again every time this screen resumes.
+     */
+    private void addMenuItem(String title, Class<?> activityClass, Supplier<CompletableFuture<?>> badge) {
+        MaterialButton button = addMenuItem(title, activityClass);
+        badgeUpdates.add(() -> badge.get().whenCompleteAsync((value, e) -> {
+            if (e != null) {
+                // Keep the last value shown; a failed count is not worth interrupting the user
+                LOG.w("Could not load the badge for {}", title, e);
+                return;
+            }
+            button.setText(title + " (" + value + ")");
+        }, AppExecutors.getInstance().mainThread()));
+    }
+    
+    private MaterialButton addMenuItem(String title, Class<?> activityClass) {
         MaterialButton button = new MaterialButton(this);
         button.setText(title);
         button.setTextSize(16);
@@ -109,6 +197,7 @@ public class MainActivity extends AppCompatActivity {
         });
         
         menuContainer.addView(button);
+        return button;
     }
     
     private void setupListeners() {
@@ -16,19 +16,26 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.coachesapp_android.database.FirebaseClubRepository;
-import com.example.coachesapp_android.database.FirebaseUserRepository;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IUserRepository;
+import com.example.coachesapp_android.database.PageCursor;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
+import com.example.coachesapp_android.util.InfiniteScrollListener;
+import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class ManagerListActivity extends AppCompatActivity {
+    private static final int PAGE_SIZE = 25;
+    private static final int PREFETCH_DISTANCE = 10;
+    private static final List<Role> MANAGER_ROLES = Arrays.asList(Role.CLUB_MANAGER, Role.CLUB_OWNER);
+
     private RecyclerView managersRecyclerView;
     private ProgressBar progressBar;
     private TextView emptyText;
@@ -39,6 +46,8 @@ public class ManagerListActivity extends AppCompatActivity {
     private IClubRepository clubRepository;
 
     private List<User> managers = new ArrayList<>();
+    private InfiniteScrollListener scrollListener;
+    private PageCursor nextUserPage;
     private ManagerAdapter adapter;
 
     @Override
@@ -47,8 +56,8 @@ public class ManagerListActivity extends AppCompatActivity {
         setContentView(R.layout.activity_manager_list);
 
         // Initialize repositories
-        userRepository = new FirebaseUserRepository();
-        clubRepository = new FirebaseClubRepository();
+        userRepository = RepositoryFactory.getUserRepository();
+        clubRepository = RepositoryFactory.getClubRepository();
 
         // Initialize views
         managersRecyclerView = findViewById(R.id.managersRecyclerView);
@@ -73,39 +82,41 @@ public class ManagerListActivity extends AppCompatActivity {
         managersRecyclerView.setVisibility(View.GONE);
         emptyText.setVisibility(View.GONE);
 
-        new Thread(() -> {
-            try {
-                List<User> allUsers = userRepository.findAll();
-                managers.clear();
-                
-                // Filter for approved managers and club owners only
-                for (User user : allUsers) {
-                    if ((user.getRole() == Role.CLUB_MANAGER || user.getRole() == Role.CLUB_OWNER) 
-                            && user.isApproved()) {
-                        managers.add(user);
-                    }
-                }
-
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    managerCountText.setText("Total Managers: " + managers.size());
-                    
-                    if (managers.isEmpty()) {
-                        emptyText.setVisibility(View.VISIBLE);
-                        managersRecyclerView.setVisibility(View.GONE);
-                    } else {
-                        emptyText.setVisibility(View.GONE);
-                        managersRecyclerView.setVisibility(View.VISIBLE);
-                        adapter.notifyDataSetChanged();
+        scrollListener = InfiniteScrollListener.attach(managersRecyclerView, PREFETCH_DISTANCE, this::loadNextManagerPage);
+    }
+
+    private void loadNextManagerPage() {
+        userRepository.findApprovedPageByRolesAsync(MANAGER_ROLES, nextUserPage, PAGE_SIZE)
+                .whenCompleteAsync((page, e) -> {
+                    if (e != null) {
+                        progressBar.setVisibility(View.GONE);
+                        scrollListener.onPageFailed();
+                        Toast.makeText(this, "Error loading managers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                        return;
                     }
-                });
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading managers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
-            }
-        }).start();
+
+                    // The query returns approved managers and club owners only
+                    int start = managers.size();
+                    managers.addAll(page.getItems());
+                    adapter.notifyItemRangeInserted(start, managers.size() - start);
+                    nextUserPage = page.getNext();
+                    updateManagerCount(page.hasMore());
+                    scrollListener.onPageLoaded(page.hasMore());
+                }, AppExecutors.getInstance().mainThread());
+    }
+
+    private void updateManagerCount(boolean hasMore) {
+        managerCountText.setText("Total Managers: " + managers.size() + (hasMore ? "+" : ""));
+        // Keep the spinner up until the first manager arrives
+        progressBar.setVisibility(managers.isEmpty() && hasMore ? View.VISIBLE : View.GONE);
+
+        if (managers.isEmpty()) {
+            emptyText.setVisibility(hasMore ? View.GONE : View.VISIBLE);
+            managersRecyclerView.setVisibility(View.GONE);
+        } else {
+            emptyText.setVisibility(View.GONE);
+            managersRecyclerView.setVisibility(View.VISIBLE);
+        }
     }
 
     private void deleteManager(User manager) {
@@ -113,17 +124,22 @@ public class ManagerListActivity extends AppCompatActivity {
                 .setTitle("Delete Manager")
                 .setMessage("Are you sure you want to delete " + manager.getUsername() + "?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    new Thread(() -> {
+                    AppExecutors.getInstance().io().execute(() -> {
                         boolean success = userRepository.delete(manager.getId());
                         runOnUiThread(() -> {
                             if (success) {
                                 Toast.makeText(this, "Manager deleted successfully", Toast.LENGTH_SHORT).show();
-                                loadManagers();
+                                int position = managers.indexOf(manager);
+                                if (position >= 0) {
+                                    managers.remove(position);
+                                    adapter.notifyItemRemoved(position);
+                                }
+                                updateManagerCount(nextUserPage != null);
                             } else {
                                 Toast.makeText(this, "Failed to delete manager", Toast.LENGTH_SHORT).show();
                             }
                         });
-                    }).start();
+                    }, AppExecutors.busyToast(this));
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -169,7 +185,7 @@ public class ManagerListActivity extends AppCompatActivity {
             
             // Get club name
             if (manager.getClubId() != null) {
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     Club club = clubRepository.findById(manager.getClubId());
                     runOnUiThread(() -> {
                         if (club != null) {
@@ -178,7 +194,7 @@ public class ManagerListActivity extends AppCompatActivity {
                             holder.managerClub.setText("Club: Not Assigned");
                         }
                     });
-                }).start();
+                }, () -> holder.managerClub.setText("Club: Not available"));
             } else {
                 holder.managerClub.setText("Club: Not Assigned");
             }
@@ -21,11 +21,13 @@ import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ManagerProfileActivity extends AppCompatActivity {
     private TextView managerNameText;
@@ -56,7 +58,7 @@ public class ManagerProfileActivity extends AppCompatActivity {
         
         playerRepository = RepositoryFactory.getPlayerRepository();
         clubRepository = RepositoryFactory.getClubRepository();
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        userRepository = RepositoryFactory.getUserRepository();
         currentManager = AppState.getInstance().currentUser;
         
         if (currentManager == null) {
@@ -75,13 +77,22 @@ public class ManagerProfileActivity extends AppCompatActivity {
     
     private void reloadUserData() {
         // Reload user from Firestore to get latest data (email, age, etc.)
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 com.example.coachesapp_android.model.User updatedUser = null;
                 
-                // Try to find by username
+                // Try to find by username. The profile may come from the local cache; a newer
+                // server copy is applied when it arrives
                 if (currentManager.getUsername() != null) {
-                    updatedUser = userRepository.findByUsername(currentManager.getUsername());
+                    updatedUser = userRepository.findByUsernameAsync(currentManager.getUsername(), refreshed -> {
+                        if (refreshed != null) {
+                            runOnUiThread(() -> {
+                                currentManager = refreshed;
+                                AppState.getInstance().currentUser = refreshed;
+                                loadManagerInfo();
+                            });
+                        }
+                    }).exceptionally(e -> null).join();
                 }
                 
                 // If not found or username is null, try by email
@@ -106,7 +117,7 @@ public class ManagerProfileActivity extends AppCompatActivity {
                     loadManagerInfo();
                 });
             }
-        }).start();
+        }, AppExecutors.busyToast(this, this::loadManagerInfo));
     }
     
     private void initializeViews() {
@@ -174,7 +185,7 @@ public class ManagerProfileActivity extends AppCompatActivity {
                 if (managerClubText != null) {
                     managerClubText.setText("Loading club...");
                 }
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     try {
                         Club club = clubRepository.findById(currentManager.getClubId());
                         runOnUiThread(() -> {
@@ -196,7 +207,11 @@ public class ManagerProfileActivity extends AppCompatActivity {
                             }
                         });
                     }
-                }).start();
+                }, AppExecutors.busyToast(this, () -> {
+                    if (managerClubText != null) {
+                        managerClubText.setText("Club: Not available");
+                    }
+                }));
             } else {
                 if (managerClubText != null) {
                     managerClubText.setText("Club: Free Agent");
@@ -238,17 +253,22 @@ public class ManagerProfileActivity extends AppCompatActivity {
             return;
         }
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 android.util.Log.d("ManagerProfile", "Loading players for club ID: " + currentManager.getClubId());
                 List<Player> players = playerRepository.findByClubId(currentManager.getClubId());
                 android.util.Log.d("ManagerProfile", "Found " + players.size() + " players from repository");
                 
                 // Filter to show only approved players
+                List<Integer> playerIds = new ArrayList<>();
+                for (Player player : players) {
+                    playerIds.add(player.getId());
+                }
+                Map<Integer, User> usersByPlayerId = userRepository.findByPlayerIds(playerIds);
                 List<Player> approvedPlayers = new ArrayList<>();
                 for (Player player : players) {
                     android.util.Log.d("ManagerProfile", "Checking player: " + player.getName() + ", ID: " + player.getId());
-                    User user = userRepository.findByPlayerId(player.getId());
+                    User user = usersByPlayerId.get(player.getId());
                     if (user != null) {
                         android.util.Log.d("ManagerProfile", "Found user: " + user.getUsername() + ", Approved: " + user.isApproved());
                         if (user.isApproved()) {
@@ -262,9 +282,14 @@ public class ManagerProfileActivity extends AppCompatActivity {
                 players = approvedPlayers;
                 
                 // Load club names for each player
+                List<Integer> clubIds = new ArrayList<>();
+                for (Player player : players) {
+                    clubIds.add(player.getClubId());
+                }
+                Map<Integer, Club> clubsById = clubRepository.findByIds(clubIds);
                 for (Player player : players) {
                     if (player.getClubId() != null) {
-                        Club club = clubRepository.findById(player.getClubId());
+                        Club club = clubsById.get(player.getClubId());
                         if (club != null) {
                             player.setClubView(club.getClubName());
                         }
@@ -294,7 +319,7 @@ public class ManagerProfileActivity extends AppCompatActivity {
                     android.widget.Toast.makeText(this, "Error loading players: " + e.getMessage(), android.widget.Toast.LENGTH_SHORT).show();
                 });
             }
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void filterPlayersByPosition() {
@@ -1,7 +1,6 @@
 package com.example.coachesapp_android;
 
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -16,22 +15,29 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.EntityChange;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.database.IUserRepository;
+import com.example.coachesapp_android.database.Subscription;
+import com.example.coachesapp_android.database.UnitOfWork;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Manager;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
+import com.example.coachesapp_android.util.LiveList;
+import com.example.coachesapp_android.util.Logger;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class PendingApprovalsActivity extends AppCompatActivity {
     private static final String TAG = "PendingApprovals";
+    private static final Logger LOG = Logger.forTag(TAG);
     
     private RecyclerView recyclerView;
     private ProgressBar progressBar;
@@ -41,7 +47,8 @@ public class PendingApprovalsActivity extends AppCompatActivity {
     private IUserRepository userRepository;
     private IPlayerRepository playerRepository;
     private IClubRepository clubRepository;
-    private List<User> pendingUsers;
+    private LiveList<User> pendingUsers;
+    private Subscription pendingSubscription;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -53,10 +60,10 @@ public class PendingApprovalsActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayHomeAsUpEnabled(true);
         }
         
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        userRepository = RepositoryFactory.getUserRepository();
         playerRepository = RepositoryFactory.getPlayerRepository();
         clubRepository = RepositoryFactory.getClubRepository();
-        pendingUsers = new ArrayList<>();
+        pendingUsers = new LiveList<>(User::getId, null);
         
         initializeViews();
         loadPendingUsers();
@@ -70,81 +77,62 @@ public class PendingApprovalsActivity extends AppCompatActivity {
         adapter = new PendingUsersAdapter();
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(adapter);
+        pendingUsers.attach(adapter);
     }
     
     private void loadPendingUsers() {
         progressBar.setVisibility(View.VISIBLE);
         emptyText.setVisibility(View.GONE);
         
-        new Thread(() -> {
-            try {
-                List<User> allUsers = userRepository.findAll();
-                
-                if (allUsers == null) {
-                    Log.e(TAG, "findAll() returned null");
-                    runOnUiThread(() -> {
-                        progressBar.setVisibility(View.GONE);
-                        emptyText.setVisibility(View.VISIBLE);
-                        emptyText.setText("Error loading users");
-                        Toast.makeText(this, "Error loading users", Toast.LENGTH_SHORT).show();
-                    });
-                    return;
-                }
-                
-                Log.d(TAG, "Total users loaded: " + allUsers.size());
-                pendingUsers.clear();
-                
-                // Filter unapproved users
-                for (User user : allUsers) {
-                    if (user == null) {
-                        Log.w(TAG, "Null user in list, skipping");
-                        continue;
-                    }
-                    
-                    Log.d(TAG, "User: " + user.getUsername() + ", Approved: " + user.isApproved() + ", Role: " + user.getRole());
-                    if (!user.isApproved() && user.getRole() != Role.SYSTEM_ADMIN) {
-                        pendingUsers.add(user);
-                        Log.d(TAG, "Added to pending: " + user.getUsername());
-                    }
-                }
-                
-                Log.d(TAG, "Total pending users: " + pendingUsers.size());
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    if (pendingUsers.isEmpty()) {
-                        emptyText.setVisibility(View.VISIBLE);
-                        emptyText.setText("No pending approvals");
-                        Log.d(TAG, "No pending users found");
-                    } else {
-                        emptyText.setVisibility(View.GONE);
-                        adapter.notifyDataSetChanged();
-                        Log.d(TAG, "Showing " + pendingUsers.size() + " pending users");
-                    }
-                });
-            } catch (Exception e) {
-                Log.e(TAG, "Error loading pending users", e);
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    emptyText.setVisibility(View.VISIBLE);
-                    emptyText.setText("Error loading users");
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                });
+        // After the first snapshot only approvals, rejections and new registrations are delivered
+        pendingSubscription = userRepository.observePendingApproval(new ChangeListener<User>() {
+            @Override
+            public void onChanges(List<EntityChange<User>> changes) {
+                pendingUsers.apply(changes);
+                LOG.d("Pending users changed by {}, now {}", changes.size(), pendingUsers.size());
+                progressBar.setVisibility(View.GONE);
+                updateEmptyState();
+            }
+            
+            @Override
+            public void onError(Exception e) {
+                progressBar.setVisibility(View.GONE);
+                emptyText.setVisibility(View.VISIBLE);
+                emptyText.setText("Error loading users");
+                Toast.makeText(PendingApprovalsActivity.this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
-        }).start();
+        });
+    }
+    
+    private void updateEmptyState() {
+        if (pendingUsers.isEmpty()) {
+            emptyText.setVisibility(View.VISIBLE);
+            emptyText.setText("No pending approvals");
+        } else {
+            emptyText.setVisibility(View.GONE);
+        }
+    }
+    
+    @Override
+    protected void onDestroy() {
+        if (pendingSubscription != null) {
+            pendingSubscription.cancel();
+        }
+        super.onDestroy();
     }
     
-    private void approveUser(User user, int position) {
+    private void approveUser(User user) {
         new AlertDialog.Builder(this)
             .setTitle("Approve User")
             .setMessage("Approve " + user.getUsername() + " as " + user.getRole().getDisplayName() + "?")
             .setPositiveButton("Approve", (dialog, which) -> {
                 progressBar.setVisibility(View.VISIBLE);
                 
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     try {
                         boolean success = false;
                         
-                        Log.d(TAG, "Starting approval for user: " + user.getUsername() + ", Role: " + user.getRole() + ", ClubId: " + user.getClubId());
+                        LOG.d("Starting approval for user: {}, Role: {}, ClubId: {}", user.getUsername(), user.getRole(), user.getClubId());
                         
                         // Create Player or Manager profile based on role
                         if (user.getRole() == Role.PLAYER) {
@@ -160,30 +148,37 @@ public class PendingApprovalsActivity extends AppCompatActivity {
                             player.setClubId(user.getClubId());
                             player.setInjured(false);
                             
-                            Log.d(TAG, "Creating player with ClubId: " + player.getClubId() + ", Position: " + playerPosition.getDisplayName());
-                            Player savedPlayer = playerRepository.save(player);
+                            LOG.d("Creating player with ClubId: {}, Position: {}", player.getClubId(), playerPosition.getDisplayName());
+                            // The player profile and the approved user are written in one batch,
+                            // so a failed approval never leaves an orphaned player behind
+                            UnitOfWork work = new UnitOfWork();
+                            Player savedPlayer = playerRepository.stageSave(player, work);
                             if (savedPlayer != null) {
                                 // Link player to user
                                 user.setPlayerId(savedPlayer.getId());
                                 user.setApproved(true);
                                 // Ensure clubId is preserved
-                                Log.d(TAG, "Before saving user - ClubId: " + user.getClubId());
-                                User updatedUser = userRepository.save(user);
-                                success = (updatedUser != null);
-                                Log.d(TAG, "Player profile created: " + savedPlayer.getName() + ", ID: " + savedPlayer.getId() + ", ClubId: " + savedPlayer.getClubId());
+                                LOG.d("Before saving user - ClubId: {}", user.getClubId());
+                                success = userRepository.stageSave(user, work) != null && work.commit();
+                                if (success) {
+                                    LOG.d("Player profile created: {}, ID: {}, ClubId: {}", savedPlayer.getName(), savedPlayer.getId(), savedPlayer.getClubId());
+                                } else {
+                                    user.setPlayerId(null);
+                                    user.setApproved(false);
+                                }
                             }
                         } else if (user.getRole() == Role.CLUB_MANAGER || user.getRole() == Role.CLUB_OWNER) {
                             // For managers, just approve the user and preserve club assignment
-                            Log.d(TAG, "Approving manager with ClubId: " + user.getClubId());
+                            LOG.d("Approving manager with ClubId: {}", user.getClubId());
                             user.setManagerId(user.getId());
                             user.setApproved(true);
                             // Club ID should already be set from registration
                             User updatedUser = userRepository.save(user);
                             success = (updatedUser != null);
                             if (success) {
-                                Log.d(TAG, "Manager approved: " + user.getUsername() + ", ClubId: " + updatedUser.getClubId());
+                                LOG.d("Manager approved: {}, ClubId: {}", user.getUsername(), updatedUser.getClubId());
                             } else {
-                                Log.e(TAG, "Failed to save manager approval");
+                                LOG.e("Failed to save manager approval");
                             }
                         }
                         
@@ -192,68 +187,55 @@ public class PendingApprovalsActivity extends AppCompatActivity {
                             progressBar.setVisibility(View.GONE);
                             if (finalSuccess) {
                                 Toast.makeText(this, "User approved and profile created successfully", Toast.LENGTH_SHORT).show();
-                                pendingUsers.remove(position);
-                                adapter.notifyItemRemoved(position);
-                                
-                                if (pendingUsers.isEmpty()) {
-                                    emptyText.setVisibility(View.VISIBLE);
-                                }
                             } else {
                                 Toast.makeText(this, "Failed to approve user", Toast.LENGTH_SHORT).show();
                             }
                         });
                     } catch (Exception e) {
-                        Log.e(TAG, "Error approving user", e);
+                        LOG.e("Error approving user", e);
                         runOnUiThread(() -> {
                             progressBar.setVisibility(View.GONE);
                             Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                         });
                     }
-                }).start();
+                }, AppExecutors.busyToast(this, () -> progressBar.setVisibility(View.GONE)));
             })
             .setNegativeButton("Cancel", null)
             .show();
     }
     
-    private void rejectUser(User user, int position) {
+    private void rejectUser(User user) {
         new AlertDialog.Builder(this)
             .setTitle("Reject User")
             .setMessage("Reject registration for " + user.getUsername() + "? This will delete their account.")
             .setPositiveButton("Reject", (dialog, which) -> {
                 progressBar.setVisibility(View.VISIBLE);
                 
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     try {
-                        Log.d(TAG, "Attempting to reject user: " + user.getUsername() + ", ID: " + user.getId());
+                        LOG.d("Attempting to reject user: {}, ID: {}", user.getUsername(), user.getId());
                         
                         // Use deleteByUsername for more reliable deletion
-                        boolean deleted = ((com.example.coachesapp_android.database.FirebaseUserRepository) userRepository)
-                                .deleteByUsername(user.getUsername());
+                        boolean deleted = userRepository.deleteByUsername(user.getUsername());
                         
-                        Log.d(TAG, "Deletion result: " + deleted);
+                        LOG.d("Deletion result: {}", deleted);
                         
                         runOnUiThread(() -> {
                             progressBar.setVisibility(View.GONE);
                             if (deleted) {
                                 Toast.makeText(this, "User rejected and deleted", Toast.LENGTH_SHORT).show();
-                                pendingUsers.remove(position);
-                                adapter.notifyItemRemoved(position);
-                                
-                                if (pendingUsers.isEmpty()) {
-                                    emptyText.setVisibility(View.VISIBLE);
-                                }
                             } else {
                                 Toast.makeText(this, "Failed to reject user. Check logs.", Toast.LENGTH_LONG).show();
                             }
                         });
                     } catch (Exception e) {
-                        Log.e(TAG, "Error rejecting user", e);
+                        LOG.e("Error rejecting user", e);
                         runOnUiThread(() -> {
                             progressBar.setVisibility(View.GONE);
                             Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                         });
                     }
-                }).start();
+                }, AppExecutors.busyToast(this, () -> progressBar.setVisibility(View.GONE)));
             })
             .setNegativeButton("Cancel", null)
             .show();
@@ -308,7 +290,7 @@ public class PendingApprovalsActivity extends AppCompatActivity {
             
             void bind(User user, int position) {
                 if (user == null) {
-                    Log.e(TAG, "Attempting to bind null user at position " + position);
+                    LOG.e("Attempting to bind null user at position {}", position);
                     return;
                 }
                 
@@ -333,7 +315,7 @@ public class PendingApprovalsActivity extends AppCompatActivity {
                     clubText.setText("Loading club...");
                     clubText.setVisibility(View.VISIBLE);
                     
-                    new Thread(() -> {
+                    AppExecutors.getInstance().io().execute(() -> {
                         try {
                             Club club = clubRepository.findById(user.getClubId());
                             runOnUiThread(() -> {
@@ -344,19 +326,19 @@ public class PendingApprovalsActivity extends AppCompatActivity {
                                 }
                             });
                         } catch (Exception e) {
-                            Log.e(TAG, "Error loading club", e);
+                            LOG.e("Error loading club", e);
                             runOnUiThread(() -> {
                                 clubText.setText("Club: Error loading");
                             });
                         }
-                    }).start();
+                    }, () -> clubText.setText("Club: Not available"));
                 } else {
                     clubText.setText("Club: Free Agent");
                     clubText.setVisibility(View.VISIBLE);
                 }
                 
-                approveButton.setOnClickListener(v -> approveUser(user, position));
-                rejectButton.setOnClickListener(v -> rejectUser(user, position));
+                approveButton.setOnClickListener(v -> approveUser(user));
+                rejectButton.setOnClickListener(v -> rejectUser(user));
             }
         }
     }
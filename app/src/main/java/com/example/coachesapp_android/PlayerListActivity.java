@@ -18,21 +18,41 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.coachesapp_android.database.CallScope;
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.EntityChange;
+import com.example.coachesapp_android.database.FirestoreFutures;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.database.IUserRepository;
+import com.example.coachesapp_android.database.PageCursor;
+import com.example.coachesapp_android.database.RepositoryTimeoutException;
+import com.example.coachesapp_android.database.Subscription;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
+import com.example.coachesapp_android.util.InfiniteScrollListener;
+import com.example.coachesapp_android.util.LiveList;
+import com.example.coachesapp_android.util.Logger;
+import com.example.coachesapp_android.util.PlayerFilter;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class PlayerListActivity extends AppCompatActivity {
+    private static final Logger LOG = Logger.forTag("PlayerListActivity");
+    private static final int PAGE_SIZE = 25;
+    private static final int PREFETCH_DISTANCE = 10;
 
     private RecyclerView recyclerView;
     private Button addPlayerButton;
@@ -43,19 +63,27 @@ public class PlayerListActivity extends AppCompatActivity {
     IPlayerRepository playerRepository;
     private IClubRepository clubRepository;
     private IUserRepository userRepository;
+    private CallScope calls;
     private PlayerAdapter adapter;
-    private List<Player> players;
-    private List<Player> allPlayers;
+    private LiveList<Player> players;
     private List<Club> clubs;
+    private Subscription playerSubscription;
+    private InfiniteScrollListener scrollListener;
+    private PageCursor nextPlayerPage;
+    // Bumped when the paged list starts over, so pages still in flight are dropped
+    private volatile int pageGeneration;
+    private CompletableFuture<Void> pendingChanges = CompletableFuture.completedFuture(null);
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_player_list);
         
-        playerRepository = RepositoryFactory.getPlayerRepository();
-        clubRepository = RepositoryFactory.getClubRepository();
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        // Reads are dropped when the screen closes, so late pages do not cost reads
+        calls = new CallScope(FirestoreFutures.DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        playerRepository = calls.bind(IPlayerRepository.class, RepositoryFactory.getPlayerRepository());
+        clubRepository = calls.bind(IClubRepository.class, RepositoryFactory.getClubRepository());
+        userRepository = calls.bind(IUserRepository.class, RepositoryFactory.getUserRepository());
         
         initializeViews();
         loadPlayers();
@@ -71,11 +99,15 @@ public class PlayerListActivity extends AppCompatActivity {
         sortClubSpinner = findViewById(R.id.sortClubSpinner);
         
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        players = new ArrayList<>();
-        allPlayers = new ArrayList<>();
+        players = new LiveList<>(Player::getId,
+            Comparator.comparing(Player::getName, Comparator.nullsLast(Comparator.naturalOrder())));
         clubs = new ArrayList<>();
+        adapter = new PlayerAdapter();
+        recyclerView.setAdapter(adapter);
+        players.attach(adapter);
         
         setupSpinners();
+        players.setFilter(currentFilter());
         
         // Show club spinner for admin or club owner
         if (AppState.getInstance().currentUser != null && 
@@ -94,99 +126,153 @@ public class PlayerListActivity extends AppCompatActivity {
     }
     
     private void loadPlayers() {
-        // Load players in background thread
-        new Thread(() -> {
-            List<Player> loadedPlayers = new ArrayList<>();
-            
-            // Check if we're viewing a specific club's players (from manager list)
-            Integer filterClubId = getIntent().getIntExtra("clubId", -1);
-            if (filterClubId == -1) {
-                filterClubId = null;
+        // Check if we're viewing a specific club's players (from manager list)
+        Integer filterClubId = getIntent().getIntExtra("clubId", -1);
+        if (filterClubId == -1) {
+            filterClubId = null;
+        }
+        
+        if (AppState.getInstance().currentUser == null) {
+            return;
+        }
+        Role role = AppState.getInstance().currentUser.getRole();
+        Integer currentUserClubId = AppState.getInstance().currentUser.getClubId();
+        
+        LOG.d("========== OBSERVING PLAYERS ==========");
+        LOG.d("User: {}", AppState.getInstance().currentUser.getUsername());
+        LOG.d("Role: {}", role);
+        LOG.d("User ClubId: {}", currentUserClubId);
+        LOG.d("Filter ClubId from intent: {}", filterClubId);
+        
+        // After the first snapshot only added, edited and deleted players are delivered
+        ChangeListener<Player> listener = this::onPlayerChanges;
+        
+        // If filterClubId is set (viewing from manager list), use it regardless of role
+        if (filterClubId != null) {
+            LOG.d("Observing players for specific club: {}", filterClubId);
+            playerSubscription = playerRepository.observeByClubId(filterClubId, listener);
+        } else if (role == Role.SYSTEM_ADMIN || role == Role.CLUB_OWNER) {
+            // Admin and owner can see all players, read a page at a time as they scroll
+            scrollListener = InfiniteScrollListener.attach(recyclerView, PREFETCH_DISTANCE, this::loadNextPlayerPage);
+        } else if (role == Role.CLUB_MANAGER) {
+            if (currentUserClubId != null && currentUserClubId != 0) {
+                LOG.d("Observing players with clubId: {}", currentUserClubId);
+                playerSubscription = playerRepository.observeByClubId(currentUserClubId, listener);
+            } else {
+                LOG.e("Manager has no clubId assigned! ClubId is: {}", currentUserClubId);
             }
-            
-            if (AppState.getInstance().currentUser != null) {
-                Role role = AppState.getInstance().currentUser.getRole();
-                Integer currentUserClubId = AppState.getInstance().currentUser.getClubId();
-                
-                android.util.Log.d("PlayerListActivity", "========== LOADING PLAYERS ==========");
-                android.util.Log.d("PlayerListActivity", "User: " + AppState.getInstance().currentUser.getUsername());
-                android.util.Log.d("PlayerListActivity", "Role: " + role);
-                android.util.Log.d("PlayerListActivity", "User ClubId: " + currentUserClubId);
-                android.util.Log.d("PlayerListActivity", "Filter ClubId from intent: " + filterClubId);
-                
-                // If filterClubId is set (viewing from manager list), use it regardless of role
-                if (filterClubId != null) {
-                    android.util.Log.d("PlayerListActivity", "Loading players for specific club: " + filterClubId);
-                    loadedPlayers = playerRepository.findByClubId(filterClubId);
-                    android.util.Log.d("PlayerListActivity", "Loaded " + loadedPlayers.size() + " players for club " + filterClubId);
-                } else if (role == Role.SYSTEM_ADMIN || role == Role.CLUB_OWNER) {
-                    // Admin and owner can see all players
-                    loadedPlayers = playerRepository.findAll();
-                    android.util.Log.d("PlayerListActivity", "Admin/Owner loaded " + loadedPlayers.size() + " total players");
-                } else if (role == Role.CLUB_MANAGER) {
-                    if (currentUserClubId != null && currentUserClubId != 0) {
-                        android.util.Log.d("PlayerListActivity", "Searching for players with clubId: " + currentUserClubId);
-                        loadedPlayers = playerRepository.findByClubId(currentUserClubId);
-                        android.util.Log.d("PlayerListActivity", "Manager loaded " + loadedPlayers.size() + " players for club " + currentUserClubId);
-                        
-                        // Log each player found
-                        for (Player p : loadedPlayers) {
-                            android.util.Log.d("PlayerListActivity", "  - Found player: " + p.getName() + ", PlayerClubId: " + p.getClubId());
-                        }
-                    } else {
-                        android.util.Log.e("PlayerListActivity", "Manager has no clubId assigned! ClubId is: " + currentUserClubId);
-                    }
+        }
+    }
+    
+    private void loadNextPlayerPage() {
+        int generation = pageGeneration;
+        playerRepository.findPageAsync(nextPlayerPage, PAGE_SIZE)
+            .thenCompose(page -> {
+                if (generation != pageGeneration) {
+                    return CompletableFuture.completedFuture(page);
                 }
-                
-                // Filter to show only approved players
-                List<Player> approvedPlayers = new ArrayList<>();
-                for (Player player : loadedPlayers) {
-                    android.util.Log.d("PlayerListActivity", "Checking player: " + player.getName() + ", ID: " + player.getId() + ", ClubId: " + player.getClubId());
-                    User user = userRepository.findByPlayerId(player.getId());
-                    if (user != null) {
-                        android.util.Log.d("PlayerListActivity", "Found user for player: " + user.getUsername() + ", Approved: " + user.isApproved());
-                        if (user.isApproved()) {
-                            approvedPlayers.add(player);
-                        }
-                    } else {
-                        android.util.Log.w("PlayerListActivity", "No user found for player ID: " + player.getId());
-                    }
+                List<EntityChange<Player>> changes = new ArrayList<>();
+                for (Player player : page.getItems()) {
+                    changes.add(new EntityChange<>(EntityChange.Type.ADDED, player.getId(), player));
+                }
+                return onPlayerChanges(changes).thenApply(ignored -> page);
+            })
+            .whenCompleteAsync((page, e) -> {
+                if (generation != pageGeneration) {
+                    return;
+                }
+                if (e != null) {
+                    LOG.e("Error loading player page", e);
+                    scrollListener.onPageFailed();
+                    return;
                 }
-                android.util.Log.d("PlayerListActivity", "After filtering: " + approvedPlayers.size() + " approved players");
-                loadedPlayers = approvedPlayers;
+                nextPlayerPage = page.getNext();
+                scrollListener.onPageLoaded(page.hasMore());
+            }, AppExecutors.getInstance().mainThread());
+    }
+    
+    /**
+     * Looks up approval and club names for the changed players only, then applies the batch.
+     * Batches are chained so they reach the list in the order they were delivered.
+     */
+    private CompletableFuture<Void> onPlayerChanges(List<EntityChange<Player>> changes) {
+        List<Integer> playerIds = new ArrayList<>();
+        List<Integer> clubIds = new ArrayList<>();
+        for (EntityChange<Player> change : changes) {
+            if (change.getType() != EntityChange.Type.REMOVED) {
+                playerIds.add(change.getId());
+                clubIds.add(change.getEntity().getClubId());
+            }
+        }
+        
+        pendingChanges = pendingChanges
+            .thenCompose(ignored -> userRepository.findByPlayerIdsAsync(playerIds)
+                .thenCombine(clubRepository.findByIdsAsync(clubIds),
+                    (usersByPlayerId, clubsById) -> resolveChanges(changes, usersByPlayerId, clubsById)))
+            .thenAcceptAsync(resolved -> {
+                players.apply(resolved);
+                LOG.d("Applied {} changes, displaying {} players", resolved.size(), players.size());
+            }, AppExecutors.getInstance().mainThread())
+            .exceptionally(e -> {
+                LOG.e("Error applying player changes", e);
+                return null;
+            });
+        return pendingChanges;
+    }
+    
+    private List<EntityChange<Player>> resolveChanges(List<EntityChange<Player>> changes,
+                                                      Map<Integer, User> usersByPlayerId,
+                                                      Map<Integer, Club> clubsById) {
+        List<EntityChange<Player>> resolved = new ArrayList<>();
+        for (EntityChange<Player> change : changes) {
+            Player player = change.getEntity();
+            if (change.getType() == EntityChange.Type.REMOVED) {
+                resolved.add(change);
+                continue;
             }
             
-            // Add club names to players
-            for (Player player : loadedPlayers) {
-                if (player.getClubId() != null) {
-                    Club club = clubRepository.findById(player.getClubId());
-                    if (club != null) {
-                        player.setClubView(club.getClubName());
-                        android.util.Log.d("PlayerListActivity", "Set club name: " + club.getClubName() + " for player: " + player.getName());
-                    } else {
-                        android.util.Log.w("PlayerListActivity", "Club not found for ID: " + player.getClubId());
-                    }
+            // Filter to show only approved players
+            User user = usersByPlayerId.get(player.getId());
+            if (user == null || !user.isApproved()) {
+                if (user == null) {
+                    LOG.w("No user found for player ID: {}", player.getId());
                 }
+                resolved.add(new EntityChange<>(EntityChange.Type.REMOVED, change.getId(), player));
+                continue;
             }
             
-            List<Player> finalPlayers = loadedPlayers;
-            runOnUiThread(() -> {
-                players.clear();
-                players.addAll(finalPlayers);
-                allPlayers.clear();
-                allPlayers.addAll(finalPlayers);
-                adapter = new PlayerAdapter(players);
-                recyclerView.setAdapter(adapter);
-                android.util.Log.d("PlayerListActivity", "Displayed " + finalPlayers.size() + " players in RecyclerView");
-            });
-        }).start();
+            // Add club names to players
+            if (player.getClubId() != null) {
+                Club club = clubsById.get(player.getClubId());
+                if (club != null) {
+                    player.setClubView(club.getClubName());
+                } else {
+                    LOG.w("Club not found for ID: {}", player.getClubId());
+                }
+            }
+            resolved.add(change);
+        }
+        return resolved;
+    }
+    
+    @Override
+    protected void onDestroy() {
+        if (playerSubscription != null) {
+            playerSubscription.cancel();
+        }
+        calls.cancel();
+        super.onDestroy();
     }
     
     private void loadClubs() {
-        new Thread(() -> {
-            clubs = clubRepository.findAll();
-            runOnUiThread(() -> updateClubSpinner());
-        }).start();
+        AppExecutors.getInstance().io().execute(() -> {
+            try {
+                clubs = clubRepository.findAll();
+                runOnUiThread(() -> updateClubSpinner());
+            } catch (RepositoryTimeoutException e) {
+                LOG.w("Clubs not loaded: {}", e.getMessage());
+            }
+        }, AppExecutors.busyToast(this, this::updateClubSpinner));
     }
     
     private void setupSpinners() {
@@ -262,48 +348,34 @@ public class PlayerListActivity extends AppCompatActivity {
     }
     
     private void filterPlayers() {
-        if (allPlayers.isEmpty()) return;
+        players.setFilter(currentFilter());
+    }
+    
+    private PlayerFilter currentFilter() {
+        int positionIndex = sortPositionSpinner.getSelectedItemPosition();
+        Position position = positionIndex > 0 ? Position.values()[positionIndex - 1] : null;
         
-        String selectedPosition = sortPositionSpinner.getSelectedItem().toString();
         String selectedHealth = sortHealthSpinner.getSelectedItem() != null ? 
                              sortHealthSpinner.getSelectedItem().toString() : "All Players";
-        String selectedClub = "All Clubs";
+        Boolean injured = null;
+        if (selectedHealth.equals("Healthy")) {
+            injured = false;
+        } else if (selectedHealth.equals("Injured")) {
+            injured = true;
+        }
+        // "All Players" matches everything
         
         // Get club filter only if user is admin/owner and spinner is visible
+        String clubName = null;
         if (AppState.getInstance().currentUser != null && 
             (AppState.getInstance().currentUser.getRole() == Role.SYSTEM_ADMIN ||
              AppState.getInstance().currentUser.getRole() == Role.CLUB_OWNER) &&
-            sortClubSpinner.getSelectedItem() != null) {
-            selectedClub = sortClubSpinner.getSelectedItem().toString();
-        }
-        
-        List<Player> filtered = new ArrayList<>();
-        
-        for (Player player : allPlayers) {
-            boolean matchesPosition = selectedPosition.equals("All Positions") || 
-                                    player.getPosition().getDisplayName().equals(selectedPosition);
-            
-            boolean matchesHealth = true;
-            if (selectedHealth.equals("Healthy")) {
-                matchesHealth = !player.isInjured();
-            } else if (selectedHealth.equals("Injured")) {
-                matchesHealth = player.isInjured();
-            }
-            // "All Players" matches everything
-            
-            boolean matchesClub = selectedClub.equals("All Clubs") || 
-                                (player.getClubView() != null && player.getClubView().equals(selectedClub));
-            
-            if (matchesPosition && matchesHealth && matchesClub) {
-                filtered.add(player);
-            }
+            sortClubSpinner.getSelectedItem() != null &&
+            !sortClubSpinner.getSelectedItem().toString().equals("All Clubs")) {
+            clubName = sortClubSpinner.getSelectedItem().toString();
         }
         
-        players.clear();
-        players.addAll(filtered);
-        if (adapter != null) {
-            adapter.notifyDataSetChanged();
-        }
+        return new PlayerFilter(position, injured, clubName);
     }
     
     private void setupListeners() {
@@ -318,17 +390,16 @@ public class PlayerListActivity extends AppCompatActivity {
     @Override
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
         super.onActivityResult(requestCode, resultCode, data);
-        if (requestCode == 100 && resultCode == RESULT_OK) {
-            loadPlayers();
+        // Live club lists pick edits up by themselves; paged lists start over
+        if (requestCode == 100 && resultCode == RESULT_OK && scrollListener != null) {
+            pageGeneration++;
+            nextPlayerPage = null;
+            players.clear();
+            scrollListener.reset();
         }
     }
     
     private class PlayerAdapter extends RecyclerView.Adapter<PlayerAdapter.PlayerViewHolder> {
-        private List<Player> players;
-        
-        public PlayerAdapter(List<Player> players) {
-            this.players = players;
-        }
         
         @NonNull
         @Override
@@ -403,21 +474,18 @@ public class PlayerListActivity extends AppCompatActivity {
                         .setMessage("Are you sure you want to delete " + player.getName() + "?")
                         .setPositiveButton("Delete", (dialog, which) -> {
                             // Delete in background thread
-                            new Thread(() -> {
+                            AppExecutors.getInstance().io().execute(() -> {
                                 boolean success = playerRepository.delete(player.getId());
                                 runOnUiThread(() -> {
                                     if (success) {
-                                        int position = getAdapterPosition();
-                                        if (position != RecyclerView.NO_POSITION) {
-                                            players.remove(position);
-                                            notifyItemRemoved(position);
-                                        }
+                                        players.apply(Collections.singletonList(
+                                            new EntityChange<>(EntityChange.Type.REMOVED, player.getId(), player)));
                                         Toast.makeText(PlayerListActivity.this, "Player deleted", Toast.LENGTH_SHORT).show();
                                     } else {
                                         Toast.makeText(PlayerListActivity.this, "Failed to delete player", Toast.LENGTH_SHORT).show();
                                     }
                                 });
-                            }).start();
+                            }, AppExecutors.busyToast(PlayerListActivity.this));
                         })
                         .setNegativeButton("Cancel", null)
                         .show();
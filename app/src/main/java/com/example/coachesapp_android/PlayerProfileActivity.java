@@ -13,6 +13,7 @@ import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
@@ -76,7 +77,7 @@ public class PlayerProfileActivity extends AppCompatActivity {
     
     private void loadPlayerData() {
         // Load player data in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 // First check if viewing a selected player (from admin/manager)
                 Player selectedPlayer = AppState.getInstance().getSelectedPlayer();
@@ -123,7 +124,7 @@ public class PlayerProfileActivity extends AppCompatActivity {
                     finish();
                 });
             }
-        }).start();
+        }, AppExecutors.busyToast(this, this::finish));
     }
     
     private void displayPlayerInfo() {
@@ -135,10 +136,10 @@ public class PlayerProfileActivity extends AppCompatActivity {
             // Load email from the player's user account (not current logged-in user)
             if (playerEmailText != null) {
                 playerEmailText.setText("Email: Loading...");
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     try {
                         com.example.coachesapp_android.database.IUserRepository userRepository = 
-                            com.example.coachesapp_android.util.RepositoryFactory.getFirebaseUserRepository();
+                            com.example.coachesapp_android.util.RepositoryFactory.getUserRepository();
                         User playerUser = userRepository.findByPlayerId(player.getId());
                         runOnUiThread(() -> {
                             if (playerUser != null && playerUser.getEmail() != null && !playerUser.getEmail().isEmpty()) {
@@ -151,7 +152,8 @@ public class PlayerProfileActivity extends AppCompatActivity {
                         Log.e(TAG, "Error loading player email", e);
                         runOnUiThread(() -> playerEmailText.setText("Email: Not available"));
                     }
-                }).start();
+                }, AppExecutors.busyToast(this,
+                        () -> playerEmailText.setText("Email: Not available")));
             }
             
             if (playerAgeText != null) {
@@ -163,7 +165,7 @@ public class PlayerProfileActivity extends AppCompatActivity {
                 if (playerClubText != null) {
                     playerClubText.setText("Club: Loading...");
                 }
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     Club club = clubRepository.findById(player.getClubId());
                     runOnUiThread(() -> {
                         if (playerClubText != null) {
@@ -174,7 +176,11 @@ public class PlayerProfileActivity extends AppCompatActivity {
                             }
                         }
                     });
-                }).start();
+                }, AppExecutors.busyToast(this, () -> {
+                    if (playerClubText != null) {
+                        playerClubText.setText("Club: Not available");
+                    }
+                }));
             } else {
                 if (playerClubText != null) {
                     playerClubText.setText("Club: Free Agent");
@@ -207,7 +213,7 @@ public class PlayerProfileActivity extends AppCompatActivity {
                 player.setInjured(!player.isInjured());
                 
                 // Update in background thread
-                new Thread(() -> {
+                AppExecutors.getInstance().io().execute(() -> {
                     boolean success = playerRepository.update(player);
                     runOnUiThread(() -> {
                         if (success) {
@@ -219,7 +225,7 @@ public class PlayerProfileActivity extends AppCompatActivity {
                             Toast.makeText(this, "Failed to update player status", Toast.LENGTH_SHORT).show();
                         }
                     });
-                }).start();
+                }, AppExecutors.busyToast(this, () -> player.setInjured(!player.isInjured())));
             });
         }
     }
@@ -13,12 +13,13 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.coachesapp_android.database.FirebaseUserRepository;
+import com.example.coachesapp_android.database.IUserRepository;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.util.ArrayList;
@@ -48,7 +49,7 @@ public class RegistrationActivity extends AppCompatActivity {
     private TextView passwordStrengthText;
     
     private FirebaseAuth firebaseAuth;
-    private FirebaseUserRepository userRepository;
+    private IUserRepository userRepository;
     private IClubRepository clubRepository;
     private List<Club> clubs = new ArrayList<>();
     
@@ -58,7 +59,7 @@ public class RegistrationActivity extends AppCompatActivity {
         setContentView(R.layout.activity_registration);
         
         firebaseAuth = FirebaseAuth.getInstance();
-        userRepository = RepositoryFactory.getFirebaseUserRepository();
+        userRepository = RepositoryFactory.getUserRepository();
         clubRepository = RepositoryFactory.getClubRepository();
         
         initializeViews();
@@ -155,7 +156,7 @@ public class RegistrationActivity extends AppCompatActivity {
     }
     
     private void loadClubs() {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             clubs = clubRepository.findAll();
             runOnUiThread(() -> {
                 List<String> clubNames = new ArrayList<>();
@@ -172,7 +173,7 @@ public class RegistrationActivity extends AppCompatActivity {
                 adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
                 clubSpinner.setAdapter(adapter);
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void setupListeners() {
@@ -344,7 +345,7 @@ public class RegistrationActivity extends AppCompatActivity {
         }
         
         // Save to Firestore in background thread
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             Log.d(TAG, "Saving user to Firestore: " + user.getUsername() + ", ClubId: " + user.getClubId() + ", Approved: " + user.isApproved());
             User savedUser = userRepository.save(user);
             Log.d(TAG, "Save result: " + (savedUser != null ? "Success" : "Failed"));
@@ -363,7 +364,11 @@ public class RegistrationActivity extends AppCompatActivity {
                     firebaseAuth.getCurrentUser().delete();
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this, () -> {
+            showLoading(false);
+            // Nothing was saved, so the Firebase Auth user is cleaned up as on a failed save
+            firebaseAuth.getCurrentUser().delete();
+        }));
     }
     
     private void showLoading(boolean show) {
@@ -0,0 +1,104 @@
+package com.example.coachesapp_android;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.coachesapp_android.database.RepositoryMetrics;
+import com.example.coachesapp_android.util.AppExecutors;
+
+import java.io.File;
+
+public class RepositoryStatsActivity extends AppCompatActivity {
+    private TextView statsText;
+    private TextView emptyText;
+    private Button refreshButton;
+    private Button resetButton;
+    private Button dumpButton;
+    
+    private RepositoryMetrics metrics;
+    
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_repository_stats);
+        
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setTitle("Repository Stats");
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+        }
+        
+        metrics = RepositoryMetrics.getInstance();
+        
+        initializeViews();
+        setupListeners();
+    }
+    
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showStats();
+    }
+    
+    private void initializeViews() {
+        statsText = findViewById(R.id.statsText);
+        emptyText = findViewById(R.id.emptyText);
+        refreshButton = findViewById(R.id.refreshButton);
+        resetButton = findViewById(R.id.resetButton);
+        dumpButton = findViewById(R.id.dumpButton);
+    }
+    
+    private void setupListeners() {
+        refreshButton.setOnClickListener(v -> showStats());
+        
+        resetButton.setOnClickListener(v -> {
+            metrics.reset();
+            showStats();
+        });
+        
+        dumpButton.setOnClickListener(v -> dumpStats());
+    }
+    
+    private void showStats() {
+        // The report walks the latency histogram of every method, so it is built off the main thread
+        AppExecutors.getInstance().cpu().execute(() -> {
+            boolean empty = metrics.snapshot().isEmpty();
+            String report = empty ? "" : metrics.report();
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                emptyText.setVisibility(empty ? View.VISIBLE : View.GONE);
+                statsText.setText(report);
+            });
+        }, AppExecutors.busyToast(this));
+        AppExecutors.getInstance().logStats();
+    }
+    
+    /**
+     * Writes the stats to the app's external files directory, which can be pulled over adb
+     * without root, falling back to internal storage.
+     */
+    private void dumpStats() {
+        File directory = getExternalFilesDir(null);
+        File target = directory != null ? directory : getFilesDir();
+        
+        AppExecutors.getInstance().io().execute(() -> {
+            File file = metrics.dumpTo(target);
+            AppExecutors.getInstance().mainThread().execute(() -> {
+                if (file != null) {
+                    Toast.makeText(this, "Saved to " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+                } else {
+                    Toast.makeText(this, "Could not save stats", Toast.LENGTH_SHORT).show();
+                }
+            });
+        }, AppExecutors.busyToast(this));
+    }
+    
+    @Override
+    public boolean onSupportNavigateUp() {
+        onBackPressed();
+        return true;
+    }
+}
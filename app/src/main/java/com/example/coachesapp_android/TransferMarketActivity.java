@@ -19,24 +19,38 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.coachesapp_android.model.Club;
 import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.TransferRequest;
 import com.example.coachesapp_android.model.User;
-import com.example.coachesapp_android.database.FirebaseClubRepository;
-import com.example.coachesapp_android.database.FirebasePlayerRepository;
-import com.example.coachesapp_android.repository.FirebaseTransferRequestRepository;
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.EntityChange;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IPlayerRepository;
+import com.example.coachesapp_android.database.Subscription;
 import com.example.coachesapp_android.repository.ITransferRequestRepository;
+import com.example.coachesapp_android.repository.ITransferSettlementService;
+import com.example.coachesapp_android.repository.SettlementOutcome;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
+import com.example.coachesapp_android.util.LiveList;
+import com.example.coachesapp_android.util.Logger;
+import com.example.coachesapp_android.util.MarketBook;
+import com.example.coachesapp_android.util.MarketFilter;
+import com.example.coachesapp_android.util.RepositoryFactory;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class TransferMarketActivity extends AppCompatActivity {
+    private static final Logger LOG = Logger.forTag("TransferMarket");
+
     private RecyclerView marketPlayersRecyclerView;
     private ProgressBar progressBar;
     private TextView emptyText;
@@ -47,10 +61,13 @@ public class TransferMarketActivity extends AppCompatActivity {
     private ITransferRequestRepository transferRequestRepository;
     private IPlayerRepository playerRepository;
     private IClubRepository clubRepository;
+    private ITransferSettlementService settlementService;
 
-    private List<TransferRequest> allMarketRequests = new ArrayList<>();
-    private List<TransferRequest> filteredMarketRequests = new ArrayList<>();
-    private List<Player> allPlayers = new ArrayList<>();
+    private final LiveList<TransferRequest> marketRequests = new LiveList<>(TransferRequest::getId, MarketBook.CHEAPEST_FIRST);
+    // The listings with their players, fetched as requests appear, indexed by position and fee
+    private final MarketBook marketBook = new MarketBook();
+    private CompletableFuture<Void> pendingChanges = CompletableFuture.completedFuture(null);
+    private Subscription marketSubscription;
     private MarketPlayerAdapter adapter;
 
     private User currentUser;
@@ -69,9 +86,10 @@ public class TransferMarketActivity extends AppCompatActivity {
         }
 
         // Initialize repositories
-        playerRepository = new FirebasePlayerRepository();
-        clubRepository = new FirebaseClubRepository();
-        transferRequestRepository = new FirebaseTransferRequestRepository(playerRepository, clubRepository);
+        playerRepository = RepositoryFactory.getPlayerRepository();
+        clubRepository = RepositoryFactory.getClubRepository();
+        transferRequestRepository = RepositoryFactory.getTransferRequestRepository();
+        settlementService = RepositoryFactory.getTransferSettlementService();
 
         // Initialize views
         marketPlayersRecyclerView = findViewById(R.id.marketPlayersRecyclerView);
@@ -85,6 +103,8 @@ public class TransferMarketActivity extends AppCompatActivity {
         adapter = new MarketPlayerAdapter();
         marketPlayersRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         marketPlayersRecyclerView.setAdapter(adapter);
+        marketRequests.attach(adapter);
+        marketRequests.setFilter(currentFilter());
 
         // Setup buttons
         backButton.setOnClickListener(v -> finish());
@@ -130,140 +150,124 @@ public class TransferMarketActivity extends AppCompatActivity {
         marketPlayersRecyclerView.setVisibility(View.GONE);
         emptyText.setVisibility(View.GONE);
 
-        new Thread(() -> {
-            try {
-                android.util.Log.d("TransferMarket", "Loading market players...");
-                android.util.Log.d("TransferMarket", "Current user club ID: " + currentUser.getClubId());
-                
-                // Get all transfer requests with IN_MARKET status
-                allMarketRequests = transferRequestRepository.findInMarket();
-                android.util.Log.d("TransferMarket", "Found " + allMarketRequests.size() + " players in market");
-                
-                // Log each market player
-                for (TransferRequest req : allMarketRequests) {
-                    android.util.Log.d("TransferMarket", "  - Player: " + req.getPlayerName() + 
-                            ", Type: " + req.getTransferType() +
-                            ", SourceClub: " + req.getSourceClubId() +
-                            ", DestClub: " + req.getDestinationClubId() +
-                            ", Fee: $" + req.getReleaseFee() + 
-                            ", Status: " + req.getStatus());
-                }
-                
-                // Load all players for reference
-                allPlayers = playerRepository.findAll();
-                android.util.Log.d("TransferMarket", "Loaded " + allPlayers.size() + " total players");
+        LOG.d("Observing market players...");
+        LOG.d("Current user club ID: {}", currentUser.getClubId());
 
-                filterMarketPlayers();
+        marketSubscription = transferRequestRepository.observeInMarket(new ChangeListener<TransferRequest>() {
+            @Override
+            public void onChanges(List<EntityChange<TransferRequest>> changes) {
+                onMarketChanges(changes);
+            }
 
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    if (filteredMarketRequests.isEmpty()) {
-                        android.util.Log.d("TransferMarket", "No players in market after filtering");
-                        emptyText.setVisibility(View.VISIBLE);
-                        marketPlayersRecyclerView.setVisibility(View.GONE);
-                    } else {
-                        android.util.Log.d("TransferMarket", "Displaying " + filteredMarketRequests.size() + " players in market");
-                        emptyText.setVisibility(View.GONE);
-                        marketPlayersRecyclerView.setVisibility(View.VISIBLE);
-                        adapter.notifyDataSetChanged();
+            @Override
+            public void onError(Exception e) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(TransferMarketActivity.this, "Error loading market: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /**
+     * Fetches the players behind newly listed requests that carry no player snapshot, then
+     * applies the changes. Batches are chained so they reach the list in the order the listener
+     * delivered them.
+     */
+    private void onMarketChanges(List<EntityChange<TransferRequest>> changes) {
+        Set<Integer> missingPlayerIds = new HashSet<>();
+        for (EntityChange<TransferRequest> change : changes) {
+            TransferRequest req = change.getEntity();
+            if (LOG.isVerboseEnabled()) {
+                LOG.v("  - {} Player: {}, Type: {}, SourceClub: {}, DestClub: {}, Fee: ${}, Status: {}", change.getType(), req.getPlayerName(), req.getTransferType(), req.getSourceClubId(), req.getDestinationClubId(), req.getReleaseFee(), req.getStatus());
+            }
+            if (change.getType() != EntityChange.Type.REMOVED && req.getPlayerId() != null
+                    && !req.hasPlayerSnapshot() && !marketBook.containsPlayer(req.getPlayerId())) {
+                missingPlayerIds.add(req.getPlayerId());
+            }
+        }
+
+        pendingChanges = pendingChanges
+                .thenCompose(ignored -> missingPlayerIds.isEmpty()
+                        ? CompletableFuture.completedFuture(Collections.<Integer, Player>emptyMap())
+                        : playerRepository.findByIdsAsync(missingPlayerIds))
+                .exceptionally(e -> {
+                    LOG.e("Error loading market players", e);
+                    return Collections.emptyMap();
+                })
+                .thenAcceptAsync(players -> {
+                    for (EntityChange<TransferRequest> change : changes) {
+                        if (change.getType() == EntityChange.Type.REMOVED) {
+                            marketBook.remove(change.getId());
+                            continue;
+                        }
+                        TransferRequest req = change.getEntity();
+                        Player player = req.hasPlayerSnapshot() ? playerFromSnapshot(req) : players.get(req.getPlayerId());
+                        marketBook.put(req, player != null ? player : marketBook.getPlayer(req.getPlayerId()));
                     }
-                });
-            } catch (Exception e) {
-                android.util.Log.e("TransferMarket", "Error loading market", e);
-                runOnUiThread(() -> {
+                    LOG.d("Loaded {} players, {} listings in the book", players.size(), marketBook.size());
+                    marketRequests.apply(changes);
+                    LOG.d("Displaying {} players in market", marketRequests.size());
                     progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading market: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    updateEmptyState();
+                }, AppExecutors.getInstance().mainThread())
+                .exceptionally(e -> {
+                    LOG.e("Error applying market changes", e);
+                    return null;
                 });
-            }
-        }).start();
+    }
+
+    /**
+     * The listed player as far as the listing's snapshot tells, enough to show and filter it.
+     */
+    private static Player playerFromSnapshot(TransferRequest req) {
+        Player player = new Player(req.getPlayerName(), req.getPlayerAge(), req.getPlayerJersey(),
+                req.getPlayerPosition(), false);
+        player.setId(req.getPlayerId());
+        player.setClubId(req.getSourceClubId());
+        return player;
     }
 
     private void filterMarketPlayers() {
-        filteredMarketRequests.clear();
-        
-        android.util.Log.d("TransferMarket", "=== FILTERING MARKET PLAYERS ===");
-        android.util.Log.d("TransferMarket", "Total requests to filter: " + allMarketRequests.size());
-        android.util.Log.d("TransferMarket", "Current manager club ID: " + currentUser.getClubId());
-
-        for (TransferRequest tr : allMarketRequests) {
-            android.util.Log.d("TransferMarket", "Checking transfer: " + tr.getPlayerName() + 
-                    ", Type: " + tr.getTransferType() + 
-                    ", SourceClub: " + tr.getSourceClubId() + 
-                    ", DestClub: " + tr.getDestinationClubId());
-            
-            // Show ALL IN_MARKET players to ALL managers
-            // The purchase restriction will be handled in the adapter
-            boolean shouldShow = false;
-            
-            // For DIRECT_CLUB transfers, show to ALL managers (they can see but only dest can purchase)
-            if (tr.getTransferType() == TransferRequest.TransferType.DIRECT_CLUB) {
-                shouldShow = true;
-                android.util.Log.d("TransferMarket", "  -> DIRECT_CLUB transfer - showing to all managers");
-            } else {
-                // GENERAL_MARKET transfers - show to everyone except source club
-                if (currentUser.getClubId() == null || !currentUser.getClubId().equals(tr.getSourceClubId())) {
-                    shouldShow = true;
-                    android.util.Log.d("TransferMarket", "  -> GENERAL_MARKET - showing (not source club)");
-                } else {
-                    android.util.Log.d("TransferMarket", "  -> GENERAL_MARKET from own club, skipping");
-                }
-            }
-            
-            if (shouldShow) {
-                // Apply position filter if needed
-                if (selectedPosition == null) {
-                    filteredMarketRequests.add(tr);
-                    android.util.Log.d("TransferMarket", "  -> Added to filtered list (no position filter)");
-                } else {
-                    Player player = getPlayerById(tr.getPlayerId());
-                    if (player != null && player.getPosition() == selectedPosition) {
-                        filteredMarketRequests.add(tr);
-                        android.util.Log.d("TransferMarket", "  -> Added to filtered list (position match)");
-                    } else {
-                        android.util.Log.d("TransferMarket", "  -> Filtered out by position");
-                    }
-                }
-            }
+        LOG.d("=== FILTERING MARKET PLAYERS ===");
+        // The book answers the position part; the filter only decides visibility per listing
+        marketRequests.setFilter(currentFilter(), marketBook.cheapest(selectedPosition, null));
+        LOG.d("Filtered result: {} players", marketRequests.size());
+        updateEmptyState();
+    }
+
+    // Show ALL IN_MARKET players to ALL managers; the purchase restriction is handled in the adapter
+    private MarketFilter currentFilter() {
+        return new MarketFilter(currentUser.getClubId(), selectedPosition, this::getPlayerById);
+    }
+
+    private void updateEmptyState() {
+        if (marketRequests.isEmpty()) {
+            emptyText.setVisibility(View.VISIBLE);
+            marketPlayersRecyclerView.setVisibility(View.GONE);
+        } else {
+            emptyText.setVisibility(View.GONE);
+            marketPlayersRecyclerView.setVisibility(View.VISIBLE);
         }
-        
-        android.util.Log.d("TransferMarket", "Filtered result: " + filteredMarketRequests.size() + " players");
+    }
 
-        runOnUiThread(() -> {
-            adapter.notifyDataSetChanged();
-            if (filteredMarketRequests.isEmpty()) {
-                emptyText.setVisibility(View.VISIBLE);
-                marketPlayersRecyclerView.setVisibility(View.GONE);
-            } else {
-                emptyText.setVisibility(View.GONE);
-                marketPlayersRecyclerView.setVisibility(View.VISIBLE);
-            }
-        });
+    @Override
+    protected void onDestroy() {
+        if (marketSubscription != null) {
+            marketSubscription.cancel();
+        }
+        super.onDestroy();
     }
 
     private Player getPlayerById(Integer playerId) {
-        android.util.Log.d("TransferMarket", "Looking for player with ID: " + playerId + " in " + allPlayers.size() + " players");
-        
         if (playerId == null) {
-            android.util.Log.w("TransferMarket", "PlayerId is NULL!");
+            LOG.w("PlayerId is NULL!");
             return null;
         }
         
-        for (Player p : allPlayers) {
-            if (p.getId() != null && p.getId().equals(playerId)) {
-                android.util.Log.d("TransferMarket", "Found player: " + p.getName() + " (ID: " + p.getId() + ")");
-                return p;
-            }
-        }
-        
-        android.util.Log.w("TransferMarket", "Player with ID " + playerId + " NOT FOUND in allPlayers list!");
-        // Log all player IDs for debugging
-        StringBuilder ids = new StringBuilder("Available player IDs: ");
-        for (Player p : allPlayers) {
-            ids.append(p.getId()).append(", ");
+        Player player = marketBook.getPlayer(playerId);
+        if (player == null) {
+            LOG.w("Player with ID {} NOT FOUND among {} listings", playerId, marketBook.size());
         }
-        android.util.Log.d("TransferMarket", ids.toString());
-        
-        return null;
+        return player;
     }
 
     private void showPurchaseDialog(TransferRequest marketRequest, Player player) {
@@ -290,67 +294,48 @@ public class TransferMarketActivity extends AppCompatActivity {
                 .setTitle("Purchase Player")
                 .setMessage("Purchase " + playerName + " for $" + String.format("%.2f", releaseFee) + "?")
                 .setPositiveButton("Purchase", (dialog, which) -> {
-                    completePurchase(marketRequest, player, releaseFee);
+                    completePurchase(marketRequest, releaseFee);
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
     }
 
-    private void completePurchase(TransferRequest marketRequest, Player player, double releaseFee) {
-        new Thread(() -> {
-            android.util.Log.d("TransferMarket", "Starting purchase - PlayerId: " + marketRequest.getPlayerId() + 
-                    ", From Club: " + marketRequest.getSourceClubId() + 
-                    ", To Club: " + currentUser.getClubId());
-            
-            // Update the existing market request with destination club and complete it
-            marketRequest.setDestinationClubId(currentUser.getClubId());
-            
-            // Try to get club name
-            try {
-                com.example.coachesapp_android.model.Club club = clubRepository.findById(currentUser.getClubId());
-                if (club != null) {
-                    marketRequest.setDestinationClubName(club.getClubName());
-                    android.util.Log.d("TransferMarket", "Destination club name: " + club.getClubName());
-                }
-            } catch (Exception e) {
-                android.util.Log.e("TransferMarket", "Error fetching club name", e);
-            }
-            
-            marketRequest.setTransferFee(releaseFee);
-            marketRequest.setStatus(TransferRequest.TransferStatus.COMPLETED);
-            marketRequest.setCompletedDate(LocalDateTime.now());
-            
-            boolean success = transferRequestRepository.update(marketRequest);
-            android.util.Log.d("TransferMarket", "Transfer request update success: " + success);
-            
-            // Update player's club - fetch fresh player if needed
-            if (success) {
-                Player playerToUpdate = player;
-                if (playerToUpdate == null && marketRequest.getPlayerId() != null) {
-                    android.util.Log.d("TransferMarket", "Player was null, fetching from repository...");
-                    playerToUpdate = playerRepository.findById(marketRequest.getPlayerId());
-                }
-                
-                if (playerToUpdate != null) {
-                    android.util.Log.d("TransferMarket", "Updating player " + playerToUpdate.getName() + 
-                            " from club " + playerToUpdate.getClubId() + " to club " + currentUser.getClubId());
-                    playerToUpdate.setClubId(currentUser.getClubId());
-                    boolean playerUpdateSuccess = playerRepository.update(playerToUpdate);
-                    android.util.Log.d("TransferMarket", "Player club update success: " + playerUpdateSuccess);
-                } else {
-                    android.util.Log.e("TransferMarket", "FAILED: Could not find player with ID: " + marketRequest.getPlayerId());
-                }
+    private void completePurchase(TransferRequest marketRequest, double releaseFee) {
+        AppExecutors.getInstance().io().execute(() -> {
+            LOG.d("Starting purchase - PlayerId: {}, From Club: {}, To Club: {}", marketRequest.getPlayerId(), marketRequest.getSourceClubId(), currentUser.getClubId());
+
+            Club buyer = clubRepository.findById(currentUser.getClubId());
+            if (buyer == null) {
+                // The name is only shown on the completed transfer; the purchase does not need it
+                buyer = new Club();
+                buyer.setId(currentUser.getClubId());
             }
-            
+
+            SettlementOutcome outcome = marketRequest.getPlayerId() != null
+                    ? settlementService.completePurchase(marketRequest.getId(), marketRequest.getPlayerId(), buyer, releaseFee)
+                    : SettlementOutcome.NOT_FOUND;
+            LOG.d("Purchase outcome: {}", outcome);
+
             runOnUiThread(() -> {
-                if (success) {
-                    Toast.makeText(this, "Player purchased successfully!", Toast.LENGTH_SHORT).show();
-                    loadMarketPlayers();
-                } else {
-                    Toast.makeText(this, "Failed to complete purchase", Toast.LENGTH_SHORT).show();
+                switch (outcome) {
+                    case COMPLETED:
+                        Toast.makeText(this, "Player purchased successfully!", Toast.LENGTH_SHORT).show();
+                        break;
+                    case NOT_AVAILABLE:
+                        Toast.makeText(this, "This player is no longer available", Toast.LENGTH_SHORT).show();
+                        break;
+                    case PRICE_CHANGED:
+                        Toast.makeText(this, "The release fee has changed, please check it and try again", Toast.LENGTH_LONG).show();
+                        break;
+                    case NOT_FOUND:
+                        Toast.makeText(this, "This listing no longer exists", Toast.LENGTH_SHORT).show();
+                        break;
+                    default:
+                        Toast.makeText(this, "Failed to complete purchase", Toast.LENGTH_SHORT).show();
+                        break;
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
 
     private class MarketPlayerAdapter extends RecyclerView.Adapter<MarketPlayerAdapter.ViewHolder> {
@@ -365,24 +350,22 @@ public class TransferMarketActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            TransferRequest request = filteredMarketRequests.get(position);
+            TransferRequest request = marketRequests.get(position);
             
-            android.util.Log.d("TransferMarket", "Binding position " + position + ": PlayerId=" + request.getPlayerId() + 
-                    ", PlayerName from request=" + request.getPlayerName() + 
-                    ", SourceClubId=" + request.getSourceClubId() + 
-                    ", SourceClubName=" + request.getSourceClubName());
+            if (LOG.isVerboseEnabled()) {
+                LOG.v("Binding position {}: PlayerId={}, PlayerName from request={}, SourceClubId={}, SourceClubName={}", position, request.getPlayerId(), request.getPlayerName(), request.getSourceClubId(), request.getSourceClubName());
+            }
             
             Player player = getPlayerById(request.getPlayerId());
             
             if (player != null) {
-                android.util.Log.d("TransferMarket", "Found player object: " + player.getName() + 
-                        ", Position=" + player.getPosition() + ", Age=" + player.getAge());
+                LOG.v("Found player object: {}, Position={}, Age={}", player.getName(), player.getPosition(), player.getAge());
                 holder.marketPlayerName.setText(player.getName());
                 holder.marketPlayerPosition.setText(player.getPosition() != null ? player.getPosition().name() : "N/A");
                 holder.marketPlayerAge.setText("Age: " + player.getAge());
                 holder.marketPlayerJersey.setText("Jersey: #" + player.getJersey());
             } else {
-                android.util.Log.w("TransferMarket", "Player object is NULL! Using fallback from TransferRequest. Total players loaded: " + allPlayers.size());
+                LOG.w("Player object is NULL! Using fallback from TransferRequest. Listings: {}", marketBook.size());
                 // Use data from TransferRequest as fallback
                 String playerName = request.getPlayerName() != null ? request.getPlayerName() : "Unknown Player";
                 holder.marketPlayerName.setText(playerName);
@@ -398,7 +381,7 @@ public class TransferMarketActivity extends AppCompatActivity {
             String feeText = "$" + (displayFee != null ? String.format("%.2f", displayFee) : "0.00");
             holder.marketTransferFee.setText(feeText);
             
-            android.util.Log.d("TransferMarket", "Binding player: " + request.getPlayerName() + ", Fee: " + feeText);
+            LOG.v("Binding player: {}, Fee: {}", request.getPlayerName(), feeText);
 
             // Handle purchase button visibility and functionality
             if (currentUser.getRole() == Role.CLUB_MANAGER && currentUser.getClubId() != null) {
@@ -410,14 +393,14 @@ public class TransferMarketActivity extends AppCompatActivity {
                         holder.requestTransferButton.setEnabled(true);
                         holder.requestTransferButton.setText("Purchase");
                         holder.requestTransferButton.setOnClickListener(v -> showPurchaseDialog(request, player));
-                        android.util.Log.d("TransferMarket", "  -> Purchase button ENABLED (destination manager)");
+                        LOG.v("  -> Purchase button ENABLED (destination manager)");
                     } else {
                         // Other managers can see but not purchase
                         holder.requestTransferButton.setVisibility(View.VISIBLE);
                         holder.requestTransferButton.setEnabled(false);
                         holder.requestTransferButton.setText("Reserved");
                         holder.requestTransferButton.setAlpha(0.5f);
-                        android.util.Log.d("TransferMarket", "  -> Purchase button DISABLED (not destination manager)");
+                        LOG.v("  -> Purchase button DISABLED (not destination manager)");
                     }
                 } else {
                     // GENERAL_MARKET - anyone except source club can purchase
@@ -427,7 +410,7 @@ public class TransferMarketActivity extends AppCompatActivity {
                         holder.requestTransferButton.setText("Purchase");
                         holder.requestTransferButton.setAlpha(1.0f);
                         holder.requestTransferButton.setOnClickListener(v -> showPurchaseDialog(request, player));
-                        android.util.Log.d("TransferMarket", "  -> Purchase button ENABLED (general market)");
+                        LOG.v("  -> Purchase button ENABLED (general market)");
                     } else {
                         holder.requestTransferButton.setVisibility(View.GONE);
                     }
@@ -439,7 +422,7 @@ public class TransferMarketActivity extends AppCompatActivity {
 
         @Override
         public int getItemCount() {
-            return filteredMarketRequests.size();
+            return marketRequests.size();
         }
 
         class ViewHolder extends RecyclerView.ViewHolder {
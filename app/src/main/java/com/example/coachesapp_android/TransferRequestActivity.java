@@ -22,18 +22,25 @@ import com.example.coachesapp_android.model.Player;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.TransferRequest;
 import com.example.coachesapp_android.model.User;
-import com.example.coachesapp_android.database.FirebaseClubRepository;
-import com.example.coachesapp_android.database.FirebasePlayerRepository;
-import com.example.coachesapp_android.repository.FirebaseTransferRequestRepository;
+import com.example.coachesapp_android.database.CallScope;
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.EntityChange;
+import com.example.coachesapp_android.database.FirestoreFutures;
 import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IPlayerRepository;
+import com.example.coachesapp_android.database.RepositoryTimeoutException;
+import com.example.coachesapp_android.database.Subscription;
 import com.example.coachesapp_android.repository.ITransferRequestRepository;
+import com.example.coachesapp_android.util.AppExecutors;
 import com.example.coachesapp_android.util.AppState;
+import com.example.coachesapp_android.util.LiveList;
+import com.example.coachesapp_android.util.RepositoryFactory;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class TransferRequestActivity extends AppCompatActivity {
     private static final String TAG = "TransferRequestActivity";
@@ -48,9 +55,10 @@ public class TransferRequestActivity extends AppCompatActivity {
     private ITransferRequestRepository transferRequestRepository;
     private IPlayerRepository playerRepository;
     private IClubRepository clubRepository;
+    private CallScope calls;
 
-    private List<TransferRequest> allTransferRequests = new ArrayList<>();
-    private List<TransferRequest> filteredTransferRequests = new ArrayList<>();
+    private final LiveList<TransferRequest> transferRequests = new LiveList<>(TransferRequest::getId, TransferRequest.NEWEST_FIRST);
+    private final List<Subscription> subscriptions = new ArrayList<>();
     private TransferRequestAdapter adapter;
 
     private User currentUser;
@@ -68,10 +76,11 @@ public class TransferRequestActivity extends AppCompatActivity {
             return;
         }
 
-        // Initialize repositories
-        playerRepository = new FirebasePlayerRepository();
-        clubRepository = new FirebaseClubRepository();
-        transferRequestRepository = new FirebaseTransferRequestRepository(playerRepository, clubRepository);
+        // Initialize repositories; reads are dropped when the screen closes, writes still land
+        calls = new CallScope(FirestoreFutures.DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        playerRepository = calls.bind(IPlayerRepository.class, RepositoryFactory.getPlayerRepository());
+        clubRepository = calls.bind(IClubRepository.class, RepositoryFactory.getClubRepository());
+        transferRequestRepository = calls.bind(ITransferRequestRepository.class, RepositoryFactory.getTransferRequestRepository());
 
         // Initialize views
         transferRequestsRecyclerView = findViewById(R.id.transferRequestsRecyclerView);
@@ -90,6 +99,7 @@ public class TransferRequestActivity extends AppCompatActivity {
         adapter = new TransferRequestAdapter();
         transferRequestsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         transferRequestsRecyclerView.setAdapter(adapter);
+        transferRequests.attach(adapter);
 
         // Setup buttons
         backButton.setOnClickListener(v -> finish());
@@ -117,104 +127,92 @@ public class TransferRequestActivity extends AppCompatActivity {
         transferRequestsRecyclerView.setVisibility(View.GONE);
         emptyText.setVisibility(View.GONE);
 
-        new Thread(() -> {
-            try {
-                // Load requests based on user role
-                if (currentUser.getRole() == Role.SYSTEM_ADMIN) {
-                    allTransferRequests = transferRequestRepository.findAll();
-                } else if (currentUser.getRole() == Role.CLUB_MANAGER) {
-                    // Managers see requests from/to their club
-                    Log.d(TAG, "Manager loading requests for club ID: " + currentUser.getClubId());
-                    
-                    if (currentUser.getClubId() == null || currentUser.getClubId() == 0) {
-                        Log.w(TAG, "Manager has no club assigned!");
-                        allTransferRequests = new ArrayList<>();
-                    } else {
-                        // First, let's see ALL transfers to debug
-                        List<TransferRequest> allTransfers = transferRequestRepository.findAll();
-                        Log.d(TAG, "Total transfers in database: " + allTransfers.size());
-                        for (TransferRequest tr : allTransfers) {
-                            Log.d(TAG, "  - Transfer: ID=" + tr.getId() + ", Player=" + tr.getPlayerName() + 
-                                    ", SourceClubId=" + tr.getSourceClubId() + ", DestClubId=" + tr.getDestinationClubId());
-                        }
-                        
-                        List<TransferRequest> sourceRequests = transferRequestRepository.findBySourceClubId(currentUser.getClubId());
-                        List<TransferRequest> destRequests = transferRequestRepository.findByDestinationClubId(currentUser.getClubId());
-                        Log.d(TAG, "Found " + sourceRequests.size() + " source requests, " + destRequests.size() + " dest requests");
-                        allTransferRequests = new ArrayList<>(sourceRequests);
-                        for (TransferRequest tr : destRequests) {
-                            if (!allTransferRequests.contains(tr)) {
-                                allTransferRequests.add(tr);
-                            }
-                        }
-                    }
-                } else if (currentUser.getRole() == Role.PLAYER) {
-                    // Players see their own requests
-                    // Get player ID from user's playerId field
-                    if (currentUser.getPlayerId() != null) {
-                        allTransferRequests = transferRequestRepository.findByPlayerId(currentUser.getPlayerId());
-                    }
-                }
-
-                runOnUiThread(() -> {
-                    applyFilter(currentFilter);
-                    progressBar.setVisibility(View.GONE);
-                    if (filteredTransferRequests.isEmpty()) {
-                        emptyText.setVisibility(View.VISIBLE);
-                        transferRequestsRecyclerView.setVisibility(View.GONE);
-                        
-                        // Show helpful message if manager has no club
-                        if (currentUser.getRole() == Role.CLUB_MANAGER && 
-                            (currentUser.getClubId() == null || currentUser.getClubId() == 0)) {
-                            emptyText.setText("You are not assigned to any club. Please contact the administrator.");
-                        } else if (currentUser.getRole() == Role.CLUB_MANAGER) {
-                            emptyText.setText("No transfer requests for your club yet.");
-                        } else {
-                            emptyText.setText("No transfer requests yet.");
-                        }
-                    } else {
-                        emptyText.setVisibility(View.GONE);
-                        transferRequestsRecyclerView.setVisibility(View.VISIBLE);
-                        adapter.notifyDataSetChanged();
-                    }
-                });
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading transfers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+        // Each subscription delivers the full result once, then only the requests that change,
+        // including the ones this screen approves or cancels
+        ChangeListener<TransferRequest> listener = new ChangeListener<TransferRequest>() {
+            @Override
+            public void onChanges(List<EntityChange<TransferRequest>> changes) {
+                transferRequests.apply(changes);
+                Log.d(TAG, "Transfer requests changed by " + changes.size() + ", showing " + transferRequests.size());
+                progressBar.setVisibility(View.GONE);
+                updateEmptyState();
             }
-        }).start();
-    }
-
-    private void applyFilter(TransferRequest.TransferStatus status) {
-        currentFilter = status;
-        filteredTransferRequests.clear();
 
-        if (status == null) {
-            filteredTransferRequests.addAll(allTransferRequests);
-        } else {
-            for (TransferRequest tr : allTransferRequests) {
-                if (tr.getStatus() == status) {
-                    filteredTransferRequests.add(tr);
-                }
+            @Override
+            public void onError(Exception e) {
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(TransferRequestActivity.this, "Error loading transfers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        };
+
+        // Load requests based on user role
+        if (currentUser.getRole() == Role.SYSTEM_ADMIN) {
+            subscriptions.add(transferRequestRepository.observeAll(listener));
+        } else if (currentUser.getRole() == Role.CLUB_MANAGER) {
+            // Managers see requests from/to their club
+            Log.d(TAG, "Manager observing requests for club ID: " + currentUser.getClubId());
+
+            if (currentUser.getClubId() == null || currentUser.getClubId() == 0) {
+                Log.w(TAG, "Manager has no club assigned!");
+                progressBar.setVisibility(View.GONE);
+                updateEmptyState();
+            } else {
+                // One query for both sides, so a request that matches both is delivered once
+                subscriptions.add(transferRequestRepository.observeByClubInvolvement(currentUser.getClubId(), listener));
+            }
+        } else if (currentUser.getRole() == Role.PLAYER) {
+            // Players see their own requests
+            // Get player ID from user's playerId field
+            if (currentUser.getPlayerId() != null) {
+                subscriptions.add(transferRequestRepository.observeByPlayerId(currentUser.getPlayerId(), listener));
+            } else {
+                progressBar.setVisibility(View.GONE);
+                updateEmptyState();
             }
         }
+    }
 
-        adapter.notifyDataSetChanged();
-        
-        if (filteredTransferRequests.isEmpty()) {
+    private void updateEmptyState() {
+        if (transferRequests.isEmpty()) {
             emptyText.setVisibility(View.VISIBLE);
             transferRequestsRecyclerView.setVisibility(View.GONE);
+
+            // Show helpful message if manager has no club
+            if (currentUser.getRole() == Role.CLUB_MANAGER &&
+                (currentUser.getClubId() == null || currentUser.getClubId() == 0)) {
+                emptyText.setText("You are not assigned to any club. Please contact the administrator.");
+            } else if (currentUser.getRole() == Role.CLUB_MANAGER) {
+                emptyText.setText("No transfer requests for your club yet.");
+            } else {
+                emptyText.setText("No transfer requests yet.");
+            }
         } else {
             emptyText.setVisibility(View.GONE);
             transferRequestsRecyclerView.setVisibility(View.VISIBLE);
         }
     }
 
+    private void applyFilter(TransferRequest.TransferStatus status) {
+        currentFilter = status;
+        transferRequests.setFilter(tr -> status == null || tr.getStatus() == status);
+        updateEmptyState();
+    }
+
+    @Override
+    protected void onDestroy() {
+        for (Subscription subscription : subscriptions) {
+            subscription.cancel();
+        }
+        subscriptions.clear();
+        if (calls != null) {
+            calls.cancel();
+        }
+        super.onDestroy();
+    }
+
     private void showNewRequestDialog() {
         // First check if player has a club
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 Player currentPlayer = null;
                 if (currentUser.getPlayerId() != null) {
@@ -261,14 +259,17 @@ public class TransferRequestActivity extends AppCompatActivity {
                             .setNegativeButton("Cancel", null)
                             .show();
                 });
+            } catch (RepositoryTimeoutException e) {
+                Log.w(TAG, e.getMessage());
+                runOnUiThread(() -> Toast.makeText(this, "Connection is slow, please try again", Toast.LENGTH_SHORT).show());
             } catch (Exception e) {
                 runOnUiThread(() -> Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void showClubSelectionDialog() {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 List<com.example.coachesapp_android.model.Club> allClubs = clubRepository.findAll();
                 
@@ -311,10 +312,13 @@ public class TransferRequestActivity extends AppCompatActivity {
                             .setNegativeButton("Cancel", null)
                             .show();
                 });
+            } catch (RepositoryTimeoutException e) {
+                Log.w(TAG, e.getMessage());
+                runOnUiThread(() -> Toast.makeText(this, "Connection is slow, please try again", Toast.LENGTH_SHORT).show());
             } catch (Exception e) {
                 runOnUiThread(() -> Toast.makeText(this, "Error loading clubs: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void showGeneralMarketRequestDialog() {
@@ -329,7 +333,7 @@ public class TransferRequestActivity extends AppCompatActivity {
     }
     
     private void submitDirectClubTransfer(com.example.coachesapp_android.model.Club destinationClub) {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 Player currentPlayer = null;
                 if (currentUser.getPlayerId() != null) {
@@ -363,19 +367,21 @@ public class TransferRequestActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     if (savedRequest != null) {
                         Toast.makeText(this, "Transfer request submitted successfully!", Toast.LENGTH_SHORT).show();
-                        loadTransferRequests();
                     } else {
                         Toast.makeText(this, "Failed to submit request", Toast.LENGTH_SHORT).show();
                     }
                 });
+            } catch (RepositoryTimeoutException e) {
+                Log.w(TAG, e.getMessage());
+                runOnUiThread(() -> Toast.makeText(this, "Connection is slow, please try again", Toast.LENGTH_SHORT).show());
             } catch (Exception e) {
                 runOnUiThread(() -> Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void submitGeneralMarketTransfer() {
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 Player currentPlayer = null;
                 if (currentUser.getPlayerId() != null) {
@@ -408,15 +414,17 @@ public class TransferRequestActivity extends AppCompatActivity {
                 runOnUiThread(() -> {
                     if (savedRequest != null) {
                         Toast.makeText(this, "Market transfer request submitted successfully!", Toast.LENGTH_SHORT).show();
-                        loadTransferRequests();
                     } else {
                         Toast.makeText(this, "Failed to submit request", Toast.LENGTH_SHORT).show();
                     }
                 });
+            } catch (RepositoryTimeoutException e) {
+                Log.w(TAG, e.getMessage());
+                runOnUiThread(() -> Toast.makeText(this, "Connection is slow, please try again", Toast.LENGTH_SHORT).show());
             } catch (Exception e) {
                 runOnUiThread(() -> Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
 
     private void approveTransferRequest(TransferRequest request) {
@@ -498,7 +506,7 @@ public class TransferRequestActivity extends AppCompatActivity {
                 ", SourceClubName: " + request.getSourceClubName() +
                 ", ReleaseFee: $" + releaseFee);
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
             request.setApprovedBySourceDate(LocalDateTime.now());
             request.setReleaseFee(releaseFee);
@@ -519,12 +527,11 @@ public class TransferRequestActivity extends AppCompatActivity {
             runOnUiThread(() -> {
                 if (success) {
                     Toast.makeText(this, "Player approved for transfer market!\nRelease Fee: $" + String.format("%.2f", releaseFee), Toast.LENGTH_LONG).show();
-                    loadTransferRequests();
                 } else {
                     Toast.makeText(this, "Failed to approve transfer", Toast.LENGTH_SHORT).show();
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
     
     private void approveDirectClubTransfer(TransferRequest request, double transferFee) {
@@ -533,7 +540,7 @@ public class TransferRequestActivity extends AppCompatActivity {
                 ", To: " + request.getDestinationClubName() +
                 ", Fee: $" + transferFee);
         
-        new Thread(() -> {
+        AppExecutors.getInstance().io().execute(() -> {
             Log.d(TAG, "BEFORE UPDATE - Request status: " + request.getStatus() + ", ID: " + request.getId());
             
             // Set status to IN_MARKET so destination manager can see and accept it
@@ -559,12 +566,11 @@ public class TransferRequestActivity extends AppCompatActivity {
             runOnUiThread(() -> {
                 if (success) {
                     Toast.makeText(this, "Transfer approved! Waiting for " + request.getDestinationClubName() + " manager to accept.\nFee: $" + String.format("%.2f", transferFee), Toast.LENGTH_LONG).show();
-                    loadTransferRequests();
                 } else {
                     Toast.makeText(this, "Failed to approve transfer", Toast.LENGTH_SHORT).show();
                 }
             });
-        }).start();
+        }, AppExecutors.busyToast(this));
     }
 
     private void cancelTransferRequest(TransferRequest request) {
@@ -572,19 +578,18 @@ public class TransferRequestActivity extends AppCompatActivity {
                 .setTitle("Cancel Transfer")
                 .setMessage("Cancel transfer request for " + request.getPlayerName() + "?")
                 .setPositiveButton("Cancel Transfer", (dialog, which) -> {
-                    new Thread(() -> {
+                    AppExecutors.getInstance().io().execute(() -> {
                         request.setStatus(TransferRequest.TransferStatus.CANCELLED);
                         boolean success = transferRequestRepository.update(request);
                         
                         runOnUiThread(() -> {
                             if (success) {
                                 Toast.makeText(this, "Transfer cancelled", Toast.LENGTH_SHORT).show();
-                                loadTransferRequests();
                             } else {
                                 Toast.makeText(this, "Failed to cancel transfer", Toast.LENGTH_SHORT).show();
                             }
                         });
-                    }).start();
+                    }, AppExecutors.busyToast(this));
                 })
                 .setNegativeButton("Back", null)
                 .show();
@@ -603,7 +608,7 @@ public class TransferRequestActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            TransferRequest request = filteredTransferRequests.get(position);
+            TransferRequest request = transferRequests.get(position);
             
             holder.playerNameText.setText(request.getPlayerName() != null ? request.getPlayerName() : "Player ID: " + request.getPlayerId());
             holder.sourceClubText.setText("From: " + (request.getSourceClubName() != null ? request.getSourceClubName() : "Unknown"));
@@ -655,7 +660,7 @@ public class TransferRequestActivity extends AppCompatActivity {
 
         @Override
         public int getItemCount() {
-            return filteredTransferRequests.size();
+            return transferRequests.size();
         }
 
         class ViewHolder extends RecyclerView.ViewHolder {
@@ -0,0 +1,11 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * A call was refused without being sent because the backend's {@link CircuitBreaker} is open.
+ */
+public class BackendUnavailableException extends RuntimeException {
+
+    public BackendUnavailableException(String backend) {
+        super(backend + " is unavailable, not sending the call");
+    }
+}
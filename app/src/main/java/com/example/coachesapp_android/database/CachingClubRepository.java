@@ -0,0 +1,297 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+/**
+ * In-memory club directory in front of another {@link IClubRepository}. The whole collection is
+ * loaded once through a live query, which then keeps it current with changes made elsewhere;
+ * saves and deletes made through this repository are written through immediately. Until the
+ * first snapshot arrives, and for IDs or names the directory does not know, reads go to the
+ * wrapped repository. If the live query fails, the directory reads through while it
+ * resubscribes with growing delays.
+ */
+public class CachingClubRepository implements IClubRepository {
+    private static final String TAG = "CachingClubRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
+    // The attempt count is never reached; the delay stops growing at a minute
+    private static final RetryPolicy RESUBSCRIBE = new RetryPolicy(Integer.MAX_VALUE, 1_000, 60_000);
+
+    private final IClubRepository delegate;
+    private final Map<Integer, Club> byId = new ConcurrentHashMap<>();
+    private final Map<String, Club> byName = new ConcurrentHashMap<>();
+    // True while the live query keeps the directory current: from its first snapshot until it
+    // fails or the directory is closed
+    private volatile boolean live;
+    // Guarded by this. Callbacks from a subscription other than the current one are ignored
+    private Subscription subscription;
+    private ScheduledFuture<?> resubscription;
+    private int failedAttempts;
+    private boolean closed;
+
+    public CachingClubRepository(IClubRepository delegate) {
+        this.delegate = delegate;
+        subscribe();
+    }
+
+    private synchronized void subscribe() {
+        if (closed) {
+            return;
+        }
+        resubscription = null;
+        Subscription[] current = new Subscription[1];
+        current[0] = delegate.observeAll(new ChangeListener<Club>() {
+            @Override
+            public void onChanges(List<EntityChange<Club>> changes) {
+                synchronized (CachingClubRepository.this) {
+                    if (subscription == current[0]) {
+                        applyChanges(changes);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                synchronized (CachingClubRepository.this) {
+                    if (subscription == current[0]) {
+                        // The directory no longer sees changes, so drop it and read through until
+                        // a new subscription has delivered its first snapshot
+                        subscription = null;
+                        stop();
+                        long delay = RESUBSCRIBE.delayMillis(++failedAttempts);
+                        LOG.e("Club directory stopped receiving updates, resubscribing in {} ms", delay, e);
+                        resubscription = FirestoreFutures.schedule(CachingClubRepository.this::subscribe, delay);
+                    }
+                }
+            }
+        });
+        subscription = current[0];
+    }
+
+    @Override
+    public Club save(Club club) {
+        return FirestoreFutures.await(saveAsync(club), null, TAG, "save");
+    }
+
+    @Override
+    public Club findById(int id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
+
+    @Override
+    public Map<Integer, Club> findByIds(Collection<Integer> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids), new HashMap<>(), TAG, "findByIds");
+    }
+
+    @Override
+    public List<Club> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Club findByName(String name) {
+        return FirestoreFutures.await(findByNameAsync(name), null, TAG, "findByName");
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<Club> saveAsync(Club club) {
+        return delegate.saveAsync(club).thenApply(saved -> {
+            if (saved != null) {
+                put(saved);
+            }
+            return saved;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id) {
+        Club cached = isLoaded() ? byId.get(id) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(copyOf(cached));
+        }
+        return delegate.findByIdAsync(id).thenApply(this::remember);
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id, Consumer<Club> onRefresh) {
+        // Once loaded the directory is kept current by the live query, so there is never a
+        // newer copy to refresh to
+        Club cached = isLoaded() ? byId.get(id) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(copyOf(cached));
+        }
+        return delegate.findByIdAsync(id, onRefresh);
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Club>> findByIdsAsync(Collection<Integer> ids) {
+        if (!isLoaded()) {
+            return delegate.findByIdsAsync(ids);
+        }
+
+        Map<Integer, Club> result = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            Club cached = byId.get(id);
+            if (cached != null) {
+                result.put(id, copyOf(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return delegate.findByIdsAsync(missing).thenApply(found -> {
+            result.putAll(found);
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Club>> findAllAsync() {
+        if (!isLoaded()) {
+            return delegate.findAllAsync();
+        }
+        return CompletableFuture.completedFuture(snapshot());
+    }
+
+    @Override
+    public CompletableFuture<List<Club>> findAllAsync(Consumer<List<Club>> onRefresh) {
+        if (!isLoaded()) {
+            return delegate.findAllAsync(onRefresh);
+        }
+        return CompletableFuture.completedFuture(snapshot());
+    }
+
+    @Override
+    public CompletableFuture<Club> findByNameAsync(String name) {
+        Club cached = isLoaded() && name != null ? byName.get(name) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(copyOf(cached));
+        }
+        return delegate.findByNameAsync(name).thenApply(this::remember);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return delegate.deleteAsync(id).thenApply(deleted -> {
+            if (Boolean.TRUE.equals(deleted)) {
+                remove(id);
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public Subscription observeAll(ChangeListener<Club> listener) {
+        return delegate.observeAll(listener);
+    }
+
+    /**
+     * Stops listening for club changes for good. Reads made afterwards go to the wrapped
+     * repository.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (resubscription != null) {
+            resubscription.cancel(false);
+            resubscription = null;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+        stop();
+    }
+
+    private void stop() {
+        live = false;
+        byId.clear();
+        byName.clear();
+    }
+
+    private boolean isLoaded() {
+        return live;
+    }
+
+    private void applyChanges(List<EntityChange<Club>> changes) {
+        for (EntityChange<Club> change : changes) {
+            if (change.getType() == EntityChange.Type.REMOVED) {
+                remove(change.getId());
+            } else {
+                put(change.getEntity());
+            }
+        }
+        if (!live) {
+            live = true;
+            failedAttempts = 0;
+            LOG.d("Club directory loaded with {} clubs", byId.size());
+        }
+    }
+
+    private Club remember(Club club) {
+        if (club != null && isLoaded()) {
+            put(club);
+        }
+        return club;
+    }
+
+    private void put(Club club) {
+        if (club.getId() == null) {
+            return;
+        }
+        Club stored = copyOf(club);
+        Club previous = byId.put(stored.getId(), stored);
+        if (previous != null && previous.getClubName() != null) {
+            byName.remove(previous.getClubName(), previous);
+        }
+        if (stored.getClubName() != null) {
+            byName.put(stored.getClubName(), stored);
+        }
+    }
+
+    private void remove(int id) {
+        Club previous = byId.remove(id);
+        if (previous != null && previous.getClubName() != null) {
+            byName.remove(previous.getClubName(), previous);
+        }
+    }
+
+    private List<Club> snapshot() {
+        List<Club> result = new ArrayList<>();
+        for (Club club : byId.values()) {
+            result.add(copyOf(club));
+        }
+        result.sort(Comparator.comparing(Club::getClubName, Comparator.nullsLast(String::compareTo)));
+        return result;
+    }
+
+    /**
+     * Callers are free to edit the clubs they get back, so the directory never hands out its own
+     * instances.
+     */
+    private static Club copyOf(Club club) {
+        Club copy = new Club(club.getClubName());
+        copy.setId(club.getId());
+        copy.setFirestoreDocId(club.getFirestoreDocId());
+        return copy;
+    }
+}
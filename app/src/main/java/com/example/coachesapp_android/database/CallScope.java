@@ -0,0 +1,146 @@
+package com.example.coachesapp_android.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ties repository reads to the screen that asked for them. Repositories bound to a scope give
+ * every {@code find} call its own {@link Deadline}: async results fail with
+ * {@link RepositoryTimeoutException} once it passes, and blocking calls throw it instead of
+ * returning an empty result. {@link #cancel()} cancels every read still pending, so no
+ * follow-up reads or callbacks run for a screen that is gone.
+ * <p>
+ * Writes and live queries pass straight through: a write the user confirmed should land even
+ * if they leave the screen, and subscriptions are already cancelled by their owners.
+ */
+public final class CallScope {
+    private static final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    private final long timeoutMillis;
+    private final Set<CompletableFuture<?>> pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private volatile boolean cancelled;
+
+    /**
+     * @param timeout time each read may take
+     */
+    public CallScope(long timeout, TimeUnit unit) {
+        this.timeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * @return a view of {@code repository} whose reads belong to this scope
+     */
+    public <T> T bind(Class<T> type, T repository) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new ScopedRepository(repository, type.getSimpleName()));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Cancels every pending read. Reads started afterwards are cancelled straight away.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the scoped blocking read running on this thread, if any
+     */
+    static Call currentCall() {
+        return currentCall.get();
+    }
+
+    void track(CompletableFuture<?> future) {
+        if (cancelled) {
+            future.cancel(false);
+            return;
+        }
+        pending.add(future);
+        future.whenComplete((value, error) -> pending.remove(future));
+        // cancel() may have run between the check and the add
+        if (cancelled) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * One blocking read: its deadline, and the scope that can cancel what it waits on.
+     */
+    static final class Call {
+        private final CallScope scope;
+        private final Deadline deadline;
+
+        Call(CallScope scope, Deadline deadline) {
+            this.scope = scope;
+            this.deadline = deadline;
+        }
+
+        Deadline getDeadline() {
+            return deadline;
+        }
+
+        void track(CompletableFuture<?> future) {
+            scope.track(future);
+        }
+    }
+
+    private final class ScopedRepository implements InvocationHandler {
+        private final Object target;
+        private final String name;
+
+        ScopedRepository(Object target, String name) {
+            this.target = target;
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class || !method.getName().startsWith("find")) {
+                return invokeTarget(method, args);
+            }
+
+            Deadline deadline = Deadline.after(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+                CompletableFuture<?> bounded = FirestoreFutures.withDeadline(
+                        (CompletableFuture<?>) invokeTarget(method, args), deadline, name + "." + method.getName());
+                track(bounded);
+                return bounded;
+            }
+
+            Call previous = currentCall.get();
+            currentCall.set(new Call(CallScope.this, deadline));
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                if (previous != null) {
+                    currentCall.set(previous);
+                } else {
+                    currentCall.remove();
+                }
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.coachesapp_android.database;
+
+import java.util.List;
+
+/**
+ * Receives the changes of a live query. The first call carries the whole current result as
+ * {@link EntityChange.Type#ADDED}; later calls carry only what changed since. Called on the
+ * main thread.
+ */
+public interface ChangeListener<T> {
+
+    void onChanges(List<EntityChange<T>> changes);
+
+    /**
+     * The query was stopped by the server (e.g. permission denied) and will not deliver again.
+     */
+    default void onError(Exception e) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.coachesapp_android.database;
+
+import android.os.SystemClock;
+
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Stops sending calls to a backend that keeps failing. After {@code failureThreshold}
+ * transient failures in a row the breaker opens and calls fail fast; once {@code openMillis}
+ * have passed a single probe call is let through, and its outcome closes or re-opens it.
+ */
+public final class CircuitBreaker {
+    private static final String TAG = "CircuitBreaker";
+    private static final Logger LOG = Logger.forTag(TAG);
+    private static final int FIRESTORE_FAILURE_THRESHOLD = 5;
+    private static final long FIRESTORE_OPEN_MILLIS = 30_000;
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static CircuitBreaker firestore;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, SystemClock::elapsedRealtime);
+    }
+
+    /**
+     * @param clock milliseconds since an arbitrary fixed point, never going backwards
+     */
+    CircuitBreaker(String name, int failureThreshold, long openMillis, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * The breaker shared by every Firestore call in the app.
+     */
+    public static synchronized CircuitBreaker firestore() {
+        if (firestore == null) {
+            firestore = new CircuitBreaker("firestore", FIRESTORE_FAILURE_THRESHOLD, FIRESTORE_OPEN_MILLIS);
+        }
+        return firestore;
+    }
+
+    /**
+     * @return whether a call may go to the backend now. Once the breaker has been open for
+     * long enough one probe is let through; the rest keep failing fast until it reports back.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if (now - openedAt < openMillis) {
+            return false;
+        }
+        // Also covers a probe that never reported back, e.g. because it was cancelled
+        state = State.HALF_OPEN;
+        openedAt = now;
+        LOG.d("{} half-open, probing backend", name);
+        return true;
+    }
+
+    /**
+     * The backend answered, even if only with an error that is not transient.
+     */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            LOG.d("{} closed, backend is answering again", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onTransientFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            LOG.w("{} open after {} failures, failing fast for {} ms", name, consecutiveFailures, openMillis);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
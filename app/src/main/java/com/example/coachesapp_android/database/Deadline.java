@@ -0,0 +1,54 @@
+package com.example.coachesapp_android.database;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a repository call must finish, measured on the monotonic clock.
+ */
+public final class Deadline {
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE, 0);
+
+    private final long expiresAtNanos;
+    private final long timeoutMillis;
+
+    private Deadline(long expiresAtNanos, long timeoutMillis) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static Deadline after(long duration, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration), unit.toMillis(duration));
+    }
+
+    /**
+     * A deadline that never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    public boolean isExpired() {
+        return !isNone() && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * @return milliseconds left, 0 once expired, or {@link Long#MAX_VALUE} for {@link #none()}
+     */
+    public long remainingMillis() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return the budget the deadline was created with
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
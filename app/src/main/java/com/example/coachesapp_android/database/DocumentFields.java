@@ -0,0 +1,86 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.Timestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Typed reads from a document's field map, with the same conversions as the getters on
+ * {@code DocumentSnapshot}. Mappers work on the map rather than the snapshot so they can run
+ * on a plain JVM. The generated document codecs read and convert fields through this class.
+ */
+public final class DocumentFields {
+
+    private DocumentFields() {
+    }
+
+    /**
+     * Initial HashMap capacity that holds {@code fields} entries without rehashing.
+     */
+    public static int capacityFor(int fields) {
+        return (int) (fields / 0.75f) + 1;
+    }
+
+    public static Integer getInt(Map<String, Object> data, String field) {
+        Number value = (Number) data.get(field);
+        return value != null ? value.intValue() : null;
+    }
+
+    public static Long getLong(Map<String, Object> data, String field) {
+        Number value = (Number) data.get(field);
+        return value != null ? value.longValue() : null;
+    }
+
+    public static Double getDouble(Map<String, Object> data, String field) {
+        Number value = (Number) data.get(field);
+        return value != null ? value.doubleValue() : null;
+    }
+
+    public static String getString(Map<String, Object> data, String field) {
+        return (String) data.get(field);
+    }
+
+    public static Boolean getBoolean(Map<String, Object> data, String field) {
+        return (Boolean) data.get(field);
+    }
+
+    public static Date getDate(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate();
+        }
+        return (Date) value;
+    }
+
+    /**
+     * Reads a date-time stored as epoch milliseconds. Documents written before the codecs
+     * stored a Timestamp, which is still accepted.
+     */
+    public static LocalDateTime getDateTime(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value == null) {
+            return null;
+        }
+        long millis;
+        if (value instanceof Number) {
+            millis = ((Number) value).longValue();
+        } else if (value instanceof Timestamp) {
+            millis = ((Timestamp) value).toDate().getTime();
+        } else {
+            millis = ((Date) value).getTime();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    public static Long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : null;
+    }
+
+    public static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+/**
+ * Moves documents created under auto-generated IDs to their entity key
+ * (e.g. {@code players/player_42}). Safe to run more than once, and from several devices at
+ * once: documents already stored under their key are left alone, and a legacy copy whose key
+ * already exists is simply deleted.
+ */
+public class DocumentKeyMigration {
+    private static final String TAG = "DocumentKeyMigration";
+    private static final Logger LOG = Logger.forTag(TAG);
+    // Every legacy document is moved in a transaction of its own, one after another, so a large
+    // backlog takes a while; this only bounds how long a blocked caller may wait
+    private static final long MIGRATE_ALL_TIMEOUT_SECONDS = 300;
+
+    private final FirebaseFirestore db;
+
+    public DocumentKeyMigration() {
+        this.db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Migrates all keyed collections and returns the number of legacy documents moved or removed,
+     * or -1 if the migration failed or did not finish within {@value #MIGRATE_ALL_TIMEOUT_SECONDS}
+     * seconds. Documents it did not get to are moved by the next run.
+     */
+    public int migrateAll() {
+        return FirestoreFutures.await(migrateAllAsync(), MIGRATE_ALL_TIMEOUT_SECONDS, -1, TAG, "migrateAll");
+    }
+
+    public CompletableFuture<Integer> migrateAllAsync() {
+        CompletableFuture<Integer> players = migrate("players", "id", true,
+                FirebasePlayerRepository::documentKey, false);
+        CompletableFuture<Integer> clubs = migrate("clubs", "id", true,
+                FirebaseClubRepository::documentKey, true);
+        CompletableFuture<Integer> users = migrate("users", "id", true,
+                FirebaseUserRepository::documentKey, true);
+        CompletableFuture<Integer> gamePlans = migrate("gamePlans", "clubId", false,
+                FirebaseGamePlanRepository::documentKey, false);
+
+        return CompletableFuture.allOf(players, clubs, users, gamePlans)
+                .thenApply(ignored -> {
+                    int total = players.join() + clubs.join() + users.join() + gamePlans.join();
+                    LOG.d("Migration finished, {} legacy documents processed", total);
+                    return total;
+                });
+    }
+
+    /**
+     * @param keyField      numeric field the key is derived from
+     * @param hashFallback  derive the key from the document ID hash when {@code keyField} is
+     *                      missing, matching how the repositories assigned IDs before
+     * @param storeDocId    also rewrite the {@code firestoreDocId} field to the new key
+     */
+    private CompletableFuture<Integer> migrate(String collectionName, String keyField, boolean hashFallback,
+                                               IntFunction<String> keyOf, boolean storeDocId) {
+        CollectionReference collection = db.collection(collectionName);
+        return FirestoreFutures.toFuture(collection.get())
+                .thenCompose(querySnapshot -> {
+                    List<DocumentSnapshot> legacyDocuments = new ArrayList<>();
+                    for (DocumentSnapshot document : querySnapshot.getDocuments()) {
+                        Long keyValue = document.getLong(keyField);
+                        if (keyValue == null && !hashFallback) {
+                            LOG.w("Skipping {}/{}: no {}", collectionName, document.getId(), keyField);
+                            continue;
+                        }
+                        int id = keyValue != null ? keyValue.intValue() : document.getId().hashCode();
+                        if (!keyOf.apply(id).equals(document.getId())) {
+                            legacyDocuments.add(document);
+                        }
+                    }
+                    LOG.d("{}: migrating {} documents", collectionName, legacyDocuments.size());
+
+                    // One document at a time: a one-off job, and it keeps the load on the backend flat
+                    CompletableFuture<Integer> migrated = CompletableFuture.completedFuture(0);
+                    for (DocumentSnapshot legacy : legacyDocuments) {
+                        migrated = migrated.thenCompose(count -> moveToKey(collection, legacy.getReference(),
+                                keyField, hashFallback, keyOf, storeDocId)
+                                .thenApply(moved -> moved ? count + 1 : count));
+                    }
+                    return migrated;
+                });
+    }
+
+    /**
+     * Moves one legacy document to its key in a transaction that reads both first, so a keyed
+     * document written by another device since the collection was read is never overwritten:
+     * if the key exists by then, the legacy copy is only deleted. Completes with false if the
+     * legacy document is already gone.
+     */
+    private CompletableFuture<Boolean> moveToKey(CollectionReference collection, DocumentReference legacyRef,
+                                                 String keyField, boolean hashFallback,
+                                                 IntFunction<String> keyOf, boolean storeDocId) {
+        // The transaction re-reads everything it decides on, so rerunning it is harmless
+        return FirestoreFutures.write(() -> db.runTransaction(transaction -> {
+            DocumentSnapshot legacy = transaction.get(legacyRef);
+            if (!legacy.exists() || legacy.getData() == null) {
+                return false;
+            }
+            Long keyValue = legacy.getLong(keyField);
+            if (keyValue == null && !hashFallback) {
+                return false;
+            }
+            int id = keyValue != null ? keyValue.intValue() : legacy.getId().hashCode();
+            DocumentReference keyRef = collection.document(keyOf.apply(id));
+            // First legacy copy wins; later duplicates are only deleted
+            if (!transaction.get(keyRef).exists()) {
+                Map<String, Object> data = new HashMap<>(legacy.getData());
+                data.put(keyField, id);
+                if (storeDocId) {
+                    data.put("firestoreDocId", keyRef.getId());
+                }
+                transaction.set(keyRef, data);
+            }
+            transaction.delete(legacyRef);
+            return true;
+        }));
+    }
+}
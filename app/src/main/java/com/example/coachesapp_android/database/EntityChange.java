@@ -0,0 +1,34 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * One change to the result set of a live query, already mapped to its entity.
+ */
+public final class EntityChange<T> {
+
+    public enum Type { ADDED, MODIFIED, REMOVED }
+
+    private final Type type;
+    private final int id;
+    private final T entity;
+
+    public EntityChange(Type type, int id, T entity) {
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The entity as it is now, or for {@link Type#REMOVED} as it was last seen.
+     */
+    public T getEntity() {
+        return entity;
+    }
+}
@@ -1,212 +1,223 @@
 package com.example.coachesapp_android.database;
 
-import android.util.Log;
-
 import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.ClubCodec;
+import com.example.coachesapp_android.util.Logger;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public class FirebaseClubRepository implements IClubRepository {
     private static final String TAG = "FirebaseClubRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
     private static final String COLLECTION_NAME = "clubs";
     private final FirebaseFirestore db;
+    private final IdAllocator idAllocator;
+    private final StaleWhileRevalidate reads = new StaleWhileRevalidate(TAG);
 
     public FirebaseClubRepository() {
         this.db = FirebaseFirestore.getInstance();
+        this.idAllocator = IdAllocator.forCollection(COLLECTION_NAME, false);
+    }
+
+    /**
+     * Policy for the reads that take a refresh callback; all other reads go to the server.
+     */
+    public void setReadPolicy(ReadPolicy policy) {
+        reads.setPolicy(policy);
     }
 
     @Override
     public Club save(Club club) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final Club[] result = new Club[1];
-        
-        Map<String, Object> clubData = new HashMap<>();
-        clubData.put("name", club.getClubName());
-
-        db.collection(COLLECTION_NAME)
-                .add(clubData)
-                .addOnSuccessListener(documentReference -> {
-                    String docId = documentReference.getId();
-                    int positiveId = Math.abs(docId.hashCode()); // Ensure positive ID
-                    club.setId(positiveId); // For backward compatibility
-                    club.setFirestoreDocId(docId); // Store actual Firestore doc ID
-                    
-                    // Update the document to store both IDs
-                    clubData.put("firestoreDocId", docId);
-                    clubData.put("id", positiveId);
-                    documentReference.set(clubData);
-                    
-                    result[0] = club;
-                    latch.countDown();
-                    Log.d(TAG, "Club added: " + club.getClubName() + " with docId: " + docId + ", numericId: " + club.getId());
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error adding club", e);
-                    latch.countDown();
-                });
-
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for save", e);
-        }
-        
-        return result[0];
+        return FirestoreFutures.await(saveAsync(club), null, TAG, "save");
     }
 
     @Override
     public Club findById(int id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final Club[] result = new Club[1];
-
-        Log.d(TAG, "Finding club by id: " + id);
-        
-        // Search by the numeric id field, not document ID
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("id", id)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToClub(document);
-                        Log.d(TAG, "Found club: " + (result[0] != null ? result[0].getClubName() : "null"));
-                    } else {
-                        Log.e(TAG, "No club found with id: " + id);
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
+
+    @Override
+    public Map<Integer, Club> findByIds(Collection<Integer> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids), new HashMap<>(), TAG, "findByIds");
+    }
+
+    @Override
+    public List<Club> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Club findByName(String name) {
+        return FirestoreFutures.await(findByNameAsync(name), null, TAG, "findByName");
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<Club> saveAsync(Club club) {
+        boolean isNew = club.getId() == null;
+        CompletableFuture<Integer> idFuture = isNew
+                ? idAllocator.nextIdAsync()
+                : CompletableFuture.completedFuture(club.getId());
+
+        return idFuture.thenCompose(clubId -> {
+            String docId = documentKey(clubId);
+            club.setId(clubId);
+            club.setFirestoreDocId(docId); // Store actual Firestore doc ID
+
+            return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                            .document(docId)
+                            .set(clubToMap(club)))
+                    .thenApply(aVoid -> {
+                        LOG.d("{}: {} with docId: {}", isNew ? "Club added" : "Club updated", club.getClubName(), docId);
+                        return club;
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id) {
+        return findById(id, Source.DEFAULT);
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id, Consumer<Club> onRefresh) {
+        return reads.read(documentKey(id), source -> findById(id, source), this::clubToMap, onRefresh);
+    }
+
+    private CompletableFuture<Club> findById(int id, Source source) {
+        LOG.d("Finding club by id: {} ({})", id, source);
+
+        return KeyedDocuments.get(db.collection(COLLECTION_NAME), documentKey(id), "id", id, source)
+                .thenApply(document -> {
+                    if (document == null) {
+                        LOG.e("No club found with id: {}", id);
+                        return null;
                     }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding club by id: " + id, e);
-                    latch.countDown();
+                    Club club = documentToClub(document);
+                    LOG.d("Found club: {}", club != null ? club.getClubName() : null);
+                    return club;
                 });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findById", e);
-        }
+    @Override
+    public CompletableFuture<Map<Integer, Club>> findByIdsAsync(Collection<Integer> ids) {
+        return FirestoreFutures.fanOut(ids, chunk -> FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                                .whereIn("id", chunk))
+                        .thenApply(querySnapshot -> {
+                            List<Club> clubs = new ArrayList<>();
+                            for (DocumentSnapshot document : querySnapshot.getDocuments()) {
+                                Club club = documentToClub(document);
+                                if (club != null) {
+                                    clubs.add(club);
+                                }
+                            }
+                            return clubs;
+                        }))
+                .thenApply(clubs -> {
+                    Map<Integer, Club> result = new LinkedHashMap<>();
+                    for (Club club : clubs) {
+                        result.putIfAbsent(club.getId(), club);
+                    }
+                    LOG.d("findByIds - Requested {} IDs, found {} clubs", ids.size(), result.size());
+                    return result;
+                });
+    }
 
-        return result[0];
+    @Override
+    public CompletableFuture<List<Club>> findAllAsync() {
+        return findAll(Source.DEFAULT);
     }
 
     @Override
-    public List<Club> findAll() {
-        CountDownLatch latch = new CountDownLatch(1);
-        final List<Club> result = new ArrayList<>();
+    public CompletableFuture<List<Club>> findAllAsync(Consumer<List<Club>> onRefresh) {
+        return reads.read("all", this::findAll, clubs -> {
+            List<Map<String, Object>> fingerprint = new ArrayList<>();
+            for (Club club : clubs) {
+                fingerprint.add(clubToMap(club));
+            }
+            return fingerprint;
+        }, onRefresh);
+    }
 
-        db.collection(COLLECTION_NAME)
-                .orderBy("name", Query.Direction.ASCENDING)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+    private CompletableFuture<List<Club>> findAll(Source source) {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .orderBy("name", Query.Direction.ASCENDING), source)
+                .thenApply(querySnapshot -> {
+                    List<Club> result = new ArrayList<>();
                     for (DocumentSnapshot document : querySnapshot.getDocuments()) {
                         Club club = documentToClub(document);
                         if (club != null) {
                             result.add(club);
                         }
                     }
-                    latch.countDown();
-                    Log.d(TAG, "Found " + result.size() + " clubs");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error getting clubs", e);
-                    latch.countDown();
+                    LOG.d("Found {} clubs", result.size());
+                    return result;
                 });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findAll", e);
-        }
-
-        return result;
+    @Override
+    public CompletableFuture<Club> findByNameAsync(String name) {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .whereEqualTo("name", name))
+                .thenApply(querySnapshot -> querySnapshot.isEmpty()
+                        ? null
+                        : documentToClub(querySnapshot.getDocuments().get(0)));
     }
 
     @Override
-    public Club findByName(String name) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final Club[] result = new Club[1];
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("name", name)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToClub(document);
-                    }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding club by name", e);
-                    latch.countDown();
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return KeyedDocuments.delete(db, db.collection(COLLECTION_NAME), documentKey(id), "id", id)
+                .thenApply(deleted -> {
+                    LOG.d("Club deleted: {}", id);
+                    return deleted;
                 });
-
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findByName", e);
-        }
-
-        return result[0];
     }
 
     @Override
-    public boolean delete(int id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final boolean[] result = {false};
-
-        db.collection(COLLECTION_NAME)
-                .document(String.valueOf(id))
-                .delete()
-                .addOnSuccessListener(aVoid -> {
-                    result[0] = true;
-                    latch.countDown();
-                    Log.d(TAG, "Club deleted: " + id);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error deleting club", e);
-                    latch.countDown();
-                });
+    public Subscription observeAll(ChangeListener<Club> listener) {
+        return LiveQuery.observe(db.collection(COLLECTION_NAME).orderBy("name", Query.Direction.ASCENDING),
+                this::documentToClub, Club::getId, listener, TAG, "all");
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for delete", e);
-        }
+    /**
+     * Document ID a club is stored under.
+     */
+    public static String documentKey(int id) {
+        return "club_" + id;
+    }
 
-        return result[0];
+    private Map<String, Object> clubToMap(Club club) {
+        return ClubCodec.encode(club);
     }
 
     private Club documentToClub(DocumentSnapshot document) {
         try {
-            Club club = new Club();
-            
-
-            Long idLong = document.getLong("id");
-            if (idLong != null) {
-                club.setId(idLong.intValue());
-            } else {
-
+            Club club = ClubCodec.decode(document.getData());
+            if (club.getId() == null) {
                 club.setId(document.getId().hashCode());
             }
-            
-
             club.setFirestoreDocId(document.getId());
-            club.setClubName(document.getString("name"));
-            
-            Log.d(TAG, "Converted club: " + club.getClubName() + ", ID: " + club.getId() + ", DocId: " + club.getFirestoreDocId());
+
+            LOG.v("Converted club: {}, ID: {}, DocId: {}", club.getClubName(), club.getId(), club.getFirestoreDocId());
             return club;
         } catch (Exception e) {
-            Log.e(TAG, "Error converting document to club", e);
+            LOG.e("Error converting document to club", e);
             return null;
         }
     }
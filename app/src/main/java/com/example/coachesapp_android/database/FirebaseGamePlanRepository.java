@@ -1,222 +1,123 @@
 package com.example.coachesapp_android.database;
 
-import android.util.Log;
-
 import com.example.coachesapp_android.model.GamePlan;
+import com.example.coachesapp_android.model.GamePlanCodec;
+import com.example.coachesapp_android.util.Logger;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class FirebaseGamePlanRepository implements IGamePlanRepository {
     private static final String TAG = "FirebaseGamePlanRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
     private static final String COLLECTION_NAME = "gamePlans";
     private final FirebaseFirestore db;
+    private final StaleWhileRevalidate reads = new StaleWhileRevalidate(TAG);
 
     public FirebaseGamePlanRepository() {
         this.db = FirebaseFirestore.getInstance();
     }
 
+    /**
+     * Policy for the reads that take a refresh callback; all other reads go to the server.
+     */
+    public void setReadPolicy(ReadPolicy policy) {
+        reads.setPolicy(policy);
+    }
+
     @Override
     public GamePlan save(GamePlan gamePlan) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final GamePlan[] result = new GamePlan[1];
-        
-        Log.d(TAG, "Saving game plan for club " + gamePlan.getClubId());
-        Log.d(TAG, "Data - GK: " + gamePlan.getGoalkeeperName() + " (ID:" + gamePlan.getGoalkeeperPlayerId() + ")");
-        Log.d(TAG, "Data - DEF1: " + gamePlan.getDefender1Name() + " (ID:" + gamePlan.getDefender1PlayerId() + ")");
-        Log.d(TAG, "Data - DEF2: " + gamePlan.getDefender2Name() + " (ID:" + gamePlan.getDefender2PlayerId() + ")");
-        Log.d(TAG, "Data - MID1: " + gamePlan.getMidfielder1Name() + " (ID:" + gamePlan.getMidfielder1PlayerId() + ")");
-        Log.d(TAG, "Data - MID2: " + gamePlan.getMidfielder2Name() + " (ID:" + gamePlan.getMidfielder2PlayerId() + ")");
-        Log.d(TAG, "Data - ATT: " + gamePlan.getAttackerName() + " (ID:" + gamePlan.getAttackerPlayerId() + ")");
-        
-        Map<String, Object> data = new HashMap<>();
-        data.put("clubId", gamePlan.getClubId());
-        data.put("goalkeeperPlayerId", gamePlan.getGoalkeeperPlayerId());
-        data.put("goalkeeperName", gamePlan.getGoalkeeperName());
-        data.put("defender1PlayerId", gamePlan.getDefender1PlayerId());
-        data.put("defender1Name", gamePlan.getDefender1Name());
-        data.put("defender2PlayerId", gamePlan.getDefender2PlayerId());
-        data.put("defender2Name", gamePlan.getDefender2Name());
-        data.put("midfielder1PlayerId", gamePlan.getMidfielder1PlayerId());
-        data.put("midfielder1Name", gamePlan.getMidfielder1Name());
-        data.put("midfielder2PlayerId", gamePlan.getMidfielder2PlayerId());
-        data.put("midfielder2Name", gamePlan.getMidfielder2Name());
-        data.put("attackerPlayerId", gamePlan.getAttackerPlayerId());
-        data.put("attackerName", gamePlan.getAttackerName());
-
-        // Check if game plan exists for this club
-        db.collection(COLLECTION_NAME)
-            .whereEqualTo("clubId", gamePlan.getClubId())
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                if (!querySnapshot.isEmpty()) {
-                    // Update existing game plan
-                    String docId = querySnapshot.getDocuments().get(0).getId();
-                    db.collection(COLLECTION_NAME)
-                        .document(docId)
-                        .update(data)
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d(TAG, "Game plan updated for club " + gamePlan.getClubId());
-                            result[0] = gamePlan;
-                            latch.countDown();
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e(TAG, "Failed to update game plan", e);
-                            latch.countDown();
-                        });
-                } else {
-                    // Create new game plan
-                    db.collection(COLLECTION_NAME)
-                        .add(data)
-                        .addOnSuccessListener(documentReference -> {
-                            Log.d(TAG, "Game plan created for club " + gamePlan.getClubId());
-                            result[0] = gamePlan;
-                            latch.countDown();
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e(TAG, "Failed to create game plan", e);
-                            latch.countDown();
-                        });
-                }
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to query game plan", e);
-                latch.countDown();
-            });
+        return FirestoreFutures.await(saveAsync(gamePlan), null, TAG, "save");
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for save", e);
-        }
+    @Override
+    public GamePlan findByClubId(int clubId) {
+        return FirestoreFutures.await(findByClubIdAsync(clubId), null, TAG, "find");
+    }
 
-        return result[0];
+    @Override
+    public boolean update(GamePlan gamePlan) {
+        return FirestoreFutures.await(updateAsync(gamePlan), false, TAG, "update");
     }
 
     @Override
-    public GamePlan findByClubId(int clubId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final GamePlan[] result = new GamePlan[1];
-
-        db.collection(COLLECTION_NAME)
-            .whereEqualTo("clubId", clubId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                Log.d(TAG, "Query result - Documents found: " + querySnapshot.size());
-                if (!querySnapshot.isEmpty()) {
-                    DocumentSnapshot doc = querySnapshot.getDocuments().get(0);
-                    result[0] = documentToGamePlan(doc);
-                    Log.d(TAG, "Found game plan for club " + clubId);
-                    if (result[0] != null) {
-                        Log.d(TAG, "Loaded - GK: " + result[0].getGoalkeeperName());
-                        Log.d(TAG, "Loaded - DEF1: " + result[0].getDefender1Name());
-                        Log.d(TAG, "Loaded - DEF2: " + result[0].getDefender2Name());
-                    }
-                } else {
-                    Log.d(TAG, "No game plan found for club " + clubId);
-                }
-                latch.countDown();
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to find game plan", e);
-                latch.countDown();
+    public boolean delete(int clubId) {
+        return FirestoreFutures.await(deleteAsync(clubId), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<GamePlan> saveAsync(GamePlan gamePlan) {
+        LOG.d("Saving game plan for club {}", gamePlan.getClubId());
+        LOG.v("Data - GK: {} (ID:{})", gamePlan.getGoalkeeperName(), gamePlan.getGoalkeeperPlayerId());
+        LOG.v("Data - DEF1: {} (ID:{})", gamePlan.getDefender1Name(), gamePlan.getDefender1PlayerId());
+        LOG.v("Data - DEF2: {} (ID:{})", gamePlan.getDefender2Name(), gamePlan.getDefender2PlayerId());
+        LOG.v("Data - MID1: {} (ID:{})", gamePlan.getMidfielder1Name(), gamePlan.getMidfielder1PlayerId());
+        LOG.v("Data - MID2: {} (ID:{})", gamePlan.getMidfielder2Name(), gamePlan.getMidfielder2PlayerId());
+        LOG.v("Data - ATT: {} (ID:{})", gamePlan.getAttackerName(), gamePlan.getAttackerPlayerId());
+
+        return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                .document(documentKey(gamePlan.getClubId()))
+                .set(gamePlanToMap(gamePlan)))
+            .thenApply(aVoid -> {
+                LOG.d("Game plan saved for club {}", gamePlan.getClubId());
+                return gamePlan;
             });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for find", e);
-        }
+    @Override
+    public CompletableFuture<GamePlan> findByClubIdAsync(int clubId) {
+        return findByClubId(clubId, Source.DEFAULT);
+    }
 
-        return result[0];
+    @Override
+    public CompletableFuture<GamePlan> findByClubIdAsync(int clubId, Consumer<GamePlan> onRefresh) {
+        return reads.read(documentKey(clubId), source -> findByClubId(clubId, source), this::gamePlanToMap, onRefresh);
+    }
+
+    private CompletableFuture<GamePlan> findByClubId(int clubId, Source source) {
+        return KeyedDocuments.get(db.collection(COLLECTION_NAME), documentKey(clubId), "clubId", clubId, source)
+            .thenApply(document -> {
+                if (document == null) {
+                    LOG.d("No game plan found for club {}", clubId);
+                    return null;
+                }
+                GamePlan gamePlan = documentToGamePlan(document);
+                LOG.d("Found game plan for club {}", clubId);
+                LOG.v("Loaded - GK: {}, DEF1: {}, DEF2: {}", gamePlan.getGoalkeeperName(), gamePlan.getDefender1Name(), gamePlan.getDefender2Name());
+                return gamePlan;
+            });
     }
 
     @Override
-    public boolean update(GamePlan gamePlan) {
-        GamePlan updated = save(gamePlan);
-        return updated != null;
+    public CompletableFuture<Boolean> updateAsync(GamePlan gamePlan) {
+        return saveAsync(gamePlan).thenApply(updated -> updated != null);
     }
 
     @Override
-    public boolean delete(int clubId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final boolean[] result = {false};
-
-        db.collection(COLLECTION_NAME)
-            .whereEqualTo("clubId", clubId)
-            .get()
-            .addOnSuccessListener(querySnapshot -> {
-                if (!querySnapshot.isEmpty()) {
-                    String docId = querySnapshot.getDocuments().get(0).getId();
-                    db.collection(COLLECTION_NAME)
-                        .document(docId)
-                        .delete()
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d(TAG, "Game plan deleted for club " + clubId);
-                            result[0] = true;
-                            latch.countDown();
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e(TAG, "Failed to delete game plan", e);
-                            latch.countDown();
-                        });
-                } else {
-                    latch.countDown();
-                }
-            })
-            .addOnFailureListener(e -> {
-                Log.e(TAG, "Failed to query game plan for deletion", e);
-                latch.countDown();
+    public CompletableFuture<Boolean> deleteAsync(int clubId) {
+        return KeyedDocuments.delete(db, db.collection(COLLECTION_NAME), documentKey(clubId), "clubId", clubId)
+            .thenApply(deleted -> {
+                LOG.d("Game plan deleted for club {}", clubId);
+                return deleted;
             });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for delete", e);
-        }
+    /**
+     * Document ID a club's game plan is stored under.
+     */
+    public static String documentKey(int clubId) {
+        return "gameplan_" + clubId;
+    }
 
-        return result[0];
+    private Map<String, Object> gamePlanToMap(GamePlan gamePlan) {
+        return GamePlanCodec.encode(gamePlan);
     }
 
     private GamePlan documentToGamePlan(DocumentSnapshot doc) {
-        GamePlan gamePlan = new GamePlan();
-        
-        gamePlan.setClubId(doc.getLong("clubId").intValue());
-        
-        if (doc.getLong("goalkeeperPlayerId") != null) {
-            gamePlan.setGoalkeeperPlayerId(doc.getLong("goalkeeperPlayerId").intValue());
-        }
-        gamePlan.setGoalkeeperName(doc.getString("goalkeeperName"));
-        
-        if (doc.getLong("defender1PlayerId") != null) {
-            gamePlan.setDefender1PlayerId(doc.getLong("defender1PlayerId").intValue());
-        }
-        gamePlan.setDefender1Name(doc.getString("defender1Name"));
-        
-        if (doc.getLong("defender2PlayerId") != null) {
-            gamePlan.setDefender2PlayerId(doc.getLong("defender2PlayerId").intValue());
-        }
-        gamePlan.setDefender2Name(doc.getString("defender2Name"));
-        
-        if (doc.getLong("midfielder1PlayerId") != null) {
-            gamePlan.setMidfielder1PlayerId(doc.getLong("midfielder1PlayerId").intValue());
-        }
-        gamePlan.setMidfielder1Name(doc.getString("midfielder1Name"));
-        
-        if (doc.getLong("midfielder2PlayerId") != null) {
-            gamePlan.setMidfielder2PlayerId(doc.getLong("midfielder2PlayerId").intValue());
-        }
-        gamePlan.setMidfielder2Name(doc.getString("midfielder2Name"));
-        
-        if (doc.getLong("attackerPlayerId") != null) {
-            gamePlan.setAttackerPlayerId(doc.getLong("attackerPlayerId").intValue());
-        }
-        gamePlan.setAttackerName(doc.getString("attackerName"));
-        
-        return gamePlan;
+        return GamePlanCodec.decode(doc.getData());
     }
 }
@@ -1,299 +1,285 @@
 package com.example.coachesapp_android.database;
 
-import android.util.Log;
-
 import com.example.coachesapp_android.model.Player;
-import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 
 public class FirebasePlayerRepository implements IPlayerRepository {
     private static final String TAG = "FirebasePlayerRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
     private static final String COLLECTION_NAME = "players";
+    // Market listings in here carry a snapshot of their player, see TransferRequest
+    private static final String TRANSFERS_COLLECTION = "transferRequests";
     private final FirebaseFirestore db;
+    private final IdAllocator idAllocator;
 
     public FirebasePlayerRepository() {
         this.db = FirebaseFirestore.getInstance();
+        this.idAllocator = IdAllocator.forCollection(COLLECTION_NAME, false);
     }
 
     @Override
     public Player save(Player player) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final Player[] result = new Player[1];
-        
-        Map<String, Object> playerData = new HashMap<>();
-        playerData.put("name", player.getName());
-        playerData.put("age", player.getAge());
-        playerData.put("jersey", player.getJersey());
-        playerData.put("position", player.getPosition().name());
-        playerData.put("injured", player.isInjured());
-        playerData.put("clubId", player.getClubId());
+        return FirestoreFutures.await(saveAsync(player), null, TAG, "save");
+    }
 
-        if (player.getId() != null) {
+    @Override
+    public Player findById(int id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
 
-            playerData.put("id", player.getId());
-            
-            db.collection(COLLECTION_NAME)
-                    .whereEqualTo("id", player.getId())
-                    .get()
-                    .addOnSuccessListener(querySnapshot -> {
-                        if (!querySnapshot.isEmpty()) {
-                            // Update the first matching document
-                            String docId = querySnapshot.getDocuments().get(0).getId();
-                            db.collection(COLLECTION_NAME)
-                                    .document(docId)
-                                    .set(playerData)
-                                    .addOnSuccessListener(aVoid -> {
-                                        result[0] = player;
-                                        latch.countDown();
-                                        Log.d(TAG, "Player updated: " + player.getName() + ", ID: " + player.getId() + ", DocId: " + docId + ", ClubId: " + player.getClubId());
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.e(TAG, "Error updating player document", e);
-                                        latch.countDown();
-                                    });
-                        } else {
-
-                            Log.w(TAG, "No player found with ID " + player.getId() + ", creating new");
-                            player.setId(null); // Reset ID to create new
-                            result[0] = save(player); // Recursive call to create
-                            latch.countDown();
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error finding player to update", e);
-                        latch.countDown();
-                    });
-        } else {
-
-            db.collection(COLLECTION_NAME)
-                    .add(playerData)
-                    .addOnSuccessListener(documentReference -> {
-                        String docId = documentReference.getId();
-                        int playerId = docId.hashCode(); // Using hashCode for integer ID
-                        player.setId(playerId);
-                        
-
-                        documentReference.update("id", playerId)
-                                .addOnSuccessListener(aVoid -> {
-                                    result[0] = player;
-                                    latch.countDown();
-                                    Log.d(TAG, "Player created: " + player.getName() + ", ID: " + playerId + ", DocId: " + docId + ", ClubId: " + player.getClubId());
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error updating player ID field", e);
-                                    result[0] = player; // Still return player even if ID update fails
-                                    latch.countDown();
-                                });
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error adding player", e);
-                        latch.countDown();
-                    });
-        }
+    @Override
+    public List<Player> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for save", e);
-        }
-        
-        return result[0];
+    @Override
+    public List<Player> findByClubId(int clubId) {
+        return FirestoreFutures.await(findByClubIdAsync(clubId), new ArrayList<>(), TAG, "findByClubId");
     }
 
     @Override
-    public Player findById(int id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final Player[] result = new Player[1];
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("id", id)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToPlayer(document);
-                    }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding player", e);
-                    latch.countDown();
-                });
+    public Map<Integer, Player> findByIds(Collection<Integer> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids), new HashMap<>(), TAG, "findByIds");
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findById", e);
-        }
+    @Override
+    public Page<Player> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
 
-        return result[0];
+    @Override
+    public long count() {
+        return FirestoreFutures.await(countAsync(), -1L, TAG, "count");
     }
 
     @Override
-    public List<Player> findAll() {
-        CountDownLatch latch = new CountDownLatch(1);
-        final List<Player> result = new ArrayList<>();
-
-        db.collection(COLLECTION_NAME)
-                .orderBy("name", Query.Direction.ASCENDING)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-
-                    java.util.Set<Integer> seenIds = new java.util.HashSet<>();
-                    
-                    for (DocumentSnapshot document : querySnapshot.getDocuments()) {
-                        Player player = documentToPlayer(document);
-                        if (player != null && !seenIds.contains(player.getId())) {
-                            result.add(player);
-                            seenIds.add(player.getId());
-                        } else if (player != null && seenIds.contains(player.getId())) {
-                            Log.w(TAG, "Skipping duplicate player: " + player.getName() + ", ID: " + player.getId() + ", DocId: " + document.getId());
+    public long countByClubId(int clubId) {
+        return FirestoreFutures.await(countByClubIdAsync(clubId), -1L, TAG, "countByClubId");
+    }
+
+    @Override
+    public Player stageSave(Player player, UnitOfWork work) {
+        return FirestoreFutures.await(stageSaveAsync(player, work), null, TAG, "stageSave");
+    }
+
+    @Override
+    public boolean update(Player player) {
+        return FirestoreFutures.await(updateAsync(player), false, TAG, "update");
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<Player> saveAsync(Player player) {
+        boolean isNew = player.getId() == null;
+        CompletableFuture<Integer> idFuture = assignId(player);
+
+        return idFuture.thenCompose(playerId -> {
+            String docId = documentKey(playerId);
+            return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                            .document(docId)
+                            .set(PlayerMapper.toData(player)))
+                    .thenApply(aVoid -> {
+                        LOG.d("{}: {}, DocId: {}", isNew ? "Player created" : "Player updated", player.getName(), docId);
+                        if (!isNew) {
+                            refreshListings(playerId, PlayerMapper.toListingSnapshot(player));
                         }
+                        return player;
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Player> stageSaveAsync(Player player, UnitOfWork work) {
+        boolean isNew = player.getId() == null;
+        return assignId(player).thenApply(playerId -> {
+            work.set(db.collection(COLLECTION_NAME).document(documentKey(playerId)), PlayerMapper.toData(player));
+            if (!isNew) {
+                Map<String, Object> snapshot = PlayerMapper.toListingSnapshot(player);
+                work.onCommit(() -> refreshListings(playerId, snapshot));
+            }
+            return player;
+        });
+    }
+
+    /**
+     * Copies a saved player onto their transfer requests in the market, which the market screen
+     * renders without reading players. Best effort and separate from the player write: each
+     * listing is updated in a transaction that first checks it is still in the market, and a
+     * failure is only logged, leaving the listing as it was.
+     */
+    private void refreshListings(int playerId, Map<String, Object> snapshot) {
+        FirestoreFutures.read(db.collection(TRANSFERS_COLLECTION)
+                        .whereEqualTo("playerId", playerId)
+                        .whereEqualTo("status", TransferRequest.TransferStatus.IN_MARKET.name()))
+                .thenCompose(querySnapshot -> {
+                    List<CompletableFuture<Boolean>> refreshes = new ArrayList<>();
+                    for (DocumentSnapshot listing : querySnapshot.getDocuments()) {
+                        refreshes.add(refreshListing(listing.getReference(), snapshot));
                     }
-                    latch.countDown();
-                    Log.d(TAG, "Found " + result.size() + " unique players (deduplicated)");
+                    return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0]))
+                            .thenApply(ignored -> refreshes.size());
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error getting players", e);
-                    latch.countDown();
+                .whenComplete((count, e) -> {
+                    if (e != null) {
+                        LOG.w("Could not refresh the market listings of player {}", playerId, e);
+                    } else if (count > 0) {
+                        LOG.d("Refreshed the player snapshot on {} listings of player {}", count, playerId);
+                    }
                 });
+    }
+
+    private CompletableFuture<Boolean> refreshListing(DocumentReference listing, Map<String, Object> snapshot) {
+        // The transaction re-reads the listing, so rerunning it is harmless
+        return FirestoreFutures.write(() -> db.runTransaction(transaction -> {
+            DocumentSnapshot current = transaction.get(listing);
+            // Sold, withdrawn or deleted since the query: nothing left to refresh
+            if (!current.exists()
+                    || !TransferRequest.TransferStatus.IN_MARKET.name().equals(current.getString("status"))) {
+                return false;
+            }
+            transaction.update(listing, snapshot);
+            return true;
+        }));
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findAll", e);
+    private CompletableFuture<Integer> assignId(Player player) {
+        if (player.getId() != null) {
+            return CompletableFuture.completedFuture(player.getId());
         }
+        return idAllocator.nextIdAsync().thenApply(id -> {
+            player.setId(id);
+            return player.getId();
+        });
+    }
 
-        return result;
+    @Override
+    public CompletableFuture<Player> findByIdAsync(int id) {
+        return KeyedDocuments.get(db.collection(COLLECTION_NAME), documentKey(id), "id", id)
+                .thenApply(document -> document != null ? documentToPlayer(document) : null);
     }
 
     @Override
-    public List<Player> findByClubId(int clubId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final List<Player> result = new ArrayList<>();
-
-        Log.d(TAG, "========== FINDING PLAYERS BY CLUB ID ==========");
-        Log.d(TAG, "Searching for players with clubId: " + clubId);
-        
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("clubId", clubId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    Log.d(TAG, "Query returned " + querySnapshot.size() + " documents");
-
-                    java.util.Set<Integer> seenIds = new java.util.HashSet<>();
-                    
-                    for (DocumentSnapshot document : querySnapshot.getDocuments()) {
-                        Log.d(TAG, "Document ID: " + document.getId() + ", clubId field: " + document.getLong("clubId"));
-                        Player player = documentToPlayer(document);
-                        if (player != null && !seenIds.contains(player.getId())) {
-                            result.add(player);
-                            seenIds.add(player.getId());
-                            Log.d(TAG, "Added player: " + player.getName() + " with clubId: " + player.getClubId());
-                        } else if (player != null && seenIds.contains(player.getId())) {
-                            Log.w(TAG, "Skipping duplicate player: " + player.getName() + ", ID: " + player.getId() + ", DocId: " + document.getId());
-                        }
+    public CompletableFuture<List<Player>> findAllAsync() {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .orderBy("name", Query.Direction.ASCENDING))
+                .thenApply(querySnapshot -> {
+                    List<Player> result = toUniquePlayers(querySnapshot.getDocuments());
+                    LOG.d("Found {} unique players (deduplicated)", result.size());
+                    return result;
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Player>> findByClubIdAsync(int clubId) {
+        LOG.d("========== FINDING PLAYERS BY CLUB ID ==========");
+        LOG.d("Searching for players with clubId: {}", clubId);
+
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .whereEqualTo("clubId", clubId))
+                .thenApply(querySnapshot -> {
+                    LOG.d("Query returned {} documents", querySnapshot.size());
+                    List<Player> result = toUniquePlayers(querySnapshot.getDocuments());
+                    LOG.d("Total found {} unique players for club {} (deduplicated)", result.size(), clubId);
+                    return result;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Player>> findByIdsAsync(Collection<Integer> ids) {
+        return FirestoreFutures.fanOut(ids, chunk -> FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                                .whereIn("id", chunk))
+                        .thenApply(querySnapshot -> toUniquePlayers(querySnapshot.getDocuments())))
+                .thenApply(players -> {
+                    Map<Integer, Player> result = new LinkedHashMap<>();
+                    for (Player player : players) {
+                        result.putIfAbsent(player.getId(), player);
                     }
-                    latch.countDown();
-                    Log.d(TAG, "Total found " + result.size() + " unique players for club " + clubId + " (deduplicated)");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error getting players by club " + clubId, e);
-                    latch.countDown();
+                    LOG.d("findByIds - Requested {} IDs, found {} players", ids.size(), result.size());
+                    return result;
                 });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findByClubId", e);
-        }
+    @Override
+    public CompletableFuture<Page<Player>> findPageAsync(PageCursor after, int pageSize) {
+        return Paging.fetch(db.collection(COLLECTION_NAME), "name", after, pageSize, this::documentToPlayer)
+                .thenApply(page -> {
+                    LOG.d("findPage - Loaded {} players, more: {}", page.getItems().size(), page.hasMore());
+                    return page;
+                });
+    }
 
-        return result;
+    @Override
+    public CompletableFuture<Long> countAsync() {
+        return FirestoreFutures.aggregate(db.collection(COLLECTION_NAME).count())
+                .thenApply(AggregateQuerySnapshot::getCount);
     }
 
     @Override
-    public boolean update(Player player) {
+    public CompletableFuture<Long> countByClubIdAsync(int clubId) {
+        return FirestoreFutures.aggregate(db.collection(COLLECTION_NAME).whereEqualTo("clubId", clubId).count())
+                .thenApply(AggregateQuerySnapshot::getCount);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAsync(Player player) {
         if (player.getId() == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        return save(player) != null;
+        return saveAsync(player).thenApply(saved -> saved != null);
     }
 
     @Override
-    public boolean delete(int id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final boolean[] result = {false};
-
-        db.collection(COLLECTION_NAME)
-                .document(String.valueOf(id))
-                .delete()
-                .addOnSuccessListener(aVoid -> {
-                    result[0] = true;
-                    latch.countDown();
-                    Log.d(TAG, "Player deleted: " + id);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error deleting player", e);
-                    latch.countDown();
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return KeyedDocuments.delete(db, db.collection(COLLECTION_NAME), documentKey(id), "id", id)
+                .thenApply(deleted -> {
+                    LOG.d("Player deleted: {}", id);
+                    return deleted;
                 });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for delete", e);
-        }
+    @Override
+    public Subscription observeAll(ChangeListener<Player> listener) {
+        return LiveQuery.observe(db.collection(COLLECTION_NAME).orderBy("name", Query.Direction.ASCENDING),
+                this::documentToPlayer, Player::getId, listener, TAG, "all");
+    }
 
-        return result[0];
+    @Override
+    public Subscription observeByClubId(int clubId, ChangeListener<Player> listener) {
+        return LiveQuery.observe(db.collection(COLLECTION_NAME).whereEqualTo("clubId", clubId),
+                this::documentToPlayer, Player::getId, listener, TAG, "clubId=" + clubId);
     }
 
-    private Player documentToPlayer(DocumentSnapshot document) {
-        try {
-            Player player = new Player();
+    /**
+     * Document ID a player is stored under.
+     */
+    public static String documentKey(int id) {
+        return "player_" + id;
+    }
 
+    private List<Player> toUniquePlayers(List<DocumentSnapshot> documents) {
+        return PlayerMapper.toUniquePlayers(documents, DocumentSnapshot::getId, DocumentSnapshot::getData);
+    }
 
-            Long idLong = document.getLong("id");
-            if (idLong != null) {
-                player.setId(idLong.intValue());
-            } else {
-                player.setId(document.getId().hashCode());
-            }
-            
-            player.setName(document.getString("name"));
-            
-            Long age = document.getLong("age");
-            player.setAge(age != null ? age.intValue() : 0);
-            
-            Long jersey = document.getLong("jersey");
-            player.setJersey(jersey != null ? jersey.intValue() : 0);
-            
-            String positionStr = document.getString("position");
-            if (positionStr != null) {
-                player.setPosition(Position.valueOf(positionStr));
-            }
-            
-            Boolean injured = document.getBoolean("injured");
-            player.setInjured(injured != null ? injured : false);
-            
-            Long clubId = document.getLong("clubId");
-            if (clubId != null) {
-                player.setClubId(clubId.intValue());
-            }
-            
-            Log.d(TAG, "Loaded player: " + player.getName() + ", ID: " + player.getId() + ", ClubId: " + player.getClubId());
-            return player;
-        } catch (Exception e) {
-            Log.e(TAG, "Error converting document to player", e);
-            return null;
-        }
+    private Player documentToPlayer(DocumentSnapshot document) {
+        return PlayerMapper.fromData(document.getId(), document.getData());
     }
 }
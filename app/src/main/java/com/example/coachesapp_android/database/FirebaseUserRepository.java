@@ -1,244 +1,420 @@
 package com.example.coachesapp_android.database;
 
-import android.util.Log;
-
-import com.example.coachesapp_android.model.Position;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.util.Logger;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public class FirebaseUserRepository implements IUserRepository {
     private static final String TAG = "FirebaseUserRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
     private static final String COLLECTION_NAME = "users";
+    // System administrators are created approved and never wait for approval
+    private static final List<String> APPROVABLE_ROLES = new ArrayList<>();
+
+    static {
+        for (Role role : Role.values()) {
+            if (role != Role.SYSTEM_ADMIN) {
+                APPROVABLE_ROLES.add(role.name());
+            }
+        }
+    }
+
     private final FirebaseFirestore db;
     private final FirebaseAuth auth;
+    private final IdAllocator idAllocator;
+    private final StaleWhileRevalidate reads = new StaleWhileRevalidate(TAG);
 
     public FirebaseUserRepository() {
         this.db = FirebaseFirestore.getInstance();
         this.auth = FirebaseAuth.getInstance();
+        this.idAllocator = IdAllocator.forCollection(COLLECTION_NAME, false);
+    }
+
+    /**
+     * Policy for the reads that take a refresh callback; all other reads go to the server.
+     */
+    public void setReadPolicy(ReadPolicy policy) {
+        reads.setPolicy(policy);
     }
 
     @Override
     public User save(User user) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final User[] result = new User[1];
-        
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("username", user.getUsername());
-        userData.put("email", user.getEmail() != null ? user.getEmail() : "");
-        userData.put("role", user.getRole().name());
-        userData.put("clubId", user.getClubId() != null ? user.getClubId() : 0);
-        userData.put("playerId", user.getPlayerId() != null ? user.getPlayerId() : 0);
-        userData.put("managerId", user.getManagerId() != null ? user.getManagerId() : 0);
-        userData.put("age", user.getAge() != null ? user.getAge() : 0);
-        userData.put("approved", user.isApproved());
-        userData.put("preferredPosition", user.getPreferredPosition() != null ? user.getPreferredPosition().name() : null);
+        User saved = FirestoreFutures.await(saveAsync(user), null, TAG, "save operation");
+        if (saved == null) {
+            LOG.e("Save operation completed but result is null");
+        }
+        return saved;
+    }
 
-        if (user.getId() != null) {
+    @Override
+    public User stageSave(User user, UnitOfWork work) {
+        return FirestoreFutures.await(stageSaveAsync(user, work), null, TAG, "stageSave");
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return FirestoreFutures.await(findByUsernameAsync(username), null, TAG, "findByUsername");
+    }
+
+    @Override
+    public User findByUsernameAndPassword(String username, String password) {
+
+        return findByUsername(username);
+    }
+
+    @Override
+    public User findByPlayerId(int playerId) {
+        return FirestoreFutures.await(findByPlayerIdAsync(playerId), null, TAG, "findByPlayerId");
+    }
+
+    @Override
+    public Map<Integer, User> findByPlayerIds(Collection<Integer> playerIds) {
+        return FirestoreFutures.await(findByPlayerIdsAsync(playerIds), new HashMap<>(), TAG, "findByPlayerIds");
+    }
+
+    @Override
+    public List<User> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Page<User> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return FirestoreFutures.await(findByEmailAsync(email), null, TAG, "findByEmail");
+    }
+
+    @Override
+    public List<User> findByRole(Role role) {
+        return FirestoreFutures.await(findByRoleAsync(role), new ArrayList<>(), TAG, "findByRole");
+    }
+
+    @Override
+    public List<User> findByRoleAndClub(Role role, int clubId) {
+        return FirestoreFutures.await(findByRoleAndClubAsync(role, clubId), new ArrayList<>(), TAG, "findByRoleAndClub");
+    }
+
+    @Override
+    public List<User> findPending() {
+        return FirestoreFutures.await(findPendingAsync(), new ArrayList<>(), TAG, "findPending");
+    }
+
+    @Override
+    public Page<User> findApprovedPageByRoles(Collection<Role> roles, PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findApprovedPageByRolesAsync(roles, after, pageSize),
+                new Page<>(new ArrayList<>(), null), TAG, "findApprovedPageByRoles");
+    }
+
+    @Override
+    public long countPendingApproval() {
+        return FirestoreFutures.await(countPendingApprovalAsync(), -1L, TAG, "countPendingApproval");
+    }
+
+    @Override
+    public boolean delete(Integer userId) {
+        return FirestoreFutures.await(deleteAsync(userId), false, TAG, "delete");
+    }
 
-            Log.d(TAG, "Updating user: " + user.getUsername() + ", Approved: " + user.isApproved());
-            db.collection(COLLECTION_NAME)
-                    .whereEqualTo("username", user.getUsername())
-                    .get()
-                    .addOnSuccessListener(querySnapshot -> {
-                        if (!querySnapshot.isEmpty()) {
-                            String docId = querySnapshot.getDocuments().get(0).getId();
-                            db.collection(COLLECTION_NAME)
-                                    .document(docId)
-                                    .update(userData)
-                                    .addOnSuccessListener(aVoid -> {
-                                        result[0] = user;
-                                        latch.countDown();
-                                        Log.d(TAG, "User updated successfully: " + user.getUsername() + ", Approved: " + user.isApproved());
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.e(TAG, "Error updating user document", e);
-                                        latch.countDown();
-                                    });
+    @Override
+    public boolean deleteByUsername(String username) {
+        return FirestoreFutures.await(deleteByUsernameAsync(username), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<User> saveAsync(User user) {
+        boolean isNew = user.getId() == null;
+        if (isNew) {
+            LOG.d("Creating new user in Firestore: {}, Approved: {}", user.getUsername(), user.isApproved());
+        } else {
+            LOG.d("Updating user: {}, Approved: {}", user.getUsername(), user.isApproved());
+        }
+        CompletableFuture<Integer> idFuture = assignId(user);
+
+        return idFuture.thenCompose(userId -> {
+            String docId = documentKey(userId);
+            Map<String, Object> data = userToMap(user, docId);
+
+            return storedCopies(userId, isNew)
+                    // A batch commits once, so every attempt builds its own
+                    .thenCompose(stored -> FirestoreFutures.write(() -> {
+                        WriteBatch batch = db.batch();
+                        DocumentReference document = db.collection(COLLECTION_NAME).document(docId);
+                        if (isNew) {
+                            batch.set(document, data);
+                        } else {
+                            batch.set(document, mergeData(stored, docId, data), SetOptions.merge());
+                        }
+                        for (DocumentSnapshot copy : stored) {
+                            if (!docId.equals(copy.getId())) {
+                                batch.delete(copy.getReference());
+                            }
+                        }
+                        return batch.commit();
+                    }))
+                    .thenApply(aVoid -> {
+                        if (isNew) {
+                            LOG.d("User added successfully: {} with docId: {}, approved: {}", user.getUsername(), docId, user.isApproved());
                         } else {
-                            Log.e(TAG, "User document not found for update: " + user.getUsername());
-                            latch.countDown();
+                            LOG.d("User updated successfully: {}, Approved: {}", user.getUsername(), user.isApproved());
                         }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error finding user for update", e);
-                        latch.countDown();
+                        return user;
                     });
-        } else {
+        }).whenComplete((saved, e) -> {
+            if (e != null && isNew) {
+                LOG.e("Error adding user: {}", user.getUsername(), e);
+            }
+        });
+    }
 
-            Log.d(TAG, "Creating new user in Firestore: " + user.getUsername() + ", Approved: " + user.isApproved());
-            db.collection(COLLECTION_NAME)
-                    .add(userData)
-                    .addOnSuccessListener(documentReference -> {
-                        String docId = documentReference.getId();
-                        user.setId(docId.hashCode());
-
-                        userData.put("firestoreDocId", docId);
-                        userData.put("id", user.getId());
-                        documentReference.set(userData);
-                        result[0] = user;
-                        latch.countDown();
-                        Log.d(TAG, "User added successfully: " + user.getUsername() + " with docId: " + docId + ", approved: " + user.isApproved());
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error adding user: " + user.getUsername(), e);
-                        Log.e(TAG, "Error message: " + e.getMessage());
-                        latch.countDown();
-                    });
+    @Override
+    public CompletableFuture<User> stageSaveAsync(User user, UnitOfWork work) {
+        boolean isNew = user.getId() == null;
+        return assignId(user).thenCompose(userId -> {
+            String docId = documentKey(userId);
+            Map<String, Object> data = userToMap(user, docId);
+            return storedCopies(userId, isNew).thenApply(stored -> {
+                DocumentReference document = db.collection(COLLECTION_NAME).document(docId);
+                if (isNew) {
+                    work.set(document, data);
+                } else {
+                    work.merge(document, mergeData(stored, docId, data));
+                }
+                for (DocumentSnapshot copy : stored) {
+                    if (!docId.equals(copy.getId())) {
+                        work.delete(copy.getReference());
+                    }
+                }
+                return user;
+            });
+        });
+    }
+
+    /**
+     * The documents an existing user is stored in: its keyed document and any copies still under
+     * auto-generated IDs. Saving the user deletes the copies in the same batch, or their stale
+     * fields (e.g. {@code approved=false}) would keep matching queries until
+     * {@link DocumentKeyMigration} runs.
+     */
+    private CompletableFuture<List<DocumentSnapshot>> storedCopies(int userId, boolean isNew) {
+        if (isNew) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
         }
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME).whereEqualTo("id", userId))
+                .thenApply(querySnapshot -> new ArrayList<>(querySnapshot.getDocuments()));
+    }
 
-        try {
-            boolean completed = latch.await(10, TimeUnit.SECONDS);
-            if (!completed) {
-                Log.e(TAG, "Timeout waiting for save operation");
+    /**
+     * What an update merges into the keyed document. Existing users are merged rather than
+     * replaced so fields the codec does not write survive; if only a legacy copy exists yet, its
+     * fields are carried over the same way.
+     */
+    private static Map<String, Object> mergeData(List<DocumentSnapshot> stored, String key, Map<String, Object> data) {
+        DocumentSnapshot legacy = null;
+        for (DocumentSnapshot copy : stored) {
+            if (key.equals(copy.getId())) {
+                return data;
             }
-            if (result[0] == null) {
-                Log.e(TAG, "Save operation completed but result is null");
+            if (legacy == null && copy.getData() != null) {
+                legacy = copy;
             }
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Interrupted while waiting for save", e);
         }
-        
-        return result[0];
+        if (legacy == null) {
+            return data;
+        }
+        Map<String, Object> merged = new HashMap<>(legacy.getData());
+        merged.putAll(data);
+        return merged;
     }
 
-    @Override
-    public User findByUsername(String username) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final User[] result = new User[1];
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("username", username)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToUser(document);
-                    }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding user by username", e);
-                    latch.countDown();
-                });
-
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findByUsername", e);
+    private CompletableFuture<Integer> assignId(User user) {
+        if (user.getId() != null) {
+            return CompletableFuture.completedFuture(user.getId());
         }
+        return idAllocator.nextIdAsync().thenApply(id -> {
+            user.setId(id);
+            return user.getId();
+        });
+    }
 
-        return result[0];
+    @Override
+    public CompletableFuture<User> findByUsernameAsync(String username) {
+        return findFirstByField("username", username);
     }
 
     @Override
-    public User findByUsernameAndPassword(String username, String password) {
+    public CompletableFuture<User> findByUsernameAsync(String username, Consumer<User> onRefresh) {
+        return reads.read("username_" + username, source -> findFirstByField("username", username, source),
+                user -> userToMap(user, null), onRefresh);
+    }
 
-        return findByUsername(username);
+    @Override
+    public CompletableFuture<User> findByUsernameAndPasswordAsync(String username, String password) {
+
+        return findByUsernameAsync(username);
     }
 
     @Override
-    public User findByPlayerId(int playerId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final User[] result = new User[1];
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("playerId", playerId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToUser(document);
+    public CompletableFuture<User> findByPlayerIdAsync(int playerId) {
+        return findFirstByField("playerId", playerId);
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, User>> findByPlayerIdsAsync(Collection<Integer> playerIds) {
+        return FirestoreFutures.fanOut(playerIds, chunk -> FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                                .whereIn("playerId", chunk))
+                        .thenApply(querySnapshot -> {
+                            List<User> users = new ArrayList<>();
+                            for (DocumentSnapshot document : querySnapshot.getDocuments()) {
+                                User user = documentToUser(document);
+                                if (user != null && user.getPlayerId() != null) {
+                                    users.add(user);
+                                }
+                            }
+                            return users;
+                        }))
+                .thenApply(users -> {
+                    Map<Integer, User> result = new LinkedHashMap<>();
+                    for (User user : users) {
+                        result.putIfAbsent(user.getPlayerId(), user);
                     }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding user by playerId", e);
-                    latch.countDown();
+                    LOG.d("findByPlayerIds - Requested {} player IDs, found {} users", playerIds.size(), result.size());
+                    return result;
                 });
-
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findByPlayerId", e);
-        }
-
-        return result[0];
     }
 
     @Override
-    public List<User> findAll() {
-        CountDownLatch latch = new CountDownLatch(1);
-        final List<User> result = new ArrayList<>();
+    public CompletableFuture<User> findByEmailAsync(String email) {
+        return findFirstByField("email", email);
+    }
 
-        db.collection(COLLECTION_NAME)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    Log.d(TAG, "findAll - Total documents: " + querySnapshot.size());
+    @Override
+    public CompletableFuture<List<User>> findAllAsync() {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME))
+                .thenApply(querySnapshot -> {
+                    LOG.d("findAll - Total documents: {}", querySnapshot.size());
+                    List<User> result = new ArrayList<>();
                     for (DocumentSnapshot document : querySnapshot.getDocuments()) {
                         User user = documentToUser(document);
                         if (user != null) {
                             result.add(user);
-                            Log.d(TAG, "findAll - User: " + user.getUsername() + ", Role: " + user.getRole() + ", Approved: " + user.isApproved());
+                            LOG.v("findAll - User: {}, Role: {}, Approved: {}", user.getUsername(), user.getRole(), user.isApproved());
                         }
                     }
-                    latch.countDown();
-                    Log.d(TAG, "Found " + result.size() + " users");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error getting users", e);
-                    latch.countDown();
+                    LOG.d("Found {} users", result.size());
+                    return result;
                 });
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findAll", e);
-        }
+    @Override
+    public CompletableFuture<Page<User>> findPageAsync(PageCursor after, int pageSize) {
+        return Paging.fetch(db.collection(COLLECTION_NAME), "username", after, pageSize, this::documentToUser)
+                .thenApply(page -> {
+                    LOG.d("findPage - Loaded {} users, more: {}", page.getItems().size(), page.hasMore());
+                    return page;
+                });
+    }
 
-        return result;
+    @Override
+    public CompletableFuture<List<User>> findByRoleAsync(Role role) {
+        return findByQuery(db.collection(COLLECTION_NAME).whereEqualTo("role", role.name()), "findByRole");
     }
 
+    @Override
+    public CompletableFuture<List<User>> findByRoleAndClubAsync(Role role, int clubId) {
+        // Served by the (role, clubId) index in firestore.indexes.json
+        return findByQuery(db.collection(COLLECTION_NAME)
+                .whereEqualTo("role", role.name())
+                .whereEqualTo("clubId", clubId), "findByRoleAndClub");
+    }
 
-    public User findByEmail(String email) {
-        CountDownLatch latch = new CountDownLatch(1);
-        final User[] result = new User[1];
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("email", email)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-                        result[0] = documentToUser(document);
-                    }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding user by email", e);
-                    latch.countDown();
+    @Override
+    public CompletableFuture<List<User>> findPendingAsync() {
+        return findByQuery(pendingQuery(), "findPending");
+    }
+
+    /**
+     * Unapproved users other than system administrators, served by the (approved, role) index
+     * in firestore.indexes.json.
+     */
+    private Query pendingQuery() {
+        return db.collection(COLLECTION_NAME)
+                .whereEqualTo("approved", false)
+                .whereIn("role", APPROVABLE_ROLES);
+    }
+
+    @Override
+    public CompletableFuture<Page<User>> findApprovedPageByRolesAsync(Collection<Role> roles, PageCursor after, int pageSize) {
+        List<String> roleNames = new ArrayList<>();
+        for (Role role : roles) {
+            roleNames.add(role.name());
+        }
+        // Served by the (approved, role, username) index in firestore.indexes.json
+        Query query = db.collection(COLLECTION_NAME)
+                .whereEqualTo("approved", true)
+                .whereIn("role", roleNames);
+        return Paging.fetch(query, "username", after, pageSize, this::documentToUser)
+                .thenApply(page -> {
+                    LOG.d("findApprovedPageByRoles - Loaded {} users with roles {}, more: {}", page.getItems().size(), roleNames, page.hasMore());
+                    return page;
                 });
+    }
+
+    @Override
+    public CompletableFuture<Long> countPendingApprovalAsync() {
+        return FirestoreFutures.aggregate(pendingQuery().count())
+                .thenApply(AggregateQuerySnapshot::getCount);
+    }
 
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for findByEmail", e);
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(Integer userId) {
+
+        if (userId == null) {
+            return CompletableFuture.completedFuture(false);
         }
 
-        return result[0];
+        return KeyedDocuments.delete(db, db.collection(COLLECTION_NAME), documentKey(userId), "id", userId)
+                .thenApply(deleted -> {
+                    LOG.d("User deleted successfully: {}", userId);
+                    return deleted;
+                });
     }
 
+    @Override
+    public Subscription observePendingApproval(ChangeListener<User> listener) {
+        return LiveQuery.observe(pendingQuery(), this::documentToUser, User::getId, listener, TAG, "pendingApproval");
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteByUsernameAsync(String username) {
+        if (username == null || username.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return deleteFirstByField("username", username);
+    }
 
     public User getCurrentUser() {
         FirebaseUser firebaseUser = auth.getCurrentUser();
@@ -248,161 +424,88 @@ public class FirebaseUserRepository implements IUserRepository {
         return null;
     }
 
-    private User documentToUser(DocumentSnapshot document) {
-        try {
-            User user = new User();
-            user.setId(document.getId().hashCode());
-            user.setUsername(document.getString("username"));
-            
-            String email = document.getString("email");
-            user.setEmail(email != null && !email.isEmpty() ? email : null);
-            
-            String roleStr = document.getString("role");
-            if (roleStr != null) {
-                user.setRole(Role.valueOf(roleStr));
-            }
-            
-            Long clubId = document.getLong("clubId");
-            if (clubId != null && clubId != 0) {
-                user.setClubId(clubId.intValue());
-            }
-            
-            Long playerId = document.getLong("playerId");
-            if (playerId != null && playerId > 0) {
-                user.setPlayerId(playerId.intValue());
-            }
-            
-            Long managerId = document.getLong("managerId");
-            if (managerId != null && managerId > 0) {
-                user.setManagerId(managerId.intValue());
+    /**
+     * Document ID a user is stored under.
+     */
+    public static String documentKey(int id) {
+        return "user_" + id;
+    }
+
+    private CompletableFuture<User> findFirstByField(String field, Object value) {
+        return findFirstByField(field, value, Source.DEFAULT);
+    }
+
+    private CompletableFuture<User> findFirstByField(String field, Object value, Source source) {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .whereEqualTo(field, value), source)
+                .thenApply(querySnapshot -> {
+                    DocumentSnapshot document = preferredDocument(querySnapshot.getDocuments());
+                    return document != null ? documentToUser(document) : null;
+                });
+    }
+
+    /**
+     * The user document stored under its key if {@code documents} hold it, else the first
+     * readable one: a legacy copy not yet migrated can match too, and it may be stale.
+     */
+    private DocumentSnapshot preferredDocument(List<DocumentSnapshot> documents) {
+        DocumentSnapshot first = null;
+        for (DocumentSnapshot document : documents) {
+            User user = documentToUser(document);
+            if (user == null) {
+                continue;
             }
-            
-            Long age = document.getLong("age");
-            if (age != null && age > 0) {
-                user.setAge(age.intValue());
+            if (document.getId().equals(documentKey(user.getId()))) {
+                return document;
             }
-            
-            Boolean approved = document.getBoolean("approved");
-            user.setApproved(approved != null ? approved : false);
-            
-            // Get preferred position for players
-            String positionStr = document.getString("preferredPosition");
-            if (positionStr != null) {
-                try {
-                    user.setPreferredPosition(Position.valueOf(positionStr));
-                } catch (IllegalArgumentException e) {
-                    Log.w(TAG, "Invalid position value: " + positionStr);
-                }
+            if (first == null) {
+                first = document;
             }
-            
-            Log.d(TAG, "documentToUser - User: " + user.getUsername() + 
-                  ", Email: " + user.getEmail() + 
-                  ", Age: " + user.getAge() + 
-                  ", ClubId: " + user.getClubId() + 
-                  ", Approved: " + user.isApproved());
-            
-            return user;
-        } catch (Exception e) {
-            Log.e(TAG, "Error converting document to user", e);
-            return null;
         }
-
+        return first;
     }
 
-    
-    @Override
-    public boolean delete(Integer userId) {
-
-        if (userId == null) {
-            return false;
-
-        }
-        
-        CountDownLatch latch = new CountDownLatch(1);
-        final boolean[] result = new boolean[]{false};
-        
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("id", userId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        String docId = querySnapshot.getDocuments().get(0).getId();
-                        db.collection(COLLECTION_NAME)
-                                .document(docId)
-                                .delete()
-                                .addOnSuccessListener(aVoid -> {
-                                    result[0] = true;
-                                    latch.countDown();
-                                    Log.d(TAG, "User deleted successfully: " + userId);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error deleting user document", e);
-                                    latch.countDown();
-                                });
-                    } else {
-                        Log.e(TAG, "User not found with id: " + userId);
-                        latch.countDown();
+    private CompletableFuture<List<User>> findByQuery(Query query, String operation) {
+        return FirestoreFutures.read(query)
+                .thenApply(querySnapshot -> {
+                    List<User> result = new ArrayList<>();
+                    for (DocumentSnapshot document : querySnapshot.getDocuments()) {
+                        User user = documentToUser(document);
+                        if (user != null) {
+                            result.add(user);
+                        }
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding user to delete", e);
-                    latch.countDown();
+                    LOG.d("{} - Found {} users", operation, result.size());
+                    return result;
                 });
-        
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for delete", e);
-        }
-        
-        return result[0];
     }
-    
 
-    public boolean deleteByUsername(String username) {
-        if (username == null || username.isEmpty()) {
-            return false;
-        }
-        
-        CountDownLatch latch = new CountDownLatch(1);
-        final boolean[] result = new boolean[]{false};
-        
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo("username", username)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        String docId = querySnapshot.getDocuments().get(0).getId();
-                        db.collection(COLLECTION_NAME)
-                                .document(docId)
-                                .delete()
-                                .addOnSuccessListener(aVoid -> {
-                                    result[0] = true;
-                                    latch.countDown();
-                                    Log.d(TAG, "User deleted by username: " + username);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error deleting user", e);
-                                    latch.countDown();
-                                });
-                    } else {
-                        Log.e(TAG, "User not found with username: " + username);
-                        latch.countDown();
+    private CompletableFuture<Boolean> deleteFirstByField(String field, Object value) {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .whereEqualTo(field, value))
+                .thenCompose(querySnapshot -> {
+                    DocumentSnapshot document = preferredDocument(querySnapshot.getDocuments());
+                    if (document == null) {
+                        LOG.e("User not found with {}: {}", field, value);
+                        return CompletableFuture.completedFuture(false);
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding user to delete", e);
-                    latch.countDown();
+                    int userId = documentToUser(document).getId();
+                    // The matched document may be a legacy copy without an id field, which the
+                    // keyed delete would not find
+                    return FirestoreFutures.write(() -> document.getReference().delete())
+                            .thenCompose(aVoid -> deleteAsync(userId))
+                            .thenApply(deleted -> {
+                                LOG.d("User deleted by {}: {}", field, value);
+                                return deleted;
+                            });
                 });
+    }
 
-        
-        try {
-            latch.await(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Timeout waiting for delete", e);
-        }
-        
-        return result[0];
+    private Map<String, Object> userToMap(User user, String docId) {
+        return UserMapper.toData(user, docId);
+    }
+
+    private User documentToUser(DocumentSnapshot document) {
+        return UserMapper.fromData(document.getId(), document.getData());
     }
 }
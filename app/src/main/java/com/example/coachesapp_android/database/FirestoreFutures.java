@@ -0,0 +1,357 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.AggregateQuery;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bridges Firestore {@link Task}s to {@link CompletableFuture}s so repository calls can be
+ * chained without parking a thread, and lets the blocking repository methods wait on them.
+ */
+public final class FirestoreFutures {
+    private static final String TAG = "FirestoreFutures";
+    private static final Logger LOG = Logger.forTag(TAG);
+    public static final long DEFAULT_TIMEOUT_SECONDS = 10;
+    // Firestore rejects whereIn filters with more values than this
+    public static final int WHERE_IN_LIMIT = 30;
+
+    // Runs continuations on whichever thread completed the Firestore task
+    private static final Executor DIRECT = Runnable::run;
+    // Fires deadlines, retries and resubscriptions; its tasks only complete futures or start
+    // async calls, so one thread is plenty
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+    // Identical reads running at the same time share one call; queries and document
+    // references compare equal when they would fetch the same documents
+    private static final SingleFlight READS_IN_FLIGHT = new SingleFlight();
+
+    private FirestoreFutures() {
+    }
+
+    /**
+     * Wraps a Firestore task. The future fails with the task's exception, or is cancelled
+     * when the task is cancelled.
+     */
+    public static <T> CompletableFuture<T> toFuture(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        task.addOnCompleteListener(DIRECT, completed -> {
+            if (completed.isSuccessful()) {
+                future.complete(completed.getResult());
+            } else if (completed.isCanceled()) {
+                future.cancel(false);
+            } else {
+                future.completeExceptionally(completed.getException());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a query with the default source, see {@link #read(Object, Function, Source)}.
+     */
+    public static CompletableFuture<QuerySnapshot> read(Query query) {
+        return read(query, query::get, Source.DEFAULT);
+    }
+
+    public static CompletableFuture<QuerySnapshot> read(Query query, Source source) {
+        return read(query, query::get, source);
+    }
+
+    /**
+     * Reads a document with the default source, see {@link #read(Object, Function, Source)}.
+     */
+    public static CompletableFuture<DocumentSnapshot> read(DocumentReference document) {
+        return read(document, document::get, Source.DEFAULT);
+    }
+
+    public static CompletableFuture<DocumentSnapshot> read(DocumentReference document, Source source) {
+        return read(document, document::get, source);
+    }
+
+    /**
+     * Runs a count or sum on the server, which reads no documents into the app: it is billed
+     * one read per 1000 index entries matched, and costs a single round trip whatever it
+     * matches. Transient failures are retried with {@link RetryPolicy#READS} and identical
+     * aggregations in flight share one call, as for {@link #read(Query)}.
+     * <p>
+     * Aggregations cannot be answered from the local cache, so while the backend is
+     * unavailable this fails with {@link BackendUnavailableException} or the transient error.
+     */
+    public static CompletableFuture<AggregateQuerySnapshot> aggregate(AggregateQuery query) {
+        return READS_IN_FLIGHT.run(Arrays.asList(query, AggregateSource.SERVER),
+                () -> withRetries(() -> toFuture(query.get(AggregateSource.SERVER)), RetryPolicy.READS));
+    }
+
+    /**
+     * Runs an idempotent read, retrying transient failures with {@link RetryPolicy#READS}.
+     * While the Firestore {@link CircuitBreaker} is open, or once retries are used up, a
+     * {@link Source#DEFAULT} read is answered from the local cache instead; a
+     * {@link Source#SERVER} read fails with {@link BackendUnavailableException}, and its
+     * caller decides what to fall back to.
+     * <p>
+     * Concurrent reads of the same query or document from the same source share one call,
+     * retries and fallback included. They all get the same snapshot, which is immutable;
+     * each caller maps it to its own entities.
+     *
+     * @param key  the query or document reference being read
+     * @param read starts the read against the given source
+     */
+    private static <T> CompletableFuture<T> read(Object key, Function<Source, Task<T>> read, Source source) {
+        if (source == Source.CACHE) {
+            return toFuture(read.apply(Source.CACHE));
+        }
+        return READS_IN_FLIGHT.run(Arrays.asList(key, source), () -> resilientRead(read, source));
+    }
+
+    private static <T> CompletableFuture<T> resilientRead(Function<Source, Task<T>> read, Source source) {
+        CompletableFuture<T> fromBackend = withRetries(() -> toFuture(read.apply(source)), RetryPolicy.READS);
+        if (source != Source.DEFAULT) {
+            return fromBackend;
+        }
+        return fromBackend
+                .handle((result, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (!RetryPolicy.isTransient(e) && !(unwrap(e) instanceof BackendUnavailableException)) {
+                        return FirestoreFutures.<T>failed(e);
+                    }
+                    LOG.w("Backend unavailable, reading from the local cache");
+                    return toFuture(read.apply(Source.CACHE))
+                            // A cache miss is reported as the backend failure it stands in for
+                            .handle((cached, cacheError) -> cacheError == null
+                                    ? CompletableFuture.completedFuture(cached)
+                                    : FirestoreFutures.<T>failed(e))
+                            .thenCompose(future -> future);
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * Runs a write that is safe to repeat, i.e. a set or delete of a document whose key was
+     * fixed before the first attempt, retrying transient failures with
+     * {@link RetryPolicy#KEYED_WRITES}. Fails fast with {@link BackendUnavailableException}
+     * while the Firestore {@link CircuitBreaker} is open.
+     *
+     * @param write starts the write; called again for every attempt
+     */
+    public static <T> CompletableFuture<T> write(Supplier<Task<T>> write) {
+        return withRetries(() -> toFuture(write.get()), RetryPolicy.KEYED_WRITES);
+    }
+
+    /**
+     * Runs {@code call} until it succeeds, fails with an error that is not transient, or
+     * {@code policy} runs out of attempts. Every outcome is reported to the Firestore
+     * {@link CircuitBreaker}, and no attempt is made while it is open. Cancelling the returned
+     * future stops further attempts.
+     */
+    public static <T> CompletableFuture<T> withRetries(Supplier<CompletableFuture<T>> call, RetryPolicy policy) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, policy, 1, result);
+        return result;
+    }
+
+    private static <T> void attempt(Supplier<CompletableFuture<T>> call, RetryPolicy policy, int attempt,
+                                    CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CircuitBreaker breaker = CircuitBreaker.firestore();
+        if (!breaker.allowRequest()) {
+            result.completeExceptionally(new BackendUnavailableException("Firestore"));
+            return;
+        }
+        CompletableFuture<T> pending;
+        try {
+            pending = call.get();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        pending.whenComplete((value, e) -> {
+            if (e == null) {
+                breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            if (!RetryPolicy.isTransient(e)) {
+                breaker.onSuccess();
+                result.completeExceptionally(e);
+                return;
+            }
+            breaker.onTransientFailure();
+            if (attempt >= policy.getMaxAttempts()) {
+                result.completeExceptionally(e);
+                return;
+            }
+            long delay = policy.delayMillis(attempt);
+            LOG.w("Attempt {} failed, retrying in {} ms: {}", attempt, delay, unwrap(e).getMessage());
+            TIMER.schedule(() -> attempt(call, policy, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Runs {@code task} on the timer thread after {@code delayMillis}. The task must only start
+     * async calls, never wait on one.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return TIMER.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return how many reads attached to an identical read already in flight
+     */
+    public static long getCoalescedReadCount() {
+        return READS_IN_FLIGHT.getCoalescedCount();
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Splits {@code keys} into {@link #WHERE_IN_LIMIT}-sized chunks, runs {@code chunkQuery} for
+     * every chunk in parallel and concatenates the results. Null and duplicate keys are dropped.
+     */
+    public static <K, T> CompletableFuture<List<T>> fanOut(Collection<K> keys,
+                                                           Function<List<K>, CompletableFuture<List<T>>> chunkQuery) {
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinct.removeIf(key -> key == null);
+
+        List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+        for (int start = 0; start < distinct.size(); start += WHERE_IN_LIMIT) {
+            int end = Math.min(start + WHERE_IN_LIMIT, distinct.size());
+            chunks.add(chunkQuery.apply(new ArrayList<>(distinct.subList(start, end))));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>();
+                    for (CompletableFuture<List<T>> chunk : chunks) {
+                        results.addAll(chunk.join());
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Returns a future that fails with {@link RepositoryTimeoutException} if {@code future} has
+     * not completed by {@code deadline}. Cancelling the returned future, or missing the
+     * deadline, cancels {@code future} so stages chained onto it (follow-up reads, enrichment)
+     * never run.
+     */
+    public static <T> CompletableFuture<T> withDeadline(CompletableFuture<T> future, Deadline deadline,
+                                                        String operation) {
+        if (deadline.isNone()) {
+            return future;
+        }
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        ScheduledFuture<?> timer = TIMER.schedule(() -> {
+            bounded.completeExceptionally(new RepositoryTimeoutException(operation, deadline.getTimeoutMillis()));
+        }, deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+
+        future.whenComplete((value, error) -> {
+            timer.cancel(false);
+            if (error != null) {
+                bounded.completeExceptionally(error);
+            } else {
+                bounded.complete(value);
+            }
+        });
+        bounded.whenComplete((value, error) -> {
+            if (!future.isDone()) {
+                future.cancel(false);
+            }
+        });
+        return bounded;
+    }
+
+    /**
+     * Blocks for the result with the default timeout, returning {@code fallback} on failure.
+     */
+    public static <T> T await(CompletableFuture<T> future, T fallback, String tag, String operation) {
+        return await(future, DEFAULT_TIMEOUT_SECONDS, fallback, tag, operation);
+    }
+
+    /**
+     * Blocks for the result, returning {@code fallback} if the call fails, times out or is
+     * interrupted. A non-positive timeout waits indefinitely. Timeouts and failures are
+     * reported to {@link RepositoryMetrics}.
+     * <p>
+     * Inside a read from a {@link CallScope} the wait also ends at that read's deadline, and
+     * missing it throws {@link RepositoryTimeoutException} instead of returning the fallback.
+     * The future is cancelled whenever nothing waits for it any more.
+     */
+    public static <T> T await(CompletableFuture<T> future, long timeoutSeconds, T fallback,
+                              String tag, String operation) {
+        CallScope.Call call = CallScope.currentCall();
+        long waitMillis = timeoutSeconds > 0 ? TimeUnit.SECONDS.toMillis(timeoutSeconds) : Long.MAX_VALUE;
+        if (call != null) {
+            call.track(future);
+            waitMillis = Math.min(waitMillis, call.getDeadline().remainingMillis());
+        }
+        try {
+            T result = waitMillis != Long.MAX_VALUE
+                    ? future.get(waitMillis, TimeUnit.MILLISECONDS)
+                    : future.get();
+            return result != null ? result : fallback;
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            RepositoryMetrics.getInstance().recordTimeout(tag, operation);
+            if (call != null && call.getDeadline().isExpired()) {
+                throw new RepositoryTimeoutException(operation, call.getDeadline().getTimeoutMillis());
+            }
+            Logger.forTag(tag).e("Timeout waiting for {}", operation, e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            Logger.forTag(tag).e("Interrupted while waiting for {}", operation, e);
+        } catch (ExecutionException e) {
+            Logger.forTag(tag).e("Error in {}", operation, e.getCause());
+            RepositoryMetrics.getInstance().recordFailure(tag, operation);
+        } catch (CancellationException e) {
+            Logger.forTag(tag).e("Cancelled {}", operation, e);
+            RepositoryMetrics.getInstance().recordFailure(tag, operation);
+        }
+        return fallback;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "firestore-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.coachesapp_android.database;
 
 import com.example.coachesapp_android.model.Club;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface IClubRepository {
     Club save(Club club);
     Club findById(int id);
+    Map<Integer, Club> findByIds(Collection<Integer> ids);
     List<Club> findAll();
     Club findByName(String name);
     boolean delete(int id);
+
+    CompletableFuture<Club> saveAsync(Club club);
+    CompletableFuture<Club> findByIdAsync(int id);
+    CompletableFuture<Club> findByIdAsync(int id, Consumer<Club> onRefresh);
+    CompletableFuture<Map<Integer, Club>> findByIdsAsync(Collection<Integer> ids);
+    CompletableFuture<List<Club>> findAllAsync();
+    CompletableFuture<List<Club>> findAllAsync(Consumer<List<Club>> onRefresh);
+    CompletableFuture<Club> findByNameAsync(String name);
+    CompletableFuture<Boolean> deleteAsync(int id);
+
+    Subscription observeAll(ChangeListener<Club> listener);
 }
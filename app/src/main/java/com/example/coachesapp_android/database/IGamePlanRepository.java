@@ -2,9 +2,18 @@ package com.example.coachesapp_android.database;
 
 import com.example.coachesapp_android.model.GamePlan;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface IGamePlanRepository {
     GamePlan save(GamePlan gamePlan);
     GamePlan findByClubId(int clubId);
     boolean update(GamePlan gamePlan);
     boolean delete(int clubId);
+
+    CompletableFuture<GamePlan> saveAsync(GamePlan gamePlan);
+    CompletableFuture<GamePlan> findByClubIdAsync(int clubId);
+    CompletableFuture<GamePlan> findByClubIdAsync(int clubId, Consumer<GamePlan> onRefresh);
+    CompletableFuture<Boolean> updateAsync(GamePlan gamePlan);
+    CompletableFuture<Boolean> deleteAsync(int clubId);
 }
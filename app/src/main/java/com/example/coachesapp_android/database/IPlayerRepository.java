@@ -1,14 +1,52 @@
 package com.example.coachesapp_android.database;
 
 import com.example.coachesapp_android.model.Player;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 public interface IPlayerRepository {
+    /**
+     * Once an existing player is saved, here or through update or stageSave, the player snapshot
+     * on their transfer requests in the market is refreshed on a best-effort basis. A failed
+     * refresh never fails the save.
+     */
     Player save(Player player);
+
+    /**
+     * Assigns the player's ID if it is new and stages its document in {@code work}; nothing is
+     * written until the unit of work commits.
+     */
+    Player stageSave(Player player, UnitOfWork work);
     Player findById(int id);
     List<Player> findAll();
     List<Player> findByClubId(int clubId);
+    Map<Integer, Player> findByIds(Collection<Integer> ids);
+    Page<Player> findPage(PageCursor after, int pageSize);
+
+    /**
+     * Counts player documents on the server without reading them; -1 if the count failed.
+     * A legacy copy not yet migrated to its keyed document is counted too.
+     */
+    long count();
+    long countByClubId(int clubId);
     boolean update(Player player);
     boolean delete(int id);
+
+    CompletableFuture<Player> saveAsync(Player player);
+    CompletableFuture<Player> stageSaveAsync(Player player, UnitOfWork work);
+    CompletableFuture<Player> findByIdAsync(int id);
+    CompletableFuture<List<Player>> findAllAsync();
+    CompletableFuture<List<Player>> findByClubIdAsync(int clubId);
+    CompletableFuture<Map<Integer, Player>> findByIdsAsync(Collection<Integer> ids);
+    CompletableFuture<Page<Player>> findPageAsync(PageCursor after, int pageSize);
+    CompletableFuture<Long> countAsync();
+    CompletableFuture<Long> countByClubIdAsync(int clubId);
+    CompletableFuture<Boolean> updateAsync(Player player);
+    CompletableFuture<Boolean> deleteAsync(int id);
+
+    Subscription observeAll(ChangeListener<Player> listener);
+    Subscription observeByClubId(int clubId, ChangeListener<Player> listener);
 }
@@ -1,22 +1,101 @@
 package com.example.coachesapp_android.database;
 
+import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface IUserRepository {
     User save(User user);
 
+    /**
+     * Assigns the user's ID if it is new and stages its document in {@code work}; nothing is
+     * written until the unit of work commits.
+     */
+    User stageSave(User user, UnitOfWork work);
+
     User findByUsername(String username);
 
     User findByUsernameAndPassword(String username, String password);
 
     User findByPlayerId(int playerId);
 
+    Map<Integer, User> findByPlayerIds(Collection<Integer> playerIds);
+
     User findByEmail(String email);
 
     List<User> findAll();
 
+    Page<User> findPage(PageCursor after, int pageSize);
+
+    List<User> findByRole(Role role);
+
+    List<User> findByRoleAndClub(Role role, int clubId);
+
+    /**
+     * Users awaiting approval, which never includes system administrators; the one-shot variant
+     * of {@link #observePendingApproval}.
+     */
+    List<User> findPending();
+
+    /**
+     * One page of the approved users having any of {@code roles}, ordered by username. Reads
+     * only matching users, whatever else the collection holds.
+     */
+    Page<User> findApprovedPageByRoles(Collection<Role> roles, PageCursor after, int pageSize);
+
+    /**
+     * Counts the users {@link #findPending} would return on the server without reading them; -1
+     * if the count failed.
+     */
+    long countPendingApproval();
+
     boolean delete(Integer userId);
 
+    boolean deleteByUsername(String username);
+
+    CompletableFuture<User> saveAsync(User user);
+
+    CompletableFuture<User> stageSaveAsync(User user, UnitOfWork work);
+
+    CompletableFuture<User> findByUsernameAsync(String username);
+
+    /**
+     * Lookup of the signed-in user's own profile, served according to the repository's
+     * {@link ReadPolicy}; {@code onRefresh} receives a newer server copy if there is one.
+     */
+    CompletableFuture<User> findByUsernameAsync(String username, Consumer<User> onRefresh);
+
+    CompletableFuture<User> findByUsernameAndPasswordAsync(String username, String password);
+
+    CompletableFuture<User> findByPlayerIdAsync(int playerId);
+
+    CompletableFuture<Map<Integer, User>> findByPlayerIdsAsync(Collection<Integer> playerIds);
+
+    CompletableFuture<User> findByEmailAsync(String email);
+
+    CompletableFuture<List<User>> findAllAsync();
+
+    CompletableFuture<Page<User>> findPageAsync(PageCursor after, int pageSize);
+
+    CompletableFuture<List<User>> findByRoleAsync(Role role);
+
+    CompletableFuture<List<User>> findByRoleAndClubAsync(Role role, int clubId);
+
+    CompletableFuture<List<User>> findPendingAsync();
+
+    CompletableFuture<Page<User>> findApprovedPageByRolesAsync(Collection<Role> roles, PageCursor after, int pageSize);
+
+    CompletableFuture<Long> countPendingApprovalAsync();
+
+    CompletableFuture<Boolean> deleteAsync(Integer userId);
+
+    CompletableFuture<Boolean> deleteByUsernameAsync(String username);
+
+    Subscription observePendingApproval(ChangeListener<User> listener);
+
 }
@@ -0,0 +1,173 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out entity IDs from blocks leased off a counter document ({@code counters/<collection>}).
+ * Each lease is a Firestore transaction that advances the counter by one block, so devices
+ * allocating at the same time always get disjoint ranges; IDs within a block are handed out
+ * locally without a round trip.
+ */
+public class IdAllocator {
+    private static final String TAG = "IdAllocator";
+    private static final Logger LOG = Logger.forTag(TAG);
+    private static final String COUNTERS_COLLECTION = "counters";
+    private static final String NEXT_FIELD = "next";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private static final Map<String, IdAllocator> allocators = new ConcurrentHashMap<>();
+
+    private final FirebaseFirestore db;
+    private final String collectionName;
+    private final boolean seedFromMaxId;
+    private final int blockSize;
+
+    // Null until the first lease
+    private IdBlock block;
+    private CompletableFuture<Void> pendingLease;
+
+    /**
+     * @param seedFromMaxId when the counter does not exist yet, start it after the highest
+     *                      existing {@code id} instead of at 1. Use for collections whose IDs were
+     *                      already sequential.
+     */
+    IdAllocator(FirebaseFirestore db, String collectionName, boolean seedFromMaxId, int blockSize) {
+        this.db = db;
+        this.collectionName = collectionName;
+        this.seedFromMaxId = seedFromMaxId;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Shared allocator for a collection, so every repository instance draws from the same block.
+     */
+    public static IdAllocator forCollection(String collectionName, boolean seedFromMaxId) {
+        return allocators.computeIfAbsent(collectionName, name ->
+                new IdAllocator(FirebaseFirestore.getInstance(), name, seedFromMaxId, DEFAULT_BLOCK_SIZE));
+    }
+
+    /**
+     * Repositories set the ID on a new entity before writing its document, which is keyed by
+     * it, and keep it when the write fails: saving the entity again then rewrites that document
+     * instead of adding a second one.
+     */
+    public CompletableFuture<Integer> nextIdAsync() {
+        CompletableFuture<Void> lease;
+        synchronized (this) {
+            Integer id = block != null ? block.take() : null;
+            if (id != null) {
+                return CompletableFuture.completedFuture(id);
+            }
+            // Callers arriving while a lease is in flight wait for it instead of leasing again
+            if (pendingLease == null || pendingLease.isDone()) {
+                pendingLease = leaseBlock();
+            }
+            lease = pendingLease;
+        }
+        return lease.thenCompose(ignored -> nextIdAsync());
+    }
+
+    /**
+     * Blocking variant of {@link #nextIdAsync()}; returns null if no block could be leased.
+     */
+    public Integer nextId() {
+        return FirestoreFutures.await(nextIdAsync(), null, TAG, "nextId");
+    }
+
+    private CompletableFuture<Void> leaseBlock() {
+        CompletableFuture<Void> lease = new CompletableFuture<>();
+        reserveRange(null)
+                .thenCompose(start -> start != null
+                        ? CompletableFuture.completedFuture(start)
+                        : findSeed().thenCompose(this::reserveRange))
+                .thenCompose(start -> findTaken(start).thenApply(used -> {
+                    IdBlock leased = new IdBlock(start, blockSize, used);
+                    synchronized (this) {
+                        block = leased;
+                        pendingLease = null;
+                    }
+                    LOG.d("Leased {} IDs [{}, {}), {} already in use", collectionName, start, start + blockSize, used.size());
+                    return start;
+                }))
+                .whenComplete((start, e) -> {
+                    if (e != null) {
+                        synchronized (this) {
+                            pendingLease = null;
+                        }
+                        LOG.e("Error leasing {} IDs", collectionName, e);
+                        lease.completeExceptionally(e);
+                    } else {
+                        lease.complete(null);
+                    }
+                });
+        return lease;
+    }
+
+    /**
+     * Advances the counter by one block and returns the block start. With a null seed the
+     * transaction only succeeds if the counter already exists, and otherwise completes with null.
+     */
+    private CompletableFuture<Long> reserveRange(Long seed) {
+        DocumentReference counter = db.collection(COUNTERS_COLLECTION).document(collectionName);
+        return FirestoreFutures.toFuture(db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(counter);
+            Long current = snapshot.exists() ? snapshot.getLong(NEXT_FIELD) : null;
+            Long start = current != null ? current : seed;
+            if (start == null) {
+                return null;
+            }
+            Map<String, Object> data = new HashMap<>();
+            data.put(NEXT_FIELD, start + blockSize);
+            transaction.set(counter, data);
+            return start;
+        }));
+    }
+
+    private CompletableFuture<Long> findSeed() {
+        if (!seedFromMaxId) {
+            return CompletableFuture.completedFuture(1L);
+        }
+        return FirestoreFutures.toFuture(db.collection(collectionName)
+                        .orderBy("id", Query.Direction.DESCENDING)
+                        .limit(1)
+                        .get())
+                .thenApply(querySnapshot -> {
+                    if (querySnapshot.isEmpty()) {
+                        return 1L;
+                    }
+                    Long maxId = querySnapshot.getDocuments().get(0).getLong("id");
+                    return maxId != null ? maxId + 1 : 1L;
+                });
+    }
+
+    /**
+     * IDs inside the new block that older, hash-derived documents already use.
+     */
+    private CompletableFuture<Set<Long>> findTaken(long start) {
+        return FirestoreFutures.toFuture(db.collection(collectionName)
+                        .whereGreaterThanOrEqualTo("id", start)
+                        .whereLessThan("id", start + blockSize)
+                        .get())
+                .thenApply(querySnapshot -> {
+                    Set<Long> used = new HashSet<>();
+                    for (DocumentSnapshot document : querySnapshot.getDocuments()) {
+                        Long id = document.getLong("id");
+                        if (id != null) {
+                            used.add(id);
+                        }
+                    }
+                    return used;
+                });
+    }
+}
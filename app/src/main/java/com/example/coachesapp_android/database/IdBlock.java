@@ -0,0 +1,42 @@
+package com.example.coachesapp_android.database;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One leased block of entity IDs, {@code [start, start + size)}, handed out in order while
+ * skipping IDs that older documents already use. Entity IDs are ints, so the part of a block
+ * past {@link Integer#MAX_VALUE} is never handed out. Not thread-safe.
+ */
+final class IdBlock {
+    private long next;
+    private final long end;
+    private final Set<Long> taken;
+
+    /**
+     * @param taken IDs inside the block that are already in use
+     * @throws IllegalStateException if the block starts past {@link Integer#MAX_VALUE}, i.e.
+     *                               the collection has run out of IDs
+     */
+    IdBlock(long start, int size, Set<Long> taken) {
+        if (start > Integer.MAX_VALUE) {
+            throw new IllegalStateException("No int IDs left, the counter is at " + start);
+        }
+        this.next = start;
+        this.end = Math.min(start + size, (long) Integer.MAX_VALUE + 1);
+        this.taken = new HashSet<>(taken);
+    }
+
+    /**
+     * @return the next free ID, or null once the block is used up and the next must be leased
+     */
+    Integer take() {
+        while (next < end) {
+            long id = next++;
+            if (!taken.remove(id)) {
+                return (int) id;
+            }
+        }
+        return null;
+    }
+}
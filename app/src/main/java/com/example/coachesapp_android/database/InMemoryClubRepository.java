@@ -0,0 +1,118 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.Club;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+public class InMemoryClubRepository implements IClubRepository {
+    private static final String TAG = "InMemoryClubRepo";
+    private static final Comparator<Club> BY_NAME =
+            Comparator.comparing(Club::getClubName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final InMemoryTable<Club> clubs;
+    private final InMemoryIndex<String> byName;
+
+    public InMemoryClubRepository(Executor callbackExecutor) {
+        this.clubs = new InMemoryTable<>(Club::getId, InMemoryClubRepository::copyOf, callbackExecutor);
+        this.byName = clubs.index(Club::getClubName);
+    }
+
+    @Override
+    public Club save(Club club) {
+        return FirestoreFutures.await(saveAsync(club), null, TAG, "save");
+    }
+
+    @Override
+    public Club findById(int id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
+
+    @Override
+    public Map<Integer, Club> findByIds(Collection<Integer> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids), new HashMap<>(), TAG, "findByIds");
+    }
+
+    @Override
+    public List<Club> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Club findByName(String name) {
+        return FirestoreFutures.await(findByNameAsync(name), null, TAG, "findByName");
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<Club> saveAsync(Club club) {
+        if (club.getId() == null) {
+            club.setId(clubs.nextId());
+        }
+        club.setFirestoreDocId(FirebaseClubRepository.documentKey(club.getId()));
+        clubs.put(club);
+        return CompletableFuture.completedFuture(club);
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id) {
+        return CompletableFuture.completedFuture(clubs.get(id));
+    }
+
+    @Override
+    public CompletableFuture<Club> findByIdAsync(int id, Consumer<Club> onRefresh) {
+        // Always current, so there is never a newer copy to refresh to
+        return findByIdAsync(id);
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Club>> findByIdsAsync(Collection<Integer> ids) {
+        return CompletableFuture.completedFuture(clubs.getAll(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<Club>> findAllAsync() {
+        List<Club> result = clubs.all();
+        result.sort(BY_NAME);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<List<Club>> findAllAsync(Consumer<List<Club>> onRefresh) {
+        return findAllAsync();
+    }
+
+    @Override
+    public CompletableFuture<Club> findByNameAsync(String name) {
+        return CompletableFuture.completedFuture(clubs.first(byName, name));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return CompletableFuture.completedFuture(clubs.remove(id));
+    }
+
+    @Override
+    public Subscription observeAll(ChangeListener<Club> listener) {
+        return clubs.observe(club -> true, listener);
+    }
+
+    private static Club copyOf(Club club) {
+        Club copy = new Club(club.getClubName());
+        copy.setId(club.getId());
+        copy.setFirestoreDocId(club.getFirestoreDocId());
+        return copy;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.GamePlan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+public class InMemoryGamePlanRepository implements IGamePlanRepository {
+    private static final String TAG = "InMemoryGamePlanRepo";
+
+    // A club has at most one game plan, so plans are stored under their club's ID
+    private final InMemoryTable<GamePlan> gamePlans;
+
+    public InMemoryGamePlanRepository(Executor callbackExecutor) {
+        this.gamePlans = new InMemoryTable<>(GamePlan::getClubId, InMemoryGamePlanRepository::copyOf, callbackExecutor);
+    }
+
+    @Override
+    public GamePlan save(GamePlan gamePlan) {
+        return FirestoreFutures.await(saveAsync(gamePlan), null, TAG, "save");
+    }
+
+    @Override
+    public GamePlan findByClubId(int clubId) {
+        return FirestoreFutures.await(findByClubIdAsync(clubId), null, TAG, "findByClubId");
+    }
+
+    @Override
+    public boolean update(GamePlan gamePlan) {
+        return FirestoreFutures.await(updateAsync(gamePlan), false, TAG, "update");
+    }
+
+    @Override
+    public boolean delete(int clubId) {
+        return FirestoreFutures.await(deleteAsync(clubId), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<GamePlan> saveAsync(GamePlan gamePlan) {
+        gamePlans.put(gamePlan);
+        return CompletableFuture.completedFuture(gamePlan);
+    }
+
+    @Override
+    public CompletableFuture<GamePlan> findByClubIdAsync(int clubId) {
+        return CompletableFuture.completedFuture(gamePlans.get(clubId));
+    }
+
+    @Override
+    public CompletableFuture<GamePlan> findByClubIdAsync(int clubId, Consumer<GamePlan> onRefresh) {
+        // Always current, so there is never a newer copy to refresh to
+        return findByClubIdAsync(clubId);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAsync(GamePlan gamePlan) {
+        return saveAsync(gamePlan).thenApply(updated -> updated != null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(int clubId) {
+        return CompletableFuture.completedFuture(gamePlans.remove(clubId));
+    }
+
+    private static GamePlan copyOf(GamePlan gamePlan) {
+        GamePlan copy = new GamePlan();
+        copy.setId(gamePlan.getId());
+        copy.setClubId(gamePlan.getClubId());
+        copy.setGoalkeeperPlayerId(gamePlan.getGoalkeeperPlayerId());
+        copy.setDefender1PlayerId(gamePlan.getDefender1PlayerId());
+        copy.setDefender2PlayerId(gamePlan.getDefender2PlayerId());
+        copy.setMidfielder1PlayerId(gamePlan.getMidfielder1PlayerId());
+        copy.setMidfielder2PlayerId(gamePlan.getMidfielder2PlayerId());
+        copy.setAttackerPlayerId(gamePlan.getAttackerPlayerId());
+        copy.setGoalkeeperName(gamePlan.getGoalkeeperName());
+        copy.setDefender1Name(gamePlan.getDefender1Name());
+        copy.setDefender2Name(gamePlan.getDefender2Name());
+        copy.setMidfielder1Name(gamePlan.getMidfielder1Name());
+        copy.setMidfielder2Name(gamePlan.getMidfielder2Name());
+        copy.setAttackerName(gamePlan.getAttackerName());
+        return copy;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.coachesapp_android.database;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of an {@link InMemoryTable}: the IDs of the rows having each value of one
+ * field. Maintained by the table on every write.
+ */
+public final class InMemoryIndex<K> {
+    private final Map<K, Set<Integer>> idsByKey = new ConcurrentHashMap<>();
+
+    InMemoryIndex() {
+    }
+
+    void add(K key, int id) {
+        if (key == null) {
+            return;
+        }
+        idsByKey.compute(key, (k, ids) -> {
+            Set<Integer> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(id);
+            return result;
+        });
+    }
+
+    void remove(K key, int id) {
+        if (key == null) {
+            return;
+        }
+        idsByKey.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * IDs of the rows whose field equals {@code key}.
+     */
+    Set<Integer> get(K key) {
+        Set<Integer> ids = key != null ? idsByKey.get(key) : null;
+        return ids != null ? ids : Collections.emptySet();
+    }
+}
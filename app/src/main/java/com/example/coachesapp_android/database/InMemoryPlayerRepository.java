@@ -0,0 +1,171 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+
+public class InMemoryPlayerRepository implements IPlayerRepository {
+    private static final String TAG = "InMemoryPlayerRepo";
+    private static final Comparator<Player> BY_NAME =
+            Comparator.comparing(Player::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final InMemoryTable<Player> players;
+    private final InMemoryIndex<Integer> byClubId;
+
+    public InMemoryPlayerRepository(Executor callbackExecutor) {
+        this.players = new InMemoryTable<>(Player::getId, InMemoryPlayerRepository::copyOf, callbackExecutor);
+        this.byClubId = players.index(Player::getClubId);
+    }
+
+    @Override
+    public Player save(Player player) {
+        return FirestoreFutures.await(saveAsync(player), null, TAG, "save");
+    }
+
+    @Override
+    public long count() {
+        return FirestoreFutures.await(countAsync(), -1L, TAG, "count");
+    }
+
+    @Override
+    public long countByClubId(int clubId) {
+        return FirestoreFutures.await(countByClubIdAsync(clubId), -1L, TAG, "countByClubId");
+    }
+
+    @Override
+    public Player stageSave(Player player, UnitOfWork work) {
+        return FirestoreFutures.await(stageSaveAsync(player, work), null, TAG, "stageSave");
+    }
+
+    @Override
+    public Player findById(int id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
+
+    @Override
+    public List<Player> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public List<Player> findByClubId(int clubId) {
+        return FirestoreFutures.await(findByClubIdAsync(clubId), new ArrayList<>(), TAG, "findByClubId");
+    }
+
+    @Override
+    public Map<Integer, Player> findByIds(Collection<Integer> ids) {
+        return FirestoreFutures.await(findByIdsAsync(ids), new HashMap<>(), TAG, "findByIds");
+    }
+
+    @Override
+    public Page<Player> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
+
+    @Override
+    public boolean update(Player player) {
+        return FirestoreFutures.await(updateAsync(player), false, TAG, "update");
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<Player> saveAsync(Player player) {
+        if (player.getId() == null) {
+            player.setId(players.nextId());
+        }
+        players.put(player);
+        return CompletableFuture.completedFuture(player);
+    }
+
+    @Override
+    public CompletableFuture<Player> stageSaveAsync(Player player, UnitOfWork work) {
+        if (player.getId() == null) {
+            player.setId(players.nextId());
+        }
+        // Staged as it is now, like the document a Firestore repository would stage
+        Player staged = copyOf(player);
+        work.onCommit(() -> players.put(staged));
+        return CompletableFuture.completedFuture(player);
+    }
+
+    @Override
+    public CompletableFuture<Player> findByIdAsync(int id) {
+        return CompletableFuture.completedFuture(players.get(id));
+    }
+
+    @Override
+    public CompletableFuture<List<Player>> findAllAsync() {
+        List<Player> result = players.all();
+        result.sort(BY_NAME);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<List<Player>> findByClubIdAsync(int clubId) {
+        return CompletableFuture.completedFuture(players.where(byClubId, clubId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Player>> findByIdsAsync(Collection<Integer> ids) {
+        return CompletableFuture.completedFuture(players.getAll(ids));
+    }
+
+    @Override
+    public CompletableFuture<Page<Player>> findPageAsync(PageCursor after, int pageSize) {
+        return CompletableFuture.completedFuture(players.page(Player::getName,
+                player -> FirebasePlayerRepository.documentKey(player.getId()), after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Long> countAsync() {
+        return CompletableFuture.completedFuture((long) players.size());
+    }
+
+    @Override
+    public CompletableFuture<Long> countByClubIdAsync(int clubId) {
+        return CompletableFuture.completedFuture((long) players.count(byClubId, clubId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAsync(Player player) {
+        if (player.getId() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return saveAsync(player).thenApply(saved -> saved != null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(int id) {
+        return CompletableFuture.completedFuture(players.remove(id));
+    }
+
+    @Override
+    public Subscription observeAll(ChangeListener<Player> listener) {
+        return players.observe(player -> true, listener);
+    }
+
+    @Override
+    public Subscription observeByClubId(int clubId, ChangeListener<Player> listener) {
+        return players.observe(player -> Objects.equals(player.getClubId(), clubId), listener);
+    }
+
+    private static Player copyOf(Player player) {
+        Player copy = new Player(player.getName(), player.getAge(), player.getJersey(), player.getPosition(), player.isInjured());
+        copy.setId(player.getId());
+        copy.setClubId(player.getClubId());
+        return copy;
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.coachesapp_android.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rows of one entity type kept in memory, standing in for a Firestore collection. Rows are
+ * copied on the way in and out, so callers can edit what they get back just as they can a
+ * freshly read document. Lookups by ID and by indexed field are hash lookups; writes are
+ * serialized and keep every index and observer current.
+ */
+public final class InMemoryTable<T> {
+    private final Map<Integer, T> rows = new ConcurrentHashMap<>();
+    private final Function<T, Integer> idOf;
+    private final UnaryOperator<T> copy;
+    private final Executor callbackExecutor;
+    private final List<Binding<T, ?>> indexes = new ArrayList<>();
+    private final List<Observer<T>> observers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * @param callbackExecutor where observers are called; the main thread in the app, or a
+     *                         direct executor when driving repositories from a plain JVM
+     */
+    public InMemoryTable(Function<T, Integer> idOf, UnaryOperator<T> copy, Executor callbackExecutor) {
+        this.idOf = idOf;
+        this.copy = copy;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Adds a secondary index on one field. Create indexes before the first write.
+     */
+    public <K> InMemoryIndex<K> index(Function<T, K> keyOf) {
+        InMemoryIndex<K> index = new InMemoryIndex<>();
+        indexes.add(new Binding<>(index, keyOf));
+        return index;
+    }
+
+    public int nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    public T get(int id) {
+        T row = rows.get(id);
+        return row != null ? copy.apply(row) : null;
+    }
+
+    /**
+     * Rows with the given IDs, keyed by ID; IDs without a row are left out.
+     */
+    public Map<Integer, T> getAll(Collection<Integer> ids) {
+        Map<Integer, T> result = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            T row = id != null ? rows.get(id) : null;
+            if (row != null) {
+                result.put(id, copy.apply(row));
+            }
+        }
+        return result;
+    }
+
+    public List<T> all() {
+        List<T> result = new ArrayList<>(rows.size());
+        for (T row : rows.values()) {
+            result.add(copy.apply(row));
+        }
+        return result;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Rows whose indexed field equals {@code key}.
+     */
+    public <K> List<T> where(InMemoryIndex<K> index, K key) {
+        List<T> result = new ArrayList<>();
+        for (Integer id : index.get(key)) {
+            T row = rows.get(id);
+            if (row != null) {
+                result.add(copy.apply(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of rows whose indexed field equals {@code key}, without copying them.
+     */
+    public <K> int count(InMemoryIndex<K> index, K key) {
+        return index.get(key).size();
+    }
+
+    /**
+     * Rows passing {@code filter}, for fields without an index.
+     */
+    public List<T> where(Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (filter.test(row)) {
+                result.add(copy.apply(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of rows passing {@code filter}, without copying them.
+     */
+    public int count(Predicate<T> filter) {
+        int count = 0;
+        for (T row : rows.values()) {
+            if (filter.test(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum of {@code value} over the rows whose indexed field equals {@code key}; rows without a
+     * value are skipped, as a Firestore sum skips documents without the field.
+     */
+    public <K> double sum(InMemoryIndex<K> index, K key, Function<T, ? extends Number> value) {
+        double sum = 0;
+        for (Integer id : index.get(key)) {
+            T row = rows.get(id);
+            Number rowValue = row != null ? value.apply(row) : null;
+            if (rowValue != null) {
+                sum += rowValue.doubleValue();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * First row whose indexed field equals {@code key}, or null.
+     */
+    public <K> T first(InMemoryIndex<K> index, K key) {
+        for (Integer id : index.get(key)) {
+            T row = rows.get(id);
+            if (row != null) {
+                return copy.apply(row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies {@code change} to every row under {@code key} that passes {@code filter} and stores
+     * the result, with no other write in between.
+     * @return number of rows changed
+     */
+    public synchronized <K> int updateWhere(InMemoryIndex<K> index, K key, Predicate<T> filter, Consumer<T> change) {
+        int updated = 0;
+        for (T row : where(index, key)) {
+            if (filter.test(row)) {
+                change.accept(row);
+                put(row);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Inserts or replaces the row with the entity's ID.
+     */
+    public synchronized void put(T entity) {
+        T stored = copy.apply(entity);
+        int id = idOf.apply(stored);
+        nextId.accumulateAndGet(id + 1, Math::max);
+
+        T previous = rows.put(id, stored);
+        for (Binding<T, ?> binding : indexes) {
+            binding.update(previous, stored, id);
+        }
+        publish(previous, stored, id);
+    }
+
+    public synchronized boolean remove(int id) {
+        T previous = rows.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        for (Binding<T, ?> binding : indexes) {
+            binding.update(previous, null, id);
+        }
+        publish(previous, null, id);
+        return true;
+    }
+
+    /**
+     * Reports the rows passing {@code filter} as added, then every change to that set, in the
+     * same shape as {@link LiveQuery}.
+     */
+    public Subscription observe(Predicate<T> filter, ChangeListener<T> listener) {
+        Observer<T> observer = new Observer<>(filter, listener);
+        synchronized (this) {
+            List<EntityChange<T>> initial = new ArrayList<>();
+            for (Map.Entry<Integer, T> entry : rows.entrySet()) {
+                if (filter.test(entry.getValue())) {
+                    initial.add(new EntityChange<>(EntityChange.Type.ADDED, entry.getKey(), copy.apply(entry.getValue())));
+                }
+            }
+            observers.add(observer);
+            deliver(observer, initial);
+        }
+        return () -> {
+            observer.cancelled = true;
+            observers.remove(observer);
+        };
+    }
+
+    /**
+     * One page of the rows ordered by {@code orderValue} then document ID, matching
+     * {@link Paging#fetch}. Rows without an order value are left out, as Firestore does.
+     */
+    public <V extends Comparable<V>> Page<T> page(Function<T, V> orderValue, Function<T, String> documentId,
+                                                  PageCursor after, int pageSize) {
+        return page(row -> true, orderValue, documentId, after, pageSize);
+    }
+
+    /**
+     * One page of the rows passing {@code filter}, see {@link #page(Function, Function, PageCursor, int)}.
+     */
+    public <V extends Comparable<V>> Page<T> page(Predicate<T> filter, Function<T, V> orderValue,
+                                                  Function<T, String> documentId, PageCursor after, int pageSize) {
+        Comparator<T> order = Comparator.comparing(orderValue).thenComparing(documentId);
+        List<T> sorted = new ArrayList<>();
+        for (T row : rows.values()) {
+            if (filter.test(row) && orderValue.apply(row) != null && isAfter(row, orderValue, documentId, after)) {
+                sorted.add(row);
+            }
+        }
+        sorted.sort(order);
+
+        List<T> items = new ArrayList<>();
+        for (T row : sorted.subList(0, Math.min(pageSize, sorted.size()))) {
+            items.add(copy.apply(row));
+        }
+        PageCursor next = null;
+        if (items.size() == pageSize) {
+            T last = items.get(items.size() - 1);
+            next = new PageCursor(orderValue.apply(last), documentId.apply(last));
+        }
+        return new Page<>(items, next);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V extends Comparable<V>> boolean isAfter(T row, Function<T, V> orderValue,
+                                                      Function<T, String> documentId, PageCursor after) {
+        if (after == null) {
+            return true;
+        }
+        int byValue = orderValue.apply(row).compareTo((V) after.orderValue);
+        return byValue > 0 || (byValue == 0 && documentId.apply(row).compareTo(after.documentId) > 0);
+    }
+
+    private void publish(T before, T after, int id) {
+        for (Observer<T> observer : observers) {
+            boolean was = before != null && observer.filter.test(before);
+            boolean is = after != null && observer.filter.test(after);
+            EntityChange<T> change;
+            if (is) {
+                change = new EntityChange<>(was ? EntityChange.Type.MODIFIED : EntityChange.Type.ADDED, id, copy.apply(after));
+            } else if (was) {
+                change = new EntityChange<>(EntityChange.Type.REMOVED, id, copy.apply(before));
+            } else {
+                continue;
+            }
+            deliver(observer, Collections.singletonList(change));
+        }
+    }
+
+    private void deliver(Observer<T> observer, List<EntityChange<T>> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        callbackExecutor.execute(() -> {
+            if (!observer.cancelled) {
+                observer.listener.onChanges(changes);
+            }
+        });
+    }
+
+    private static final class Binding<T, K> {
+        final InMemoryIndex<K> index;
+        final Function<T, K> keyOf;
+
+        Binding(InMemoryIndex<K> index, Function<T, K> keyOf) {
+            this.index = index;
+            this.keyOf = keyOf;
+        }
+
+        void update(T before, T after, int id) {
+            K oldKey = before != null ? keyOf.apply(before) : null;
+            K newKey = after != null ? keyOf.apply(after) : null;
+            if (oldKey != null && !oldKey.equals(newKey)) {
+                index.remove(oldKey, id);
+            }
+            if (newKey != null) {
+                index.add(newKey, id);
+            }
+        }
+    }
+
+    private static final class Observer<T> {
+        final Predicate<T> filter;
+        final ChangeListener<T> listener;
+        volatile boolean cancelled;
+
+        Observer(Predicate<T> filter, ChangeListener<T> listener) {
+            this.filter = filter;
+            this.listener = listener;
+        }
+    }
+}
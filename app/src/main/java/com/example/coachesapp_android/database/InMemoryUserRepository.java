@@ -0,0 +1,245 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.Role;
+import com.example.coachesapp_android.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+public class InMemoryUserRepository implements IUserRepository {
+    private static final String TAG = "InMemoryUserRepo";
+
+    private final InMemoryTable<User> users;
+    private final InMemoryIndex<String> byUsername;
+    private final InMemoryIndex<String> byEmail;
+    private final InMemoryIndex<Integer> byPlayerId;
+    private final InMemoryIndex<Role> byRole;
+
+    public InMemoryUserRepository(Executor callbackExecutor) {
+        this.users = new InMemoryTable<>(User::getId, InMemoryUserRepository::copyOf, callbackExecutor);
+        this.byUsername = users.index(User::getUsername);
+        this.byEmail = users.index(User::getEmail);
+        this.byPlayerId = users.index(User::getPlayerId);
+        this.byRole = users.index(User::getRole);
+    }
+
+    @Override
+    public User save(User user) {
+        return FirestoreFutures.await(saveAsync(user), null, TAG, "save");
+    }
+
+    @Override
+    public User stageSave(User user, UnitOfWork work) {
+        return FirestoreFutures.await(stageSaveAsync(user, work), null, TAG, "stageSave");
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return FirestoreFutures.await(findByUsernameAsync(username), null, TAG, "findByUsername");
+    }
+
+    @Override
+    public User findByUsernameAndPassword(String username, String password) {
+        return FirestoreFutures.await(findByUsernameAndPasswordAsync(username, password), null, TAG, "findByUsernameAndPassword");
+    }
+
+    @Override
+    public User findByPlayerId(int playerId) {
+        return FirestoreFutures.await(findByPlayerIdAsync(playerId), null, TAG, "findByPlayerId");
+    }
+
+    @Override
+    public Map<Integer, User> findByPlayerIds(Collection<Integer> playerIds) {
+        return FirestoreFutures.await(findByPlayerIdsAsync(playerIds), new HashMap<>(), TAG, "findByPlayerIds");
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        return FirestoreFutures.await(findByEmailAsync(email), null, TAG, "findByEmail");
+    }
+
+    @Override
+    public List<User> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Page<User> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
+
+    @Override
+    public List<User> findByRole(Role role) {
+        return FirestoreFutures.await(findByRoleAsync(role), new ArrayList<>(), TAG, "findByRole");
+    }
+
+    @Override
+    public List<User> findByRoleAndClub(Role role, int clubId) {
+        return FirestoreFutures.await(findByRoleAndClubAsync(role, clubId), new ArrayList<>(), TAG, "findByRoleAndClub");
+    }
+
+    @Override
+    public List<User> findPending() {
+        return FirestoreFutures.await(findPendingAsync(), new ArrayList<>(), TAG, "findPending");
+    }
+
+    @Override
+    public Page<User> findApprovedPageByRoles(Collection<Role> roles, PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findApprovedPageByRolesAsync(roles, after, pageSize),
+                new Page<>(new ArrayList<>(), null), TAG, "findApprovedPageByRoles");
+    }
+
+    @Override
+    public long countPendingApproval() {
+        return FirestoreFutures.await(countPendingApprovalAsync(), -1L, TAG, "countPendingApproval");
+    }
+
+    @Override
+    public boolean delete(Integer userId) {
+        return FirestoreFutures.await(deleteAsync(userId), false, TAG, "delete");
+    }
+
+    @Override
+    public boolean deleteByUsername(String username) {
+        return FirestoreFutures.await(deleteByUsernameAsync(username), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<User> saveAsync(User user) {
+        if (user.getId() == null) {
+            user.setId(users.nextId());
+        }
+        users.put(user);
+        return CompletableFuture.completedFuture(user);
+    }
+
+    @Override
+    public CompletableFuture<User> stageSaveAsync(User user, UnitOfWork work) {
+        if (user.getId() == null) {
+            user.setId(users.nextId());
+        }
+        // Staged as it is now, like the document a Firestore repository would stage
+        User staged = copyOf(user);
+        work.onCommit(() -> users.put(staged));
+        return CompletableFuture.completedFuture(user);
+    }
+
+    @Override
+    public CompletableFuture<User> findByUsernameAsync(String username) {
+        return CompletableFuture.completedFuture(users.first(byUsername, username));
+    }
+
+    @Override
+    public CompletableFuture<User> findByUsernameAsync(String username, Consumer<User> onRefresh) {
+        // Always current, so there is never a newer copy to refresh to
+        return findByUsernameAsync(username);
+    }
+
+    @Override
+    public CompletableFuture<User> findByUsernameAndPasswordAsync(String username, String password) {
+        // Passwords are checked by Firebase Auth, not stored with the user
+        return findByUsernameAsync(username);
+    }
+
+    @Override
+    public CompletableFuture<User> findByPlayerIdAsync(int playerId) {
+        return CompletableFuture.completedFuture(users.first(byPlayerId, playerId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, User>> findByPlayerIdsAsync(Collection<Integer> playerIds) {
+        Map<Integer, User> result = new HashMap<>();
+        for (Integer playerId : playerIds) {
+            User user = users.first(byPlayerId, playerId);
+            if (user != null) {
+                result.put(playerId, user);
+            }
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<User> findByEmailAsync(String email) {
+        return CompletableFuture.completedFuture(users.first(byEmail, email));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findAllAsync() {
+        return CompletableFuture.completedFuture(users.all());
+    }
+
+    @Override
+    public CompletableFuture<Page<User>> findPageAsync(PageCursor after, int pageSize) {
+        return CompletableFuture.completedFuture(users.page(User::getUsername,
+                user -> FirebaseUserRepository.documentKey(user.getId()), after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findByRoleAsync(Role role) {
+        return CompletableFuture.completedFuture(users.where(byRole, role));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findByRoleAndClubAsync(Role role, int clubId) {
+        List<User> result = users.where(byRole, role);
+        result.removeIf(user -> user.getClubId() == null || user.getClubId() != clubId);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findPendingAsync() {
+        return CompletableFuture.completedFuture(users.where(InMemoryUserRepository::isPending));
+    }
+
+    @Override
+    public CompletableFuture<Page<User>> findApprovedPageByRolesAsync(Collection<Role> roles, PageCursor after, int pageSize) {
+        return CompletableFuture.completedFuture(users.page(user -> user.isApproved() && roles.contains(user.getRole()),
+                User::getUsername, user -> FirebaseUserRepository.documentKey(user.getId()), after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Long> countPendingApprovalAsync() {
+        return CompletableFuture.completedFuture((long) users.count(InMemoryUserRepository::isPending));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(Integer userId) {
+        if (userId == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return CompletableFuture.completedFuture(users.remove(userId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteByUsernameAsync(String username) {
+        User user = users.first(byUsername, username);
+        return CompletableFuture.completedFuture(user != null && users.remove(user.getId()));
+    }
+
+    @Override
+    public Subscription observePendingApproval(ChangeListener<User> listener) {
+        return users.observe(InMemoryUserRepository::isPending, listener);
+    }
+
+    // Matches the Firestore pending query: system administrators never wait for approval
+    private static boolean isPending(User user) {
+        return !user.isApproved() && user.getRole() != null && user.getRole() != Role.SYSTEM_ADMIN;
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getId(), user.getUsername(), user.getPassword(), user.getRole(),
+                user.getClubId(), user.getPlayerId(), user.getManagerId());
+        copy.setEmail(user.getEmail());
+        copy.setAge(user.getAge());
+        copy.setPreferredPosition(user.getPreferredPosition());
+        copy.setApproved(user.isApproved());
+        return copy;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.coachesapp_android.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a repository so every call through its interface is recorded in
+ * {@link RepositoryMetrics} under {@code name.method}. Blocking calls are timed until they
+ * return, async calls until their future completes. Documents read are counted from the
+ * results, including those later delivered to refresh callbacks and live-query listeners.
+ */
+public final class InstrumentedRepository implements InvocationHandler {
+    private final Object target;
+    private final String name;
+    private final RepositoryMetrics metrics;
+    private final Map<Method, RepositoryMetrics.MethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+
+    private InstrumentedRepository(Object target, String name, RepositoryMetrics metrics) {
+        this.target = target;
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param type   the repository interface callers see
+     * @param target the repository doing the work
+     * @param name   prefix for the recorded method names, e.g. "players"
+     */
+    public static <T> T wrap(Class<T> type, T target, String name) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InstrumentedRepository(target, name, RepositoryMetrics.getInstance()));
+        return type.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeTarget(method, args);
+        }
+
+        RepositoryMetrics.MethodMetrics stats = methodMetrics.computeIfAbsent(method,
+                m -> metrics.forMethod(name + "." + m.getName()));
+        wrapCallbacks(args, stats);
+
+        long startedAt = System.nanoTime();
+        RepositoryMetrics.Call call = new RepositoryMetrics.Call();
+        RepositoryMetrics.Call previous = metrics.beginCall(call);
+        Object result;
+        try {
+            result = invokeTarget(method, args);
+        } catch (Throwable e) {
+            stats.recordCall(elapsedMs(startedAt), true, isTimeout(e));
+            throw e;
+        } finally {
+            metrics.endCall(previous);
+        }
+
+        if (result instanceof CompletableFuture) {
+            ((CompletableFuture<?>) result).whenComplete((value, error) -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                stats.recordCall(elapsedMs(startedAt), error != null, isTimeout(cause));
+                stats.recordDocuments(countDocuments(value));
+            });
+        } else {
+            stats.recordCall(elapsedMs(startedAt), call.failed, call.timedOut);
+            stats.recordDocuments(countDocuments(result));
+        }
+        return result;
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Counts documents delivered after the call returns: refreshed values and live-query
+     * changes.
+     */
+    @SuppressWarnings("unchecked")
+    private static void wrapCallbacks(Object[] args, RepositoryMetrics.MethodMetrics stats) {
+        if (args == null) {
+            return;
+        }
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Consumer) {
+                Consumer<Object> onRefresh = (Consumer<Object>) args[i];
+                args[i] = (Consumer<Object>) value -> {
+                    stats.recordDocuments(countDocuments(value));
+                    onRefresh.accept(value);
+                };
+            } else if (args[i] instanceof ChangeListener) {
+                args[i] = new CountingListener<>((ChangeListener<Object>) args[i], stats);
+            }
+        }
+    }
+
+    private static long countDocuments(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Page) {
+            return ((Page<?>) result).getItems().size();
+        } else if (result == null || result instanceof Boolean || result instanceof Number
+                || result instanceof Enum || result instanceof Subscription) {
+            return 0;
+        }
+        return 1;
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        return e instanceof RepositoryTimeoutException || e instanceof TimeoutException;
+    }
+
+    private static long elapsedMs(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    private static final class CountingListener<T> implements ChangeListener<T> {
+        private final ChangeListener<T> delegate;
+        private final RepositoryMetrics.MethodMetrics stats;
+
+        CountingListener(ChangeListener<T> delegate, RepositoryMetrics.MethodMetrics stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onChanges(List<EntityChange<T>> changes) {
+            stats.recordDocuments(changes.size());
+            delegate.onChanges(changes);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            stats.recordFailure();
+            delegate.onError(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads and deletes documents stored under their entity key (e.g. {@code player_42}).
+ * Documents written before keys were introduced live under auto-generated IDs; they are still
+ * found through the legacy field query until {@link DocumentKeyMigration} has moved them.
+ */
+public final class KeyedDocuments {
+
+    private KeyedDocuments() {
+    }
+
+    /**
+     * Point read of {@code key}, falling back to the first document whose {@code legacyField}
+     * equals {@code legacyValue}. Completes with null if neither exists.
+     */
+    public static CompletableFuture<DocumentSnapshot> get(CollectionReference collection, String key,
+                                                          String legacyField, Object legacyValue) {
+        return get(collection, key, legacyField, legacyValue, Source.DEFAULT);
+    }
+
+    /**
+     * As {@link #get(CollectionReference, String, String, Object)}, reading from {@code source}.
+     */
+    public static CompletableFuture<DocumentSnapshot> get(CollectionReference collection, String key,
+                                                          String legacyField, Object legacyValue, Source source) {
+        return FirestoreFutures.read(collection.document(key), source)
+                .thenCompose(document -> {
+                    if (document.exists()) {
+                        return CompletableFuture.completedFuture(document);
+                    }
+                    return FirestoreFutures.read(collection
+                                    .whereEqualTo(legacyField, legacyValue)
+                                    .limit(1), source)
+                            .thenApply(querySnapshot -> querySnapshot.isEmpty()
+                                    ? null
+                                    : querySnapshot.getDocuments().get(0));
+                });
+    }
+
+    /**
+     * Deletes {@code key} together with any not-yet-migrated copies matched by the legacy field,
+     * in a single batch.
+     */
+    public static CompletableFuture<Boolean> delete(FirebaseFirestore db, CollectionReference collection,
+                                                    String key, String legacyField, Object legacyValue) {
+        return FirestoreFutures.read(collection.whereEqualTo(legacyField, legacyValue))
+                // A batch commits once, so every attempt builds its own
+                .thenCompose(querySnapshot -> FirestoreFutures.write(() -> {
+                    WriteBatch batch = db.batch();
+                    batch.delete(collection.document(key));
+                    for (DocumentSnapshot legacy : querySnapshot.getDocuments()) {
+                        if (!key.equals(legacy.getId())) {
+                            batch.delete(legacy.getReference());
+                        }
+                    }
+                    return batch.commit();
+                }))
+                .thenApply(aVoid -> true);
+    }
+}
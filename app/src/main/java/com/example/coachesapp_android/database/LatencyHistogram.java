@@ -0,0 +1,73 @@
+package com.example.coachesapp_android.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram over fixed, roughly logarithmic millisecond buckets. Percentiles
+ * are reported as the upper bound of the bucket they fall in, so they are accurate to within
+ * one bucket (about half the value) and never under-report.
+ */
+public final class LatencyHistogram {
+    // Upper bounds in milliseconds; the last bucket catches everything slower
+    private static final long[] BOUNDS_MS = {
+            1, 2, 3, 5, 7, 10, 15, 20, 30, 50, 70, 100, 150, 200, 300, 500, 700,
+            1_000, 1_500, 2_000, 3_000, 5_000, 7_000, 10_000, 15_000, 20_000, 30_000, 60_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long latencyMs) {
+        counts.incrementAndGet(bucketOf(latencyMs));
+        total.incrementAndGet();
+        maxMs.accumulateAndGet(latencyMs, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency at or below which {@code percentile}% of calls completed, or 0
+     * before anything was recorded
+     */
+    public long percentileMs(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? Math.min(BOUNDS_MS[i], maxMs.get()) : maxMs.get();
+            }
+        }
+        return maxMs.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        maxMs.set(0);
+    }
+
+    private static int bucketOf(long latencyMs) {
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            if (latencyMs <= BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BOUNDS_MS.length;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns a Firestore snapshot listener into entity-level {@link EntityChange}s. After the first
+ * snapshot Firestore only sends the documents that changed, so observers pay for the delta
+ * rather than re-reading the whole result.
+ */
+public final class LiveQuery {
+
+    private LiveQuery() {
+    }
+
+    /**
+     * @param mapper converts a document to its entity, returning null for documents it cannot read
+     * @param idOf   entity ID; documents sharing an ID (a keyed document and a not-yet-migrated
+     *               legacy copy) are reported as a single entity
+     */
+    public static <T> Subscription observe(Query query, Function<DocumentSnapshot, T> mapper,
+                                           Function<T, Integer> idOf, ChangeListener<T> listener,
+                                           String tag, String description) {
+        // Which entity each document maps to, and how many documents currently back each entity
+        Map<String, Integer> idByDocument = new HashMap<>();
+        Map<Integer, Integer> documentCount = new HashMap<>();
+        Logger log = Logger.forTag(tag);
+
+        ListenerRegistration registration = query.addSnapshotListener((snapshot, error) -> {
+            if (error != null) {
+                log.e("Live query {} stopped", description, error);
+                listener.onError(error);
+                return;
+            }
+            if (snapshot == null) {
+                return;
+            }
+
+            List<EntityChange<T>> changes = new ArrayList<>();
+            for (DocumentChange documentChange : snapshot.getDocumentChanges()) {
+                String docId = documentChange.getDocument().getId();
+                T entity = mapper.apply(documentChange.getDocument());
+                if (entity == null || idOf.apply(entity) == null) {
+                    continue;
+                }
+                int id = idOf.apply(entity);
+
+                switch (documentChange.getType()) {
+                    case ADDED: {
+                        idByDocument.put(docId, id);
+                        int count = documentCount.merge(id, 1, Integer::sum);
+                        changes.add(new EntityChange<>(count == 1
+                                ? EntityChange.Type.ADDED
+                                : EntityChange.Type.MODIFIED, id, entity));
+                        break;
+                    }
+                    case MODIFIED:
+                        changes.add(new EntityChange<>(EntityChange.Type.MODIFIED, id, entity));
+                        break;
+                    case REMOVED: {
+                        Integer trackedId = idByDocument.remove(docId);
+                        if (trackedId == null) {
+                            break;
+                        }
+                        Integer count = documentCount.merge(trackedId, -1, Integer::sum);
+                        if (count == null || count <= 0) {
+                            documentCount.remove(trackedId);
+                            changes.add(new EntityChange<>(EntityChange.Type.REMOVED, trackedId, entity));
+                        }
+                        break;
+                    }
+                }
+            }
+
+            log.d("Live query {}: {} changes{}", description, changes.size(),
+                    snapshot.getMetadata().isFromCache() ? " (from cache)" : "");
+            if (!changes.isEmpty()) {
+                listener.onChanges(changes);
+            }
+        });
+        return registration::remove;
+    }
+}
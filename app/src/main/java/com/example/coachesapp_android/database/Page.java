@@ -0,0 +1,31 @@
+package com.example.coachesapp_android.database;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged query.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final PageCursor next;
+
+    public Page(List<T> items, PageCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor for the following page, or null when this was the last one.
+     */
+    public PageCursor getNext() {
+        return next;
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * Opaque position after the last row of a {@link Page}. Pass it back to the same
+ * {@code findPage} call to continue where the previous page ended.
+ */
+public final class PageCursor {
+    final Object orderValue;
+    final String documentId;
+
+    PageCursor(Object orderValue, String documentId) {
+        this.orderValue = orderValue;
+        this.documentId = documentId;
+    }
+}
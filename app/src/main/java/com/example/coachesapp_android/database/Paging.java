@@ -0,0 +1,51 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Runs a query one page at a time, ordered by a field with the document ID as tie-breaker so
+ * that {@code startAfter} resumes at exactly the next document. Each page reads at most
+ * {@code pageSize} documents however large the collection is.
+ */
+public final class Paging {
+
+    private Paging() {
+    }
+
+    /**
+     * @param after  cursor from the previous page, or null for the first page
+     * @param mapper converts a document to its entity, returning null for documents it cannot read
+     */
+    public static <T> CompletableFuture<Page<T>> fetch(Query query, String orderField, PageCursor after,
+                                                       int pageSize, Function<DocumentSnapshot, T> mapper) {
+        Query pageQuery = query.orderBy(orderField).orderBy(FieldPath.documentId());
+        if (after != null) {
+            pageQuery = pageQuery.startAfter(after.orderValue, after.documentId);
+        }
+        return FirestoreFutures.read(pageQuery.limit(pageSize))
+                .thenApply(querySnapshot -> {
+                    List<DocumentSnapshot> documents = querySnapshot.getDocuments();
+                    List<T> items = new ArrayList<>();
+                    for (DocumentSnapshot document : documents) {
+                        T item = mapper.apply(document);
+                        if (item != null) {
+                            items.add(item);
+                        }
+                    }
+                    // A short page means the query is exhausted
+                    PageCursor next = null;
+                    if (documents.size() == pageSize) {
+                        DocumentSnapshot last = documents.get(documents.size() - 1);
+                        next = new PageCursor(last.get(orderField), last.getId());
+                    }
+                    return new Page<>(items, next);
+                });
+    }
+}
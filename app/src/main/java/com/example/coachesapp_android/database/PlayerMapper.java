@@ -0,0 +1,78 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.PlayerCodec;
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Converts players to and from their Firestore document fields.
+ */
+public final class PlayerMapper {
+    private static final String TAG = "FirebasePlayerRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private PlayerMapper() {
+    }
+
+    public static Map<String, Object> toData(Player player) {
+        return PlayerCodec.encode(player);
+    }
+
+    /**
+     * The fields a market listing copies from its player, as stored on the transfer request.
+     */
+    public static Map<String, Object> toListingSnapshot(Player player) {
+        Map<String, Object> snapshot = new HashMap<>(DocumentFields.capacityFor(4));
+        snapshot.put("playerName", player.getName());
+        snapshot.put("playerPosition", DocumentFields.name(player.getPosition()));
+        snapshot.put("playerAge", player.getAge());
+        snapshot.put("playerJersey", player.getJersey());
+        return snapshot;
+    }
+
+    /**
+     * @return the player, or null if the document cannot be read
+     */
+    public static Player fromData(String documentId, Map<String, Object> data) {
+        try {
+            Player player = PlayerCodec.decode(data);
+            if (player.getId() == null) {
+                player.setId(documentId.hashCode());
+            }
+
+            LOG.v("Loaded player: {}, ID: {}, ClubId: {}", player.getName(), player.getId(), player.getClubId());
+            return player;
+        } catch (Exception e) {
+            LOG.e("Error converting document to player", e);
+            return null;
+        }
+    }
+
+    /**
+     * Maps query results to players, keeping the first document of each player ID (a keyed
+     * document and a not-yet-migrated legacy copy can both match).
+     */
+    public static <D> List<Player> toUniquePlayers(List<D> documents, Function<D, String> documentId,
+                                                   Function<D, Map<String, Object>> data) {
+        List<Player> result = new ArrayList<>();
+        Set<Integer> seenIds = new HashSet<>();
+
+        for (D document : documents) {
+            Player player = fromData(documentId.apply(document), data.apply(document));
+            if (player != null && seenIds.add(player.getId())) {
+                result.add(player);
+            } else if (player != null) {
+                LOG.w("Skipping duplicate player: {}, ID: {}, DocId: {}", player.getName(), player.getId(), documentId.apply(document));
+            }
+        }
+        return result;
+    }
+}
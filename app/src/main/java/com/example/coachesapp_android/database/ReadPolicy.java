@@ -0,0 +1,31 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * How a repository serves the reads that accept a refresh callback.
+ * {@link #SERVER} always waits for the server. {@link #cacheFirst(long)} answers from the local
+ * Firestore cache and revalidates against the server in the background, as long as the cached
+ * copy was confirmed by the server within {@code maxStalenessMillis}.
+ */
+public final class ReadPolicy {
+    public static final ReadPolicy SERVER = new ReadPolicy(false, 0);
+
+    private final boolean cacheFirst;
+    private final long maxStalenessMillis;
+
+    private ReadPolicy(boolean cacheFirst, long maxStalenessMillis) {
+        this.cacheFirst = cacheFirst;
+        this.maxStalenessMillis = maxStalenessMillis;
+    }
+
+    public static ReadPolicy cacheFirst(long maxStalenessMillis) {
+        return new ReadPolicy(true, maxStalenessMillis);
+    }
+
+    public boolean isCacheFirst() {
+        return cacheFirst;
+    }
+
+    public long getMaxStalenessMillis() {
+        return maxStalenessMillis;
+    }
+}
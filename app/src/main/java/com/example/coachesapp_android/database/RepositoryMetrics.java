@@ -0,0 +1,256 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-method call counts, latencies, timeouts, failures and documents read for every
+ * repository handed out by the factory. Calls are recorded by {@link InstrumentedRepository};
+ * timeouts and failures swallowed by {@link FirestoreFutures#await} are charged to the
+ * repository call that was waiting.
+ */
+public final class RepositoryMetrics {
+    private static final String TAG = "RepositoryMetrics";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private static RepositoryMetrics instance;
+
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final AtomicLong transactionRetries = new AtomicLong();
+    // The blocking repository call running on this thread, if any
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    private RepositoryMetrics() {
+    }
+
+    public static synchronized RepositoryMetrics getInstance() {
+        if (instance == null) {
+            instance = new RepositoryMetrics();
+        }
+        return instance;
+    }
+
+    MethodMetrics forMethod(String name) {
+        return methods.computeIfAbsent(name, MethodMetrics::new);
+    }
+
+    /**
+     * Marks the start of a blocking call on this thread.
+     * @return the call it interrupts, to hand back to {@link #endCall(Call)}
+     */
+    Call beginCall(Call call) {
+        Call previous = currentCall.get();
+        currentCall.set(call);
+        return previous;
+    }
+
+    void endCall(Call previous) {
+        if (previous != null) {
+            currentCall.set(previous);
+        } else {
+            currentCall.remove();
+        }
+    }
+
+    /**
+     * Records a wait that gave up. Charged to the blocking repository call on this thread, or
+     * to {@code tag.operation} when there is none.
+     */
+    void recordTimeout(String tag, String operation) {
+        Call call = currentCall.get();
+        if (call != null) {
+            call.timedOut = true;
+        } else {
+            forMethod(tag + "." + operation).timeouts.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a failure that was swallowed and replaced with a fallback value.
+     */
+    void recordFailure(String tag, String operation) {
+        Call call = currentCall.get();
+        if (call != null) {
+            call.failed = true;
+        } else {
+            forMethod(tag + "." + operation).recordFailure();
+        }
+    }
+
+    /**
+     * Records a Firestore transaction attempt that is a rerun because another client changed
+     * a document it read.
+     */
+    public void recordTransactionRetry() {
+        transactionRetries.incrementAndGet();
+    }
+
+    /**
+     * @return point-in-time counters for every method called so far, sorted by name
+     */
+    public List<Stats> snapshot() {
+        List<Stats> result = new ArrayList<>();
+        for (MethodMetrics metrics : methods.values()) {
+            result.add(metrics.getStats());
+        }
+        Collections.sort(result, (a, b) -> a.method.compareTo(b.method));
+        return result;
+    }
+
+    /**
+     * Zeroes every counter. Methods stay listed so their rows do not jump around.
+     */
+    public void reset() {
+        for (MethodMetrics metrics : methods.values()) {
+            metrics.reset();
+        }
+        transactionRetries.set(0);
+    }
+
+    /**
+     * @return a fixed-width table of {@link #snapshot()}
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.US, "%-44s %7s %6s %6s %8s %6s %6s %6s %6s%n",
+                "method", "calls", "fail", "tmout", "docs", "p50", "p95", "p99", "max"));
+        for (Stats stats : snapshot()) {
+            out.append(String.format(Locale.US, "%-44s %7d %6d %6d %8d %6d %6d %6d %6d%n",
+                    stats.method, stats.calls, stats.failures, stats.timeouts, stats.documents,
+                    stats.p50Ms, stats.p95Ms, stats.p99Ms, stats.maxMs));
+        }
+        out.append(String.format(Locale.US, "%nFirestore reads that joined an identical read in flight: %d%n",
+                FirestoreFutures.getCoalescedReadCount()));
+        out.append(String.format(Locale.US, "Transaction attempts rerun after contention: %d%n",
+                transactionRetries.get()));
+        return out.toString();
+    }
+
+    /**
+     * Writes {@link #report()} to a new timestamped file in {@code directory}.
+     * @return the file written, or null if it could not be written
+     */
+    public File dumpTo(File directory) {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "repository-stats-" + stamp + ".txt");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write("Repository stats at " + new Date() + ", latencies in ms\n\n");
+            writer.write(report());
+            LOG.d("Dumped repository stats to {}", file.getAbsolutePath());
+            return file;
+        } catch (IOException e) {
+            LOG.e("Error dumping repository stats to {}", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Outcome flags of one blocking call, set by {@link FirestoreFutures#await} while it runs.
+     */
+    static final class Call {
+        boolean timedOut;
+        boolean failed;
+    }
+
+    /**
+     * Running counters for one repository method.
+     */
+    static final class MethodMetrics {
+        private final String name;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong documents = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        MethodMetrics(String name) {
+            this.name = name;
+        }
+
+        void recordCall(long latencyMs, boolean failed, boolean timedOut) {
+            calls.incrementAndGet();
+            latency.record(latencyMs);
+            if (timedOut) {
+                timeouts.incrementAndGet();
+            } else if (failed) {
+                failures.incrementAndGet();
+            }
+        }
+
+        void recordFailure() {
+            failures.incrementAndGet();
+        }
+
+        void recordDocuments(long count) {
+            documents.addAndGet(count);
+        }
+
+        void reset() {
+            calls.set(0);
+            failures.set(0);
+            timeouts.set(0);
+            documents.set(0);
+            latency.reset();
+        }
+
+        Stats getStats() {
+            return new Stats(name, calls.get(), failures.get(), timeouts.get(), documents.get(),
+                    latency.percentileMs(50), latency.percentileMs(95), latency.percentileMs(99),
+                    latency.getMaxMs());
+        }
+    }
+
+    /**
+     * Point-in-time counters for one repository method.
+     */
+    public static final class Stats {
+        public final String method;
+        public final long calls;
+        public final long failures;
+        public final long timeouts;
+        public final long documents;
+        public final long p50Ms;
+        public final long p95Ms;
+        public final long p99Ms;
+        public final long maxMs;
+
+        Stats(String method, long calls, long failures, long timeouts, long documents,
+              long p50Ms, long p95Ms, long p99Ms, long maxMs) {
+            this.method = method;
+            this.calls = calls;
+            this.failures = failures;
+            this.timeouts = timeouts;
+            this.documents = documents;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+
+        @Override
+        public String toString() {
+            return method +
+                    ": calls=" + calls +
+                    ", failures=" + failures +
+                    ", timeouts=" + timeouts +
+                    ", documents=" + documents +
+                    ", p50Ms=" + p50Ms +
+                    ", p95Ms=" + p95Ms +
+                    ", p99Ms=" + p99Ms +
+                    ", maxMs=" + maxMs;
+        }
+    }
+}
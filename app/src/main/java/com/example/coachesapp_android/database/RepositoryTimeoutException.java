@@ -0,0 +1,24 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * A repository call ran past its {@link Deadline}. Distinct from an empty result: the data may
+ * well exist, the call just did not finish in time.
+ */
+public class RepositoryTimeoutException extends RuntimeException {
+    private final String operation;
+    private final long timeoutMillis;
+
+    public RepositoryTimeoutException(String operation, long timeoutMillis) {
+        super(operation + " timed out after " + timeoutMillis + " ms");
+        this.operation = operation;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
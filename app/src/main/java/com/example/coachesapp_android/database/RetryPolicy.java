@@ -0,0 +1,60 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how far apart a failed Firestore call is retried. Delays grow exponentially
+ * with full jitter, so clients that failed together do not retry together.
+ */
+public final class RetryPolicy {
+    /** Reads: cheap to repeat, and the caller is usually waiting on a screen. */
+    public static final RetryPolicy READS = new RetryPolicy(3, 200, 2_000);
+    /** Writes to a keyed document: setting it again is harmless, so they retry as well. */
+    public static final RetryPolicy KEYED_WRITES = new RetryPolicy(3, 500, 4_000);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param attempt the attempt that just failed, starting at 1
+     * @return a random delay between 0 and {@code base * 2^(attempt - 1)}, capped at the maximum
+     */
+    public long delayMillis(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Whether {@code error} is a transient backend or network failure, as opposed to one that
+     * will fail the same way again (permission denied, invalid query).
+     */
+    public static boolean isTransient(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof FirebaseFirestoreException)) {
+            return false;
+        }
+        switch (((FirebaseFirestoreException) cause).getCode()) {
+            case UNAVAILABLE:
+            case DEADLINE_EXCEEDED:
+            case RESOURCE_EXHAUSTED:
+            case ABORTED:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
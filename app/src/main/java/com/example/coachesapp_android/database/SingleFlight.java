@@ -0,0 +1,54 @@
+package com.example.coachesapp_android.database;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is in flight, later callers
+ * with an equal key attach to it instead of starting their own. Once it completes the next
+ * caller starts afresh, so nothing is cached beyond the call's lifetime.
+ */
+final class SingleFlight {
+    private final Map<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Every caller gets its own dependent future, so one caller cancelling (or timing out)
+     * does not cancel the call for the others.
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> run(Object key, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> shared = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing.thenApply(Function.identity());
+        }
+
+        try {
+            call.get().whenComplete((value, e) -> {
+                inFlight.remove(key, shared);
+                if (e != null) {
+                    shared.completeExceptionally(e);
+                } else {
+                    shared.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(e);
+        }
+        return shared.thenApply(Function.identity());
+    }
+
+    /**
+     * @return how many calls were served by attaching to one already in flight
+     */
+    long getCoalescedCount() {
+        return coalesced.get();
+    }
+}
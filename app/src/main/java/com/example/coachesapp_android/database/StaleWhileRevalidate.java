@@ -0,0 +1,92 @@
+package com.example.coachesapp_android.database;
+
+import android.os.SystemClock;
+
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.Source;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies a {@link ReadPolicy} to a repository's reads. Remembers when each read was last
+ * confirmed by the server; a cached answer older than the policy's maximum staleness (or one
+ * not confirmed since the app started) is not served, and the read waits for the server.
+ */
+public class StaleWhileRevalidate {
+    private final Logger log;
+    private final Map<String, Long> validatedAt = new ConcurrentHashMap<>();
+    private volatile ReadPolicy policy = ReadPolicy.SERVER;
+
+    public StaleWhileRevalidate(String tag) {
+        this.log = Logger.forTag(tag);
+    }
+
+    public void setPolicy(ReadPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * @param key         identifies the read for staleness tracking, e.g. {@code "club_5"}
+     * @param fetch       performs the read against the given source
+     * @param fingerprint comparable form of a result, used to tell whether the server copy
+     *                    differs from the cached one
+     * @param onRefresh   receives the server result when it differs from what was returned;
+     *                    may be null. Called on whichever thread the read completes on
+     */
+    public <T> CompletableFuture<T> read(String key, Function<Source, CompletableFuture<T>> fetch,
+                                         Function<T, Object> fingerprint, Consumer<T> onRefresh) {
+        ReadPolicy current = policy;
+        if (!current.isCacheFirst()) {
+            return fetch.apply(Source.DEFAULT);
+        }
+
+        Long validated = validatedAt.get(key);
+        if (validated == null || SystemClock.elapsedRealtime() - validated > current.getMaxStalenessMillis()) {
+            return fromServer(key, fetch)
+                    .handle((result, e) -> e == null
+                            ? CompletableFuture.completedFuture(result)
+                            : fetch.apply(Source.CACHE))
+                    .thenCompose(future -> future);
+        }
+
+        return fetch.apply(Source.CACHE)
+                // Not cached (or no longer): treat like a stale entry
+                .handle((cached, e) -> e == null ? cached : null)
+                .thenCompose(cached -> {
+                    if (cached == null) {
+                        return fromServer(key, fetch);
+                    }
+                    fromServer(key, fetch)
+                            .thenAccept(fresh -> {
+                                if (Objects.equals(fingerprintOf(cached, fingerprint), fingerprintOf(fresh, fingerprint))) {
+                                    return;
+                                }
+                                log.d("Revalidated {}: server copy differs from cache", key);
+                                if (onRefresh != null) {
+                                    onRefresh.accept(fresh);
+                                }
+                            })
+                            .exceptionally(e -> {
+                                log.w("Background revalidation of {} failed", key, e);
+                                return null;
+                            });
+                    return CompletableFuture.completedFuture(cached);
+                });
+    }
+
+    private <T> CompletableFuture<T> fromServer(String key, Function<Source, CompletableFuture<T>> fetch) {
+        return fetch.apply(Source.SERVER).thenApply(result -> {
+            validatedAt.put(key, SystemClock.elapsedRealtime());
+            return result;
+        });
+    }
+
+    private static <T> Object fingerprintOf(T result, Function<T, Object> fingerprint) {
+        return result != null ? fingerprint.apply(result) : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.coachesapp_android.database;
+
+/**
+ * Handle to a live query; cancel it when the screen that observes it goes away.
+ */
+public interface Subscription {
+
+    void cancel();
+}
@@ -0,0 +1,123 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entity writes staged across repositories through their {@code stageSave} methods and
+ * committed as one Firestore batch: a single round trip, and either every write lands or none
+ * does. Nothing is written before {@link #commit()}. A unit of work commits once.
+ * <p>
+ * In-memory repositories stage actions that are applied on commit instead.
+ */
+public final class UnitOfWork {
+    private static final String TAG = "UnitOfWork";
+    // Firestore rejects batches with more writes than this
+    private static final int MAX_WRITES = 500;
+
+    private enum Kind { SET, MERGE, DELETE }
+
+    private final List<DocumentReference> documents = new ArrayList<>();
+    private final List<Map<String, Object>> documentData = new ArrayList<>();
+    private final List<Kind> kinds = new ArrayList<>();
+    private final List<Runnable> onCommit = new ArrayList<>();
+    private boolean committed;
+
+    synchronized void set(DocumentReference document, Map<String, Object> data) {
+        stage(document, data, Kind.SET);
+    }
+
+    /**
+     * Stages a write of {@code data} into the document, leaving its other fields as they are.
+     */
+    synchronized void merge(DocumentReference document, Map<String, Object> data) {
+        stage(document, data, Kind.MERGE);
+    }
+
+    /**
+     * Stages a delete; deleting a document that does not exist is not an error.
+     */
+    synchronized void delete(DocumentReference document) {
+        stage(document, null, Kind.DELETE);
+    }
+
+    private void stage(DocumentReference document, Map<String, Object> data, Kind kind) {
+        checkNotCommitted();
+        if (documents.size() == MAX_WRITES) {
+            throw new IllegalStateException("A unit of work holds at most " + MAX_WRITES + " writes");
+        }
+        documents.add(document);
+        documentData.add(data);
+        kinds.add(kind);
+    }
+
+    /**
+     * Runs {@code action} once the batch has been written, e.g. to apply an in-memory write.
+     */
+    synchronized void onCommit(Runnable action) {
+        checkNotCommitted();
+        onCommit.add(action);
+    }
+
+    /**
+     * @return true if every staged write was committed
+     */
+    public boolean commit() {
+        return FirestoreFutures.await(commitAsync(), false, TAG, "commit");
+    }
+
+    public CompletableFuture<Boolean> commitAsync() {
+        List<DocumentReference> references;
+        List<Map<String, Object>> data;
+        List<Kind> writeKinds;
+        List<Runnable> actions;
+        synchronized (this) {
+            checkNotCommitted();
+            committed = true;
+            references = new ArrayList<>(documents);
+            data = new ArrayList<>(documentData);
+            writeKinds = new ArrayList<>(kinds);
+            actions = new ArrayList<>(onCommit);
+        }
+
+        CompletableFuture<Void> write = references.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                // A batch commits once, so every attempt builds its own. The documents are keyed,
+                // so writing them again on a retry is harmless
+                : FirestoreFutures.write(() -> {
+                    WriteBatch batch = FirebaseFirestore.getInstance().batch();
+                    for (int i = 0; i < references.size(); i++) {
+                        switch (writeKinds.get(i)) {
+                            case MERGE:
+                                batch.set(references.get(i), data.get(i), SetOptions.merge());
+                                break;
+                            case DELETE:
+                                batch.delete(references.get(i));
+                                break;
+                            default:
+                                batch.set(references.get(i), data.get(i));
+                        }
+                    }
+                    return batch.commit();
+                });
+        return write.thenApply(aVoid -> {
+            for (Runnable action : actions) {
+                action.run();
+            }
+            return true;
+        });
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("Unit of work already committed");
+        }
+    }
+}
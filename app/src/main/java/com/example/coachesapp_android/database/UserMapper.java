@@ -0,0 +1,72 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.model.UserCodec;
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.Map;
+
+/**
+ * Converts users to and from their Firestore document fields.
+ */
+public final class UserMapper {
+    private static final String TAG = "FirebaseUserRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private UserMapper() {
+    }
+
+    public static Map<String, Object> toData(User user, String docId) {
+        Map<String, Object> map = UserCodec.encode(user, 1);
+        map.put("firestoreDocId", docId);
+        // Unset optional fields are stored as "" and 0, which fromData reads back as null
+        if (user.getEmail() == null) {
+            map.put("email", "");
+        }
+        if (user.getClubId() == null) {
+            map.put("clubId", 0);
+        }
+        if (user.getPlayerId() == null) {
+            map.put("playerId", 0);
+        }
+        if (user.getManagerId() == null) {
+            map.put("managerId", 0);
+        }
+        if (user.getAge() == null) {
+            map.put("age", 0);
+        }
+        return map;
+    }
+
+    /**
+     * @return the user, or null if the document cannot be read
+     */
+    public static User fromData(String documentId, Map<String, Object> data) {
+        try {
+            User user = UserCodec.decode(data);
+            if (user.getId() == null) {
+                user.setId(documentId.hashCode());
+            }
+            if (user.getEmail() != null && user.getEmail().isEmpty()) {
+                user.setEmail(null);
+            }
+            user.setClubId(positiveOrNull(user.getClubId()));
+            user.setPlayerId(positiveOrNull(user.getPlayerId()));
+            user.setManagerId(positiveOrNull(user.getManagerId()));
+            user.setAge(positiveOrNull(user.getAge()));
+
+            if (LOG.isVerboseEnabled()) {
+                LOG.v("documentToUser - User: {}, Email: {}, Age: {}, ClubId: {}, Approved: {}", user.getUsername(), user.getEmail(), user.getAge(), user.getClubId(), user.isApproved());
+            }
+            
+            return user;
+        } catch (Exception e) {
+            LOG.e("Error converting document to user", e);
+            return null;
+        }
+    }
+
+    private static Integer positiveOrNull(Integer value) {
+        return value != null && value > 0 ? value : null;
+    }
+}
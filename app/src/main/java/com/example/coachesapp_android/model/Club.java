@@ -1,12 +1,19 @@
 package com.example.coachesapp_android.model;
 
+import com.example.coachesapp_android.codegen.DocumentField;
+import com.example.coachesapp_android.codegen.DocumentIgnore;
+import com.example.coachesapp_android.codegen.FirestoreDocument;
+
 import java.util.ArrayList;
 import java.util.List;
 
+@FirestoreDocument
 public class Club {
     private Integer id;
     private String firestoreDocId; // Actual Firestore document ID
+    @DocumentField("name")
     private String clubName;
+    @DocumentIgnore
     private List<Player> players;
 
     public Club() {
@@ -1,6 +1,12 @@
 package com.example.coachesapp_android.model;
 
+import com.example.coachesapp_android.codegen.DocumentIgnore;
+import com.example.coachesapp_android.codegen.FirestoreDocument;
+
+@FirestoreDocument
 public class GamePlan {
+    // Not stored: a plan is keyed by its club
+    @DocumentIgnore
     private Integer id;
     private Integer clubId;
     private Integer goalkeeperPlayerId;
@@ -1,5 +1,9 @@
 package com.example.coachesapp_android.model;
 
+import com.example.coachesapp_android.codegen.DocumentIgnore;
+import com.example.coachesapp_android.codegen.FirestoreDocument;
+
+@FirestoreDocument
 public class Player {
     private Integer id;
     private String name;
@@ -8,6 +12,7 @@ public class Player {
     private Position position;
     private boolean injured;
     private Integer clubId;
+    @DocumentIgnore
     private String clubView;
 
     public Player() {
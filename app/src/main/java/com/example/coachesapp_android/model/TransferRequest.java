@@ -1,13 +1,26 @@
 package com.example.coachesapp_android.model;
 
+import com.example.coachesapp_android.codegen.DocumentField;
+import com.example.coachesapp_android.codegen.FirestoreDocument;
+
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
+@FirestoreDocument
 public class TransferRequest {
+    /**
+     * Most recent request first; requests without a date go last.
+     */
+    public static final Comparator<TransferRequest> NEWEST_FIRST = Comparator
+            .comparing(TransferRequest::getRequestDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparing(TransferRequest::getId, Comparator.nullsLast(Comparator.<Integer>reverseOrder()));
+
     private Integer id;
     private Integer playerId;
     private Integer sourceClubId;
     private Integer destinationClubId;
     private TransferStatus status;
+    @DocumentField(lenient = true)
     private TransferType transferType;
     private Double transferFee;
     private Double releaseFee;
@@ -19,6 +32,12 @@ public class TransferRequest {
     private String playerName;
     private String sourceClubName;
     private String destinationClubName;
+    // Snapshot of the player for rendering market listings without reading players; the player
+    // repository refreshes it on listings in the market after saving the player
+    @DocumentField(lenient = true)
+    private Position playerPosition;
+    private Integer playerAge;
+    private Integer playerJersey;
 
     public enum TransferStatus {
         PENDING_APPROVAL("Pending - Awaiting Manager Approval"),
@@ -186,6 +205,38 @@ public class TransferRequest {
         this.destinationClubName = destinationClubName;
     }
 
+    public Position getPlayerPosition() {
+        return playerPosition;
+    }
+
+    public void setPlayerPosition(Position playerPosition) {
+        this.playerPosition = playerPosition;
+    }
+
+    public Integer getPlayerAge() {
+        return playerAge;
+    }
+
+    public void setPlayerAge(Integer playerAge) {
+        this.playerAge = playerAge;
+    }
+
+    public Integer getPlayerJersey() {
+        return playerJersey;
+    }
+
+    public void setPlayerJersey(Integer playerJersey) {
+        this.playerJersey = playerJersey;
+    }
+
+    /**
+     * @return true if the request carries the player snapshot, which requests saved before it
+     *         was introduced do not
+     */
+    public boolean hasPlayerSnapshot() {
+        return playerPosition != null && playerAge != null && playerJersey != null;
+    }
+
     @Override
     public String toString() {
         return "TransferRequest{" +
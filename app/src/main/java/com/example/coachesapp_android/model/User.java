@@ -1,8 +1,14 @@
 package com.example.coachesapp_android.model;
 
+import com.example.coachesapp_android.codegen.DocumentField;
+import com.example.coachesapp_android.codegen.DocumentIgnore;
+import com.example.coachesapp_android.codegen.FirestoreDocument;
+
+@FirestoreDocument
 public class User {
     private Integer id;
     private String username;
+    @DocumentIgnore
     private String password;
     private String email;
     private Role role;
@@ -10,6 +16,7 @@ public class User {
     private Integer clubId;
     private Integer playerId;
     private Integer managerId;
+    @DocumentField(lenient = true)
     private Position preferredPosition; // For players registering
     private boolean approved; // Approval status for player/manager accounts
 
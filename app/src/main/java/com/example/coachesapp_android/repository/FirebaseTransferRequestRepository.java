@@ -1,430 +1,367 @@
 package com.example.coachesapp_android.repository;
 
-import android.util.Log;
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.FirestoreFutures;
 import com.example.coachesapp_android.database.IClubRepository;
+import com.example.coachesapp_android.database.IdAllocator;
 import com.example.coachesapp_android.database.IPlayerRepository;
-import com.example.coachesapp_android.model.Club;
-import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.database.LiveQuery;
+import com.example.coachesapp_android.database.Page;
+import com.example.coachesapp_android.database.PageCursor;
+import com.example.coachesapp_android.database.Paging;
+import com.example.coachesapp_android.database.Subscription;
 import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.AggregateField;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Filter;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
 
 public class FirebaseTransferRequestRepository implements ITransferRequestRepository {
     private static final String TAG = "TransferRequestRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
     private static final String COLLECTION_NAME = "transferRequests";
     
     private final FirebaseFirestore db;
-    private final IPlayerRepository playerRepository;
-    private final IClubRepository clubRepository;
-    
-    private Integer nextId = 1;
+    private final TransferRequestEnricher enricher;
+    private final IdAllocator idAllocator;
 
     public FirebaseTransferRequestRepository(IPlayerRepository playerRepository, IClubRepository clubRepository) {
         this.db = FirebaseFirestore.getInstance();
-        this.playerRepository = playerRepository;
-        this.clubRepository = clubRepository;
-        initializeNextId();
-    }
-
-    private void initializeNextId() {
-        db.collection(COLLECTION_NAME)
-                .orderBy("id", Query.Direction.DESCENDING)
-                .limit(1)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        DocumentSnapshot doc = querySnapshot.getDocuments().get(0);
-                        Long maxId = doc.getLong("id");
-                        if (maxId != null) {
-                            nextId = maxId.intValue() + 1;
-                        }
-                    }
-                })
-                .addOnFailureListener(e -> Log.e(TAG, "Error initializing next ID", e));
+        this.enricher = new TransferRequestEnricher(playerRepository, clubRepository);
+        // Transfer IDs were already sequential, so the counter starts after the current maximum
+        this.idAllocator = IdAllocator.forCollection(COLLECTION_NAME, true);
     }
 
-    private synchronized Integer getNextId() {
-        return nextId++;
+    @Override
+    public TransferRequest save(TransferRequest transferRequest) {
+        return FirestoreFutures.await(saveAsync(transferRequest), null, TAG, "save");
     }
 
     @Override
-    public TransferRequest save(TransferRequest transferRequest) {
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<TransferRequest> result = new AtomicReference<>(null);
+    public TransferRequest findById(Integer id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
 
-        try {
-            if (transferRequest.getId() == null) {
-                transferRequest.setId(getNextId());
-            }
+    @Override
+    public List<TransferRequest> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
 
-            // Enrich with player and club names
-            enrichTransferRequest(transferRequest);
+    @Override
+    public Page<TransferRequest> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
 
-            Map<String, Object> data = transferRequestToMap(transferRequest);
-            String docId = "transfer_" + transferRequest.getId();
-
-            Log.d(TAG, "Saving transfer request: ID=" + transferRequest.getId() + 
-                    ", PlayerId=" + transferRequest.getPlayerId() + 
-                    ", SourceClubId=" + transferRequest.getSourceClubId() + 
-                    ", DestClubId=" + transferRequest.getDestinationClubId() + 
-                    ", Status=" + transferRequest.getStatus());
-
-            db.collection(COLLECTION_NAME)
-                    .document(docId)
-                    .set(data)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Transfer request saved successfully: " + transferRequest.getId());
-                        result.set(transferRequest);
-                        latch.countDown();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error saving transfer request", e);
-                        latch.countDown();
-                    });
+    @Override
+    public List<TransferRequest> findByPlayerId(Integer playerId) {
+        return FirestoreFutures.await(findByPlayerIdAsync(playerId), new ArrayList<>(), TAG, "findByPlayerId");
+    }
 
-            latch.await();
-        } catch (Exception e) {
-            Log.e(TAG, "Exception in save", e);
-        }
+    @Override
+    public List<TransferRequest> findBySourceClubId(Integer clubId) {
+        return FirestoreFutures.await(findBySourceClubIdAsync(clubId), new ArrayList<>(), TAG, "findBySourceClubId");
+    }
 
-        return result.get();
+    @Override
+    public List<TransferRequest> findByDestinationClubId(Integer clubId) {
+        return FirestoreFutures.await(findByDestinationClubIdAsync(clubId), new ArrayList<>(), TAG, "findByDestinationClubId");
     }
 
     @Override
-    public TransferRequest findById(Integer id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<TransferRequest> result = new AtomicReference<>(null);
-
-        String docId = "transfer_" + id;
-        db.collection(COLLECTION_NAME)
-                .document(docId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        result.set(documentToTransferRequest(documentSnapshot));
-                    }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding transfer request", e);
-                    latch.countDown();
-                });
+    public List<TransferRequest> findByClubInvolvement(Integer clubId) {
+        return FirestoreFutures.await(findByClubInvolvementAsync(clubId), new ArrayList<>(), TAG, "findByClubInvolvement");
+    }
 
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Interrupted while waiting", e);
-        }
+    @Override
+    public List<TransferRequest> findByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(findByStatusAsync(status), new ArrayList<>(), TAG, "findByStatus");
+    }
 
-        return result.get();
+    @Override
+    public List<TransferRequest> findInMarket() {
+        return FirestoreFutures.await(findInMarketAsync(), new ArrayList<>(), TAG, "findInMarket");
     }
 
     @Override
-    public List<TransferRequest> findAll() {
-        CountDownLatch latch = new CountDownLatch(1);
-        List<TransferRequest> result = new ArrayList<>();
+    public long countByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(countByStatusAsync(status), -1L, TAG, "countByStatus");
+    }
 
-        db.collection(COLLECTION_NAME)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+    @Override
+    public double sumReleaseFeeByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(sumReleaseFeeByStatusAsync(status), -1.0, TAG, "sumReleaseFeeByStatus");
+    }
+
+    @Override
+    public boolean update(TransferRequest transferRequest) {
+        boolean success = FirestoreFutures.await(updateAsync(transferRequest), false, TAG, "update");
+        LOG.d("⚙ UPDATE RESULT: {}", success ? "SUCCESS" : "FAILED");
+        return success;
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<TransferRequest> saveAsync(TransferRequest transferRequest) {
+        CompletableFuture<Integer> idFuture = transferRequest.getId() != null
+                ? CompletableFuture.completedFuture(transferRequest.getId())
+                : idAllocator.nextIdAsync();
+
+        // Enrich with player and club names
+        return idFuture.thenCompose(id -> {
+            transferRequest.setId(id);
+            return enricher.enrich(transferRequest);
+        }).thenCompose(enriched -> {
+            Map<String, Object> data = transferRequestToMap(transferRequest);
+            String docId = documentKey(transferRequest.getId());
+
+            if (LOG.isDebugEnabled()) {
+                LOG.d("Saving transfer request: ID={}, PlayerId={}, SourceClubId={}, DestClubId={}, Status={}", transferRequest.getId(), transferRequest.getPlayerId(), transferRequest.getSourceClubId(), transferRequest.getDestinationClubId(), transferRequest.getStatus());
+            }
+
+            return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                            .document(docId)
+                            .set(data))
+                    .thenApply(aVoid -> {
+                        LOG.d("Transfer request saved successfully: {}", transferRequest.getId());
+                        return transferRequest;
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<TransferRequest> findByIdAsync(Integer id) {
+        String docId = documentKey(id);
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .document(docId))
+                .thenApply(documentSnapshot -> documentSnapshot.exists()
+                        ? documentToTransferRequest(documentSnapshot)
+                        : null);
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findAllAsync() {
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME))
+                .thenApply(querySnapshot -> {
+                    List<TransferRequest> result = new ArrayList<>();
                     for (DocumentSnapshot doc : querySnapshot) {
                         TransferRequest tr = documentToTransferRequest(doc);
                         if (tr != null) {
                             result.add(tr);
                         }
                     }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding all transfer requests", e);
-                    latch.countDown();
+                    return result;
                 });
+    }
 
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Interrupted while waiting", e);
-        }
-
-        return result;
+    @Override
+    public CompletableFuture<Page<TransferRequest>> findPageAsync(PageCursor after, int pageSize) {
+        return Paging.fetch(db.collection(COLLECTION_NAME), "id", after, pageSize, this::documentToTransferRequest);
     }
 
     @Override
-    public List<TransferRequest> findByPlayerId(Integer playerId) {
+    public CompletableFuture<List<TransferRequest>> findByPlayerIdAsync(Integer playerId) {
         return findByField("playerId", playerId);
     }
 
     @Override
-    public List<TransferRequest> findBySourceClubId(Integer clubId) {
+    public CompletableFuture<List<TransferRequest>> findBySourceClubIdAsync(Integer clubId) {
         return findByField("sourceClubId", clubId);
     }
 
     @Override
-    public List<TransferRequest> findByDestinationClubId(Integer clubId) {
+    public CompletableFuture<List<TransferRequest>> findByDestinationClubIdAsync(Integer clubId) {
         return findByField("destinationClubId", clubId);
     }
 
     @Override
-    public List<TransferRequest> findByStatus(TransferRequest.TransferStatus status) {
-        return findByField("status", status.name());
-    }
-
-    @Override
-    public List<TransferRequest> findInMarket() {
-        Log.d(TAG, "🔍 QUERY START - Finding transfers with status IN_MARKET");
-        List<TransferRequest> results = findByStatus(TransferRequest.TransferStatus.IN_MARKET);
-        Log.d(TAG, "🔍 QUERY RESULT - Found " + results.size() + " transfers in market");
-        
-        // Log details of each found transfer
-        for (int i = 0; i < results.size(); i++) {
-            TransferRequest tr = results.get(i);
-            Log.d(TAG, "  " + (i+1) + ". Player=" + tr.getPlayerName() + 
-                    ", Type=" + tr.getTransferType() + 
-                    ", SourceClub=" + tr.getSourceClubId() + 
-                    ", DestClub=" + tr.getDestinationClubId() +
-                    ", Fee=$" + tr.getReleaseFee());
-        }
-        
-        return results;
-    }
-
-    private List<TransferRequest> findByField(String fieldName, Object value) {
-        CountDownLatch latch = new CountDownLatch(1);
-        List<TransferRequest> result = new ArrayList<>();
-
-        Log.d(TAG, "Querying " + fieldName + " = " + value + " (type: " + (value != null ? value.getClass().getSimpleName() : "null") + ")");
-
-        db.collection(COLLECTION_NAME)
-                .whereEqualTo(fieldName, value)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    Log.d(TAG, "Found " + querySnapshot.size() + " documents for " + fieldName + " = " + value);
+    public CompletableFuture<List<TransferRequest>> findByClubInvolvementAsync(Integer clubId) {
+        return FirestoreFutures.read(clubInvolvementQuery(clubId))
+                .thenApply(querySnapshot -> {
+                    // An OR query returns each document once, even a request whose source and
+                    // destination are both this club, and every request has a single document
+                    List<TransferRequest> result = new ArrayList<>();
                     for (DocumentSnapshot doc : querySnapshot) {
-                        // Log raw data for debugging
-                        Object rawValue = doc.get(fieldName);
-                        Log.d(TAG, "  - Document " + doc.getId() + ": " + fieldName + " = " + rawValue + 
-                                " (type: " + (rawValue != null ? rawValue.getClass().getSimpleName() : "null") + ")");
-                        
                         TransferRequest tr = documentToTransferRequest(doc);
                         if (tr != null) {
-                            Log.d(TAG, "  - Transfer: Player=" + tr.getPlayerName() + ", SourceClub=" + tr.getSourceClubId() + ", Status=" + tr.getStatus());
                             result.add(tr);
                         }
                     }
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding by " + fieldName, e);
-                    latch.countDown();
+                    result.sort(TransferRequest.NEWEST_FIRST);
+                    LOG.d("Found {} transfers involving club {}", result.size(), clubId);
+                    return result;
                 });
+    }
 
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Interrupted while waiting", e);
-        }
+    @Override
+    public CompletableFuture<List<TransferRequest>> findByStatusAsync(TransferRequest.TransferStatus status) {
+        return findByField("status", status.name());
+    }
 
-        return result;
+    @Override
+    public CompletableFuture<List<TransferRequest>> findInMarketAsync() {
+        LOG.d("🔍 QUERY START - Finding transfers with status IN_MARKET");
+        return findByStatusAsync(TransferRequest.TransferStatus.IN_MARKET).thenApply(results -> {
+            LOG.d("🔍 QUERY RESULT - Found {} transfers in market", results.size());
+
+            // Log details of each found transfer
+            if (LOG.isVerboseEnabled()) {
+                for (int i = 0; i < results.size(); i++) {
+                    TransferRequest tr = results.get(i);
+                    LOG.v("  {}. Player={}, Type={}, SourceClub={}, DestClub={}, Fee=${}", i + 1, tr.getPlayerName(), tr.getTransferType(), tr.getSourceClubId(), tr.getDestinationClubId(), tr.getReleaseFee());
+                }
+            }
+
+            return results;
+        });
     }
 
     @Override
-    public boolean update(TransferRequest transferRequest) {
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<Boolean> result = new AtomicReference<>(false);
-
-        try {
-            Log.d(TAG, "⚙ UPDATE START - ID=" + transferRequest.getId() + 
-                    ", Status=" + transferRequest.getStatus() + 
-                    ", ReleaseFee=" + transferRequest.getReleaseFee());
-            
-            enrichTransferRequest(transferRequest);
-            Map<String, Object> data = transferRequestToMap(transferRequest);
-            String docId = "transfer_" + transferRequest.getId();
-            
-            // Log the exact data being saved to Firebase
-            Log.d(TAG, "⚙ Firebase document: " + docId);
-            Log.d(TAG, "⚙ Data map contains: status=" + data.get("status") + 
-                    ", releaseFee=" + data.get("releaseFee") + 
-                    ", transferType=" + data.get("transferType"));
-
-            db.collection(COLLECTION_NAME)
-                    .document(docId)
-                    .set(data)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "✓ UPDATE SUCCESS - Transfer " + transferRequest.getId() + 
-                                " saved with status=" + data.get("status"));
-                        result.set(true);
-                        latch.countDown();
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "✗ UPDATE FAILED - Transfer " + transferRequest.getId(), e);
-                        latch.countDown();
-                    });
+    public Subscription observeAll(ChangeListener<TransferRequest> listener) {
+        return LiveQuery.observe(db.collection(COLLECTION_NAME), this::documentToTransferRequest,
+                TransferRequest::getId, listener, TAG, "all");
+    }
 
-            latch.await();
-        } catch (Exception e) {
-            Log.e(TAG, "✗ EXCEPTION in update", e);
-        }
+    @Override
+    public Subscription observeByPlayerId(Integer playerId, ChangeListener<TransferRequest> listener) {
+        return observeByField("playerId", playerId, listener);
+    }
 
-        boolean success = result.get();
-        Log.d(TAG, "⚙ UPDATE RESULT: " + (success ? "SUCCESS" : "FAILED"));
-        return success;
+    @Override
+    public Subscription observeBySourceClubId(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return observeByField("sourceClubId", clubId, listener);
     }
 
     @Override
-    public boolean delete(Integer id) {
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<Boolean> result = new AtomicReference<>(false);
-
-        String docId = "transfer_" + id;
-        db.collection(COLLECTION_NAME)
-                .document(docId)
-                .delete()
-                .addOnSuccessListener(aVoid -> {
-                    Log.d(TAG, "Transfer request deleted: " + id);
-                    result.set(true);
-                    latch.countDown();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error deleting transfer request", e);
-                    latch.countDown();
-                });
+    public Subscription observeByDestinationClubId(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return observeByField("destinationClubId", clubId, listener);
+    }
 
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Log.e(TAG, "Interrupted while waiting", e);
-        }
-
-        return result.get();
-    }
-
-    private void enrichTransferRequest(TransferRequest transferRequest) {
-        Log.d(TAG, "Enriching transfer request - ID: " + transferRequest.getId() + ", PlayerId: " + transferRequest.getPlayerId());
-        
-        // Get player name
-        if (transferRequest.getPlayerId() != null) {
-            Player player = playerRepository.findById(transferRequest.getPlayerId());
-            if (player != null) {
-                transferRequest.setPlayerName(player.getName());
-                Log.d(TAG, "Enriched with player name: " + player.getName());
-            } else {
-                Log.w(TAG, "Player not found for ID: " + transferRequest.getPlayerId());
-            }
-        } else {
-            Log.w(TAG, "PlayerId is NULL in transfer request!");
-        }
-
-        // Get source club name
-        if (transferRequest.getSourceClubId() != null) {
-            Club sourceClub = clubRepository.findById(transferRequest.getSourceClubId());
-            if (sourceClub != null) {
-                transferRequest.setSourceClubName(sourceClub.getClubName());
-                Log.d(TAG, "Enriched with source club name: " + sourceClub.getClubName());
-            } else {
-                Log.w(TAG, "Source club not found for ID: " + transferRequest.getSourceClubId());
-            }
-        }
-
-        // Get destination club name
-        if (transferRequest.getDestinationClubId() != null) {
-            Club destClub = clubRepository.findById(transferRequest.getDestinationClubId());
-            if (destClub != null) {
-                transferRequest.setDestinationClubName(destClub.getClubName());
-                Log.d(TAG, "Enriched with destination club name: " + destClub.getClubName());
-            }
-        }
+    @Override
+    public Subscription observeByClubInvolvement(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return LiveQuery.observe(clubInvolvementQuery(clubId), this::documentToTransferRequest,
+                TransferRequest::getId, listener, TAG, "clubInvolvement=" + clubId);
     }
 
-    private Map<String, Object> transferRequestToMap(TransferRequest tr) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", tr.getId());
-        map.put("playerId", tr.getPlayerId());
-        map.put("sourceClubId", tr.getSourceClubId());
-        map.put("destinationClubId", tr.getDestinationClubId());
-        map.put("status", tr.getStatus() != null ? tr.getStatus().name() : null);
-        map.put("transferType", tr.getTransferType() != null ? tr.getTransferType().name() : null);
-        map.put("transferFee", tr.getTransferFee());
-        map.put("releaseFee", tr.getReleaseFee());
-        map.put("remarks", tr.getRemarks());
-        
-        // Store player and club names for easier querying
-        map.put("playerName", tr.getPlayerName());
-        map.put("sourceClubName", tr.getSourceClubName());
-        map.put("destinationClubName", tr.getDestinationClubName());
-
-        // Convert LocalDateTime to Firestore Timestamp
-        if (tr.getRequestDate() != null) {
-            map.put("requestDate", dateToTimestamp(tr.getRequestDate()));
-        }
-        if (tr.getApprovedBySourceDate() != null) {
-            map.put("approvedBySourceDate", dateToTimestamp(tr.getApprovedBySourceDate()));
-        }
-        if (tr.getCompletedDate() != null) {
-            map.put("completedDate", dateToTimestamp(tr.getCompletedDate()));
-        }
-
-        return map;
+    @Override
+    public Subscription observeInMarket(ChangeListener<TransferRequest> listener) {
+        return observeByField("status", TransferRequest.TransferStatus.IN_MARKET.name(), listener);
     }
 
-    private TransferRequest documentToTransferRequest(DocumentSnapshot doc) {
-        try {
-            TransferRequest tr = new TransferRequest();
-            tr.setId(doc.getLong("id") != null ? doc.getLong("id").intValue() : null);
-            tr.setPlayerId(doc.getLong("playerId") != null ? doc.getLong("playerId").intValue() : null);
-            tr.setSourceClubId(doc.getLong("sourceClubId") != null ? doc.getLong("sourceClubId").intValue() : null);
-            tr.setDestinationClubId(doc.getLong("destinationClubId") != null ? doc.getLong("destinationClubId").intValue() : null);
-            tr.setTransferFee(doc.getDouble("transferFee"));
-            tr.setReleaseFee(doc.getDouble("releaseFee"));
-            tr.setRemarks(doc.getString("remarks"));
-            
-            tr.setPlayerName(doc.getString("playerName"));
-            tr.setSourceClubName(doc.getString("sourceClubName"));
-            tr.setDestinationClubName(doc.getString("destinationClubName"));
-
-            String statusStr = doc.getString("status");
-            if (statusStr != null) {
-                tr.setStatus(TransferRequest.TransferStatus.valueOf(statusStr));
-            }
+    /**
+     * Requests from or to the club. Firestore serves the two equality filters from their
+     * single-field indexes, so no composite index is needed.
+     */
+    private Query clubInvolvementQuery(Integer clubId) {
+        return db.collection(COLLECTION_NAME).where(Filter.or(
+                Filter.equalTo("sourceClubId", clubId),
+                Filter.equalTo("destinationClubId", clubId)));
+    }
 
-            String transferTypeStr = doc.getString("transferType");
-            if (transferTypeStr != null) {
-                try {
-                    tr.setTransferType(TransferRequest.TransferType.valueOf(transferTypeStr));
-                } catch (IllegalArgumentException e) {
-                    Log.w(TAG, "Invalid transferType: " + transferTypeStr);
-                }
-            }
+    private Subscription observeByField(String fieldName, Object value, ChangeListener<TransferRequest> listener) {
+        return LiveQuery.observe(db.collection(COLLECTION_NAME).whereEqualTo(fieldName, value),
+                this::documentToTransferRequest, TransferRequest::getId, listener, TAG, fieldName + "=" + value);
+    }
+
+    @Override
+    public CompletableFuture<Long> countByStatusAsync(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.aggregate(db.collection(COLLECTION_NAME).whereEqualTo("status", status.name()).count())
+                .thenApply(AggregateQuerySnapshot::getCount);
+    }
+
+    @Override
+    public CompletableFuture<Double> sumReleaseFeeByStatusAsync(TransferRequest.TransferStatus status) {
+        AggregateField releaseFee = AggregateField.sum("releaseFee");
+        return FirestoreFutures.aggregate(db.collection(COLLECTION_NAME).whereEqualTo("status", status.name())
+                        .aggregate(releaseFee))
+                .thenApply(snapshot -> {
+                    Double sum = snapshot.getDouble(releaseFee);
+                    return sum != null ? sum : 0.0;
+                });
+    }
+
+    private CompletableFuture<List<TransferRequest>> findByField(String fieldName, Object value) {
+        LOG.d("Querying {} = {} (type: {})", fieldName, value, value != null ? value.getClass().getSimpleName() : "null");
+
+        return FirestoreFutures.read(db.collection(COLLECTION_NAME)
+                        .whereEqualTo(fieldName, value))
+                .thenApply(querySnapshot -> {
+                    LOG.d("Found {} documents for {} = {}", querySnapshot.size(), fieldName, value);
+                    List<TransferRequest> result = new ArrayList<>();
+                    for (DocumentSnapshot doc : querySnapshot) {
+                        // Log raw data for debugging
+                        if (LOG.isVerboseEnabled()) {
+                            Object rawValue = doc.get(fieldName);
+                            LOG.v("  - Document {}: {} = {} (type: {})", doc.getId(), fieldName, rawValue, rawValue != null ? rawValue.getClass().getSimpleName() : "null");
+                        }
+
+                        TransferRequest tr = documentToTransferRequest(doc);
+                        if (tr != null) {
+                            LOG.v("  - Transfer: Player={}, SourceClub={}, Status={}", tr.getPlayerName(), tr.getSourceClubId(), tr.getStatus());
+                            result.add(tr);
+                        }
+                    }
+                    return result;
+                });
+    }
 
-            tr.setRequestDate(timestampToDate(doc.getDate("requestDate")));
-            tr.setApprovedBySourceDate(timestampToDate(doc.getDate("approvedBySourceDate")));
-            tr.setCompletedDate(timestampToDate(doc.getDate("completedDate")));
+    @Override
+    public CompletableFuture<Boolean> updateAsync(TransferRequest transferRequest) {
+        LOG.d("⚙ UPDATE START - ID={}, Status={}, ReleaseFee={}", transferRequest.getId(), transferRequest.getStatus(), transferRequest.getReleaseFee());
 
-            return tr;
-        } catch (Exception e) {
-            Log.e(TAG, "Error converting document to TransferRequest", e);
-            return null;
-        }
+        return enricher.enrich(transferRequest).thenCompose(enriched -> {
+            Map<String, Object> data = transferRequestToMap(transferRequest);
+            String docId = documentKey(transferRequest.getId());
+
+            // Log the exact data being saved to Firebase
+            LOG.d("⚙ Firebase document: {}", docId);
+            LOG.d("⚙ Data map contains: status={}, releaseFee={}, transferType={}", data.get("status"), data.get("releaseFee"), data.get("transferType"));
+
+            return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                            .document(docId)
+                            .set(data))
+                    .thenApply(aVoid -> {
+                        LOG.d("✓ UPDATE SUCCESS - Transfer {} saved with status={}", transferRequest.getId(), data.get("status"));
+                        return true;
+                    });
+        });
     }
 
-    private Date dateToTimestamp(LocalDateTime localDateTime) {
-        if (localDateTime == null) return null;
-        return Date.from(localDateTime.atZone(ZoneId.systemDefault()).toInstant());
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(Integer id) {
+        String docId = documentKey(id);
+        return FirestoreFutures.write(() -> db.collection(COLLECTION_NAME)
+                        .document(docId)
+                        .delete())
+                .thenApply(aVoid -> {
+                    LOG.d("Transfer request deleted: {}", id);
+                    return true;
+                });
+    }
+
+    /**
+     * Document ID a transfer request is stored under.
+     */
+    public static String documentKey(Integer id) {
+        return "transfer_" + id;
     }
 
-    private LocalDateTime timestampToDate(Date date) {
-        if (date == null) return null;
-        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    private Map<String, Object> transferRequestToMap(TransferRequest tr) {
+        return TransferRequestMapper.toData(tr);
+    }
+
+    private TransferRequest documentToTransferRequest(DocumentSnapshot doc) {
+        return TransferRequestMapper.fromData(doc.getData());
     }
 }
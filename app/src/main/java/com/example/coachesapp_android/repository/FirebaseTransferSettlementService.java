@@ -0,0 +1,95 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.database.FirebasePlayerRepository;
+import com.example.coachesapp_android.database.FirestoreFutures;
+import com.example.coachesapp_android.database.KeyedDocuments;
+import com.example.coachesapp_android.database.RepositoryMetrics;
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.util.Logger;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.TransactionOptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Settles purchases in a Firestore transaction that reads the listing and the player, checks
+ * the listing is still for sale, then completes it and moves the player. If another buyer
+ * commits first, Firestore reruns the transaction, which then sees the listing as sold.
+ */
+public class FirebaseTransferSettlementService implements ITransferSettlementService {
+    private static final String TAG = "TransferSettlement";
+    private static final Logger LOG = Logger.forTag(TAG);
+    private static final String TRANSFERS_COLLECTION = "transferRequests";
+    private static final String PLAYERS_COLLECTION = "players";
+    // Runs of the transaction before Firestore gives up on a listing other buyers keep changing
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final FirebaseFirestore db;
+    private final TransactionOptions options;
+
+    public FirebaseTransferSettlementService() {
+        this.db = FirebaseFirestore.getInstance();
+        this.options = new TransactionOptions.Builder().setMaxAttempts(MAX_ATTEMPTS).build();
+    }
+
+    @Override
+    public SettlementOutcome completePurchase(int transferRequestId, int playerId, Club buyer, double fee) {
+        return FirestoreFutures.await(completePurchaseAsync(transferRequestId, playerId, buyer, fee),
+                SettlementOutcome.FAILED, TAG, "completePurchase");
+    }
+
+    @Override
+    public CompletableFuture<SettlementOutcome> completePurchaseAsync(int transferRequestId, int playerId, Club buyer, double fee) {
+        DocumentReference listing = db.collection(TRANSFERS_COLLECTION)
+                .document(FirebaseTransferRequestRepository.documentKey(transferRequestId));
+
+        // A transaction can only read documents by reference, and the player may still be stored
+        // under a pre-migration document ID, so its reference is looked up first
+        return KeyedDocuments.get(db.collection(PLAYERS_COLLECTION), FirebasePlayerRepository.documentKey(playerId), "id", playerId)
+                .thenCompose(player -> player == null
+                        ? CompletableFuture.completedFuture(SettlementOutcome.NOT_FOUND)
+                        : settle(listing, player.getReference(), playerId, buyer, fee))
+                .exceptionally(e -> {
+                    LOG.e("Purchase of transfer {} by club {} failed", transferRequestId, buyer.getId(), e);
+                    return SettlementOutcome.FAILED;
+                });
+    }
+
+    private CompletableFuture<SettlementOutcome> settle(DocumentReference listingRef, DocumentReference playerRef,
+                                                        int playerId, Club buyer, double fee) {
+        AtomicInteger attempts = new AtomicInteger();
+        // Transient failures are retried on top of Firestore's own contention retries. Rerunning
+        // a purchase that did commit is harmless: the check reports it as completed
+        return FirestoreFutures.write(() -> db.runTransaction(options, transaction -> {
+            if (attempts.incrementAndGet() > 1) {
+                RepositoryMetrics.getInstance().recordTransactionRetry();
+            }
+            // All reads come before any write, as Firestore transactions require
+            DocumentSnapshot listingDoc = transaction.get(listingRef);
+            DocumentSnapshot playerDoc = transaction.get(playerRef);
+            if (!listingDoc.exists() || !playerDoc.exists()) {
+                return SettlementOutcome.NOT_FOUND;
+            }
+            TransferRequest listing = TransferRequestMapper.fromData(listingDoc.getData());
+            if (listing == null) {
+                return SettlementOutcome.FAILED;
+            }
+            SettlementOutcome refusal = PurchaseRules.check(listing, playerId, buyer, fee);
+            if (refusal != null) {
+                return refusal;
+            }
+            PurchaseRules.complete(listing, buyer, fee);
+            transaction.set(listingRef, TransferRequestMapper.toData(listing));
+            transaction.update(playerRef, "clubId", buyer.getId());
+            return SettlementOutcome.COMPLETED;
+        })).whenComplete((outcome, e) -> {
+            if (LOG.isDebugEnabled()) {
+                LOG.d("Purchase of player {} by club {}: {} after {} attempt(s)", playerId, buyer.getId(), outcome, attempts.get());
+            }
+        });
+    }
+}
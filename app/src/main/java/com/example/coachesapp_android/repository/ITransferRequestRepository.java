@@ -1,7 +1,12 @@
 package com.example.coachesapp_android.repository;
 
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.Page;
+import com.example.coachesapp_android.database.PageCursor;
+import com.example.coachesapp_android.database.Subscription;
 import com.example.coachesapp_android.model.TransferRequest;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ITransferRequestRepository {
     /**
@@ -24,6 +29,14 @@ public interface ITransferRequestRepository {
      */
     List<TransferRequest> findAll();
 
+    /**
+     * Get one page of transfer requests, ordered by ID
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param pageSize Maximum number of transfer requests to return
+     * @return The page, with a cursor for the next one if more remain
+     */
+    Page<TransferRequest> findPage(PageCursor after, int pageSize);
+
     /**
      * Get all transfer requests by player ID
      * @param playerId The player ID
@@ -45,6 +58,13 @@ public interface ITransferRequestRepository {
      */
     List<TransferRequest> findByDestinationClubId(Integer clubId);
 
+    /**
+     * Get all transfer requests from or to a club, each once, in one query
+     * @param clubId The source or destination club ID
+     * @return List of transfer requests involving the club, newest first
+     */
+    List<TransferRequest> findByClubInvolvement(Integer clubId);
+
     /**
      * Get all transfer requests with a specific status
      * @param status The transfer status
@@ -58,6 +78,21 @@ public interface ITransferRequestRepository {
      */
     List<TransferRequest> findInMarket();
 
+    /**
+     * Count transfer requests with a specific status on the server, without reading them
+     * @param status The transfer status
+     * @return Number of transfer requests with that status, or -1 if the count failed
+     */
+    long countByStatus(TransferRequest.TransferStatus status);
+
+    /**
+     * Sum the release fees of transfer requests with a specific status on the server, without
+     * reading them. Requests without a release fee are skipped.
+     * @param status The transfer status
+     * @return Total release fee, or -1 if the sum failed
+     */
+    double sumReleaseFeeByStatus(TransferRequest.TransferStatus status);
+
     /**
      * Update a transfer request
      * @param transferRequest The transfer request to update
@@ -71,4 +106,149 @@ public interface ITransferRequestRepository {
      * @return true if successful, false otherwise
      */
     boolean delete(Integer id);
+
+    /**
+     * Asynchronous variant of {@link #save(TransferRequest)}
+     * @param transferRequest The transfer request to save
+     * @return Future completing with the saved transfer request, or failing if the write failed
+     */
+    CompletableFuture<TransferRequest> saveAsync(TransferRequest transferRequest);
+
+    /**
+     * Asynchronous variant of {@link #findById(Integer)}
+     * @param id The ID of the transfer request
+     * @return Future completing with the transfer request, or null if not found
+     */
+    CompletableFuture<TransferRequest> findByIdAsync(Integer id);
+
+    /**
+     * Asynchronous variant of {@link #findAll()}
+     * @return Future completing with all transfer requests
+     */
+    CompletableFuture<List<TransferRequest>> findAllAsync();
+
+    /**
+     * Asynchronous variant of {@link #findPage(PageCursor, int)}
+     * @param after Cursor returned with the previous page, or null for the first page
+     * @param pageSize Maximum number of transfer requests to return
+     * @return Future completing with the page
+     */
+    CompletableFuture<Page<TransferRequest>> findPageAsync(PageCursor after, int pageSize);
+
+    /**
+     * Asynchronous variant of {@link #findByPlayerId(Integer)}
+     * @param playerId The player ID
+     * @return Future completing with the transfer requests for the player
+     */
+    CompletableFuture<List<TransferRequest>> findByPlayerIdAsync(Integer playerId);
+
+    /**
+     * Asynchronous variant of {@link #findBySourceClubId(Integer)}
+     * @param clubId The source club ID
+     * @return Future completing with the transfer requests from the club
+     */
+    CompletableFuture<List<TransferRequest>> findBySourceClubIdAsync(Integer clubId);
+
+    /**
+     * Asynchronous variant of {@link #findByDestinationClubId(Integer)}
+     * @param clubId The destination club ID
+     * @return Future completing with the transfer requests to the club
+     */
+    CompletableFuture<List<TransferRequest>> findByDestinationClubIdAsync(Integer clubId);
+
+    /**
+     * Asynchronous variant of {@link #findByClubInvolvement(Integer)}
+     * @param clubId The source or destination club ID
+     * @return Future completing with the transfer requests involving the club, newest first
+     */
+    CompletableFuture<List<TransferRequest>> findByClubInvolvementAsync(Integer clubId);
+
+    /**
+     * Asynchronous variant of {@link #findByStatus(TransferRequest.TransferStatus)}
+     * @param status The transfer status
+     * @return Future completing with the transfer requests with that status
+     */
+    CompletableFuture<List<TransferRequest>> findByStatusAsync(TransferRequest.TransferStatus status);
+
+    /**
+     * Asynchronous variant of {@link #findInMarket()}
+     * @return Future completing with the transfer requests in the market
+     */
+    CompletableFuture<List<TransferRequest>> findInMarketAsync();
+
+    /**
+     * Asynchronous variant of {@link #countByStatus(TransferRequest.TransferStatus)}
+     * @param status The transfer status
+     * @return Future completing with the number of transfer requests with that status
+     */
+    CompletableFuture<Long> countByStatusAsync(TransferRequest.TransferStatus status);
+
+    /**
+     * Asynchronous variant of {@link #sumReleaseFeeByStatus(TransferRequest.TransferStatus)}
+     * @param status The transfer status
+     * @return Future completing with the total release fee
+     */
+    CompletableFuture<Double> sumReleaseFeeByStatusAsync(TransferRequest.TransferStatus status);
+
+    /**
+     * Asynchronous variant of {@link #update(TransferRequest)}
+     * @param transferRequest The transfer request to update
+     * @return Future completing with true once the update is written
+     */
+    CompletableFuture<Boolean> updateAsync(TransferRequest transferRequest);
+
+    /**
+     * Asynchronous variant of {@link #delete(Integer)}
+     * @param id The ID of the transfer request to delete
+     * @return Future completing with true once the document is deleted
+     */
+    CompletableFuture<Boolean> deleteAsync(Integer id);
+
+    /**
+     * Live variant of {@link #findAll()}
+     * @param listener Receives the current transfer requests, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeAll(ChangeListener<TransferRequest> listener);
+
+    /**
+     * Live variant of {@link #findByPlayerId(Integer)}
+     * @param playerId The player ID
+     * @param listener Receives the player's transfer requests, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeByPlayerId(Integer playerId, ChangeListener<TransferRequest> listener);
+
+    /**
+     * Live variant of {@link #findBySourceClubId(Integer)}
+     * @param clubId The source club ID
+     * @param listener Receives the transfer requests from the club, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeBySourceClubId(Integer clubId, ChangeListener<TransferRequest> listener);
+
+    /**
+     * Live variant of {@link #findByDestinationClubId(Integer)}
+     * @param clubId The destination club ID
+     * @param listener Receives the transfer requests to the club, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeByDestinationClubId(Integer clubId, ChangeListener<TransferRequest> listener);
+
+    /**
+     * Live variant of {@link #findByClubInvolvement(Integer)}. Each request is reported once,
+     * and removed only once it involves the club on neither side.
+     * @param clubId The source or destination club ID
+     * @param listener Receives the transfer requests involving the club, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeByClubInvolvement(Integer clubId, ChangeListener<TransferRequest> listener);
+
+    /**
+     * Live variant of {@link #findInMarket()}. A request that leaves the market (e.g. completed)
+     * is reported as removed.
+     * @param listener Receives the transfer requests in the market, then every change to them
+     * @return Subscription to cancel when the caller stops observing
+     */
+    Subscription observeInMarket(ChangeListener<TransferRequest> listener);
 }
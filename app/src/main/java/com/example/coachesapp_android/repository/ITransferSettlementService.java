@@ -0,0 +1,28 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.model.Club;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completes market purchases. Checking that the listing is still for sale at the agreed fee,
+ * completing it and moving the player to the buyer happen atomically, so two managers buying
+ * the same player cannot both succeed and a purchase is never half applied.
+ */
+public interface ITransferSettlementService {
+    /**
+     * Buy a listing in the transfer market
+     * @param transferRequestId The market listing
+     * @param playerId The player the buyer saw on the listing
+     * @param buyer The buying club
+     * @param fee The release fee the buyer agreed to; recorded as the transfer fee
+     * @return How the purchase ended
+     */
+    SettlementOutcome completePurchase(int transferRequestId, int playerId, Club buyer, double fee);
+
+    /**
+     * Asynchronous variant of {@link #completePurchase(int, int, Club, double)}
+     * @return Future completing with how the purchase ended; it does not fail
+     */
+    CompletableFuture<SettlementOutcome> completePurchaseAsync(int transferRequestId, int playerId, Club buyer, double fee);
+}
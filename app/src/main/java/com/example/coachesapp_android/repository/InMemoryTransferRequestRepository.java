@@ -0,0 +1,270 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.database.ChangeListener;
+import com.example.coachesapp_android.database.EntityChange;
+import com.example.coachesapp_android.database.FirestoreFutures;
+import com.example.coachesapp_android.database.IClubRepository;
+import com.example.coachesapp_android.database.IPlayerRepository;
+import com.example.coachesapp_android.database.InMemoryIndex;
+import com.example.coachesapp_android.database.InMemoryTable;
+import com.example.coachesapp_android.database.Page;
+import com.example.coachesapp_android.database.PageCursor;
+import com.example.coachesapp_android.database.Subscription;
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class InMemoryTransferRequestRepository implements ITransferRequestRepository {
+    private static final String TAG = "InMemoryTransferRepo";
+
+    private final InMemoryTable<TransferRequest> transfers;
+    private final InMemoryIndex<Integer> byPlayerId;
+    private final InMemoryIndex<Integer> bySourceClubId;
+    private final InMemoryIndex<Integer> byDestinationClubId;
+    private final InMemoryIndex<TransferRequest.TransferStatus> byStatus;
+    private final TransferRequestEnricher enricher;
+
+    public InMemoryTransferRequestRepository(IPlayerRepository playerRepository, IClubRepository clubRepository,
+                                             Executor callbackExecutor) {
+        this.transfers = new InMemoryTable<>(TransferRequest::getId, InMemoryTransferRequestRepository::copyOf, callbackExecutor);
+        this.byPlayerId = transfers.index(TransferRequest::getPlayerId);
+        this.bySourceClubId = transfers.index(TransferRequest::getSourceClubId);
+        this.byDestinationClubId = transfers.index(TransferRequest::getDestinationClubId);
+        this.byStatus = transfers.index(TransferRequest::getStatus);
+        this.enricher = new TransferRequestEnricher(playerRepository, clubRepository);
+        // Stands in for the Firestore player repository, which updates the snapshot on market
+        // listings in the batch that saves the player
+        playerRepository.observeAll(this::refreshPlayerSnapshots);
+    }
+
+    @Override
+    public TransferRequest save(TransferRequest transferRequest) {
+        return FirestoreFutures.await(saveAsync(transferRequest), null, TAG, "save");
+    }
+
+    @Override
+    public TransferRequest findById(Integer id) {
+        return FirestoreFutures.await(findByIdAsync(id), null, TAG, "findById");
+    }
+
+    @Override
+    public List<TransferRequest> findAll() {
+        return FirestoreFutures.await(findAllAsync(), new ArrayList<>(), TAG, "findAll");
+    }
+
+    @Override
+    public Page<TransferRequest> findPage(PageCursor after, int pageSize) {
+        return FirestoreFutures.await(findPageAsync(after, pageSize), new Page<>(new ArrayList<>(), null), TAG, "findPage");
+    }
+
+    @Override
+    public List<TransferRequest> findByPlayerId(Integer playerId) {
+        return FirestoreFutures.await(findByPlayerIdAsync(playerId), new ArrayList<>(), TAG, "findByPlayerId");
+    }
+
+    @Override
+    public List<TransferRequest> findBySourceClubId(Integer clubId) {
+        return FirestoreFutures.await(findBySourceClubIdAsync(clubId), new ArrayList<>(), TAG, "findBySourceClubId");
+    }
+
+    @Override
+    public List<TransferRequest> findByDestinationClubId(Integer clubId) {
+        return FirestoreFutures.await(findByDestinationClubIdAsync(clubId), new ArrayList<>(), TAG, "findByDestinationClubId");
+    }
+
+    @Override
+    public List<TransferRequest> findByClubInvolvement(Integer clubId) {
+        return FirestoreFutures.await(findByClubInvolvementAsync(clubId), new ArrayList<>(), TAG, "findByClubInvolvement");
+    }
+
+    @Override
+    public List<TransferRequest> findByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(findByStatusAsync(status), new ArrayList<>(), TAG, "findByStatus");
+    }
+
+    @Override
+    public List<TransferRequest> findInMarket() {
+        return FirestoreFutures.await(findInMarketAsync(), new ArrayList<>(), TAG, "findInMarket");
+    }
+
+    @Override
+    public long countByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(countByStatusAsync(status), -1L, TAG, "countByStatus");
+    }
+
+    @Override
+    public double sumReleaseFeeByStatus(TransferRequest.TransferStatus status) {
+        return FirestoreFutures.await(sumReleaseFeeByStatusAsync(status), -1.0, TAG, "sumReleaseFeeByStatus");
+    }
+
+    @Override
+    public boolean update(TransferRequest transferRequest) {
+        return FirestoreFutures.await(updateAsync(transferRequest), false, TAG, "update");
+    }
+
+    @Override
+    public boolean delete(Integer id) {
+        return FirestoreFutures.await(deleteAsync(id), false, TAG, "delete");
+    }
+
+    @Override
+    public CompletableFuture<TransferRequest> saveAsync(TransferRequest transferRequest) {
+        if (transferRequest.getId() == null) {
+            transferRequest.setId(transfers.nextId());
+        }
+        return enricher.enrich(transferRequest).thenApply(enriched -> {
+            transfers.put(enriched);
+            return enriched;
+        });
+    }
+
+    @Override
+    public CompletableFuture<TransferRequest> findByIdAsync(Integer id) {
+        return CompletableFuture.completedFuture(id != null ? transfers.get(id) : null);
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findAllAsync() {
+        return CompletableFuture.completedFuture(transfers.all());
+    }
+
+    @Override
+    public CompletableFuture<Page<TransferRequest>> findPageAsync(PageCursor after, int pageSize) {
+        return CompletableFuture.completedFuture(transfers.page(TransferRequest::getId,
+                transferRequest -> "transfer_" + transferRequest.getId(), after, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findByPlayerIdAsync(Integer playerId) {
+        return CompletableFuture.completedFuture(transfers.where(byPlayerId, playerId));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findBySourceClubIdAsync(Integer clubId) {
+        return CompletableFuture.completedFuture(transfers.where(bySourceClubId, clubId));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findByDestinationClubIdAsync(Integer clubId) {
+        return CompletableFuture.completedFuture(transfers.where(byDestinationClubId, clubId));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findByClubInvolvementAsync(Integer clubId) {
+        Map<Integer, TransferRequest> byId = new HashMap<>();
+        for (TransferRequest transferRequest : transfers.where(bySourceClubId, clubId)) {
+            byId.put(transferRequest.getId(), transferRequest);
+        }
+        for (TransferRequest transferRequest : transfers.where(byDestinationClubId, clubId)) {
+            byId.putIfAbsent(transferRequest.getId(), transferRequest);
+        }
+        List<TransferRequest> result = new ArrayList<>(byId.values());
+        result.sort(TransferRequest.NEWEST_FIRST);
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findByStatusAsync(TransferRequest.TransferStatus status) {
+        return CompletableFuture.completedFuture(transfers.where(byStatus, status));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferRequest>> findInMarketAsync() {
+        return findByStatusAsync(TransferRequest.TransferStatus.IN_MARKET);
+    }
+
+    @Override
+    public CompletableFuture<Long> countByStatusAsync(TransferRequest.TransferStatus status) {
+        return CompletableFuture.completedFuture((long) transfers.count(byStatus, status));
+    }
+
+    @Override
+    public CompletableFuture<Double> sumReleaseFeeByStatusAsync(TransferRequest.TransferStatus status) {
+        return CompletableFuture.completedFuture(transfers.sum(byStatus, status, TransferRequest::getReleaseFee));
+    }
+
+    private void refreshPlayerSnapshots(List<EntityChange<Player>> changes) {
+        for (EntityChange<Player> change : changes) {
+            if (change.getType() == EntityChange.Type.MODIFIED) {
+                transfers.updateWhere(byPlayerId, change.getId(),
+                        transferRequest -> transferRequest.getStatus() == TransferRequest.TransferStatus.IN_MARKET,
+                        transferRequest -> TransferRequestEnricher.applyPlayerSnapshot(transferRequest, change.getEntity()));
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAsync(TransferRequest transferRequest) {
+        if (transferRequest.getId() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return saveAsync(transferRequest).thenApply(saved -> saved != null);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(Integer id) {
+        return CompletableFuture.completedFuture(id != null && transfers.remove(id));
+    }
+
+    @Override
+    public Subscription observeAll(ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest -> true, listener);
+    }
+
+    @Override
+    public Subscription observeByPlayerId(Integer playerId, ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest -> Objects.equals(transferRequest.getPlayerId(), playerId), listener);
+    }
+
+    @Override
+    public Subscription observeByClubInvolvement(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest -> Objects.equals(transferRequest.getSourceClubId(), clubId)
+                || Objects.equals(transferRequest.getDestinationClubId(), clubId), listener);
+    }
+
+    @Override
+    public Subscription observeBySourceClubId(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest -> Objects.equals(transferRequest.getSourceClubId(), clubId), listener);
+    }
+
+    @Override
+    public Subscription observeByDestinationClubId(Integer clubId, ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest -> Objects.equals(transferRequest.getDestinationClubId(), clubId), listener);
+    }
+
+    @Override
+    public Subscription observeInMarket(ChangeListener<TransferRequest> listener) {
+        return transfers.observe(transferRequest ->
+                transferRequest.getStatus() == TransferRequest.TransferStatus.IN_MARKET, listener);
+    }
+
+    private static TransferRequest copyOf(TransferRequest transferRequest) {
+        TransferRequest copy = new TransferRequest();
+        copy.setId(transferRequest.getId());
+        copy.setPlayerId(transferRequest.getPlayerId());
+        copy.setSourceClubId(transferRequest.getSourceClubId());
+        copy.setDestinationClubId(transferRequest.getDestinationClubId());
+        copy.setStatus(transferRequest.getStatus());
+        copy.setTransferType(transferRequest.getTransferType());
+        copy.setTransferFee(transferRequest.getTransferFee());
+        copy.setReleaseFee(transferRequest.getReleaseFee());
+        copy.setRequestDate(transferRequest.getRequestDate());
+        copy.setApprovedBySourceDate(transferRequest.getApprovedBySourceDate());
+        copy.setCompletedDate(transferRequest.getCompletedDate());
+        copy.setRemarks(transferRequest.getRemarks());
+        copy.setPlayerName(transferRequest.getPlayerName());
+        copy.setSourceClubName(transferRequest.getSourceClubName());
+        copy.setDestinationClubName(transferRequest.getDestinationClubName());
+        copy.setPlayerPosition(transferRequest.getPlayerPosition());
+        copy.setPlayerAge(transferRequest.getPlayerAge());
+        copy.setPlayerJersey(transferRequest.getPlayerJersey());
+        return copy;
+    }
+}
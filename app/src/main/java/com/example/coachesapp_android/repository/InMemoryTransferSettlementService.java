@@ -0,0 +1,50 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.database.IPlayerRepository;
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Settles purchases against the in-memory repositories. Settlements run one at a time, which
+ * stands in for the Firestore transaction.
+ */
+public class InMemoryTransferSettlementService implements ITransferSettlementService {
+    private final ITransferRequestRepository transferRequestRepository;
+    private final IPlayerRepository playerRepository;
+    private final Object lock = new Object();
+
+    public InMemoryTransferSettlementService(ITransferRequestRepository transferRequestRepository,
+                                             IPlayerRepository playerRepository) {
+        this.transferRequestRepository = transferRequestRepository;
+        this.playerRepository = playerRepository;
+    }
+
+    @Override
+    public SettlementOutcome completePurchase(int transferRequestId, int playerId, Club buyer, double fee) {
+        synchronized (lock) {
+            TransferRequest listing = transferRequestRepository.findById(transferRequestId);
+            Player player = playerRepository.findById(playerId);
+            if (listing == null || player == null) {
+                return SettlementOutcome.NOT_FOUND;
+            }
+            SettlementOutcome refusal = PurchaseRules.check(listing, playerId, buyer, fee);
+            if (refusal != null) {
+                return refusal;
+            }
+            PurchaseRules.complete(listing, buyer, fee);
+            player.setClubId(buyer.getId());
+            if (!transferRequestRepository.update(listing) || !playerRepository.update(player)) {
+                return SettlementOutcome.FAILED;
+            }
+            return SettlementOutcome.COMPLETED;
+        }
+    }
+
+    @Override
+    public CompletableFuture<SettlementOutcome> completePurchaseAsync(int transferRequestId, int playerId, Club buyer, double fee) {
+        return CompletableFuture.completedFuture(completePurchase(transferRequestId, playerId, buyer, fee));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * The checks and changes of a market purchase, shared by the settlement services. Applied to
+ * the listing as it is read inside the transaction, never to a copy the screen loaded earlier.
+ */
+final class PurchaseRules {
+
+    private PurchaseRules() {
+    }
+
+    /**
+     * @return why {@code buyer} cannot buy {@code listing} for {@code fee}, or null if it can
+     */
+    static SettlementOutcome check(TransferRequest listing, int playerId, Club buyer, double fee) {
+        if (listing.getStatus() == TransferRequest.TransferStatus.COMPLETED
+                && Objects.equals(listing.getDestinationClubId(), buyer.getId())
+                && Objects.equals(listing.getPlayerId(), playerId)) {
+            // An earlier attempt of this purchase was applied but its reply was lost
+            return SettlementOutcome.COMPLETED;
+        }
+        if (listing.getStatus() != TransferRequest.TransferStatus.IN_MARKET
+                || !Objects.equals(listing.getPlayerId(), playerId)
+                || Objects.equals(listing.getSourceClubId(), buyer.getId())) {
+            return SettlementOutcome.NOT_AVAILABLE;
+        }
+        if (listing.getTransferType() == TransferRequest.TransferType.DIRECT_CLUB
+                && !Objects.equals(listing.getDestinationClubId(), buyer.getId())) {
+            return SettlementOutcome.NOT_AVAILABLE;
+        }
+        double listedFee = listing.getReleaseFee() != null ? listing.getReleaseFee() : 0.0;
+        if (Double.compare(listedFee, fee) != 0) {
+            return SettlementOutcome.PRICE_CHANGED;
+        }
+        return null;
+    }
+
+    /**
+     * Completes {@code listing} as bought by {@code buyer}, recording {@code fee}.
+     */
+    static void complete(TransferRequest listing, Club buyer, double fee) {
+        listing.setDestinationClubId(buyer.getId());
+        listing.setDestinationClubName(buyer.getClubName());
+        listing.setTransferFee(fee);
+        listing.setStatus(TransferRequest.TransferStatus.COMPLETED);
+        listing.setCompletedDate(LocalDateTime.now());
+    }
+}
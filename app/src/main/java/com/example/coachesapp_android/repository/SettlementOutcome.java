@@ -0,0 +1,17 @@
+package com.example.coachesapp_android.repository;
+
+/**
+ * How an attempt to buy a market listing ended.
+ */
+public enum SettlementOutcome {
+    /** The listing is completed and the player now belongs to the buying club. */
+    COMPLETED,
+    /** Someone else bought the listing first, or it was withdrawn or is reserved for another club. */
+    NOT_AVAILABLE,
+    /** The release fee changed after the buyer saw it; nothing was written. */
+    PRICE_CHANGED,
+    /** The listing or its player no longer exists. */
+    NOT_FOUND,
+    /** The backend could not be reached or kept conflicting; nothing was written. */
+    FAILED
+}
@@ -0,0 +1,91 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.database.IClubRepository;
+import com.example.coachesapp_android.database.IPlayerRepository;
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fills in the player snapshot and club names a transfer request is stored with. The three
+ * lookups run concurrently, and a failed lookup leaves its fields unset rather than failing
+ * the save.
+ */
+class TransferRequestEnricher {
+    private static final String TAG = "TransferRequestRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private final IPlayerRepository playerRepository;
+    private final IClubRepository clubRepository;
+
+    TransferRequestEnricher(IPlayerRepository playerRepository, IClubRepository clubRepository) {
+        this.playerRepository = playerRepository;
+        this.clubRepository = clubRepository;
+    }
+
+    CompletableFuture<TransferRequest> enrich(TransferRequest transferRequest) {
+        LOG.d("Enriching transfer request - ID: {}, PlayerId: {}", transferRequest.getId(), transferRequest.getPlayerId());
+
+        CompletableFuture<Player> playerFuture;
+        if (transferRequest.getPlayerId() != null) {
+            playerFuture = lookup(playerRepository.findByIdAsync(transferRequest.getPlayerId()), "player");
+        } else {
+            LOG.w("PlayerId is NULL in transfer request!");
+            playerFuture = CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Club> sourceClubFuture = transferRequest.getSourceClubId() != null
+                ? lookup(clubRepository.findByIdAsync(transferRequest.getSourceClubId()), "source club")
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Club> destClubFuture = transferRequest.getDestinationClubId() != null
+                ? lookup(clubRepository.findByIdAsync(transferRequest.getDestinationClubId()), "destination club")
+                : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(playerFuture, sourceClubFuture, destClubFuture).thenApply(ignored -> {
+            // Get player name
+            Player player = playerFuture.join();
+            if (player != null) {
+                applyPlayerSnapshot(transferRequest, player);
+                LOG.d("Enriched with player name: {}", player.getName());
+            } else if (transferRequest.getPlayerId() != null) {
+                LOG.w("Player not found for ID: {}", transferRequest.getPlayerId());
+            }
+
+            // Get source club name
+            Club sourceClub = sourceClubFuture.join();
+            if (sourceClub != null) {
+                transferRequest.setSourceClubName(sourceClub.getClubName());
+                LOG.d("Enriched with source club name: {}", sourceClub.getClubName());
+            } else if (transferRequest.getSourceClubId() != null) {
+                LOG.w("Source club not found for ID: {}", transferRequest.getSourceClubId());
+            }
+
+            // Get destination club name
+            Club destClub = destClubFuture.join();
+            if (destClub != null) {
+                transferRequest.setDestinationClubName(destClub.getClubName());
+                LOG.d("Enriched with destination club name: {}", destClub.getClubName());
+            }
+            return transferRequest;
+        });
+    }
+
+    /**
+     * Copies what a market listing shows of the player onto the request.
+     */
+    static void applyPlayerSnapshot(TransferRequest transferRequest, Player player) {
+        transferRequest.setPlayerName(player.getName());
+        transferRequest.setPlayerPosition(player.getPosition());
+        transferRequest.setPlayerAge(player.getAge());
+        transferRequest.setPlayerJersey(player.getJersey());
+    }
+
+    private <T> CompletableFuture<T> lookup(CompletableFuture<T> future, String what) {
+        return future.exceptionally(e -> {
+            LOG.e("Error looking up {} for enrichment", what, e);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.model.TransferRequestCodec;
+import com.example.coachesapp_android.util.Logger;
+
+import java.util.Map;
+
+/**
+ * Converts transfer requests to and from their Firestore document fields.
+ */
+public final class TransferRequestMapper {
+    private static final String TAG = "TransferRequestRepo";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private TransferRequestMapper() {
+    }
+
+    public static Map<String, Object> toData(TransferRequest tr) {
+        return TransferRequestCodec.encode(tr);
+    }
+
+    /**
+     * @return the transfer request, or null if the document cannot be read
+     */
+    public static TransferRequest fromData(Map<String, Object> data) {
+        try {
+            return TransferRequestCodec.decode(data);
+        } catch (Exception e) {
+            LOG.e("Error converting document to TransferRequest", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.coachesapp_android.util;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.widget.Toast;
+
+import com.example.coachesapp_android.R;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide executors. Use {@link #io()} for repository calls, {@link #cpu()} for in-memory work
+ * such as building reports, and {@link #mainThread()} to deliver results to the UI.
+ */
+public class AppExecutors {
+    private static final String TAG = "AppExecutors";
+    private static final Logger LOG = Logger.forTag(TAG);
+
+    private static final int IO_THREADS = 4;
+    private static final int IO_QUEUE_CAPACITY = 64;
+    private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int CPU_THREADS = Math.max(2, Math.min(CPU_COUNT - 1, 4));
+    private static final int CPU_QUEUE_CAPACITY = 32;
+
+    private static AppExecutors instance;
+
+    private final Lane io;
+    private final Lane cpu;
+    private final MainThreadExecutor mainThread;
+
+    private AppExecutors() {
+        this.io = new Lane("io", IO_THREADS, IO_QUEUE_CAPACITY);
+        this.cpu = new Lane("cpu", CPU_THREADS, CPU_QUEUE_CAPACITY);
+        this.mainThread = new MainThreadExecutor();
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    public Lane io() {
+        return io;
+    }
+
+    public Lane cpu() {
+        return cpu;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * A rejection handler for {@link Lane#execute(Runnable, Runnable)} that tells the user to try
+     * again, after {@code undo} has reset whatever the screen set up for the work (e.g. hid a
+     * progress bar).
+     */
+    public static Runnable busyToast(Context context, Runnable undo) {
+        return () -> {
+            undo.run();
+            Toast.makeText(context, R.string.app_busy, Toast.LENGTH_SHORT).show();
+        };
+    }
+
+    public static Runnable busyToast(Context context) {
+        return busyToast(context, () -> { });
+    }
+
+    /**
+     * Logs queue depth and latency for every lane.
+     */
+    public void logStats() {
+        LOG.d("{}", io.getStats());
+        LOG.d("{}", cpu.getStats());
+    }
+
+    /**
+     * A fixed-size pool with a bounded queue, so the backlog cannot grow without limit. Work
+     * submitted while the queue is full runs on the submitting thread instead, which slows a
+     * background producer down to the lane's pace. The main thread must not block, so work it
+     * submits to a full lane is rejected back to it: {@link #execute(Runnable)} throws
+     * {@link RejectedExecutionException}, and {@link #execute(Runnable, Runnable)} runs the
+     * caller's rejection handler.
+     */
+    public static class Lane implements Executor {
+        private final String name;
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong totalWaitMs = new AtomicLong();
+        private final AtomicLong maxWaitMs = new AtomicLong();
+        private final AtomicLong totalRunMs = new AtomicLong();
+
+        Lane(String name, int threads, int queueCapacity) {
+            this.name = name;
+            this.executor = new ThreadPoolExecutor(
+                    threads, threads,
+                    30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    new NamedThreadFactory(name));
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!offer(command)) {
+                throw new RejectedExecutionException("The " + name + " lane is full");
+            }
+        }
+
+        /**
+         * Runs {@code command} on the lane, or {@code onRejected} on the calling main thread if the
+         * lane is full, so a screen can undo what it set up for the work.
+         */
+        public void execute(Runnable command, Runnable onRejected) {
+            if (!offer(command)) {
+                onRejected.run();
+            }
+        }
+
+        /**
+         * @return false if the lane is full and the caller is the main thread; the command has not
+         * run and will not run
+         */
+        private boolean offer(Runnable command) {
+            long enqueuedAt = SystemClock.elapsedRealtime();
+            try {
+                executor.execute(() -> {
+                    long startedAt = SystemClock.elapsedRealtime();
+                    long waitMs = startedAt - enqueuedAt;
+                    totalWaitMs.addAndGet(waitMs);
+                    maxWaitMs.accumulateAndGet(waitMs, Math::max);
+                    try {
+                        command.run();
+                    } finally {
+                        totalRunMs.addAndGet(SystemClock.elapsedRealtime() - startedAt);
+                        completed.incrementAndGet();
+                    }
+                });
+                submitted.incrementAndGet();
+                return true;
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                if (Looper.getMainLooper().isCurrentThread()) {
+                    LOG.w("Rejected task from the main thread, {} lane is full", name);
+                    return false;
+                }
+                LOG.w("Running task on the caller's thread, {} lane is full", name);
+                command.run();
+                return true;
+            }
+        }
+
+        public int getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        public Stats getStats() {
+            return new Stats(name, executor.getQueue().size(), executor.getActiveCount(),
+                    submitted.get(), completed.get(), rejected.get(),
+                    totalWaitMs.get(), maxWaitMs.get(), totalRunMs.get());
+        }
+    }
+
+    /**
+     * Point-in-time counters for a lane.
+     */
+    public static class Stats {
+        public final String lane;
+        public final int queueDepth;
+        public final int activeThreads;
+        public final long submitted;
+        public final long completed;
+        public final long rejected;
+        public final long totalWaitMs;
+        public final long maxWaitMs;
+        public final long totalRunMs;
+
+        Stats(String lane, int queueDepth, int activeThreads, long submitted, long completed,
+              long rejected, long totalWaitMs, long maxWaitMs, long totalRunMs) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.activeThreads = activeThreads;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.rejected = rejected;
+            this.totalWaitMs = totalWaitMs;
+            this.maxWaitMs = maxWaitMs;
+            this.totalRunMs = totalRunMs;
+        }
+
+        public long getAverageWaitMs() {
+            return completed > 0 ? totalWaitMs / completed : 0;
+        }
+
+        public long getAverageRunMs() {
+            return completed > 0 ? totalRunMs / completed : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Lane " + lane +
+                    ": queued=" + queueDepth +
+                    ", active=" + activeThreads +
+                    ", submitted=" + submitted +
+                    ", completed=" + completed +
+                    ", rejected=" + rejected +
+                    ", avgWaitMs=" + getAverageWaitMs() +
+                    ", maxWaitMs=" + maxWaitMs +
+                    ", avgRunMs=" + getAverageRunMs();
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String lane) {
+            this.prefix = "app-" + lane + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    }
+}
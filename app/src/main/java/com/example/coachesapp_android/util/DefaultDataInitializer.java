@@ -2,7 +2,7 @@ package com.example.coachesapp_android.util;
 
 import android.util.Log;
 
-import com.example.coachesapp_android.database.FirebaseUserRepository;
+import com.example.coachesapp_android.database.IUserRepository;
 import com.example.coachesapp_android.model.Role;
 import com.example.coachesapp_android.model.User;
 import com.google.firebase.auth.FirebaseAuth;
@@ -18,18 +18,25 @@ public class DefaultDataInitializer {
     private static final String ADMIN_PASSWORD = "admin123";
     
     private final FirebaseAuth firebaseAuth;
-    private final FirebaseUserRepository userRepository;
+    private final IUserRepository userRepository;
     
     public DefaultDataInitializer() {
         this.firebaseAuth = FirebaseAuth.getInstance();
-        this.userRepository = RepositoryFactory.getFirebaseUserRepository();
+        this.userRepository = RepositoryFactory.getUserRepository();
     }
     
     /**
      * Creates default admin account if it doesn't exist
      */
     public void initializeDefaultAdmin(OnInitializationListener listener) {
-        new Thread(() -> {
+        // Either step may be submitted from the main thread, which hands a full lane back here
+        Runnable onBusy = () -> {
+            Log.w(TAG, "Admin initialization skipped, the io lane is full");
+            if (listener != null) {
+                listener.onComplete(false, "App busy");
+            }
+        };
+        AppExecutors.getInstance().io().execute(() -> {
             try {
                 // Check if admin already exists
                 User existingAdmin = userRepository.findByUsername(ADMIN_USERNAME);
@@ -55,7 +62,7 @@ public class DefaultDataInitializer {
                             adminUser.setClubId(null);
                             adminUser.setApproved(true); // Admin is always approved
                             
-                            new Thread(() -> {
+                            AppExecutors.getInstance().io().execute(() -> {
                                 User savedUser = userRepository.save(adminUser);
                                 if (savedUser != null) {
                                     Log.d(TAG, "Default admin account created successfully");
@@ -68,7 +75,7 @@ public class DefaultDataInitializer {
                                         listener.onComplete(false, "Failed to save admin profile");
                                     }
                                 }
-                            }).start();
+                            }, onBusy);
                         }
                     })
                     .addOnFailureListener(e -> {
@@ -92,7 +99,7 @@ public class DefaultDataInitializer {
                     listener.onComplete(false, e.getMessage());
                 }
             }
-        }).start();
+        }, onBusy);
     }
     
     public interface OnInitializationListener {
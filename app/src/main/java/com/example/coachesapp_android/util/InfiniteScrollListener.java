@@ -0,0 +1,77 @@
+package com.example.coachesapp_android.util;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Requests the next page once the user scrolls within {@code prefetchDistance} rows of the end
+ * of a RecyclerView, so only as many pages are read as the user actually looks at. At most one
+ * page is in flight; report its outcome with {@link #onPageLoaded} or {@link #onPageFailed}.
+ */
+public class InfiniteScrollListener extends RecyclerView.OnScrollListener {
+
+    public interface PageLoader {
+        void loadNextPage();
+    }
+
+    private final RecyclerView recyclerView;
+    private final int prefetchDistance;
+    private final PageLoader loader;
+    private boolean loading;
+    private boolean hasMore = true;
+
+    private InfiniteScrollListener(RecyclerView recyclerView, int prefetchDistance, PageLoader loader) {
+        this.recyclerView = recyclerView;
+        this.prefetchDistance = prefetchDistance;
+        this.loader = loader;
+    }
+
+    /**
+     * Attaches a listener and loads the first page. The RecyclerView must use a
+     * {@link LinearLayoutManager}.
+     */
+    public static InfiniteScrollListener attach(RecyclerView recyclerView, int prefetchDistance, PageLoader loader) {
+        InfiniteScrollListener listener = new InfiniteScrollListener(recyclerView, prefetchDistance, loader);
+        recyclerView.addOnScrollListener(listener);
+        listener.loadMoreIfNeeded();
+        return listener;
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        loadMoreIfNeeded();
+    }
+
+    public void onPageLoaded(boolean hasMore) {
+        loading = false;
+        this.hasMore = hasMore;
+        // A page that did not fill the screen produces no scroll events; check again once the
+        // new rows are laid out
+        recyclerView.post(this::loadMoreIfNeeded);
+    }
+
+    public void onPageFailed() {
+        loading = false;
+    }
+
+    /**
+     * Starts over from the first page, e.g. after the underlying data was edited.
+     */
+    public void reset() {
+        loading = false;
+        hasMore = true;
+        loadMoreIfNeeded();
+    }
+
+    private void loadMoreIfNeeded() {
+        if (loading || !hasMore) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible + prefetchDistance >= layoutManager.getItemCount() - 1) {
+            loading = true;
+            loader.loadNextPage();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.coachesapp_android.util;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.coachesapp_android.database.EntityChange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Backing list for a RecyclerView fed by a live query. Keeps every observed entity, shows the
+ * ones passing the current filter, and applies {@link EntityChange}s row by row so the adapter
+ * only rebinds what actually changed. With a sort order, rows are found and placed by binary
+ * search. Use from the main thread only.
+ */
+public class LiveList<T> {
+    private final Function<T, Integer> idOf;
+    private final Comparator<T> order;
+    private final Map<Integer, T> all = new LinkedHashMap<>();
+    private final List<T> visible = new ArrayList<>();
+    private final Set<Integer> visibleIds = new HashSet<>();
+    private Predicate<T> filter = item -> true;
+    private RecyclerView.Adapter<?> adapter;
+
+    /**
+     * @param order sort order of the visible rows, or null to keep arrival order
+     */
+    public LiveList(Function<T, Integer> idOf, Comparator<T> order) {
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    public void attach(RecyclerView.Adapter<?> adapter) {
+        this.adapter = adapter;
+    }
+
+    public T get(int position) {
+        return visible.get(position);
+    }
+
+    public int size() {
+        return visible.size();
+    }
+
+    public boolean isEmpty() {
+        return visible.isEmpty();
+    }
+
+    /**
+     * Every observed entity, including those hidden by the filter.
+     */
+    public Collection<T> all() {
+        return Collections.unmodifiableCollection(all.values());
+    }
+
+    public void apply(List<EntityChange<T>> changes) {
+        // The initial snapshot arrives as one large batch; rebinding once is cheaper than
+        // announcing each insert
+        boolean rebindAll = visible.isEmpty();
+
+        for (EntityChange<T> change : changes) {
+            int position = indexOf(change.getId());
+            if (change.getType() == EntityChange.Type.REMOVED) {
+                all.remove(change.getId());
+                if (position >= 0) {
+                    removeVisible(position);
+                    if (!rebindAll) {
+                        notifyRemoved(position);
+                    }
+                }
+                continue;
+            }
+
+            T entity = change.getEntity();
+            all.put(change.getId(), entity);
+            if (!filter.test(entity)) {
+                if (position >= 0) {
+                    removeVisible(position);
+                    if (!rebindAll) {
+                        notifyRemoved(position);
+                    }
+                }
+                continue;
+            }
+
+            if (position >= 0) {
+                removeVisible(position);
+                int target = insertionPoint(entity, position);
+                addVisible(target, entity);
+                if (!rebindAll && adapter != null) {
+                    if (target != position) {
+                        adapter.notifyItemMoved(position, target);
+                    }
+                    adapter.notifyItemChanged(target);
+                }
+            } else {
+                int target = insertionPoint(entity, visible.size());
+                addVisible(target, entity);
+                if (!rebindAll && adapter != null) {
+                    adapter.notifyItemInserted(target);
+                }
+            }
+        }
+
+        if (rebindAll && adapter != null) {
+            adapter.notifyDataSetChanged();
+        }
+    }
+
+    public void setFilter(Predicate<T> filter) {
+        this.filter = filter;
+        refilter();
+    }
+
+    /**
+     * Like {@link #setFilter(Predicate)}, but only tests {@code candidates}, e.g. the answer of
+     * an index, instead of every observed entity. Every entity the filter passes must be among
+     * them; candidates that are not observed are ignored. Candidates already in the list's sort
+     * order are kept as they come rather than sorted again.
+     */
+    public void setFilter(Predicate<T> filter, Collection<T> candidates) {
+        this.filter = filter;
+        clearVisible();
+        boolean sorted = true;
+        for (T candidate : candidates) {
+            T entity = all.get(idOf.apply(candidate));
+            if (entity != null && filter.test(entity)) {
+                if (order != null && sorted && !visible.isEmpty()
+                        && order.compare(visible.get(visible.size() - 1), entity) > 0) {
+                    sorted = false;
+                }
+                addVisible(visible.size(), entity);
+            }
+        }
+        if (!sorted) {
+            visible.sort(order);
+        }
+        if (adapter != null) {
+            adapter.notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Rebuilds the visible rows, for when state the filter reads (e.g. a spinner) has changed.
+     */
+    public void refilter() {
+        clearVisible();
+        for (T entity : all.values()) {
+            if (filter.test(entity)) {
+                addVisible(visible.size(), entity);
+            }
+        }
+        if (order != null) {
+            visible.sort(order);
+        }
+        if (adapter != null) {
+            adapter.notifyDataSetChanged();
+        }
+    }
+
+    public void clear() {
+        all.clear();
+        clearVisible();
+        if (adapter != null) {
+            adapter.notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Row of the entity with this ID, or -1 if it is not shown. Call before the entity's new
+     * version replaces the old one in {@code all}, whose sort position the search relies on.
+     */
+    private int indexOf(int id) {
+        if (!visibleIds.contains(id)) {
+            return -1;
+        }
+        T shown = all.get(id);
+        if (order != null && shown != null) {
+            // Rows that sort equal to it sit next to each other around where the search lands
+            int found = Collections.binarySearch(visible, shown, order);
+            if (found >= 0) {
+                for (int i = found; i >= 0 && order.compare(visible.get(i), shown) == 0; i--) {
+                    if (visible.get(i) == shown) {
+                        return i;
+                    }
+                }
+                for (int i = found + 1; i < visible.size() && order.compare(visible.get(i), shown) == 0; i++) {
+                    if (visible.get(i) == shown) {
+                        return i;
+                    }
+                }
+            }
+        }
+        // No order, or the shown instance was edited in place and is no longer where it sorts
+        for (int i = 0; i < visible.size(); i++) {
+            Integer visibleId = idOf.apply(visible.get(i));
+            if (visibleId != null && visibleId == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Position after every row that sorts before or equal to {@code entity}.
+     */
+    private int insertionPoint(T entity, int fallback) {
+        if (order == null) {
+            return fallback;
+        }
+        int low = 0;
+        int high = visible.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order.compare(visible.get(middle), entity) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void addVisible(int position, T entity) {
+        visible.add(position, entity);
+        visibleIds.add(idOf.apply(entity));
+    }
+
+    private void removeVisible(int position) {
+        visibleIds.remove(idOf.apply(visible.remove(position)));
+    }
+
+    private void clearVisible() {
+        visible.clear();
+        visibleIds.clear();
+    }
+
+    private void notifyRemoved(int position) {
+        if (adapter != null) {
+            adapter.notifyItemRemoved(position);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.coachesapp_android.util;
+
+import android.util.Log;
+
+import com.example.coachesapp_android.BuildConfig;
+
+/**
+ * Leveled logging with {@code {}} placeholders. Nothing is formatted, concatenated or
+ * converted to a string unless the level is enabled, so log calls on per-document and
+ * per-row paths cost a field read when logging is off. Guard loops that only log with
+ * {@link #isDebugEnabled()} / {@link #isVerboseEnabled()}.
+ * <p>
+ * Release builds never log below {@link #INFO}; debug builds log everything by default.
+ */
+public final class Logger {
+    public static final int VERBOSE = Log.VERBOSE;
+    public static final int DEBUG = Log.DEBUG;
+    public static final int INFO = Log.INFO;
+    public static final int WARN = Log.WARN;
+    public static final int ERROR = Log.ERROR;
+    /** Minimum level that logs nothing, e.g. for local unit tests, where android.util.Log is a stub. */
+    public static final int OFF = Log.ASSERT + 1;
+
+    // Lowest level release builds may log at
+    private static final int RELEASE_MIN_LEVEL = INFO;
+
+    private static volatile int minLevel = BuildConfig.DEBUG ? VERBOSE : RELEASE_MIN_LEVEL;
+
+    private final String tag;
+
+    private Logger(String tag) {
+        this.tag = tag;
+    }
+
+    public static Logger forTag(String tag) {
+        return new Logger(tag);
+    }
+
+    /**
+     * Sets the lowest level that is logged. Release builds cannot go below {@link #INFO}.
+     */
+    public static void setMinLevel(int level) {
+        minLevel = BuildConfig.DEBUG ? level : Math.max(level, RELEASE_MIN_LEVEL);
+    }
+
+    public static boolean isLoggable(int level) {
+        return level >= minLevel;
+    }
+
+    public boolean isVerboseEnabled() {
+        return VERBOSE >= minLevel;
+    }
+
+    public boolean isDebugEnabled() {
+        return DEBUG >= minLevel;
+    }
+
+    public void v(String message) {
+        if (VERBOSE >= minLevel) {
+            log(VERBOSE, message, null);
+        }
+    }
+
+    public void v(String format, Object arg) {
+        if (VERBOSE >= minLevel) {
+            log(VERBOSE, format, new Object[]{arg});
+        }
+    }
+
+    public void v(String format, Object arg1, Object arg2) {
+        if (VERBOSE >= minLevel) {
+            log(VERBOSE, format, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void v(String format, Object arg1, Object arg2, Object arg3) {
+        if (VERBOSE >= minLevel) {
+            log(VERBOSE, format, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void v(String format, Object... args) {
+        if (VERBOSE >= minLevel) {
+            log(VERBOSE, format, args);
+        }
+    }
+
+    public void d(String message) {
+        if (DEBUG >= minLevel) {
+            log(DEBUG, message, null);
+        }
+    }
+
+    public void d(String format, Object arg) {
+        if (DEBUG >= minLevel) {
+            log(DEBUG, format, new Object[]{arg});
+        }
+    }
+
+    public void d(String format, Object arg1, Object arg2) {
+        if (DEBUG >= minLevel) {
+            log(DEBUG, format, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void d(String format, Object arg1, Object arg2, Object arg3) {
+        if (DEBUG >= minLevel) {
+            log(DEBUG, format, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void d(String format, Object... args) {
+        if (DEBUG >= minLevel) {
+            log(DEBUG, format, args);
+        }
+    }
+
+    public void i(String message) {
+        if (INFO >= minLevel) {
+            log(INFO, message, null);
+        }
+    }
+
+    public void i(String format, Object arg) {
+        if (INFO >= minLevel) {
+            log(INFO, format, new Object[]{arg});
+        }
+    }
+
+    public void i(String format, Object arg1, Object arg2) {
+        if (INFO >= minLevel) {
+            log(INFO, format, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void i(String format, Object arg1, Object arg2, Object arg3) {
+        if (INFO >= minLevel) {
+            log(INFO, format, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void i(String format, Object... args) {
+        if (INFO >= minLevel) {
+            log(INFO, format, args);
+        }
+    }
+
+    public void w(String message) {
+        if (WARN >= minLevel) {
+            log(WARN, message, null);
+        }
+    }
+
+    public void w(String format, Object arg) {
+        if (WARN >= minLevel) {
+            log(WARN, format, new Object[]{arg});
+        }
+    }
+
+    public void w(String format, Object arg1, Object arg2) {
+        if (WARN >= minLevel) {
+            log(WARN, format, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void w(String format, Object arg1, Object arg2, Object arg3) {
+        if (WARN >= minLevel) {
+            log(WARN, format, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void w(String format, Object... args) {
+        if (WARN >= minLevel) {
+            log(WARN, format, args);
+        }
+    }
+
+    public void e(String message) {
+        if (ERROR >= minLevel) {
+            log(ERROR, message, null);
+        }
+    }
+
+    public void e(String format, Object arg) {
+        if (ERROR >= minLevel) {
+            log(ERROR, format, new Object[]{arg});
+        }
+    }
+
+    public void e(String format, Object arg1, Object arg2) {
+        if (ERROR >= minLevel) {
+            log(ERROR, format, new Object[]{arg1, arg2});
+        }
+    }
+
+    public void e(String format, Object arg1, Object arg2, Object arg3) {
+        if (ERROR >= minLevel) {
+            log(ERROR, format, new Object[]{arg1, arg2, arg3});
+        }
+    }
+
+    public void e(String format, Object... args) {
+        if (ERROR >= minLevel) {
+            log(ERROR, format, args);
+        }
+    }
+
+    /**
+     * Replaces each {@code {}} in {@code format} with the next argument. A trailing
+     * {@link Throwable} argument without a placeholder is logged with its stack trace.
+     */
+    private void log(int level, String format, Object[] args) {
+        int argCount = args != null ? args.length : 0;
+        Throwable thrown = null;
+        if (argCount > 0 && args[argCount - 1] instanceof Throwable) {
+            thrown = (Throwable) args[argCount - 1];
+        }
+
+        StringBuilder message = new StringBuilder(format.length() + 16 * argCount);
+        int used = 0;
+        int start = 0;
+        int placeholder;
+        while (used < argCount && (placeholder = format.indexOf("{}", start)) >= 0) {
+            message.append(format, start, placeholder).append(args[used++]);
+            start = placeholder + 2;
+        }
+        message.append(format, start, format.length());
+
+        if (thrown != null && used < argCount) {
+            message.append('\n').append(Log.getStackTraceString(thrown));
+        }
+        Log.println(level, tag, message.toString());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.coachesapp_android.util;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The transfer market's listings with the players behind them, kept by request and player ID
+ * and, per position, in release fee order. A player may have several listings. Adding, replacing or removing a listing takes
+ * logarithmic time, and so does finding where "defenders up to $X, cheapest first" starts;
+ * the answer then costs only the listings it returns. Use from one thread only.
+ */
+public class MarketBook {
+    /**
+     * Cheapest listing first, then by request ID; a listing without a release fee counts as
+     * free, as it does at purchase.
+     */
+    public static final Comparator<TransferRequest> CHEAPEST_FIRST = Comparator
+            .comparingDouble(MarketBook::feeOf)
+            .thenComparing(TransferRequest::getId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+
+    private static final Comparator<Listing> LISTING_ORDER = Comparator
+            .comparingDouble((Listing listing) -> listing.fee)
+            .thenComparingInt(listing -> listing.requestId);
+
+    private final Map<Integer, Listing> byRequestId = new HashMap<>();
+    private final Map<Integer, List<Listing>> byPlayerId = new HashMap<>();
+    private final NavigableSet<Listing> byFee = new TreeSet<>(LISTING_ORDER);
+    private final Map<Position, NavigableSet<Listing>> byPositionAndFee = new EnumMap<>(Position.class);
+
+    /**
+     * Adds the listing, or replaces the one with the same request ID.
+     *
+     * @param player the listed player, or null if it is not known; such a listing is only
+     *               returned when no position is asked for
+     */
+    public void put(TransferRequest request, Player player) {
+        if (request.getId() == null) {
+            return;
+        }
+        remove(request.getId());
+
+        Listing listing = new Listing(request, player);
+        byRequestId.put(listing.requestId, listing);
+        if (request.getPlayerId() != null) {
+            byPlayerId.computeIfAbsent(request.getPlayerId(), playerId -> new ArrayList<>(1)).add(listing);
+        }
+        byFee.add(listing);
+        if (listing.position != null) {
+            byPositionAndFee.computeIfAbsent(listing.position, position -> new TreeSet<>(LISTING_ORDER)).add(listing);
+        }
+    }
+
+    /**
+     * @return true if a listing with this request ID was removed
+     */
+    public boolean remove(int requestId) {
+        Listing listing = byRequestId.remove(requestId);
+        if (listing == null) {
+            return false;
+        }
+        Integer playerId = listing.request.getPlayerId();
+        List<Listing> playerListings = playerId != null ? byPlayerId.get(playerId) : null;
+        if (playerListings != null) {
+            playerListings.remove(listing);
+            if (playerListings.isEmpty()) {
+                byPlayerId.remove(playerId);
+            }
+        }
+        byFee.remove(listing);
+        if (listing.position != null) {
+            byPositionAndFee.get(listing.position).remove(listing);
+        }
+        return true;
+    }
+
+    /**
+     * @return the listed player as most recently put, or null if the player is not listed or
+     * not known
+     */
+    public Player getPlayer(Integer playerId) {
+        List<Listing> playerListings = playerId != null ? byPlayerId.get(playerId) : null;
+        if (playerListings == null) {
+            return null;
+        }
+        for (int i = playerListings.size() - 1; i >= 0; i--) {
+            if (playerListings.get(i).player != null) {
+                return playerListings.get(i).player;
+            }
+        }
+        return null;
+    }
+
+    public boolean containsPlayer(Integer playerId) {
+        return getPlayer(playerId) != null;
+    }
+
+    /**
+     * Listings of players in {@code position} whose release fee is at most {@code maxFee},
+     * cheapest first.
+     *
+     * @param position only players in this position, or null for all listings
+     * @param maxFee   highest release fee to include, or null for any fee
+     */
+    public List<TransferRequest> cheapest(Position position, Double maxFee) {
+        NavigableSet<Listing> listings = position != null ? byPositionAndFee.get(position) : byFee;
+        if (listings == null) {
+            return new ArrayList<>();
+        }
+        if (maxFee != null) {
+            // Sorts after every listing at exactly maxFee
+            listings = listings.headSet(new Listing(maxFee, Integer.MAX_VALUE), true);
+        }
+        List<TransferRequest> result = new ArrayList<>(listings.size());
+        for (Listing listing : listings) {
+            result.add(listing.request);
+        }
+        return result;
+    }
+
+    public int size() {
+        return byRequestId.size();
+    }
+
+    public void clear() {
+        byRequestId.clear();
+        byPlayerId.clear();
+        byFee.clear();
+        byPositionAndFee.clear();
+    }
+
+    private static double feeOf(TransferRequest request) {
+        return request.getReleaseFee() != null ? request.getReleaseFee() : 0.0;
+    }
+
+    /**
+     * A listing as indexed: the fee and position are captured when it is put, so a later edit
+     * to the request or player cannot leave it misplaced in a tree.
+     */
+    private static final class Listing {
+        final TransferRequest request;
+        final Player player;
+        final int requestId;
+        final double fee;
+        final Position position;
+
+        Listing(TransferRequest request, Player player) {
+            this.request = request;
+            this.player = player;
+            this.requestId = request.getId();
+            this.fee = feeOf(request);
+            this.position = player != null ? player.getPosition() : null;
+        }
+
+        Listing(double fee, int requestId) {
+            this.request = null;
+            this.player = null;
+            this.requestId = requestId;
+            this.fee = fee;
+            this.position = null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.coachesapp_android.util;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Which market listings a manager sees. Direct club transfers are shown to every manager (only
+ * the destination club can buy); general market listings are hidden from their own source
+ * club. An optional position narrows the listings further.
+ */
+public class MarketFilter implements Predicate<TransferRequest> {
+    private final Integer viewerClubId;
+    private final Position position;
+    private final Function<Integer, Player> playerById;
+
+    /**
+     * @param viewerClubId club of the manager browsing the market, or null
+     * @param position     only listings of players in this position, or null for all positions
+     * @param playerById   resolves a listing's player, returning null if it is not loaded yet
+     */
+    public MarketFilter(Integer viewerClubId, Position position, Function<Integer, Player> playerById) {
+        this.viewerClubId = viewerClubId;
+        this.position = position;
+        this.playerById = playerById;
+    }
+
+    @Override
+    public boolean test(TransferRequest tr) {
+        boolean shouldShow = tr.getTransferType() == TransferRequest.TransferType.DIRECT_CLUB
+                || viewerClubId == null
+                || !viewerClubId.equals(tr.getSourceClubId());
+        if (!shouldShow) {
+            return false;
+        }
+        if (position == null) {
+            return true;
+        }
+        Player player = playerById.apply(tr.getPlayerId());
+        return player != null && player.getPosition() == position;
+    }
+}
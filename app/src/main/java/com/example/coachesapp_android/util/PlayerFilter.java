@@ -0,0 +1,35 @@
+package com.example.coachesapp_android.util;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+
+import java.util.function.Predicate;
+
+/**
+ * Player list filter by position, health and club. Built once from the current spinner
+ * selections rather than reading them again for every row.
+ */
+public class PlayerFilter implements Predicate<Player> {
+    private final Position position;
+    private final Boolean injured;
+    private final String clubName;
+
+    /**
+     * @param position only players in this position, or null for all positions
+     * @param injured  only injured (true) or healthy (false) players, or null for all players
+     * @param clubName only players whose club is shown under this name, or null for all clubs
+     */
+    public PlayerFilter(Position position, Boolean injured, String clubName) {
+        this.position = position;
+        this.injured = injured;
+        this.clubName = clubName;
+    }
+
+    @Override
+    public boolean test(Player player) {
+        boolean matchesPosition = position == null || player.getPosition() == position;
+        boolean matchesHealth = injured == null || player.isInjured() == injured;
+        boolean matchesClub = clubName == null || clubName.equals(player.getClubView());
+        return matchesPosition && matchesHealth && matchesClub;
+    }
+}
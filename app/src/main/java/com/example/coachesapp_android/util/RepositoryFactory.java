@@ -2,6 +2,7 @@ package com.example.coachesapp_android.util;
 
 import android.content.Context;
 
+import com.example.coachesapp_android.database.CachingClubRepository;
 import com.example.coachesapp_android.database.FirebaseClubRepository;
 import com.example.coachesapp_android.database.FirebaseGamePlanRepository;
 import com.example.coachesapp_android.database.FirebasePlayerRepository;
@@ -10,18 +11,48 @@ import com.example.coachesapp_android.database.IClubRepository;
 import com.example.coachesapp_android.database.IGamePlanRepository;
 import com.example.coachesapp_android.database.IPlayerRepository;
 import com.example.coachesapp_android.database.IUserRepository;
+import com.example.coachesapp_android.database.InMemoryClubRepository;
+import com.example.coachesapp_android.database.InMemoryGamePlanRepository;
+import com.example.coachesapp_android.database.InMemoryPlayerRepository;
+import com.example.coachesapp_android.database.InMemoryUserRepository;
+import com.example.coachesapp_android.database.InstrumentedRepository;
+import com.example.coachesapp_android.database.ReadPolicy;
+import com.example.coachesapp_android.repository.FirebaseTransferRequestRepository;
+import com.example.coachesapp_android.repository.FirebaseTransferSettlementService;
+import com.example.coachesapp_android.repository.ITransferRequestRepository;
+import com.example.coachesapp_android.repository.ITransferSettlementService;
+import com.example.coachesapp_android.repository.InMemoryTransferRequestRepository;
+import com.example.coachesapp_android.repository.InMemoryTransferSettlementService;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Factory class to provide Firebase repository instances.
+ * Factory class to provide repository instances. Firebase-backed by default; call
+ * {@link #useInMemory(Executor)} before the first lookup to run without a backend. Every
+ * repository is instrumented, see {@code RepositoryMetrics}.
  */
 public class RepositoryFactory {
     private static Context applicationContext;
     
+    // How long a cached copy may be shown before it is checked against the server first.
+    // Clubs are edited by admins only; game plans and profiles change more often
+    private static final long CLUB_MAX_STALENESS_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long GAME_PLAN_MAX_STALENESS_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long PROFILE_MAX_STALENESS_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    
     // Singleton instances
     private static IPlayerRepository playerRepository;
     private static IClubRepository clubRepository;
     private static IUserRepository userRepository;
     private static IGamePlanRepository gamePlanRepository;
+    private static ITransferRequestRepository transferRequestRepository;
+    private static ITransferSettlementService transferSettlementService;
+    // Behind clubRepository while using Firebase; it holds a live query until closed
+    private static CachingClubRepository clubDirectory;
+    
+    // Where in-memory repositories call observers; null while using Firebase
+    private static Executor inMemoryCallbackExecutor;
     
     /**
      * Initialize the factory with application context.
@@ -32,49 +63,125 @@ public class RepositoryFactory {
     }
     
     /**
-     * Get PlayerRepository instance (Firebase).
+     * Switch to in-memory repositories, e.g. to load large generated datasets and profile
+     * screen logic without Firestore. Drops any repositories handed out so far and closes the
+     * club directory's live query.
+     * @param callbackExecutor where live-query observers are called; the main thread in the
+     *                         app, or a direct executor on a plain JVM
+     */
+    public static synchronized void useInMemory(Executor callbackExecutor) {
+        inMemoryCallbackExecutor = callbackExecutor;
+        clearInstances();
+    }
+    
+    /**
+     * Switch back to Firebase repositories. Drops any repositories handed out so far and closes
+     * the club directory's live query.
+     */
+    public static synchronized void useFirebase() {
+        inMemoryCallbackExecutor = null;
+        clearInstances();
+    }
+    
+    private static void clearInstances() {
+        if (clubDirectory != null) {
+            clubDirectory.close();
+            clubDirectory = null;
+        }
+        playerRepository = null;
+        clubRepository = null;
+        userRepository = null;
+        gamePlanRepository = null;
+        transferRequestRepository = null;
+        transferSettlementService = null;
+    }
+    
+    private static boolean isInMemory() {
+        return inMemoryCallbackExecutor != null;
+    }
+    
+    /**
+     * Get PlayerRepository instance.
      */
     public static IPlayerRepository getPlayerRepository() {
         if (playerRepository == null) {
-            playerRepository = new FirebasePlayerRepository();
+            playerRepository = InstrumentedRepository.wrap(IPlayerRepository.class, isInMemory()
+                    ? new InMemoryPlayerRepository(inMemoryCallbackExecutor)
+                    : new FirebasePlayerRepository(), "players");
         }
         return playerRepository;
     }
     
     /**
-     * Get ClubRepository instance (Firebase).
+     * Get ClubRepository instance. The Firebase one sits behind an in-memory club directory;
+     * calls that miss the directory are recorded separately as "clubs.firestore".
      */
     public static IClubRepository getClubRepository() {
-        if (clubRepository == null) {
-            clubRepository = new FirebaseClubRepository();
+        if (clubRepository == null && isInMemory()) {
+            clubRepository = InstrumentedRepository.wrap(IClubRepository.class,
+                    new InMemoryClubRepository(inMemoryCallbackExecutor), "clubs");
+        } else if (clubRepository == null) {
+            FirebaseClubRepository repository = new FirebaseClubRepository();
+            repository.setReadPolicy(ReadPolicy.cacheFirst(CLUB_MAX_STALENESS_MILLIS));
+            IClubRepository backend = InstrumentedRepository.wrap(IClubRepository.class, repository, "clubs.firestore");
+            clubDirectory = new CachingClubRepository(backend);
+            clubRepository = InstrumentedRepository.wrap(IClubRepository.class, clubDirectory, "clubs");
         }
         return clubRepository;
     }
     
     /**
-     * Get UserRepository instance (Firebase).
+     * Get UserRepository instance.
      */
     public static IUserRepository getUserRepository() {
-        if (userRepository == null) {
-            userRepository = new FirebaseUserRepository();
+        if (userRepository == null && isInMemory()) {
+            userRepository = InstrumentedRepository.wrap(IUserRepository.class,
+                    new InMemoryUserRepository(inMemoryCallbackExecutor), "users");
+        } else if (userRepository == null) {
+            FirebaseUserRepository repository = new FirebaseUserRepository();
+            repository.setReadPolicy(ReadPolicy.cacheFirst(PROFILE_MAX_STALENESS_MILLIS));
+            userRepository = InstrumentedRepository.wrap(IUserRepository.class, repository, "users");
         }
         return userRepository;
     }
     
     /**
-     * Get Firebase UserRepository with additional methods
+     * Get GamePlanRepository instance.
      */
-    public static FirebaseUserRepository getFirebaseUserRepository() {
-        return (FirebaseUserRepository) getUserRepository();
+    public static IGamePlanRepository getGamePlanRepository() {
+        if (gamePlanRepository == null && isInMemory()) {
+            gamePlanRepository = InstrumentedRepository.wrap(IGamePlanRepository.class,
+                    new InMemoryGamePlanRepository(inMemoryCallbackExecutor), "gamePlans");
+        } else if (gamePlanRepository == null) {
+            FirebaseGamePlanRepository repository = new FirebaseGamePlanRepository();
+            repository.setReadPolicy(ReadPolicy.cacheFirst(GAME_PLAN_MAX_STALENESS_MILLIS));
+            gamePlanRepository = InstrumentedRepository.wrap(IGamePlanRepository.class, repository, "gamePlans");
+        }
+        return gamePlanRepository;
     }
     
     /**
-     * Get GamePlanRepository instance (Firebase).
+     * Get TransferRequestRepository instance, enriching transfers through the player and club
+     * repositories above.
      */
-    public static IGamePlanRepository getGamePlanRepository() {
-        if (gamePlanRepository == null) {
-            gamePlanRepository = new FirebaseGamePlanRepository();
+    public static ITransferRequestRepository getTransferRequestRepository() {
+        if (transferRequestRepository == null) {
+            transferRequestRepository = InstrumentedRepository.wrap(ITransferRequestRepository.class, isInMemory()
+                    ? new InMemoryTransferRequestRepository(getPlayerRepository(), getClubRepository(), inMemoryCallbackExecutor)
+                    : new FirebaseTransferRequestRepository(getPlayerRepository(), getClubRepository()), "transfers");
         }
-        return gamePlanRepository;
+        return transferRequestRepository;
+    }
+    
+    /**
+     * Get the service that completes transfer market purchases.
+     */
+    public static ITransferSettlementService getTransferSettlementService() {
+        if (transferSettlementService == null) {
+            transferSettlementService = InstrumentedRepository.wrap(ITransferSettlementService.class, isInMemory()
+                    ? new InMemoryTransferSettlementService(getTransferRequestRepository(), getPlayerRepository())
+                    : new FirebaseTransferSettlementService(), "settlement");
+        }
+        return transferSettlementService;
     }
 }
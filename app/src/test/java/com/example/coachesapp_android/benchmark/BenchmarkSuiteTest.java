@@ -0,0 +1,44 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.util.Logger;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the JMH benchmarks in this package, reporting throughput and, through the GC profiler,
+ * allocation rate ({@code gc.alloc.rate.norm} is bytes per operation). Skipped unless Gradle
+ * is run with {@code -Pbenchmarks}, e.g.
+ * {@code ./gradlew :app:testDebugUnitTest -Pbenchmarks --tests '*BenchmarkSuiteTest'}.
+ */
+public class BenchmarkSuiteTest {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        Assume.assumeTrue("Benchmarks run only with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+        // The repositories log through android.util.Log, which is not available on the JVM
+        Logger.setMinLevel(Logger.OFF);
+
+        Options options = new OptionsBuilder()
+                .include(getClass().getPackage().getName() + "\\..*Benchmark\\.")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                // The Gradle test worker's classpath is not visible to a forked JVM
+                .forks(0)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
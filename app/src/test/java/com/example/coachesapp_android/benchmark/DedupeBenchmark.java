@@ -0,0 +1,35 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.database.PlayerMapper;
+import com.example.coachesapp_android.model.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * The map-and-deduplicate pass behind {@code FirebasePlayerRepository.findAll} and
+ * {@code findByClubId}, over a result where some players also have a legacy document.
+ */
+@State(Scope.Benchmark)
+public class DedupeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<SyntheticData.Document> documents;
+
+    @Setup
+    public void setUp() {
+        documents = SyntheticData.playerDocuments(size);
+    }
+
+    @Benchmark
+    public List<Player> toUniquePlayers() {
+        return PlayerMapper.toUniquePlayers(documents, SyntheticData.Document::getId, SyntheticData.Document::getData);
+    }
+}
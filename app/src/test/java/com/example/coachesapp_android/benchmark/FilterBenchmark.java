@@ -0,0 +1,91 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.util.MarketBook;
+import com.example.coachesapp_android.util.MarketFilter;
+import com.example.coachesapp_android.util.PlayerFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The row filters of the player list and the transfer market, applied to every loaded row as
+ * a spinner change does, and the same market position filter answered by a {@link MarketBook}.
+ */
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Player> players;
+    private List<TransferRequest> marketRequests;
+    private Map<Integer, Player> playersById;
+    private PlayerFilter playerFilter;
+    private MarketFilter marketFilter;
+    private MarketBook marketBook;
+
+    @Setup
+    public void setUp() {
+        players = SyntheticData.players(size);
+        marketRequests = SyntheticData.transferRequests(size);
+        playersById = new HashMap<>();
+        for (Player player : players) {
+            playersById.put(player.getId(), player);
+        }
+        playerFilter = new PlayerFilter(Position.DEFENDER, false, SyntheticData.clubName(3));
+        marketFilter = new MarketFilter(3, Position.MIDFIELDER, playersById::get);
+        marketBook = new MarketBook();
+        for (TransferRequest tr : marketRequests) {
+            marketBook.put(tr, playersById.get(tr.getPlayerId()));
+        }
+    }
+
+    @Benchmark
+    public List<Player> filterPlayers() {
+        List<Player> visible = new ArrayList<>();
+        for (Player player : players) {
+            if (playerFilter.test(player)) {
+                visible.add(player);
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public List<TransferRequest> filterMarketPlayers() {
+        List<TransferRequest> visible = new ArrayList<>();
+        for (TransferRequest tr : marketRequests) {
+            if (marketFilter.test(tr)) {
+                visible.add(tr);
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public List<TransferRequest> marketBookPosition() {
+        List<TransferRequest> visible = new ArrayList<>();
+        for (TransferRequest tr : marketBook.cheapest(Position.MIDFIELDER, null)) {
+            if (marketFilter.test(tr)) {
+                visible.add(tr);
+            }
+        }
+        return visible;
+    }
+
+    @Benchmark
+    public List<TransferRequest> marketBookPositionUnderFee() {
+        return marketBook.cheapest(Position.MIDFIELDER, 100_000.0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.database.PlayerMapper;
+import com.example.coachesapp_android.database.UserMapper;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.repository.TransferRequestMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Document mapping, one whole query result per invocation.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<SyntheticData.Document> playerDocuments;
+    private List<SyntheticData.Document> userDocuments;
+    private List<Map<String, Object>> transferDocuments;
+    private List<TransferRequest> transferRequests;
+
+    @Setup
+    public void setUp() {
+        playerDocuments = SyntheticData.playerDocuments(size);
+        userDocuments = SyntheticData.userDocuments(size);
+        transferDocuments = SyntheticData.transferDocuments(size);
+        transferRequests = SyntheticData.transferRequests(size);
+    }
+
+    @Benchmark
+    public void documentToPlayer(Blackhole blackhole) {
+        for (SyntheticData.Document document : playerDocuments) {
+            blackhole.consume(PlayerMapper.fromData(document.getId(), document.getData()));
+        }
+    }
+
+    @Benchmark
+    public void documentToUser(Blackhole blackhole) {
+        for (SyntheticData.Document document : userDocuments) {
+            blackhole.consume(UserMapper.fromData(document.getId(), document.getData()));
+        }
+    }
+
+    @Benchmark
+    public void documentToTransferRequest(Blackhole blackhole) {
+        for (Map<String, Object> data : transferDocuments) {
+            blackhole.consume(TransferRequestMapper.fromData(data));
+        }
+    }
+
+    @Benchmark
+    public void transferRequestToMap(Blackhole blackhole) {
+        for (TransferRequest tr : transferRequests) {
+            blackhole.consume(TransferRequestMapper.toData(tr));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.database.InMemoryClubRepository;
+import com.example.coachesapp_android.database.InMemoryPlayerRepository;
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.repository.ITransferSettlementService;
+import com.example.coachesapp_android.repository.InMemoryTransferRequestRepository;
+import com.example.coachesapp_android.repository.InMemoryTransferSettlementService;
+import com.example.coachesapp_android.repository.SettlementOutcome;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent buyers racing for the same market listings, one purchase attempt per invocation.
+ * The auxiliary counters split the attempts into purchases that completed and ones refused
+ * because the listing was already sold. Once every listing is sold, only refusals remain.
+ * <p>
+ * This measures {@link InMemoryTransferSettlementService}, which settles one purchase at a time
+ * behind a single lock. It says nothing about the Firestore transaction path, where contention
+ * shows up as transaction retries against the backend.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+public class SettlementBenchmark {
+
+    @Param({"100", "10000"})
+    public int listings;
+
+    private ITransferSettlementService settlement;
+    private final AtomicInteger nextBuyer = new AtomicInteger();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Buyer {
+        public long completed;
+        public long refused;
+        Club club;
+        final Set<Integer> bought = new HashSet<>();
+
+        @Setup(Level.Iteration)
+        public void setUp(SettlementBenchmark benchmark) {
+            completed = 0;
+            refused = 0;
+            bought.clear();
+            // Listings are sold by club 1, so buyers start at 2
+            int clubId = 2 + benchmark.nextBuyer.getAndIncrement() % (SyntheticData.CLUB_COUNT - 1);
+            club = new Club(SyntheticData.clubName(clubId));
+            club.setId(clubId);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryPlayerRepository players = new InMemoryPlayerRepository(Runnable::run);
+        InMemoryTransferRequestRepository transfers = new InMemoryTransferRequestRepository(players,
+                new InMemoryClubRepository(Runnable::run), Runnable::run);
+        List<Player> squad = SyntheticData.players(listings);
+        for (Player player : squad) {
+            player.setClubId(1);
+            players.save(player);
+
+            TransferRequest listing = new TransferRequest(player.getId(), 1, null);
+            listing.setId(player.getId());
+            listing.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+            listing.setReleaseFee(1000.0);
+            transfers.save(listing);
+        }
+        settlement = new InMemoryTransferSettlementService(transfers, players);
+    }
+
+    @Benchmark
+    public SettlementOutcome buy(Buyer buyer) {
+        int id = 1 + ThreadLocalRandom.current().nextInt(listings);
+        SettlementOutcome outcome = settlement.completePurchase(id, id, buyer.club, 1000.0);
+        // Buying a listing again reports COMPLETED, as a retried purchase must; it is no new sale
+        if (outcome == SettlementOutcome.COMPLETED && buyer.bought.add(id)) {
+            buyer.completed++;
+        } else {
+            buyer.refused++;
+        }
+        return outcome;
+    }
+}
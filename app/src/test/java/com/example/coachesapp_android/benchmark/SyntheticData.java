@@ -0,0 +1,143 @@
+package com.example.coachesapp_android.benchmark;
+
+import com.example.coachesapp_android.database.PlayerMapper;
+import com.example.coachesapp_android.database.UserMapper;
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.Role;
+import com.example.coachesapp_android.model.TransferRequest;
+import com.example.coachesapp_android.model.User;
+import com.example.coachesapp_android.repository.TransferRequestMapper;
+import com.google.firebase.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generated datasets shaped like the production collections. Seeded, so every run and every
+ * fork sees the same records.
+ */
+final class SyntheticData {
+    static final int CLUB_COUNT = 20;
+
+    /**
+     * A document as a query returns it: its ID and its field map.
+     */
+    static final class Document {
+        final String id;
+        final Map<String, Object> data;
+
+        Document(String id, Map<String, Object> data) {
+            this.id = id;
+            this.data = data;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        Map<String, Object> getData() {
+            return data;
+        }
+    }
+
+    private SyntheticData() {
+    }
+
+    static List<Player> players(int count) {
+        Random random = new Random(42);
+        Position[] positions = Position.values();
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Player player = new Player("Player " + i, 17 + random.nextInt(20), 1 + random.nextInt(99),
+                    positions[random.nextInt(positions.length)], random.nextInt(10) == 0);
+            player.setId(i);
+            player.setClubId(1 + random.nextInt(CLUB_COUNT));
+            player.setClubView(clubName(player.getClubId()));
+            players.add(player);
+        }
+        return players;
+    }
+
+    static String clubName(int clubId) {
+        return "Club " + clubId;
+    }
+
+    /**
+     * Player documents as a query over a partly migrated collection returns them: about one
+     * player in twenty also has a legacy copy under an auto-generated document ID.
+     */
+    static List<Document> playerDocuments(int count) {
+        Random random = new Random(7);
+        List<Document> documents = new ArrayList<>(count + count / 20);
+        for (Player player : players(count)) {
+            Map<String, Object> data = longValued(PlayerMapper.toData(player));
+            documents.add(new Document("player_" + player.getId(), data));
+            if (random.nextInt(20) == 0) {
+                documents.add(new Document("legacy" + player.getId(), data));
+            }
+        }
+        return documents;
+    }
+
+    static List<Document> userDocuments(int count) {
+        Random random = new Random(11);
+        Role[] roles = Role.values();
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User(i, "user" + i, null, roles[random.nextInt(roles.length)],
+                    1 + random.nextInt(CLUB_COUNT), i, null);
+            user.setEmail("user" + i + "@example.com");
+            user.setAge(18 + random.nextInt(40));
+            user.setApproved(random.nextBoolean());
+            String docId = "user_" + i;
+            documents.add(new Document(docId, longValued(UserMapper.toData(user, docId))));
+        }
+        return documents;
+    }
+
+    static List<TransferRequest> transferRequests(int count) {
+        Random random = new Random(13);
+        TransferRequest.TransferStatus[] statuses = TransferRequest.TransferStatus.values();
+        List<TransferRequest> transfers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int sourceClubId = 1 + random.nextInt(CLUB_COUNT);
+            Integer destinationClubId = random.nextBoolean() ? 1 + random.nextInt(CLUB_COUNT) : null;
+            TransferRequest tr = new TransferRequest(i, sourceClubId, destinationClubId);
+            tr.setId(i);
+            tr.setStatus(statuses[random.nextInt(statuses.length)]);
+            tr.setReleaseFee(random.nextInt(1000) * 1000.0);
+            tr.setPlayerName("Player " + i);
+            tr.setSourceClubName(clubName(sourceClubId));
+            tr.setDestinationClubName(destinationClubId != null ? clubName(destinationClubId) : null);
+            transfers.add(tr);
+        }
+        return transfers;
+    }
+
+    static List<Map<String, Object>> transferDocuments(int count) {
+        List<Map<String, Object>> documents = new ArrayList<>(count);
+        for (TransferRequest tr : transferRequests(count)) {
+            documents.add(longValued(TransferRequestMapper.toData(tr)));
+        }
+        return documents;
+    }
+
+    /**
+     * Firestore hands integers back as Long and dates as Timestamp, whatever was written.
+     */
+    private static Map<String, Object> longValued(Map<String, Object> data) {
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Integer) {
+                entry.setValue(((Integer) value).longValue());
+            } else if (value instanceof Date) {
+                entry.setValue(new Timestamp((Date) value));
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.coachesapp_android.database;
+
+import com.example.coachesapp_android.util.Logger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+    private static final int THRESHOLD = 3;
+    private static final long OPEN_MILLIS = 1_000;
+
+    private long now;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        Logger.setMinLevel(Logger.OFF);
+        now = 10_000;
+        breaker = new CircuitBreaker("test", THRESHOLD, OPEN_MILLIS, () -> now);
+    }
+
+    @Test
+    public void staysClosedBelowTheThreshold() {
+        for (int i = 0; i < THRESHOLD - 1; i++) {
+            breaker.onTransientFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void successResetsTheFailureCount() {
+        breaker.onTransientFailure();
+        breaker.onTransientFailure();
+        breaker.onSuccess();
+        breaker.onTransientFailure();
+        breaker.onTransientFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void opensAtTheThresholdAndFailsFast() {
+        trip();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        now += OPEN_MILLIS - 1;
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void letsOneProbeThroughOnceTheOpenPeriodHasPassed() {
+        trip();
+        now += OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void closesWhenTheProbeSucceeds() {
+        trip();
+        now += OPEN_MILLIS;
+        breaker.allowRequest();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void reopensWhenTheProbeFails() {
+        trip();
+        now += OPEN_MILLIS;
+        breaker.allowRequest();
+        breaker.onTransientFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        now += OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void probesAgainWhenTheProbeNeverReportsBack() {
+        trip();
+        now += OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+        now += OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    private void trip() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            breaker.onTransientFailure();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.coachesapp_android.database;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class IdBlockTest {
+
+    @Test
+    public void handsOutEveryIdOfTheBlockInOrder() {
+        IdBlock block = new IdBlock(51, 3, Collections.emptySet());
+        assertEquals(Integer.valueOf(51), block.take());
+        assertEquals(Integer.valueOf(52), block.take());
+        assertEquals(Integer.valueOf(53), block.take());
+    }
+
+    @Test
+    public void isUsedUpAfterItsLastId() {
+        IdBlock block = new IdBlock(1, 2, Collections.emptySet());
+        block.take();
+        block.take();
+        assertNull(block.take());
+        assertNull(block.take());
+    }
+
+    @Test
+    public void skipsIdsAlreadyInUse() {
+        IdBlock block = new IdBlock(10, 5, new HashSet<>(Arrays.asList(10L, 12L, 13L)));
+        assertEquals(Integer.valueOf(11), block.take());
+        assertEquals(Integer.valueOf(14), block.take());
+        assertNull(block.take());
+    }
+
+    @Test
+    public void isUsedUpWhenEveryIdIsInUse() {
+        IdBlock block = new IdBlock(10, 2, new HashSet<>(Arrays.asList(10L, 11L)));
+        assertNull(block.take());
+    }
+
+    @Test
+    public void ignoresIdsInUseOutsideTheBlock() {
+        IdBlock block = new IdBlock(10, 2, new HashSet<>(Arrays.asList(9L, 12L)));
+        assertEquals(Integer.valueOf(10), block.take());
+        assertEquals(Integer.valueOf(11), block.take());
+        assertNull(block.take());
+    }
+
+    @Test
+    public void stopsAtTheLargestIntId() {
+        IdBlock block = new IdBlock(Integer.MAX_VALUE - 1, 50, Collections.emptySet());
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE - 1), block.take());
+        assertEquals(Integer.valueOf(Integer.MAX_VALUE), block.take());
+        assertNull(block.take());
+    }
+
+    @Test
+    public void refusesABlockPastTheLargestIntId() {
+        assertThrows(IllegalStateException.class,
+                () -> new IdBlock((long) Integer.MAX_VALUE + 1, 50, Collections.emptySet()));
+    }
+}
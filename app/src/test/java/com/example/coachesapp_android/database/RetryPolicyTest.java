@@ -0,0 +1,81 @@
+package com.example.coachesapp_android.database;
+
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    private static final int SAMPLES = 10_000;
+
+    @Test
+    public void delayStaysWithinTheExponentialCeiling() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 10_000);
+        assertDelaysWithin(policy, 1, 100);
+        assertDelaysWithin(policy, 2, 200);
+        assertDelaysWithin(policy, 3, 400);
+    }
+
+    @Test
+    public void delayIsCappedAtTheMaximum() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 250);
+        assertDelaysWithin(policy, 3, 250);
+        assertDelaysWithin(policy, 10, 250);
+    }
+
+    @Test
+    public void delayDoesNotOverflowForLateAttempts() {
+        RetryPolicy policy = new RetryPolicy(100, 1_000, Long.MAX_VALUE);
+        assertDelaysWithin(policy, 64, 1_000L << 20);
+    }
+
+    @Test
+    public void delayIsJittered() {
+        RetryPolicy policy = new RetryPolicy(5, 1_000, 10_000);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long delay = policy.delayMillis(2);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        // Full jitter spreads delays over the whole [0, 2000] range
+        assertTrue("min " + min, min < 200);
+        assertTrue("max " + max, max > 1_800);
+    }
+
+    @Test
+    public void unavailableAndTimeoutsAreTransient() {
+        assertTrue(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.UNAVAILABLE)));
+        assertTrue(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.DEADLINE_EXCEEDED)));
+        assertTrue(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.RESOURCE_EXHAUSTED)));
+        assertTrue(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.ABORTED)));
+    }
+
+    @Test
+    public void failuresThatRepeatAreNotTransient() {
+        assertFalse(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.PERMISSION_DENIED)));
+        assertFalse(RetryPolicy.isTransient(error(FirebaseFirestoreException.Code.INVALID_ARGUMENT)));
+        assertFalse(RetryPolicy.isTransient(new IllegalStateException()));
+    }
+
+    @Test
+    public void looksThroughCompletionException() {
+        assertTrue(RetryPolicy.isTransient(new CompletionException(error(FirebaseFirestoreException.Code.UNAVAILABLE))));
+    }
+
+    private static void assertDelaysWithin(RetryPolicy policy, int attempt, long ceiling) {
+        for (int i = 0; i < SAMPLES; i++) {
+            long delay = policy.delayMillis(attempt);
+            assertTrue("attempt " + attempt + " waited " + delay, delay >= 0 && delay <= ceiling);
+        }
+    }
+
+    private static FirebaseFirestoreException error(FirebaseFirestoreException.Code code) {
+        return new FirebaseFirestoreException(code.name(), code);
+    }
+}
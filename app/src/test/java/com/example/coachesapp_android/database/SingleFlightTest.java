@@ -0,0 +1,132 @@
+package com.example.coachesapp_android.database;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SingleFlightTest {
+    private final SingleFlight flight = new SingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void callersWithTheSameKeyShareOneCall() throws Exception {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.run("players", () -> call(backend));
+        CompletableFuture<String> second = flight.run("players", () -> call(backend));
+
+        backend.complete("result");
+        assertEquals("result", first.get());
+        assertEquals("result", second.get());
+        assertEquals(1, calls.get());
+        assertEquals(1, flight.getCoalescedCount());
+    }
+
+    @Test
+    public void differentKeysMakeSeparateCalls() {
+        flight.run("players", () -> call(new CompletableFuture<>()));
+        flight.run("clubs", () -> call(new CompletableFuture<>()));
+        assertEquals(2, calls.get());
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    public void aCompletedCallIsNotReused() throws Exception {
+        assertEquals("first", flight.run("players", () -> call(CompletableFuture.completedFuture("first"))).get());
+        assertEquals("second", flight.run("players", () -> call(CompletableFuture.completedFuture("second"))).get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void failureReachesEveryCaller() {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.run("players", () -> call(backend));
+        CompletableFuture<String> second = flight.run("players", () -> call(backend));
+
+        IllegalStateException failure = new IllegalStateException("backend down");
+        backend.completeExceptionally(failure);
+        assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+    }
+
+    @Test
+    public void aFailedCallIsNotReused() throws Exception {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        flight.run("players", () -> call(failed));
+
+        assertEquals("retried", flight.run("players", () -> call(CompletableFuture.completedFuture("retried"))).get());
+    }
+
+    @Test
+    public void aCallThatThrowsFailsItsFutureAndFreesTheKey() throws Exception {
+        CompletableFuture<String> thrown = flight.run("players", () -> {
+            throw new IllegalArgumentException("bad query");
+        });
+        assertTrue(assertThrows(ExecutionException.class, thrown::get).getCause() instanceof IllegalArgumentException);
+
+        assertEquals("ok", flight.run("players", () -> call(CompletableFuture.completedFuture("ok"))).get());
+    }
+
+    @Test
+    public void cancellingOneCallerLeavesTheOthersWaiting() throws Exception {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.run("players", () -> call(backend));
+        CompletableFuture<String> second = flight.run("players", () -> call(backend));
+
+        first.cancel(true);
+        assertFalse(backend.isDone());
+        backend.complete("result");
+        assertEquals("result", second.get());
+    }
+
+    @Test
+    public void concurrentCallersMakeOneCall() throws Exception {
+        int callers = 8;
+        CompletableFuture<String> backend = new CompletableFuture<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<CompletableFuture<String>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return flight.run("players", () -> call(backend));
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<String>> result : results) {
+                futures.add(result.get(5, TimeUnit.SECONDS));
+            }
+
+            backend.complete("result");
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("result", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(callers - 1, flight.getCoalescedCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> call(CompletableFuture<T> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.coachesapp_android.model;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round trips through the codecs the processor generates for the model classes.
+ */
+public class DocumentCodecTest {
+    private static final LocalDateTime REQUESTED = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+
+    @Test
+    public void transferRequestRoundTrips() {
+        TransferRequest request = new TransferRequest(7, 2, 3);
+        request.setId(42);
+        request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+        request.setTransferType(TransferRequest.TransferType.DIRECT_CLUB);
+        request.setTransferFee(1500.0);
+        request.setReleaseFee(2500.5);
+        request.setRequestDate(REQUESTED);
+        request.setApprovedBySourceDate(REQUESTED.plusDays(1));
+        request.setCompletedDate(null);
+        request.setRemarks("Loan");
+        request.setPlayerName("Alex");
+        request.setPlayerPosition(Position.DEFENDER);
+        request.setPlayerAge(24);
+        request.setPlayerJersey(5);
+
+        Map<String, Object> data = TransferRequestCodec.encode(request);
+        TransferRequest decoded = TransferRequestCodec.decode(data);
+
+        assertEquals(TransferRequestCodec.FIELD_COUNT, data.size());
+        assertEquals(data, TransferRequestCodec.encode(decoded));
+        assertEquals(Integer.valueOf(42), decoded.getId());
+        assertEquals(TransferRequest.TransferStatus.IN_MARKET, decoded.getStatus());
+        assertEquals(Position.DEFENDER, decoded.getPlayerPosition());
+        assertEquals(REQUESTED, decoded.getRequestDate());
+        assertEquals(REQUESTED.plusDays(1), decoded.getApprovedBySourceDate());
+        assertNull(decoded.getCompletedDate());
+    }
+
+    @Test
+    public void datesAreStoredAsEpochMillis() {
+        TransferRequest request = new TransferRequest();
+        request.setRequestDate(REQUESTED.plusNanos(123_456));
+
+        Map<String, Object> data = TransferRequestCodec.encode(request);
+        long millis = REQUESTED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertEquals(millis, data.get("requestDate"));
+        // Anything finer than a millisecond is dropped
+        assertEquals(REQUESTED, TransferRequestCodec.decode(data).getRequestDate());
+    }
+
+    @Test
+    public void lenientEnumIgnoresUnknownConstants() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", "IN_MARKET");
+        data.put("transferType", "SWAP_DEAL");
+        data.put("playerPosition", "WINGBACK");
+
+        TransferRequest decoded = TransferRequestCodec.decode(data);
+        assertEquals(TransferRequest.TransferStatus.IN_MARKET, decoded.getStatus());
+        assertNull(decoded.getTransferType());
+        assertNull(decoded.getPlayerPosition());
+    }
+
+    @Test
+    public void strictEnumRejectsUnknownConstants() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", "ON_HOLD");
+        assertThrows(IllegalArgumentException.class, () -> TransferRequestCodec.decode(data));
+    }
+
+    @Test
+    public void clubIsStoredUnderItsDocumentNamesWithoutIgnoredFields() {
+        Club club = new Club("Harbour FC");
+        club.setId(3);
+        club.setFirestoreDocId("club_3");
+        club.getPlayers().add(new Player("Alex", 24, 5, Position.DEFENDER));
+
+        Map<String, Object> data = ClubCodec.encode(club);
+        assertEquals("Harbour FC", data.get("name"));
+        assertFalse(data.containsKey("clubName"));
+        assertFalse(data.containsKey("players"));
+
+        Club decoded = ClubCodec.decode(data);
+        assertEquals("Harbour FC", decoded.getClubName());
+        assertEquals(Integer.valueOf(3), decoded.getId());
+        assertTrue(decoded.getPlayers().isEmpty());
+    }
+
+    @Test
+    public void playerRoundTripsWithoutIgnoredFields() {
+        Player player = new Player("Alex", 24, 5, Position.DEFENDER, true);
+        player.setId(7);
+        player.setClubId(2);
+        player.setClubView("Harbour FC");
+
+        Map<String, Object> data = PlayerCodec.encode(player);
+        assertFalse(data.containsKey("clubView"));
+
+        Player decoded = PlayerCodec.decode(data);
+        assertEquals(data, PlayerCodec.encode(decoded));
+        assertTrue(decoded.isInjured());
+        assertNull(decoded.getClubView());
+    }
+
+    @Test
+    public void missingPrimitivesKeepTheirDefaults() {
+        Player decoded = PlayerCodec.decode(new HashMap<>());
+        assertEquals(0, decoded.getAge());
+        assertFalse(decoded.isInjured());
+        assertNull(decoded.getId());
+    }
+}
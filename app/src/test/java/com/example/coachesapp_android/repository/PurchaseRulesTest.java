@@ -0,0 +1,107 @@
+package com.example.coachesapp_android.repository;
+
+import com.example.coachesapp_android.model.Club;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class PurchaseRulesTest {
+    private static final int PLAYER_ID = 7;
+    private static final int SELLER_ID = 1;
+    private static final double FEE = 1000.0;
+
+    private TransferRequest listing;
+    private Club buyer;
+
+    @Before
+    public void setUp() {
+        listing = new TransferRequest(PLAYER_ID, SELLER_ID, null);
+        listing.setId(42);
+        listing.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+        listing.setTransferType(TransferRequest.TransferType.GENERAL_MARKET);
+        listing.setReleaseFee(FEE);
+        buyer = club(2, "Harbour FC");
+    }
+
+    @Test
+    public void acceptsAnOpenListingAtTheListedFee() {
+        assertNull(PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+    }
+
+    @Test
+    public void treatsAListingWithoutAFeeAsFree() {
+        listing.setReleaseFee(null);
+        assertNull(PurchaseRules.check(listing, PLAYER_ID, buyer, 0.0));
+    }
+
+    @Test
+    public void refusesAFeeOtherThanTheListedOne() {
+        assertEquals(SettlementOutcome.PRICE_CHANGED, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE - 1));
+        assertEquals(SettlementOutcome.PRICE_CHANGED, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE + 1));
+    }
+
+    @Test
+    public void refusesTheSellingClub() {
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID, club(SELLER_ID, "Seller"), FEE));
+    }
+
+    @Test
+    public void refusesAnotherPlayer() {
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID + 1, buyer, FEE));
+    }
+
+    @Test
+    public void refusesAListingNotInTheMarket() {
+        listing.setStatus(TransferRequest.TransferStatus.PENDING_APPROVAL);
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+        listing.setStatus(TransferRequest.TransferStatus.CANCELLED);
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+    }
+
+    @Test
+    public void refusesADirectTransferReservedForAnotherClub() {
+        listing.setTransferType(TransferRequest.TransferType.DIRECT_CLUB);
+        listing.setDestinationClubId(3);
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+        assertNull(PurchaseRules.check(listing, PLAYER_ID, club(3, "Reserved"), FEE));
+    }
+
+    @Test
+    public void refusesAListingAlreadySoldToAnotherClub() {
+        PurchaseRules.complete(listing, club(3, "First"), FEE);
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+    }
+
+    @Test
+    public void reportsAReplayedPurchaseAsCompleted() {
+        PurchaseRules.complete(listing, buyer, FEE);
+        assertEquals(SettlementOutcome.COMPLETED, PurchaseRules.check(listing, PLAYER_ID, buyer, FEE));
+    }
+
+    @Test
+    public void replayMustBeForTheSamePlayer() {
+        PurchaseRules.complete(listing, buyer, FEE);
+        assertEquals(SettlementOutcome.NOT_AVAILABLE, PurchaseRules.check(listing, PLAYER_ID + 1, buyer, FEE));
+    }
+
+    @Test
+    public void completeRecordsTheBuyerAndFee() {
+        PurchaseRules.complete(listing, buyer, FEE);
+        assertEquals(TransferRequest.TransferStatus.COMPLETED, listing.getStatus());
+        assertEquals(Integer.valueOf(2), listing.getDestinationClubId());
+        assertEquals("Harbour FC", listing.getDestinationClubName());
+        assertEquals(Double.valueOf(FEE), listing.getTransferFee());
+        assertNotNull(listing.getCompletedDate());
+    }
+
+    private static Club club(int id, String name) {
+        Club club = new Club(name);
+        club.setId(id);
+        return club;
+    }
+}
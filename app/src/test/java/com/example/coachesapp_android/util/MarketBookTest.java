@@ -0,0 +1,166 @@
+package com.example.coachesapp_android.util;
+
+import com.example.coachesapp_android.model.Player;
+import com.example.coachesapp_android.model.Position;
+import com.example.coachesapp_android.model.TransferRequest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MarketBookTest {
+    private final MarketBook book = new MarketBook();
+
+    @Test
+    public void addsListings() {
+        Player player = player(7, Position.DEFENDER);
+        book.put(listing(1, 7, 500.0), player);
+
+        assertEquals(1, book.size());
+        assertTrue(book.containsPlayer(7));
+        assertSame(player, book.getPlayer(7));
+        assertEquals(Arrays.asList(1), ids(book.cheapest(null, null)));
+        assertEquals(Arrays.asList(1), ids(book.cheapest(Position.DEFENDER, null)));
+    }
+
+    @Test
+    public void ignoresListingsWithoutAnId() {
+        book.put(listing(null, 7, 500.0), player(7, Position.DEFENDER));
+        assertEquals(0, book.size());
+        assertFalse(book.containsPlayer(7));
+    }
+
+    @Test
+    public void removesListings() {
+        book.put(listing(1, 7, 500.0), player(7, Position.DEFENDER));
+
+        assertTrue(book.remove(1));
+        assertFalse(book.remove(1));
+        assertEquals(0, book.size());
+        assertFalse(book.containsPlayer(7));
+        assertTrue(book.cheapest(null, null).isEmpty());
+        assertTrue(book.cheapest(Position.DEFENDER, null).isEmpty());
+    }
+
+    @Test
+    public void repricingMovesTheListing() {
+        book.put(listing(1, 7, 500.0), player(7, Position.DEFENDER));
+        book.put(listing(2, 8, 800.0), player(8, Position.DEFENDER));
+
+        book.put(listing(1, 7, 900.0), player(7, Position.DEFENDER));
+
+        assertEquals(2, book.size());
+        assertEquals(Arrays.asList(2, 1), ids(book.cheapest(Position.DEFENDER, null)));
+        assertEquals(Arrays.asList(2), ids(book.cheapest(Position.DEFENDER, 850.0)));
+    }
+
+    @Test
+    public void replacingTheListedPlayerMovesItBetweenPositions() {
+        book.put(listing(1, 7, 500.0), player(7, Position.DEFENDER));
+        book.put(listing(1, 7, 500.0), player(7, Position.MIDFIELDER));
+
+        assertTrue(book.cheapest(Position.DEFENDER, null).isEmpty());
+        assertEquals(Arrays.asList(1), ids(book.cheapest(Position.MIDFIELDER, null)));
+    }
+
+    @Test
+    public void filtersByPositionAndMaximumFee() {
+        book.put(listing(1, 1, 300.0), player(1, Position.DEFENDER));
+        book.put(listing(2, 2, 100.0), player(2, Position.FORWARD));
+        book.put(listing(3, 3, 200.0), player(3, Position.DEFENDER));
+        book.put(listing(4, 4, 400.0), player(4, Position.DEFENDER));
+
+        assertEquals(Arrays.asList(3, 1, 4), ids(book.cheapest(Position.DEFENDER, null)));
+        assertEquals(Arrays.asList(3, 1), ids(book.cheapest(Position.DEFENDER, 300.0)));
+        assertEquals(Arrays.asList(2, 3, 1), ids(book.cheapest(null, 300.0)));
+        assertTrue(book.cheapest(Position.DEFENDER, 199.0).isEmpty());
+        assertTrue(book.cheapest(Position.GOALKEEPER, null).isEmpty());
+    }
+
+    @Test
+    public void listingWithoutFeeCountsAsFree() {
+        book.put(listing(1, 1, 100.0), player(1, Position.DEFENDER));
+        book.put(listing(2, 2, null), player(2, Position.DEFENDER));
+
+        assertEquals(Arrays.asList(2, 1), ids(book.cheapest(Position.DEFENDER, 100.0)));
+        assertEquals(Arrays.asList(2), ids(book.cheapest(Position.DEFENDER, 0.0)));
+    }
+
+    @Test
+    public void equalFeesAreOrderedByRequestId() {
+        book.put(listing(9, 1, 250.0), player(1, Position.DEFENDER));
+        book.put(listing(3, 2, 250.0), player(2, Position.DEFENDER));
+        book.put(listing(5, 3, 250.0), player(3, Position.DEFENDER));
+
+        assertEquals(Arrays.asList(3, 5, 9), ids(book.cheapest(Position.DEFENDER, null)));
+        assertEquals(Arrays.asList(3, 5, 9), ids(book.cheapest(Position.DEFENDER, 250.0)));
+
+        List<TransferRequest> sorted = book.cheapest(null, null);
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(MarketBook.CHEAPEST_FIRST.compare(sorted.get(i - 1), sorted.get(i)) < 0);
+        }
+    }
+
+    @Test
+    public void listingsWithoutAKnownPlayerOnlyMatchAnyPosition() {
+        book.put(listing(1, 7, 500.0), null);
+
+        assertEquals(Arrays.asList(1), ids(book.cheapest(null, null)));
+        assertTrue(book.cheapest(Position.DEFENDER, null).isEmpty());
+        assertFalse(book.containsPlayer(7));
+    }
+
+    @Test
+    public void keepsEveryListingOfAPlayer() {
+        Player player = player(7, Position.DEFENDER);
+        book.put(listing(1, 7, 500.0), player);
+        book.put(listing(2, 7, 600.0), player);
+
+        assertEquals(Arrays.asList(1, 2), ids(book.cheapest(Position.DEFENDER, null)));
+        book.remove(1);
+        assertSame(player, book.getPlayer(7));
+        assertEquals(Arrays.asList(2), ids(book.cheapest(Position.DEFENDER, null)));
+        book.remove(2);
+        assertNull(book.getPlayer(7));
+    }
+
+    @Test
+    public void clearEmptiesTheBook() {
+        book.put(listing(1, 7, 500.0), player(7, Position.DEFENDER));
+        book.clear();
+
+        assertEquals(0, book.size());
+        assertFalse(book.containsPlayer(7));
+        assertTrue(book.cheapest(Position.DEFENDER, null).isEmpty());
+    }
+
+    private static TransferRequest listing(Integer id, int playerId, Double fee) {
+        TransferRequest request = new TransferRequest(playerId, 1, null);
+        request.setId(id);
+        request.setStatus(TransferRequest.TransferStatus.IN_MARKET);
+        request.setReleaseFee(fee);
+        return request;
+    }
+
+    private static Player player(int id, Position position) {
+        Player player = new Player("Player " + id, 25, id, position);
+        player.setId(id);
+        return player;
+    }
+
+    private static List<Integer> ids(List<TransferRequest> requests) {
+        List<Integer> ids = new ArrayList<>();
+        for (TransferRequest request : requests) {
+            ids.add(request.getId());
+        }
+        return ids;
+    }
+}
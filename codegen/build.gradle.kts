@@ -0,0 +1,13 @@
+// Annotation processor that generates the Firestore document codecs for the app's model classes
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,331 @@
+package com.example.coachesapp_android.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@code <Name>Codec} for every {@link FirestoreDocument} class. Codecs call the
+ * model's getters and setters directly and size the document map up front, so mapping a
+ * document needs no reflection and no rehashing.
+ * <p>
+ * Supported field types are int, long, double and boolean (boxed or not), String, enums
+ * (stored by name) and LocalDateTime (stored as epoch milliseconds in the device time zone).
+ * <p>
+ * The codecs read and convert fields through a class of static helpers that the using project
+ * provides and names with the {@value #FIELDS_CLASS_OPTION} processor option.
+ */
+// The field annotations are only read through their class, but are claimed so javac does not
+// report them as unprocessed
+@SupportedAnnotationTypes({
+        "com.example.coachesapp_android.codegen.FirestoreDocument",
+        "com.example.coachesapp_android.codegen.DocumentField",
+        "com.example.coachesapp_android.codegen.DocumentIgnore"
+})
+@SupportedOptions(DocumentCodecProcessor.FIELDS_CLASS_OPTION)
+public class DocumentCodecProcessor extends AbstractProcessor {
+    /**
+     * Fully qualified name of the class the generated code calls. It needs static
+     * {@code capacityFor(int)}, {@code name(Enum)} and {@code toEpochMillis(LocalDateTime)}
+     * methods, and a {@code getInt}, {@code getLong}, {@code getDouble}, {@code getBoolean},
+     * {@code getString} and {@code getDateTime} reader taking the field map and a field name.
+     */
+    public static final String FIELDS_CLASS_OPTION = "documentCodec.fieldsClass";
+
+    // Qualified and simple name of the fields class, once the option has been read
+    private String fieldsClass;
+    private String fieldsName;
+
+    private enum Kind {
+        INT("Integer", "getInt"),
+        LONG("Long", "getLong"),
+        DOUBLE("Double", "getDouble"),
+        BOOLEAN("Boolean", "getBoolean"),
+        STRING("String", "getString"),
+        ENUM("String", "getString"),
+        DATE_TIME("java.time.LocalDateTime", "getDateTime");
+
+        final String readType;
+        final String reader;
+
+        Kind(String readType, String reader) {
+            this.readType = readType;
+            this.reader = reader;
+        }
+    }
+
+    private static final class Field {
+        String javaName;
+        String documentName;
+        Kind kind;
+        boolean primitive;
+        boolean lenient;
+        String enumType;
+        String getter;
+        String setter;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<? extends Element> documents = roundEnv.getElementsAnnotatedWith(FirestoreDocument.class);
+        if (documents.isEmpty() || !readFieldsClass()) {
+            return true;
+        }
+        for (Element element : documents) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@FirestoreDocument only applies to classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Field> fields = collectFields(type);
+            if (fields != null) {
+                writeCodec(type, fields);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the fields class option is missing, which is reported as an error
+     */
+    private boolean readFieldsClass() {
+        if (fieldsClass != null) {
+            return true;
+        }
+        String option = processingEnv.getOptions().get(FIELDS_CLASS_OPTION);
+        if (option == null || option.trim().isEmpty()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Set the annotation processor option " + FIELDS_CLASS_OPTION
+                            + " to the class the document codecs read fields through");
+            return false;
+        }
+        fieldsClass = option.trim();
+        fieldsName = fieldsClass.substring(fieldsClass.lastIndexOf('.') + 1);
+        return true;
+    }
+
+    /**
+     * @return the stored fields in declaration order, or null if an error was reported
+     */
+    private List<Field> collectFields(TypeElement type) {
+        boolean ok = hasNoArgConstructor(type);
+        if (!ok) {
+            error(type, "@FirestoreDocument class needs a public no-argument constructor");
+        }
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        List<Field> fields = new ArrayList<>();
+        for (VariableElement variable : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (variable.getModifiers().contains(Modifier.STATIC)
+                    || variable.getModifiers().contains(Modifier.TRANSIENT)
+                    || variable.getAnnotation(DocumentIgnore.class) != null) {
+                continue;
+            }
+            Field field = new Field();
+            field.javaName = variable.getSimpleName().toString();
+            DocumentField options = variable.getAnnotation(DocumentField.class);
+            field.documentName = options != null && !options.value().isEmpty() ? options.value() : field.javaName;
+            field.lenient = options != null && options.lenient();
+
+            TypeMirror fieldType = variable.asType();
+            field.primitive = fieldType.getKind().isPrimitive();
+            field.kind = kindOf(fieldType);
+            if (field.kind == null) {
+                error(variable, "Unsupported document field type " + fieldType + "; mark the field @DocumentIgnore");
+                ok = false;
+                continue;
+            }
+            if (field.kind == Kind.ENUM) {
+                field.enumType = processingEnv.getTypeUtils().erasure(fieldType).toString();
+            } else if (field.lenient) {
+                error(variable, "lenient only applies to enum fields");
+                ok = false;
+            }
+
+            String capitalized = Character.toUpperCase(field.javaName.charAt(0)) + field.javaName.substring(1);
+            field.getter = findAccessor(methods, 0, "get" + capitalized,
+                    fieldType.getKind() == TypeKind.BOOLEAN ? "is" + capitalized : null);
+            field.setter = findAccessor(methods, 1, "set" + capitalized, null);
+            if (field.getter == null || field.setter == null) {
+                error(variable, "Document field " + field.javaName + " needs a public getter and setter");
+                ok = false;
+                continue;
+            }
+            fields.add(field);
+        }
+        return ok ? fields : null;
+    }
+
+    private Kind kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return Kind.ENUM;
+        }
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.Integer":
+                return Kind.INT;
+            case "java.lang.Long":
+                return Kind.LONG;
+            case "java.lang.Double":
+                return Kind.DOUBLE;
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            case "java.lang.String":
+                return Kind.STRING;
+            case "java.time.LocalDateTime":
+                return Kind.DATE_TIME;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String findAccessor(List<ExecutableElement> methods, int parameterCount, String name, String alternative) {
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName().toString();
+            if ((methodName.equals(name) || methodName.equals(alternative))
+                    && method.getParameters().size() == parameterCount
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return methodName;
+            }
+        }
+        return null;
+    }
+
+    private void writeCodec(TypeElement type, List<Field> fields) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String model = type.getSimpleName().toString();
+        String codec = model + "Codec";
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import ").append(fieldsClass).append(";\n\n");
+        out.append("import java.util.HashMap;\n");
+        out.append("import java.util.Map;\n\n");
+        out.append("/**\n");
+        out.append(" * Firestore document codec for {@link ").append(model).append("}.\n");
+        out.append(" * Generated by DocumentCodecProcessor; do not edit.\n");
+        out.append(" */\n");
+        out.append("public final class ").append(codec).append(" {\n");
+        out.append("    public static final int FIELD_COUNT = ").append(fields.size()).append(";\n\n");
+        out.append("    private ").append(codec).append("() {\n");
+        out.append("    }\n\n");
+
+        out.append("    public static Map<String, Object> encode(").append(model).append(" value) {\n");
+        out.append("        return encode(value, 0);\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * @param extraFields fields the caller adds to the map afterwards, so it is sized for them too\n");
+        out.append("     */\n");
+        out.append("    public static Map<String, Object> encode(").append(model).append(" value, int extraFields) {\n");
+        out.append("        Map<String, Object> data = new HashMap<>(").append(fieldsName).append(".capacityFor(FIELD_COUNT + extraFields));\n");
+        for (Field field : fields) {
+            String read = "value." + field.getter + "()";
+            if (field.kind == Kind.ENUM) {
+                read = fieldsName + ".name(" + read + ")";
+            } else if (field.kind == Kind.DATE_TIME) {
+                read = fieldsName + ".toEpochMillis(" + read + ")";
+            }
+            out.append("        data.put(\"").append(field.documentName).append("\", ").append(read).append(");\n");
+        }
+        out.append("        return data;\n");
+        out.append("    }\n\n");
+
+        out.append("    public static ").append(model).append(" decode(Map<String, Object> data) {\n");
+        out.append("        ").append(model).append(" value = new ").append(model).append("();\n");
+        for (Field field : fields) {
+            String read = fieldsName + "." + field.kind.reader + "(data, \"" + field.documentName + "\")";
+            if (field.kind != Kind.ENUM && !field.primitive) {
+                out.append("        value.").append(field.setter).append('(').append(read).append(");\n");
+                continue;
+            }
+            // Enums need converting and primitives keep their default, so read into a local first
+            String local = field.javaName + "Field";
+            out.append("        ").append(field.kind.readType).append(' ').append(local)
+                    .append(" = ").append(read).append(";\n");
+            if (field.kind == Kind.ENUM) {
+                String convert = "value." + field.setter + "(" + field.enumType + ".valueOf(" + local + "));";
+                out.append("        if (").append(local).append(" != null) {\n");
+                if (field.lenient) {
+                    out.append("            try {\n");
+                    out.append("                ").append(convert).append('\n');
+                    out.append("            } catch (IllegalArgumentException unknownConstant) {\n");
+                    out.append("                // Written by a newer version; leave the field unset\n");
+                    out.append("            }\n");
+                } else {
+                    out.append("            ").append(convert).append('\n');
+                }
+                out.append("        }\n");
+            } else {
+                out.append("        if (").append(local).append(" != null) {\n");
+                out.append("            value.").append(field.setter).append('(').append(local).append(");\n");
+                out.append("        }\n");
+            }
+        }
+        out.append("        return value;\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        String name = packageName.isEmpty() ? codec : packageName + "." + codec;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+            writer.write(out.toString());
+        } catch (IOException e) {
+            error(type, "Could not write " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.coachesapp_android.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides how a field of a {@link FirestoreDocument} class is stored.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface DocumentField {
+
+    /**
+     * Document field name, if it differs from the Java field name.
+     */
+    String value() default "";
+
+    /**
+     * For enum fields: decode a constant this version does not know as null instead of failing
+     * the whole document.
+     */
+    boolean lenient() default false;
+}
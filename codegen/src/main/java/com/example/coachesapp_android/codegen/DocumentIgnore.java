@@ -0,0 +1,14 @@
+package com.example.coachesapp_android.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Leaves a field of a {@link FirestoreDocument} class out of the document.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface DocumentIgnore {
+}
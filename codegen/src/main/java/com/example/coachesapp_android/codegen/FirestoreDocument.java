@@ -0,0 +1,18 @@
+package com.example.coachesapp_android.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a model class stored as a Firestore document. A {@code <Name>Codec} class is generated
+ * next to it that encodes every non-static field to a document map and decodes it back.
+ * <p>
+ * The class needs a public no-argument constructor and a public getter and setter for each
+ * stored field.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface FirestoreDocument {
+}
@@ -0,0 +1,194 @@
+package com.example.coachesapp_android.codegen;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles model classes with the processor and checks the diagnostics and the generated
+ * codec. The fields class is a stand-in with the same signatures as the app's DocumentFields,
+ * in a package of its own; the app's own tests round-trip the real codecs.
+ */
+public class DocumentCodecProcessorTest {
+    private static final String FIELDS_CLASS = "sample.support.SampleFields";
+    private static final String DOCUMENT_FIELDS = "package sample.support;\n"
+            + "import java.time.LocalDateTime;\n"
+            + "import java.time.ZoneOffset;\n"
+            + "import java.util.Map;\n"
+            + "public final class SampleFields {\n"
+            + "    public static int capacityFor(int fields) { return fields * 2; }\n"
+            + "    public static Integer getInt(Map<String, Object> d, String f) { return (Integer) d.get(f); }\n"
+            + "    public static Long getLong(Map<String, Object> d, String f) { return (Long) d.get(f); }\n"
+            + "    public static Double getDouble(Map<String, Object> d, String f) { return (Double) d.get(f); }\n"
+            + "    public static Boolean getBoolean(Map<String, Object> d, String f) { return (Boolean) d.get(f); }\n"
+            + "    public static String getString(Map<String, Object> d, String f) { return (String) d.get(f); }\n"
+            + "    public static LocalDateTime getDateTime(Map<String, Object> d, String f) {\n"
+            + "        Long millis = (Long) d.get(f);\n"
+            + "        return millis != null ? LocalDateTime.ofEpochSecond(millis / 1000, 0, ZoneOffset.UTC) : null;\n"
+            + "    }\n"
+            + "    public static Long toEpochMillis(LocalDateTime t) { return t != null ? t.toEpochSecond(ZoneOffset.UTC) * 1000 : null; }\n"
+            + "    public static String name(Enum<?> e) { return e != null ? e.name() : null; }\n"
+            + "}\n";
+
+    private static final String MODEL = "package sample;\n"
+            + "import com.example.coachesapp_android.codegen.*;\n"
+            + "import java.time.LocalDateTime;\n"
+            + "@FirestoreDocument\n"
+            + "public class Sample {\n"
+            + "    public enum Kind { A, B }\n"
+            + "    private static final int CONSTANT = 1;\n"
+            + "    private Integer id;\n"
+            + "    private int count;\n"
+            + "    @DocumentField(\"title\") private String name;\n"
+            + "    @DocumentField(lenient = true) private Kind kind;\n"
+            + "    private LocalDateTime created;\n"
+            + "    @DocumentIgnore private String cached;\n"
+            + "    private transient String scratch;\n"
+            + "    public Integer getId() { return id; }\n"
+            + "    public void setId(Integer id) { this.id = id; }\n"
+            + "    public int getCount() { return count; }\n"
+            + "    public void setCount(int count) { this.count = count; }\n"
+            + "    public String getName() { return name; }\n"
+            + "    public void setName(String name) { this.name = name; }\n"
+            + "    public Kind getKind() { return kind; }\n"
+            + "    public void setKind(Kind kind) { this.kind = kind; }\n"
+            + "    public LocalDateTime getCreated() { return created; }\n"
+            + "    public void setCreated(LocalDateTime created) { this.created = created; }\n"
+            + "    public String getCached() { return cached; }\n"
+            + "    public void setCached(String cached) { this.cached = cached; }\n"
+            + "}\n";
+
+    private Path output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("codegen-test");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    public void compilesWithoutWarnings() throws IOException {
+        assertTrue(diagnostics.getDiagnostics().toString(), compile("Sample", MODEL));
+        assertEquals(Collections.emptyList(), messages(Diagnostic.Kind.WARNING, Diagnostic.Kind.MANDATORY_WARNING));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void encodesStoredFieldsUnderTheirDocumentNames() throws Exception {
+        assertTrue(diagnostics.getDiagnostics().toString(), compile("Sample", MODEL));
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()})) {
+            Class<?> model = loader.loadClass("sample.Sample");
+            Class<?> codec = loader.loadClass("sample.SampleCodec");
+            Object sample = model.getConstructor().newInstance();
+            model.getMethod("setName", String.class).invoke(sample, "Lions");
+
+            Method encode = codec.getMethod("encode", model);
+            Map<String, Object> data = (Map<String, Object>) encode.invoke(null, sample);
+            assertEquals(new HashSet<>(Arrays.asList("id", "count", "title", "kind", "created")), data.keySet());
+            assertEquals("Lions", data.get("title"));
+            assertEquals(5, codec.getField("FIELD_COUNT").getInt(null));
+        }
+    }
+
+    @Test
+    public void rejectsUnsupportedFieldTypes() throws IOException {
+        String model = "package sample;\n"
+                + "@com.example.coachesapp_android.codegen.FirestoreDocument\n"
+                + "public class Bad {\n"
+                + "    private java.util.List<String> tags;\n"
+                + "    public java.util.List<String> getTags() { return tags; }\n"
+                + "    public void setTags(java.util.List<String> tags) { this.tags = tags; }\n"
+                + "}\n";
+        assertFalse(compile("Bad", model));
+        assertTrue(messages(Diagnostic.Kind.ERROR).toString(),
+                messages(Diagnostic.Kind.ERROR).get(0).startsWith("Unsupported document field type"));
+    }
+
+    @Test
+    public void rejectsFieldsWithoutAccessors() throws IOException {
+        String model = "package sample;\n"
+                + "@com.example.coachesapp_android.codegen.FirestoreDocument\n"
+                + "public class NoSetter {\n"
+                + "    private String name;\n"
+                + "    public String getName() { return name; }\n"
+                + "}\n";
+        assertFalse(compile("NoSetter", model));
+        assertEquals(Collections.singletonList("Document field name needs a public getter and setter"),
+                messages(Diagnostic.Kind.ERROR));
+    }
+
+    @Test
+    public void requiresTheFieldsClassOption() throws IOException {
+        assertFalse(compile("Sample", MODEL, null));
+        assertEquals(Collections.singletonList("Set the annotation processor option "
+                        + DocumentCodecProcessor.FIELDS_CLASS_OPTION + " to the class the document codecs read fields through"),
+                messages(Diagnostic.Kind.ERROR));
+    }
+
+    private boolean compile(String className, String model) throws IOException {
+        return compile(className, model, FIELDS_CLASS);
+    }
+
+    private boolean compile(String className, String model, String fieldsClass) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = new ArrayList<>(Arrays.asList("-Xlint:processing", "-d", output.toString(),
+                    "-classpath", System.getProperty("java.class.path")));
+            if (fieldsClass != null) {
+                options.add("-A" + DocumentCodecProcessor.FIELDS_CLASS_OPTION + "=" + fieldsClass);
+            }
+            List<JavaFileObject> sources = Arrays.asList(
+                    source("sample/support/SampleFields", DOCUMENT_FIELDS),
+                    source("sample/" + className, model));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null, sources);
+            task.setProcessors(Collections.singletonList(new DocumentCodecProcessor()));
+            return task.call();
+        }
+    }
+
+    private List<String> messages(Diagnostic.Kind... kinds) {
+        List<Diagnostic.Kind> wanted = Arrays.asList(kinds);
+        List<String> result = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (wanted.contains(diagnostic.getKind())) {
+                result.add(diagnostic.getMessage(null));
+            }
+        }
+        return result;
+    }
+
+    private static JavaFileObject source(String path, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + path + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "CoachesApp_android"
 include(":app")
+include(":codegen")
  
\ No newline at end of file